@@ -0,0 +1,180 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The 'About Us' response, rendered once and served from memory.
+ * <p>
+ * The about page content is sanitized, checked to be a JSON object and serialized to bytes
+ * when the page is created and again on each {@link #refresh(ConfigurationManager)}, together with a strong ETag
+ * taken from a hash of those bytes. Requests are answered from that copy, and a client whose
+ * If-None-Match already names the current ETag gets a 304 with no body.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class AboutPage {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+    private volatile Rendered current;
+
+    /**
+     * Renders the about page from the given configuration.
+     * 
+     * @param configManager the configuration holding the about page content
+     * @throws ConfigurationException if the content is missing or is not a JSON object
+     */
+    public AboutPage(ConfigurationManager configManager) {
+        refresh(configManager);
+    }
+
+    /**
+     * Renders the about page content again, for use after the configuration is reloaded.
+     * If the new content is invalid the page already being served is kept.
+     * 
+     * @param configManager the reloaded configuration
+     * @throws ConfigurationException if the content is missing or is not a JSON object
+     */
+    public void refresh(ConfigurationManager configManager) {
+        if (configManager == null) {
+            logger.error("Attempted to render AboutPage from a null ConfigurationManager.");
+            throw new IllegalArgumentException("ConfigurationManager cannot be null.");
+        }
+        String content = configManager.getAboutPageInfo();
+        JsonNode node;
+        try {
+            node = OBJECT_MAPPER.readTree(content);
+        } catch (JsonProcessingException e) {
+            logger.error(String.format("About page content is not valid JSON: %s", e.getOriginalMessage()));
+            throw new ConfigurationException("About page content must be a JSON object.");
+        }
+        if (node == null || !node.isObject()) {
+            logger.error("About page content is not a JSON object.");
+            throw new ConfigurationException("About page content must be a JSON object.");
+        }
+        byte[] body = node.toString().getBytes(StandardCharsets.UTF_8);
+        current = new Rendered(body, "\"" + contentHash(body) + "\"");
+        logger.info(String.format("About page rendered (%d bytes, ETag %s).", body.length, current.etag));
+    }
+
+    /**
+     * Gets the ETag of the page currently being served.
+     * 
+     * @return the quoted strong ETag
+     */
+    public String getEtag() {
+        return current.etag;
+    }
+
+    /**
+     * Builds the response to a GET of the about page.
+     * 
+     * @param ifNoneMatch the request's If-None-Match header, or null if it has none
+     * @return a 304 if the client's copy is current, otherwise the page with status 200
+     */
+    public ResponseEntity<byte[]> respond(String ifNoneMatch) {
+        Rendered page = current;
+        if (matches(ifNoneMatch, page.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                 .eTag(page.etag)
+                                 .cacheControl(CacheControl.noCache())
+                                 .build();
+        }
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .eTag(page.etag)
+                             .cacheControl(CacheControl.noCache())
+                             .body(page.body);
+    }
+
+    /**
+     * Checks an If-None-Match header against an ETag, using the weak comparison that
+     * conditional GETs call for.
+     * 
+     * @param ifNoneMatch the header value, or null
+     * @param etag the quoted ETag of the current page
+     * @return true if the header is * or lists the ETag
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hashes the rendered page.
+     * 
+     * @param body the page bytes
+     * @return the first 128 bits of the SHA-256 hash, in hex
+     */
+    private static String contentHash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * A rendered page and its ETag, swapped as one so a response never pairs the body of
+     * one rendering with the ETag of another.
+     */
+    private static final class Rendered {
+        private final byte[] body;
+        private final String etag;
+
+        private Rendered(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs an ordered list of write operations for one authenticated user.
+ * <p>
+ * Consecutive operations that write the same collection in the same way are grouped and
+ * sent to the DAO batch methods, so a run of comment or review flag removals costs one read
+ * and one delete rather than one round trip each. Groups never span an operation of another
+ * kind, so the operations still take effect in the order they were submitted. Each DAO call
+ * makes its usual authorization checks, and an operation that fails is reported without
+ * stopping the rest of the batch.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class BatchMutationExecutor {
+
+    /** The maximum number of operations accepted in a single batch. */
+    public static final int MAX_OPERATIONS = 100;
+
+    private static final Set<String> SUPPORTED_OPERATIONS = Set.of(
+        "add resource", "edit resource", "remove resource",
+        "add comment", "edit comment", "remove comment",
+        "add upvote", "remove upvote",
+        "add reviewFlag", "edit reviewFlag", "remove reviewFlag");
+
+    private final ResourceDAO resourceDAO;
+    private final CommentDAO commentDAO;
+    private final UpvoteDAO upvoteDAO;
+    private final FlagDAO flagDAO;
+    private final Credentials user;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs a batch mutation executor.
+     * @param resourceDAO the DAO used to write resources
+     * @param commentDAO the DAO used to write comments
+     * @param upvoteDAO the DAO used to write upvotes
+     * @param flagDAO the DAO used to write review flags
+     * @param user the credentials of the user running the batch
+     */
+    public BatchMutationExecutor(ResourceDAO resourceDAO, CommentDAO commentDAO, UpvoteDAO upvoteDAO, 
+            FlagDAO flagDAO, Credentials user) {
+        if (resourceDAO == null || commentDAO == null || upvoteDAO == null || flagDAO == null || user == null) {
+            logger.error("Attempted to create a batch mutation executor with a null DAO or null credentials.");
+            throw new IllegalArgumentException("DAOs and user credentials cannot be null.");
+        }
+        this.resourceDAO = resourceDAO;
+        this.commentDAO = commentDAO;
+        this.upvoteDAO = upvoteDAO;
+        this.flagDAO = flagDAO;
+        this.user = user;
+    }
+
+    /**
+     * Runs every operation in the batch.
+     * 
+     * @param operations the operations to run, in order
+     * @return one result per submitted operation, in submission order; the record ID is the
+     *         ID of the added, edited or removed record
+     * @throws IllegalArgumentException if the operations are null
+     * @throws InvalidRequestException if there are more than {@link #MAX_OPERATIONS} operations
+     */
+    public List<BatchItemResult> execute(List<BatchOperation> operations) {
+        if (operations == null) {
+            logger.error("Attempted to run a null list of batch operations.");
+            throw new IllegalArgumentException("Batch operations cannot be null.");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            logger.error(String.format("User %d attempted to run %d batch operations.", user.getId(), operations.size()));
+            throw new InvalidRequestException(String.format("A batch may hold at most %d operations.", MAX_OPERATIONS));
+        }
+
+        BatchItemResult[] results = new BatchItemResult[operations.size()];
+        String[] groups = new String[operations.size()];
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                validate(operations.get(i));
+                groups[i] = groupOf(operations.get(i));
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResult.failure(i, e.getMessage());
+            }
+        }
+
+        int start = 0;
+        while (start < operations.size()) {
+            if (results[start] != null) {
+                start++;
+            } else if (groups[start] == null) {
+                results[start] = executeSingle(start, operations.get(start));
+                start++;
+            } else {
+                int end = start + 1;
+                while (end < operations.size() && results[end] == null && groups[start].equals(groups[end])) {
+                    end++;
+                }
+                executeGroup(operations, start, end, results);
+                start = end;
+            }
+        }
+
+        int succeeded = 0;
+        for (BatchItemResult result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
+            }
+        }
+        logger.info(String.format("User %d ran %d of %d batch operations.", user.getId(), succeeded, operations.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Checks that an operation names a supported action and carries the fields it needs.
+     * @param operation the operation to check
+     */
+    private void validate(BatchOperation operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation cannot be null.");
+        }
+        String kind = operation.getAction() + " " + operation.getType();
+        if (!SUPPORTED_OPERATIONS.contains(kind)) {
+            throw new IllegalArgumentException(String.format("Unsupported operation \"%s\".", kind));
+        }
+        if (!kind.equals("add resource") && operation.getResourceId() == null) {
+            throw new IllegalArgumentException("Operation requires a resourceId.");
+        }
+        if (!operation.getAction().equals("add") && !operation.getType().equals("resource") && operation.getRecordId() == null) {
+            throw new IllegalArgumentException("Operation requires a recordId.");
+        }
+        if (!operation.getAction().equals("remove") && !operation.getType().equals("upvote") && operation.getBody() == null) {
+            throw new IllegalArgumentException("Operation requires a body.");
+        }
+    }
+
+    /**
+     * Names the DAO batch call an operation can share with its neighbours.
+     * @param operation a valid operation
+     * @return the group name, or null if the operation must run on its own
+     */
+    private String groupOf(BatchOperation operation) {
+        String kind = operation.getAction() + " " + operation.getType();
+        switch (kind) {
+            case "add resource":
+            case "add upvote":
+            case "remove comment":
+            case "remove reviewFlag":
+                return kind;
+            case "add comment":
+            case "add reviewFlag":
+                // Batch additions of child records write to a single resource
+                return kind + " " + operation.getResourceId();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Runs operations start (inclusive) to end (exclusive), which share a group, with one
+     * DAO batch call and stores their results.
+     * @param operations the submitted operations
+     * @param start the position of the first operation in the group
+     * @param end the position after the last operation in the group
+     * @param results the results of the whole batch
+     */
+    private void executeGroup(List<BatchOperation> operations, int start, int end, BatchItemResult[] results) {
+        BatchOperation first = operations.get(start);
+        List<Integer> positions = new ArrayList<Integer>(end - start);
+        try {
+            List<BatchItemResult> groupResults;
+            switch (first.getAction() + " " + first.getType()) {
+                case "add resource":
+                    List<Resource> resources = parseBodies(operations, start, end, Resource.class, positions, results);
+                    groupResults = resources.isEmpty() ? List.of() : resourceDAO.insertResources(user, resources);
+                    break;
+                case "add comment":
+                    List<Comment> comments = parseBodies(operations, start, end, Comment.class, positions, results);
+                    groupResults = comments.isEmpty() ? List.of() : commentDAO.addComments(user, comments, first.getResourceId());
+                    break;
+                case "add reviewFlag":
+                    List<ReviewFlag> flags = parseBodies(operations, start, end, ReviewFlag.class, positions, results);
+                    groupResults = flags.isEmpty() ? List.of() : flagDAO.addReviewFlags(user, flags, first.getResourceId());
+                    break;
+                case "add upvote":
+                    List<Integer> resourceIds = new ArrayList<Integer>(end - start);
+                    for (int i = start; i < end; i++) {
+                        resourceIds.add(operations.get(i).getResourceId());
+                        positions.add(i);
+                    }
+                    groupResults = upvoteDAO.addUpvotes(user, resourceIds);
+                    break;
+                case "remove comment":
+                    groupResults = commentDAO.removeComments(user, recordKeys(operations, start, end, positions));
+                    break;
+                case "remove reviewFlag":
+                    groupResults = flagDAO.removeReviewFlags(user, recordKeys(operations, start, end, positions));
+                    break;
+                default:
+                    throw new IllegalStateException("Operation cannot be grouped.");
+            }
+            for (BatchItemResult result : groupResults) {
+                int position = positions.get(result.getIndex());
+                results[position] = result.isSuccess() 
+                    ? BatchItemResult.success(position, result.getRecordId()) 
+                    : BatchItemResult.failure(position, result.getErrorMsg());
+            }
+        } catch (AuthorizationException | RecordDoesNotExistException | RecordAlreadyExistsException 
+                | IllegalArgumentException e) {
+            for (int position : positions) {
+                if (results[position] == null) {
+                    results[position] = BatchItemResult.failure(position, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one operation that has no DAO batch call.
+     * @param index the position of the operation in the batch
+     * @param operation a valid operation
+     * @return the result of the operation
+     */
+    private BatchItemResult executeSingle(int index, BatchOperation operation) {
+        int resourceId = operation.getResourceId();
+        try {
+            switch (operation.getAction() + " " + operation.getType()) {
+                case "edit resource":
+                    resourceDAO.editResource(user, resourceId, parseBody(operation, Resource.class));
+                    return BatchItemResult.success(index, resourceId);
+                case "remove resource":
+                    resourceDAO.removeResource(user, resourceId);
+                    return BatchItemResult.success(index, resourceId);
+                case "edit comment":
+                    commentDAO.editComment(user, operation.getRecordId(), parseBody(operation, Comment.class), resourceId);
+                    return BatchItemResult.success(index, operation.getRecordId());
+                case "edit reviewFlag":
+                    flagDAO.editReviewFlag(user, operation.getRecordId(), parseBody(operation, ReviewFlag.class), resourceId);
+                    return BatchItemResult.success(index, operation.getRecordId());
+                case "remove upvote":
+                    upvoteDAO.removeUpvote(user, operation.getRecordId(), resourceId);
+                    return BatchItemResult.success(index, operation.getRecordId());
+                default:
+                    throw new IllegalStateException("Operation must be grouped.");
+            }
+        } catch (AuthorizationException | RecordDoesNotExistException | RecordAlreadyExistsException 
+                | IllegalArgumentException e) {
+            return BatchItemResult.failure(index, e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the bodies of a group of additions, recording a failure for each body that
+     * cannot be parsed.
+     * @param operations the submitted operations
+     * @param start the position of the first operation in the group
+     * @param end the position after the last operation in the group
+     * @param type the record class to parse
+     * @param positions receives the batch position of each parsed record
+     * @param results the results of the whole batch
+     * @return the parsed records
+     */
+    private <T> List<T> parseBodies(List<BatchOperation> operations, int start, int end, Class<T> type, 
+            List<Integer> positions, BatchItemResult[] results) {
+        List<T> records = new ArrayList<T>(end - start);
+        for (int i = start; i < end; i++) {
+            try {
+                records.add(parseBody(operations.get(i), type));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchItemResult.failure(i, e.getMessage());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Collects the record keys of a group of removals.
+     * @param operations the submitted operations
+     * @param start the position of the first operation in the group
+     * @param end the position after the last operation in the group
+     * @param positions receives the batch position of each key
+     * @return the record keys
+     */
+    private List<RecordKey> recordKeys(List<BatchOperation> operations, int start, int end, List<Integer> positions) {
+        List<RecordKey> keys = new ArrayList<RecordKey>(end - start);
+        for (int i = start; i < end; i++) {
+            keys.add(new RecordKey(operations.get(i).getResourceId(), operations.get(i).getRecordId()));
+            positions.add(i);
+        }
+        return keys;
+    }
+
+    /**
+     * Parses the body of an addition or edit.
+     * <p>
+     * Jackson routes each field through the record setters, so the usual sanitization and
+     * validation rules apply to batched writes.
+     * 
+     * @param operation the operation holding the body
+     * @param type the record class to parse
+     * @return the parsed record
+     */
+    private <T> T parseBody(BatchOperation operation, Class<T> type) {
+        T value;
+        try {
+            value = objectMapper.treeToValue(operation.getBody(), type);
+        } catch (JsonProcessingException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            }
+            throw new IllegalArgumentException("Unable to parse operation body.");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Operation requires a body.");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,124 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A single write in a batched mutation request.
+ * <p>
+ * The action is one of "add", "edit" or "remove" and the type is one of "resource",
+ * "comment", "upvote" or "reviewFlag". The record ID names the comment, upvote or review
+ * flag within the resource and is not used for resource operations or additions. The body
+ * holds the resource, comment or review flag for additions and edits.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class BatchOperation {
+
+    private String action;
+    private String type;
+    private Integer resourceId;
+    private Integer recordId;
+    private JsonNode body;
+
+    /**
+     * Gets the action to perform.
+     * @return "add", "edit" or "remove"
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Sets the action to perform.
+     * @param action "add", "edit" or "remove"
+     */
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    /**
+     * Gets the type of record the operation writes.
+     * @return "resource", "comment", "upvote" or "reviewFlag"
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Sets the type of record the operation writes.
+     * @param type "resource", "comment", "upvote" or "reviewFlag"
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets the ID of the resource the operation targets.
+     * @return the resource ID, or null if none was given
+     */
+    public Integer getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Sets the ID of the resource the operation targets.
+     * @param resourceId the resource ID
+     */
+    public void setResourceId(Integer resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    /**
+     * Gets the ID of the comment, upvote or review flag the operation targets.
+     * @return the record ID, or null if none was given
+     */
+    public Integer getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * Sets the ID of the comment, upvote or review flag the operation targets.
+     * @param recordId the record ID
+     */
+    public void setRecordId(Integer recordId) {
+        this.recordId = recordId;
+    }
+
+    /**
+     * Gets the record written by an addition or edit.
+     * @return the JSON body, or null if none was given
+     */
+    public JsonNode getBody() {
+        return body;
+    }
+
+    /**
+     * Sets the record written by an addition or edit.
+     * @param body the JSON body
+     */
+    public void setBody(JsonNode body) {
+        this.body = body;
+    }
+}
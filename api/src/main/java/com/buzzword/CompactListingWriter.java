@@ -0,0 +1,201 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import com.buzzword.AccessPolicy.RecordType;
+
+/**
+ * Writes resource listings in the compact v2 schema.
+ * <p>
+ * The v1 listing repeats every field name, the author's names and every per-user flag on
+ * each resource, comment and review flag. The v2 schema instead:
+ * <ul>
+ *   <li>writes each author's names once, in an {@code authors} table keyed by creator ID,
+ *   which resources, comments and review flags reference through {@code creatorId}</li>
+ *   <li>leaves out boolean flags that are false, and {@code upvoteId} if the user has not
+ *   upvoted the resource</li>
+ *   <li>leaves out empty comment and review flag arrays</li>
+ *   <li>uses short names for the per-user fields: {@code canEdit}, {@code canDelete},
+ *   {@code edited}, {@code created} and {@code upvoteId}</li>
+ * </ul>
+ * For example:
+ * <pre>
+ * {"authors":{"3":{"firstName":"Ada","lastName":"Lovelace"}},
+ *  "resources":[{"id":1,"creatorId":3,"created":1700000000000,"title":"...","description":"...",
+ *    "url":"...","upvoteCount":1,"commentCount":1,"canEdit":true,"canDelete":true,"upvoteId":9,
+ *    "comments":[{"id":5,"creatorId":3,"created":1700000000000,"contents":"...","canEdit":true,"canDelete":true}]}]}
+ * </pre>
+ * The writer only uses the streaming generator, so it writes any of the
+ * {@link ResponseFormat}s.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class CompactListingWriter {
+
+    private final ResponseFormat format;
+
+    /**
+     * Constructs a writer for a wire format.
+     * @param format the format to write
+     */
+    public CompactListingWriter(ResponseFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Writes a listing of resource snapshots with a user's permissions applied.
+     * @param out the stream to write to; it is not closed
+     * @param snapshots the resource snapshots
+     * @param overlay the user's permission overlay
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(OutputStream out, List<ResourceSnapshot> snapshots, PermissionOverlay overlay) throws IOException {
+        try (JsonGenerator gen = format.getObjectMapper().getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            writeAuthors(gen, snapshots);
+            gen.writeFieldName("resources");
+            gen.writeStartArray(snapshots, snapshots.size());
+            for (ResourceSnapshot snapshot : snapshots) {
+                writeResource(gen, snapshot, overlay);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the table of every author in the listing.
+     * @param gen the generator to write to
+     * @param snapshots the resource snapshots
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeAuthors(JsonGenerator gen, List<ResourceSnapshot> snapshots) throws IOException {
+        Map<Integer, String[]> authors = new LinkedHashMap<Integer, String[]>();
+        for (ResourceSnapshot snapshot : snapshots) {
+            authors.putIfAbsent(snapshot.getCreatorId(), new String[] {snapshot.getFirstName(), snapshot.getLastName()});
+            addAuthors(authors, snapshot.getComments());
+            addAuthors(authors, snapshot.getReviewFlags());
+        }
+        gen.writeFieldName("authors");
+        gen.writeStartObject();
+        for (Map.Entry<Integer, String[]> author : authors.entrySet()) {
+            gen.writeFieldName(Integer.toString(author.getKey()));
+            gen.writeStartObject();
+            gen.writeStringField("firstName", author.getValue()[0]);
+            gen.writeStringField("lastName", author.getValue()[1]);
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Adds the authors of comments or review flags to the author table.
+     * @param authors the author names by creator ID
+     * @param records the comment or review flag snapshots
+     */
+    private void addAuthors(Map<Integer, String[]> authors, List<RecordSnapshot> records) {
+        for (RecordSnapshot record : records) {
+            authors.putIfAbsent(record.getCreatorId(), new String[] {record.getFirstName(), record.getLastName()});
+        }
+    }
+
+    /**
+     * Writes one resource.
+     * @param gen the generator to write to
+     * @param snapshot the resource snapshot
+     * @param overlay the user's permission overlay
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeResource(JsonGenerator gen, ResourceSnapshot snapshot, PermissionOverlay overlay) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", snapshot.getId());
+        gen.writeNumberField("creatorId", snapshot.getCreatorId());
+        gen.writeNumberField("created", snapshot.getCreationDate().getTime());
+        gen.writeStringField("title", snapshot.getTitle());
+        gen.writeStringField("description", snapshot.getDescription());
+        gen.writeStringField("url", snapshot.getUrl());
+        gen.writeNumberField("upvoteCount", snapshot.getUpvotes().size());
+        gen.writeNumberField("commentCount", snapshot.getComments().size());
+        writeFlag(gen, "edited", snapshot.getIsEdited());
+        writeFlag(gen, "canEdit", overlay.canEdit(snapshot));
+        writeFlag(gen, "canDelete", overlay.canDelete(snapshot));
+        int upvoteId = overlay.upvoteId(snapshot);
+        if (upvoteId != -1) {
+            gen.writeNumberField("upvoteId", upvoteId);
+        }
+        writeRecords(gen, "comments", snapshot.getComments(), RecordType.COMMENT, overlay);
+        writeRecords(gen, "reviewFlags", snapshot.getReviewFlags(), RecordType.REVIEW_FLAG, overlay);
+        gen.writeEndObject();
+    }
+
+    /**
+     * Writes a resource's comments or review flags, unless there are none.
+     * @param gen the generator to write to
+     * @param fieldName the name of the array
+     * @param records the comment or review flag snapshots
+     * @param recordType the type of the records
+     * @param overlay the user's permission overlay
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeRecords(JsonGenerator gen, String fieldName, List<RecordSnapshot> records, RecordType recordType, PermissionOverlay overlay) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        gen.writeFieldName(fieldName);
+        gen.writeStartArray(records, records.size());
+        for (RecordSnapshot record : records) {
+            gen.writeStartObject();
+            gen.writeNumberField("id", record.getId());
+            gen.writeNumberField("creatorId", record.getCreatorId());
+            gen.writeNumberField("created", record.getCreationDate().getTime());
+            gen.writeStringField("contents", record.getContents());
+            writeFlag(gen, "edited", record.getIsEdited());
+            writeFlag(gen, "canEdit", overlay.canEdit(record, recordType));
+            writeFlag(gen, "canDelete", overlay.canDelete(record, recordType));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Writes a boolean field only if it is true.
+     * @param gen the generator to write to
+     * @param fieldName the field name
+     * @param value the value
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeFlag(JsonGenerator gen, String fieldName, boolean value) throws IOException {
+        if (value) {
+            gen.writeBooleanField(fieldName, true);
+        }
+    }
+}
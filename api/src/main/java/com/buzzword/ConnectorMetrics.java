@@ -0,0 +1,163 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+/**
+ * Collects live statistics from the embedded Tomcat connectors so they can be sized
+ * against real traffic.
+ * <p>
+ * Connectors are registered as they are created. Their connection counts, limits and
+ * request thread usage are read when a snapshot is taken, and this filter counts requests
+ * by HTTP protocol version to show how much traffic has moved to HTTP/2.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+@Component
+public class ConnectorMetrics implements Filter {
+
+    private final List<Connector> connectors = new CopyOnWriteArrayList<Connector>();
+    private final Map<String, LongAdder> requestsByProtocol = new ConcurrentHashMap<String, LongAdder>();
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Registers a connector whose statistics are included in snapshots.
+     * @param connector the connector
+     */
+    public void register(Connector connector) {
+        if (connector == null) {
+            logger.error("Attempted to register a null connector.");
+            throw new IllegalArgumentException("Connector cannot be null.");
+        }
+        connectors.add(connector);
+    }
+
+    /**
+     * Counts the request by protocol version and continues the filter chain.
+     * 
+     * @param request the servlet request
+     * @param response the servlet response
+     * @param chain the filter chain
+     * @throws IOException if an I/O error occurs during filtering
+     * @throws ServletException if a servlet error occurs during filtering
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        requestsByProtocol.computeIfAbsent(request.getProtocol(), protocol -> new LongAdder()).increment();
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Takes a snapshot of every registered connector and the request counts.
+     * @return the connector statistics as a JSON object
+     */
+    public ObjectNode snapshot() {
+        ObjectNode metrics = ObjectMapperFactory.getObjectMapper().createObjectNode();
+        ArrayNode connectorNodes = metrics.putArray("connectors");
+        for (Connector connector : connectors) {
+            connectorNodes.add(snapshot(connector));
+        }
+        ObjectNode requests = metrics.putObject("requestsByProtocol");
+        for (Map.Entry<String, LongAdder> entry : requestsByProtocol.entrySet()) {
+            requests.put(entry.getKey(), entry.getValue().sum());
+        }
+        return metrics;
+    }
+
+    /**
+     * Takes a snapshot of a single connector.
+     * @param connector the connector
+     * @return the connector statistics as a JSON object
+     */
+    private ObjectNode snapshot(Connector connector) {
+        ObjectNode node = ObjectMapperFactory.getObjectMapper().createObjectNode()
+            .put("scheme", connector.getScheme())
+            .put("port", connector.getLocalPort())
+            .put("http2", hasHttp2(connector));
+
+        ProtocolHandler handler = connector.getProtocolHandler();
+        if (handler instanceof AbstractProtocol) {
+            AbstractProtocol<?> protocol = (AbstractProtocol<?>) handler;
+            node.put("connections", protocol.getConnectionCount())
+                .put("maxConnections", protocol.getMaxConnections())
+                .put("acceptCount", protocol.getAcceptCount())
+                .put("keepAliveTimeoutMillis", protocol.getKeepAliveTimeout());
+        }
+        if (handler instanceof AbstractHttp11Protocol) {
+            node.put("maxKeepAliveRequests", ((AbstractHttp11Protocol<?>) handler).getMaxKeepAliveRequests());
+        }
+
+        Executor executor = handler.getExecutor();
+        if (executor instanceof VirtualThreadExecutor) {
+            node.put("threads", "virtual");
+        } else if (executor instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            node.put("threads", "platform")
+                .put("activeThreads", pool.getActiveCount())
+                .put("poolSize", pool.getPoolSize())
+                .put("maxThreads", pool.getMaximumPoolSize())
+                .put("queuedRequests", pool.getQueue().size());
+        }
+        return node;
+    }
+
+    /**
+     * Checks whether a connector offers HTTP/2.
+     * @param connector the connector
+     * @return true if HTTP/2 is one of the connector's upgrade protocols
+     */
+    private static boolean hasHttp2(Connector connector) {
+        for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+            if (upgradeProtocol instanceof Http2Protocol) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
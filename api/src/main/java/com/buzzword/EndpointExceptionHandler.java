@@ -154,6 +154,21 @@ public class EndpointExceptionHandler {
                              .body("{\"errorMsg\": \"The requested record does not exist.\"}");
     }
 
+    /**
+     * Exception handler for when a request is malformed, such as an unknown field or an
+     * oversized batch. 
+     * 
+     * @param e An InvalidRequestException.
+     * @return  A JSON-formatted HTTP response with a 400 error code and message.
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> handleInvalidRequestException(InvalidRequestException e) {
+        logger.error(String.format("Returning HTTP response code 400: Invalid request: %s", e.getMessage()));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body("{\"errorMsg\": \"Invalid parameter provided for the requested operation.\"}");
+    }
+
 
     
     /*
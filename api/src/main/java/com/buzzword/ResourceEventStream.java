@@ -0,0 +1,261 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Fans the change events published by the DAOs out to Server-Sent Events subscribers.
+ * <p>
+ * Subscriptions are async servlet requests, so an idle subscriber holds no thread. Each
+ * subscriber has a bounded queue of pending events that is drained on a virtual thread,
+ * so a slow client never blocks the writer that published the event. A subscriber whose
+ * queue fills up is disconnected; its EventSource reconnects and reloads the listing
+ * instead of receiving an unbounded backlog. A comment line is sent periodically so that
+ * proxies keep idle connections open and dead connections are noticed.
+ * <p>
+ * Only writes made through this node's DAOs are published.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class ResourceEventStream implements ResourceEventPublisher, AutoCloseable {
+
+    /** The number of events that may wait for a slow subscriber before it is dropped. */
+    static final int MAX_PENDING_EVENTS = 256;
+
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextEventId = new AtomicLong(1);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofVirtual().name("resource-event-heartbeat").factory());
+
+    /**
+     * Constructs an event stream and starts its heartbeat.
+     */
+    public ResourceEventStream() {
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Adds a subscriber. The emitter completes when the client disconnects, the request
+     * times out or the subscriber falls too far behind.
+     * 
+     * @return The emitter to return from the request handler.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        logger.info(String.format("Added resource event subscriber; %d connected.", subscribers.size()));
+        return emitter;
+    }
+
+    /**
+     * Queues an event for every subscriber.
+     * 
+     * @param event The change event.
+     */
+    @Override
+    public void publish(ResourceEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Message message = new Message(nextEventId.getAndIncrement(), event.getType().name(), toJson(event));
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Gets the number of connected subscribers.
+     * 
+     * @return The subscriber count.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Disconnects every subscriber and stops the sender threads.
+     */
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Queues a heartbeat comment for every subscriber.
+     */
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(Message.HEARTBEAT);
+        }
+    }
+
+    /**
+     * Serializes the fields of an event that apply to its type.
+     * 
+     * @param event The change event.
+     * @return The event data as a JSON string.
+     */
+    static String toJson(ResourceEvent event) {
+        ObjectNode data = ObjectMapperFactory.getObjectMapper().createObjectNode()
+            .put("type", event.getType().name())
+            .put("resourceId", event.getResourceId());
+        if (event.getType() == ResourceEvent.Type.COMMENT_ADDED) {
+            data.put("commentId", event.getRecordId());
+        } else if (event.getType() == ResourceEvent.Type.UPVOTE_COUNT_CHANGED) {
+            data.put("upvoteCount", event.getUpvoteCount());
+        }
+        return data.toString();
+    }
+
+    /**
+     * An event ready to be sent, or the heartbeat comment.
+     */
+    private static final class Message {
+
+        static final Message HEARTBEAT = new Message(-1, null, null);
+
+        final long id;
+        final String name;
+        final String data;
+
+        Message(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+        /**
+         * Builds the event. Builders are not reusable, so one is built per send.
+         * 
+         * @return The SSE event builder.
+         */
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                             .id(Long.toString(id))
+                             .name(name)
+                             .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * A connected client and the events waiting to be sent to it.
+     */
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final BlockingQueue<Message> pending = new ArrayBlockingQueue<Message>(MAX_PENDING_EVENTS);
+        final AtomicBoolean draining = new AtomicBoolean(false);
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues a message and makes sure a sender is draining the queue.
+         * 
+         * @param message The message to send.
+         */
+        void offer(Message message) {
+            if (!pending.offer(message)) {
+                logger.warn(String.format("Dropping resource event subscriber that is %d events behind.", MAX_PENDING_EVENTS));
+                disconnect();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        /**
+         * Sends queued messages until the queue is empty.
+         */
+        void drain() {
+            try {
+                Message message;
+                while ((message = pending.poll()) != null) {
+                    emitter.send(message.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                disconnect();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A message queued after the last poll but before the flag was cleared needs a sender
+            if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        /**
+         * Removes the subscriber and completes its response.
+         */
+        void disconnect() {
+            if (subscribers.remove(this)) {
+                pending.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
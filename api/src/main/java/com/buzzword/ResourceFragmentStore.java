@@ -0,0 +1,387 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.buzzword.AccessPolicy.RecordType;
+
+/**
+ * Keeps the rendered JSON of each resource snapshot in off-heap memory, so that listings do
+ * not run every resource through Jackson on every request.
+ * <p>
+ * A fragment holds the user-independent parts of a resource: the resource itself and each
+ * of its comments and review flags, without the per-user permission and upvote fields.
+ * Responses are written by copying the fragments to the output stream and splicing in the
+ * per-user fields, which a {@link PermissionOverlay} computes from the snapshot.
+ * <p>
+ * A fragment is only reused for the snapshot version it was rendered from. Fragments are
+ * allocated from automatic arenas, so an evicted fragment's memory is released once no
+ * response is still writing it. The store is bounded by total off-heap bytes, evicts the
+ * least recently used fragment first, and drops fragments when the resource cache is
+ * invalidated.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ResourceFragmentStore implements ResourceInvalidationListener {
+
+    /** Fields that depend on the user viewing a record. */
+    private static final List<String> RECORD_USER_FIELDS = List.of("currentUserCanDelete", "currentUserCanEdit");
+
+    /** Fields that depend on the user viewing a resource. */
+    private static final List<String> RESOURCE_USER_FIELDS = List.of(
+        "currentUserCanDelete", "currentUserCanEdit", "upvotedByCurrentUser", "currentUserUpvoteId");
+
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+    private final long maxBytes;
+    private final Map<Integer, Fragment> fragments = new LinkedHashMap<Integer, Fragment>(16, 0.75f, true);
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    private long totalBytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * The rendered JSON of one resource snapshot.
+     * <p>
+     * The segment holds the resource object, then each comment, then each review flag, each
+     * without its closing brace. The offsets mark where each part starts, plus the end.
+     */
+    static final class Fragment {
+        private final int resourceId;
+        private final long version;
+        private final MemorySegment segment;
+        private final long[] offsets;
+
+        private Fragment(int resourceId, long version, MemorySegment segment, long[] offsets) {
+            this.resourceId = resourceId;
+            this.version = version;
+            this.segment = segment;
+            this.offsets = offsets;
+        }
+    }
+
+    /**
+     * Constructs a fragment store from the cache configuration.
+     * @param config the cache configuration
+     */
+    public ResourceFragmentStore(CacheConfiguration config) {
+        this(config.getFragmentStoreMaxBytes());
+    }
+
+    /**
+     * Constructs a fragment store.
+     * @param maxBytes the maximum off-heap bytes to hold; zero disables the store
+     */
+    ResourceFragmentStore(long maxBytes) {
+        if (maxBytes < 0) {
+            logger.error(String.format("Attempted to create a fragment store with size %d.", maxBytes));
+            throw new IllegalArgumentException("Store size must not be negative.");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the fragment of each snapshot, rendering and storing the ones that are missing.
+     * @param snapshots the resource snapshots to write
+     * @return the fragments, in the order of the snapshots
+     * @throws JsonProcessingException if a resource cannot be rendered
+     */
+    public List<Fragment> fragmentsFor(List<ResourceSnapshot> snapshots) throws JsonProcessingException {
+        List<Fragment> found = new ArrayList<Fragment>(snapshots.size());
+        for (ResourceSnapshot snapshot : snapshots) {
+            Fragment fragment = lookup(snapshot);
+            if (fragment == null) {
+                fragment = render(snapshot);
+                store(fragment);
+            }
+            found.add(fragment);
+        }
+        return found;
+    }
+
+    /**
+     * Writes resources as a JSON array from their fragments.
+     * @param out the stream to write to
+     * @param snapshots the resource snapshots
+     * @param resourceFragments the fragments of the snapshots, in the same order
+     * @param overlay the current user's permission overlay
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeResources(OutputStream out, List<ResourceSnapshot> snapshots, List<Fragment> resourceFragments, PermissionOverlay overlay) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        out.write('[');
+        for (int i = 0; i < snapshots.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeResource(out, snapshots.get(i), resourceFragments.get(i), overlay, buffer);
+        }
+        out.write(']');
+    }
+
+    /**
+     * Writes one resource, splicing the current user's fields into its fragment.
+     * @param out the stream to write to
+     * @param snapshot the resource snapshot
+     * @param fragment the fragment of the snapshot
+     * @param overlay the current user's permission overlay
+     * @param buffer a scratch buffer for copying off-heap bytes
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeResource(OutputStream out, ResourceSnapshot snapshot, Fragment fragment, PermissionOverlay overlay, byte[] buffer) throws IOException {
+        int upvoteId = overlay.upvoteId(snapshot);
+        copy(out, fragment, 0, buffer);
+        writeAscii(out, ",\"currentUserCanDelete\":" + overlay.canDelete(snapshot)
+            + ",\"currentUserCanEdit\":" + overlay.canEdit(snapshot)
+            + ",\"upvotedByCurrentUser\":" + (upvoteId != -1)
+            + ",\"currentUserUpvoteId\":" + (upvoteId != -1 ? upvoteId : 0));
+
+        writeAscii(out, ",\"comments\":");
+        writeRecords(out, fragment, 1, snapshot.getComments(), RecordType.COMMENT, overlay, buffer);
+        writeAscii(out, ",\"reviewFlags\":");
+        writeRecords(out, fragment, 1 + snapshot.getComments().size(), snapshot.getReviewFlags(), RecordType.REVIEW_FLAG, overlay, buffer);
+        out.write('}');
+    }
+
+    /**
+     * Writes the comments or review flags of a resource as a JSON array.
+     * @param out the stream to write to
+     * @param fragment the fragment of the resource
+     * @param firstPart the index of the first record's part in the fragment
+     * @param records the comment or review flag snapshots
+     * @param recordType the type of the records
+     * @param overlay the current user's permission overlay
+     * @param buffer a scratch buffer for copying off-heap bytes
+     * @throws IOException if the stream cannot be written
+     */
+    private void writeRecords(OutputStream out, Fragment fragment, int firstPart, List<RecordSnapshot> records, RecordType recordType, PermissionOverlay overlay, byte[] buffer) throws IOException {
+        out.write('[');
+        for (int i = 0; i < records.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            RecordSnapshot record = records.get(i);
+            copy(out, fragment, firstPart + i, buffer);
+            writeAscii(out, ",\"currentUserCanDelete\":" + overlay.canDelete(record, recordType)
+                + ",\"currentUserCanEdit\":" + overlay.canEdit(record, recordType) + "}");
+        }
+        out.write(']');
+    }
+
+    /**
+     * Copies one part of a fragment from off-heap memory to the stream.
+     * @param out the stream to write to
+     * @param fragment the fragment
+     * @param part the index of the part
+     * @param buffer a scratch buffer for copying off-heap bytes
+     * @throws IOException if the stream cannot be written
+     */
+    private void copy(OutputStream out, Fragment fragment, int part, byte[] buffer) throws IOException {
+        long offset = fragment.offsets[part];
+        long end = fragment.offsets[part + 1];
+        while (offset < end) {
+            int count = (int) Math.min(buffer.length, end - offset);
+            MemorySegment.copy(fragment.segment, ValueLayout.JAVA_BYTE, offset, buffer, 0, count);
+            out.write(buffer, 0, count);
+            offset += count;
+        }
+    }
+
+    /**
+     * Finds the stored fragment of a snapshot.
+     * @param snapshot the snapshot about to be written
+     * @return the fragment, or null if it must be rendered
+     */
+    private synchronized Fragment lookup(ResourceSnapshot snapshot) {
+        Fragment fragment = fragments.get(snapshot.getId());
+        if (fragment != null && fragment.version == snapshot.getVersion()) {
+            hits++;
+            return fragment;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Stores a rendered fragment, replacing any fragment of an older snapshot.
+     * @param fragment the fragment
+     */
+    private synchronized void store(Fragment fragment) {
+        long size = fragment.segment.byteSize();
+        Fragment current = fragments.get(fragment.resourceId);
+        // Never replace the fragment of a newer snapshot with one rendered from an older one
+        if (size > maxBytes || (current != null && current.version > fragment.version)) {
+            return;
+        }
+        remove(fragment.resourceId);
+        fragments.put(fragment.resourceId, fragment);
+        totalBytes += size;
+        Iterator<Fragment> eldest = fragments.values().iterator();
+        while (totalBytes > maxBytes) {
+            totalBytes -= eldest.next().segment.byteSize();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Renders the user-independent JSON of a snapshot into off-heap memory.
+     * @param snapshot the resource snapshot
+     * @return the fragment
+     * @throws JsonProcessingException if the resource cannot be rendered
+     */
+    private Fragment render(ResourceSnapshot snapshot) throws JsonProcessingException {
+        ObjectNode resourceNode = objectMapper.valueToTree(PermissionOverlay.anonymous().toResource(snapshot));
+        resourceNode.remove(RESOURCE_USER_FIELDS);
+        JsonNode commentNodes = resourceNode.remove("comments");
+        JsonNode reviewFlagNodes = resourceNode.remove("reviewFlags");
+
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+        List<Long> offsets = new ArrayList<Long>();
+        appendPart(rendered, offsets, resourceNode);
+        for (JsonNode commentNode : iterable(commentNodes)) {
+            ((ObjectNode) commentNode).remove(RECORD_USER_FIELDS);
+            appendPart(rendered, offsets, commentNode);
+        }
+        for (JsonNode reviewFlagNode : iterable(reviewFlagNodes)) {
+            ((ObjectNode) reviewFlagNode).remove(RECORD_USER_FIELDS);
+            appendPart(rendered, offsets, reviewFlagNode);
+        }
+        offsets.add((long) rendered.size());
+
+        byte[] bytes = rendered.toByteArray();
+        MemorySegment segment = Arena.ofAuto().allocate(Math.max(bytes.length, 1));
+        MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+        return new Fragment(snapshot.getId(), snapshot.getVersion(), segment, offsets.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Appends the JSON of an object, without its closing brace, as the next part of a fragment.
+     * @param rendered the fragment bytes so far
+     * @param offsets the start offset of each part so far
+     * @param node the object to append
+     * @throws JsonProcessingException if the object cannot be rendered
+     */
+    private void appendPart(ByteArrayOutputStream rendered, List<Long> offsets, JsonNode node) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(node);
+        offsets.add((long) rendered.size());
+        rendered.write(json, 0, json.length - 1);
+    }
+
+    /**
+     * Removes a fragment and releases its bytes from the store's total.
+     * @param resourceId the ID of the resource
+     */
+    private void remove(int resourceId) {
+        Fragment removed = fragments.remove(resourceId);
+        if (removed != null) {
+            totalBytes -= removed.segment.byteSize();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void resourceInvalidated(int resourceId) {
+        remove(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void allResourcesInvalidated() {
+        fragments.clear();
+        totalBytes = 0;
+    }
+
+    /**
+     * Gets the number of stored fragments.
+     * @return the fragment count
+     */
+    public synchronized int getFragmentCount() {
+        return fragments.size();
+    }
+
+    /**
+     * Gets the off-heap bytes held by stored fragments.
+     * @return the stored bytes
+     */
+    public synchronized long getOffHeapBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the number of resources written from a stored fragment.
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of resources that had to be rendered.
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Writes an ASCII string to the stream.
+     * @param out the stream to write to
+     * @param text the text
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeAscii(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Iterates the elements of a JSON array, treating a missing or null array as empty.
+     * @param node the array node, or null
+     * @return the elements
+     */
+    private static Iterable<JsonNode> iterable(JsonNode node) {
+        return node == null || !node.isArray() ? List.of() : node;
+    }
+}
@@ -0,0 +1,279 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads newline-delimited JSON (NDJSON) resources from a stream and writes them to the
+ * database in bounded batches.
+ * <p>
+ * Lines are read only as fast as batches can be written, so memory use depends on the batch
+ * size and maximum line length rather than the size of the upload. Progress and per-line
+ * errors are written back as NDJSON while the import runs.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ResourceImporter {
+
+    /** The default number of resources written per batch. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** The default maximum length, in characters, of a single line. */
+    public static final int DEFAULT_MAX_LINE_LENGTH = 64 * 1024;
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final ResourceDAO resourceDAO;
+    private final Credentials user;
+    private final int batchSize;
+    private final int maxLineLength;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    private final StringBuilder lineBuffer = new StringBuilder();
+    private boolean lineTooLong;
+
+    /**
+     * Constructs an importer using the default batch size and line length limit.
+     * @param resourceDAO the DAO used to write resources
+     * @param user the credentials of the user running the import
+     */
+    public ResourceImporter(ResourceDAO resourceDAO, Credentials user) {
+        this(resourceDAO, user, DEFAULT_BATCH_SIZE, DEFAULT_MAX_LINE_LENGTH);
+    }
+
+    /**
+     * Constructs an importer.
+     * @param resourceDAO the DAO used to write resources
+     * @param user the credentials of the user running the import
+     * @param batchSize the maximum number of resources written per batch
+     * @param maxLineLength the maximum length, in characters, of a single line
+     */
+    public ResourceImporter(ResourceDAO resourceDAO, Credentials user, int batchSize, int maxLineLength) {
+        if (resourceDAO == null || user == null) {
+            logger.error("Attempted to create a resource importer with a null DAO or null credentials.");
+            throw new IllegalArgumentException("Resource DAO and user credentials cannot be null.");
+        }
+        if (batchSize < 1 || maxLineLength < 1) {
+            logger.error(String.format("Attempted to create a resource importer with batch size %d and line length %d.", 
+                batchSize, maxLineLength));
+            throw new IllegalArgumentException("Batch size and maximum line length must be positive.");
+        }
+        this.resourceDAO = resourceDAO;
+        this.user = user;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Imports every resource in the input stream.
+     * <p>
+     * Each non-blank line must hold a single JSON resource. Lines that cannot be parsed or fail
+     * validation are reported and skipped; they do not stop the import. After every batch a
+     * progress line is written and flushed, and a final summary line is written at the end.
+     * 
+     * @param in the NDJSON request body
+     * @param out the stream that receives NDJSON progress and error lines
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public void importResources(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<Resource> batch = new ArrayList<Resource>(batchSize);
+        List<Integer> batchLines = new ArrayList<Integer>(batchSize);
+        int lineNumber = 0;
+        int inserted = 0;
+        int failed = 0;
+
+        String line;
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+            if (lineTooLong) {
+                failed++;
+                writeError(out, lineNumber, String.format("Line exceeds %d characters.", maxLineLength));
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(parseResource(line));
+                batchLines.add(lineNumber);
+            } catch (IllegalArgumentException e) {
+                failed++;
+                writeError(out, lineNumber, e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                int written = writeBatch(out, batch, batchLines);
+                inserted += written;
+                failed += batch.size() - written;
+                batch.clear();
+                batchLines.clear();
+                writeProgress(out, "progress", lineNumber, inserted, failed);
+            }
+        }
+        if (!batch.isEmpty()) {
+            int written = writeBatch(out, batch, batchLines);
+            inserted += written;
+            failed += batch.size() - written;
+        }
+        writeProgress(out, "done", lineNumber, inserted, failed);
+        logger.info(String.format("User %d imported %d resources (%d failed) from %d lines.", 
+            user.getId(), inserted, failed, lineNumber));
+    }
+
+    /**
+     * Parses and validates a single resource line.
+     * <p>
+     * Jackson routes each field through the Resource setters, so the usual sanitization and
+     * validation rules apply to imported resources.
+     * 
+     * @param line the JSON text of the resource
+     * @return the validated resource
+     */
+    private Resource parseResource(String line) {
+        Resource resource;
+        try {
+            resource = objectMapper.readValue(line, Resource.class);
+        } catch (JsonProcessingException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) cause;
+            }
+            throw new IllegalArgumentException("Unable to parse resource.");
+        }
+        if (resource == null || resource.getTitle() == null 
+                || resource.getDescription() == null || resource.getUrl() == null) {
+            throw new IllegalArgumentException("Resource must have a title, description and URL.");
+        }
+        return resource;
+    }
+
+    /**
+     * Writes one batch and reports any item the database rejected.
+     * @param out the progress stream
+     * @param batch the resources to write
+     * @param batchLines the input line number of each resource
+     * @return the number of resources written
+     * @throws IOException if writing an error line fails
+     */
+    private int writeBatch(OutputStream out, List<Resource> batch, List<Integer> batchLines) throws IOException {
+        List<BatchItemResult> results = resourceDAO.insertResources(user, batch);
+        int written = 0;
+        for (BatchItemResult result : results) {
+            if (result.isSuccess()) {
+                written++;
+            } else {
+                writeError(out, batchLines.get(result.getIndex()), result.getErrorMsg());
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Reads one line into the shared buffer, keeping at most maxLineLength characters.
+     * <p>
+     * Overlong lines are consumed to their end and flagged through lineTooLong so the
+     * importer never holds more than one bounded line in memory.
+     * 
+     * @param reader the source of the lines
+     * @return the line without its terminator, or null at the end of the stream
+     * @throws IOException if reading fails
+     */
+    private String readLine(Reader reader) throws IOException {
+        lineBuffer.setLength(0);
+        lineTooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                if (lineBuffer.length() < maxLineLength) {
+                    lineBuffer.append((char) c);
+                } else {
+                    lineTooLong = true;
+                }
+            }
+            c = reader.read();
+        }
+        return lineBuffer.toString();
+    }
+
+    /**
+     * Writes an error line for a single input line.
+     * @param out the progress stream
+     * @param lineNumber the input line that failed
+     * @param errorMsg the reason the line failed
+     * @throws IOException if writing fails
+     */
+    private void writeError(OutputStream out, int lineNumber, String errorMsg) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<String, Object>();
+        error.put("line", lineNumber);
+        error.put("errorMsg", errorMsg);
+        writeLine(out, error);
+    }
+
+    /**
+     * Writes and flushes a progress line.
+     * @param out the progress stream
+     * @param status either "progress" or "done"
+     * @param lines the number of lines read so far
+     * @param inserted the number of resources written so far
+     * @param failed the number of lines rejected so far
+     * @throws IOException if writing fails
+     */
+    private void writeProgress(OutputStream out, String status, int lines, int inserted, int failed) throws IOException {
+        Map<String, Object> progress = new LinkedHashMap<String, Object>();
+        progress.put("status", status);
+        progress.put("lines", lines);
+        progress.put("inserted", inserted);
+        progress.put("failed", failed);
+        writeLine(out, progress);
+        out.flush();
+    }
+
+    /**
+     * Writes a single NDJSON line.
+     * @param out the progress stream
+     * @param value the object to serialize
+     * @throws IOException if writing fails
+     */
+    private void writeLine(OutputStream out, Map<String, Object> value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write(NEWLINE);
+    }
+}
@@ -0,0 +1,113 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The wire formats resource responses can be written in.
+ * <p>
+ * Machine clients can ask for CBOR or Smile in the {@code Accept} header for smaller
+ * payloads and faster parsing. Every format is written by the shared mappers from
+ * {@link ObjectMapperFactory}, so they all carry the same properties. JSON is returned
+ * unless a binary format is explicitly preferred, so browsers always get JSON.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON, ObjectMapperFactory.getObjectMapper()),
+    CBOR(MediaType.APPLICATION_CBOR, ObjectMapperFactory.getCborMapper()),
+    SMILE(new MediaType("application", "x-jackson-smile"), ObjectMapperFactory.getSmileMapper());
+
+    private final MediaType mediaType;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a response format.
+     * @param mediaType the media type of the format
+     * @param objectMapper the mapper that writes the format
+     */
+    ResponseFormat(MediaType mediaType, ObjectMapper objectMapper) {
+        this.mediaType = mediaType;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Chooses the response format from an {@code Accept} header.
+     * <p>
+     * Media types are considered in order of quality. A wildcard, JSON, or a missing or
+     * malformed header selects JSON.
+     * 
+     * @param accept the Accept header, or null
+     * @return the response format
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<MediaType>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.getQualityValue() == 0) {
+                break;
+            }
+            if (acceptedType.isWildcardType() || acceptedType.includes(JSON.mediaType)) {
+                return JSON;
+            }
+            for (ResponseFormat format : values()) {
+                if (acceptedType.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Gets the media type of the format.
+     * @return the media type
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Gets the mapper that writes the format.
+     * @return the object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
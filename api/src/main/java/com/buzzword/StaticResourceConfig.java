@@ -0,0 +1,121 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+/**
+ * Configuration class for serving the static documentation pages.
+ * <p>
+ * The build writes a gzip copy of each page next to the original (see the api pom), and
+ * clients that accept gzip are sent that copy with Vary: Accept-Encoding instead of having
+ * the page compressed on every request. Every response carries a long Cache-Control and a
+ * strong ETag taken from a hash of the bytes sent, so a client revalidating an unchanged page
+ * gets a 304 with no body.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    /** How long clients may reuse a static page before revalidating it. */
+    public static final long MAX_AGE_DAYS = 7;
+
+    private final Map<String, String> etags = new ConcurrentHashMap<String, String>();
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Serves the static pages, preferring precompressed copies.
+     * 
+     * @param registry the resource handler registry
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.maxAge(MAX_AGE_DAYS, TimeUnit.DAYS).cachePublic())
+                .setEtagGenerator(this::etagFor)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    /**
+     * Gets the strong ETag of a static resource, hashing its contents the first time it is
+     * served. Resources come from the application jar, so they never change while it runs.
+     * 
+     * @param resource the resource about to be written, possibly a precompressed copy
+     * @return the ETag without quotes, or null if the resource cannot be read
+     */
+    String etagFor(Resource resource) {
+        String key = resource.getDescription();
+        String etag = etags.get(key);
+        if (etag == null) {
+            try {
+                etag = contentHash(resource);
+            } catch (IOException e) {
+                logger.error(String.format("Unable to hash static resource %s: %s", key, e.getMessage()));
+                return null;
+            }
+            etags.put(key, etag);
+        }
+        return etag;
+    }
+
+    /**
+     * Hashes the contents of a resource.
+     * 
+     * @param resource the resource
+     * @return the first 128 bits of the SHA-256 hash, in hex
+     * @throws IOException if the resource cannot be read
+     */
+    static String contentHash(Resource resource) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+        try (InputStream in = resource.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+}
@@ -22,6 +22,10 @@ package com.buzzword;
 */
 
 import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.net.SSLHostConfig;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
 import org.springframework.boot.web.servlet.server.ServletWebServerFactory;
@@ -33,6 +37,18 @@ import org.springframework.context.annotation.Configuration;
  * <p>
  * This class configures an additional HTTP connector for Tomcat so that users can still 
  * use the old HTTP endpoints and be redirected to the new HTTPS endpoints without disruption.
+ * <p>
+ * Spring Boot only moves the primary HTTPS connector onto virtual threads when
+ * spring.threads.virtual.enabled is set, so the HTTP connector is given its own virtual
+ * thread executor here to match.
+ * <p>
+ * Both connectors share the thread, connection and keep-alive limits from the connector
+ * section of brl.properties. The HTTPS connector also offers HTTP/2 (h2 over TLS) and uses
+ * the configured TLS session cache, so browsers can multiplex their requests over a single
+ * resumable connection, and gzip-compresses JSON and text responses above the configured
+ * size. Compression happens in the connector rather than a servlet filter so that streamed
+ * listings are compressed as they are written. Every connector is registered with
+ * {@link ConnectorMetrics}.
  * 
  * @author Ben Edens
  * @version 1.0
@@ -44,28 +60,104 @@ public class TomcatHttpConnectorConfig {
 	@Value("${server.http.port:8080}")
 	private int httpPort;
 
+	// Run requests on virtual threads rather than Tomcat's platform thread pool
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreadsEnabled;
+
+	// Responses that are already compressed (CBOR, Smile, gzip exports, images) are left alone
+	private static final String COMPRESSIBLE_MIME_TYPES = "application/json,application/problem+json,"
+		+ "text/html,text/css,text/plain,text/javascript,application/javascript";
+
 	/**
 	 * Creates a Tomcat servlet web server factory with an additional HTTP connector.
 	 *
+	 * @param connectorMetrics the metrics every connector is registered with
 	 * @return ServletWebServerFactory with both HTTP and HTTPS connectors
 	 */
 	@Bean
-	public ServletWebServerFactory servletContainer() {
+	public ServletWebServerFactory servletContainer(ConnectorMetrics connectorMetrics) {
+		ConnectorConfiguration config = ConfigurationSnapshot.getCurrent().getConnectorConfiguration();
 		TomcatServletWebServerFactory tomcat = new TomcatServletWebServerFactory();
-		tomcat.addAdditionalTomcatConnectors(createHttpConnector());
+		// Connector customizers only apply to the primary (HTTPS) connector
+		tomcat.addConnectorCustomizers(connector -> {
+			applyConnectorLimits(connector, config);
+			applyTlsProfile(connector, config);
+			connectorMetrics.register(connector);
+		});
+		Connector httpConnector = createHttpConnector(config);
+		connectorMetrics.register(httpConnector);
+		tomcat.addAdditionalTomcatConnectors(httpConnector);
 		return tomcat;
 	}
 
 	/**
 	 * Creates an HTTP connector for Tomcat.
 	 * 
+	 * @param config the connector configuration
 	 * @return Connector configured for HTTP
 	 */
-	private Connector createHttpConnector() {
+	private Connector createHttpConnector(ConnectorConfiguration config) {
 		Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
 		connector.setScheme("http");
 		connector.setPort(httpPort);
 		connector.setSecure(false);
+		if (virtualThreadsEnabled) {
+			connector.getProtocolHandler().setExecutor(new VirtualThreadExecutor("tomcat-http-handler-"));
+		}
+		applyConnectorLimits(connector, config);
 		return connector;
 	}
+
+	/**
+	 * Applies the configured thread, connection and keep-alive limits to a connector.
+	 * 
+	 * @param connector the connector to configure
+	 * @param config the connector configuration
+	 */
+	private void applyConnectorLimits(Connector connector, ConnectorConfiguration config) {
+		if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol) {
+			AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+			// Ignored when the connector runs on a virtual thread executor
+			protocol.setMaxThreads(config.getMaxThreads());
+			protocol.setMaxConnections(config.getMaxConnections());
+			protocol.setAcceptCount(config.getAcceptCount());
+			protocol.setKeepAliveTimeout(config.getKeepAliveTimeoutMillis());
+			protocol.setMaxKeepAliveRequests(config.getMaxKeepAliveRequests());
+		}
+	}
+
+	/**
+	 * Applies the TLS session cache settings, compression and HTTP/2 to a connector that
+	 * serves TLS.
+	 * 
+	 * @param connector the connector to configure
+	 * @param config the connector configuration
+	 */
+	private void applyTlsProfile(Connector connector, ConnectorConfiguration config) {
+		SSLHostConfig[] sslHostConfigs = connector.findSslHostConfigs();
+		if (sslHostConfigs.length == 0) {
+			return;
+		}
+		for (SSLHostConfig sslHostConfig : sslHostConfigs) {
+			sslHostConfig.setSessionCacheSize(config.getTlsSessionCacheSize());
+			sslHostConfig.setSessionTimeout(config.getTlsSessionTimeoutSeconds());
+		}
+		if (config.getCompressionEnabled() && connector.getProtocolHandler() instanceof AbstractHttp11Protocol) {
+			AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+			protocol.setCompression("on");
+			protocol.setCompressionMinSize(config.getCompressionMinSize());
+			protocol.setCompressibleMimeType(COMPRESSIBLE_MIME_TYPES);
+		}
+		if (config.getHttp2Enabled()) {
+			Http2Protocol http2 = new Http2Protocol();
+			http2.setMaxConcurrentStreams(config.getHttp2MaxConcurrentStreams());
+			http2.setKeepAliveTimeout(config.getKeepAliveTimeoutMillis());
+			if (config.getCompressionEnabled()) {
+				http2.setCompression("on");
+				http2.setCompressionMinSize(config.getCompressionMinSize());
+				http2.setCompressibleMimeType(COMPRESSIBLE_MIME_TYPES);
+			}
+			connector.addUpgradeProtocol(http2);
+		}
+	}
 }
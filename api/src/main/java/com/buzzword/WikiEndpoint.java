@@ -21,8 +21,20 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,17 +45,27 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.validation.Valid;
 
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
 /**
  * REST API Controller Endpoint for the Buzzworthy Resource Locator (BRL) Wiki.
  * 
@@ -55,9 +77,16 @@ import jakarta.validation.Valid;
 @RequestMapping("wiki")
 public class WikiEndpoint {
 
-    private String authServerUrl;
+    private volatile String authServerUrl;
     private final Logger logger = LoggerFactory.getEventLogger();
     private DatabaseConnectionPool databaseConnectionPool;
+    private ResourceCache resourceCache;
+    private volatile ResourceChangeListener changeListener;
+    private ResourceFragmentStore fragmentStore;
+    private ResourceEventStream eventStream;
+    private ConnectorMetrics connectorMetrics;
+    private AboutPage aboutPage;
+    private ConfigurationReloader configReloader;
 
     /**
      * Constructor to initialize a new AuthenticatorImpl using the 
@@ -65,13 +94,78 @@ public class WikiEndpoint {
      */
     @PostConstruct
     public void initialize() {
-        AuthServerConfiguration config = new AuthServerConfigurationImpl(ConfigurationManagerImpl.getInstance());
-        authServerUrl = config.getAuthServerConnectionString();
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.getCurrent();
+        authServerUrl = snapshot.getAuthServerConfiguration().getAuthServerConnectionString();
         try{
             databaseConnectionPool = DatabaseConnectionPool.getInstance();
         } catch(IOException | IllegalArgumentException e) {
             throw new IllegalArgumentException("Cannot get instance of database connection pool.");
         }
+        CacheConfiguration cacheConfig = snapshot.getCacheConfiguration();
+        resourceCache = new ResourceCacheImpl(cacheConfig);
+        fragmentStore = new ResourceFragmentStore(cacheConfig);
+        resourceCache.addInvalidationListener(fragmentStore);
+        eventStream = new ResourceEventStream();
+        aboutPage = new AboutPage(snapshot.getConfigurationManager());
+        if (cacheConfig.getResourceCacheChangeStreamEnabled()) {
+            changeListener = new ResourceChangeListener(databaseConnectionPool.getDatabaseConnection(), 
+                resourceCache, changeListenerId());
+            changeListener.start();
+        }
+        configReloader = new ConfigurationReloader(ConfigurationManagerImpl.getConfigPath());
+        configReloader.addListener(this::applyConfiguration);
+        try {
+            configReloader.start();
+        } catch (ConfigurationException e) {
+            logger.warn("Configuration changes will not be picked up until the application is restarted.");
+        }
+    }
+
+    /**
+     * Applies a reloaded configuration: the about page, the authentication server, the
+     * resource cache limits and the database connection pool follow the new file. When the
+     * pool moves to another database or client, the resource cache is cleared and the change
+     * listener is restarted against the new database. The connector and gRPC settings, the
+     * fragment store size and the change stream switch still need a restart.
+     * 
+     * @param previous The configuration in use before the reload.
+     * @param current The reloaded configuration.
+     */
+    private void applyConfiguration(ConfigurationSnapshot previous, ConfigurationSnapshot current) {
+        // Rendered first, so invalid content is rejected before anything else has changed
+        aboutPage.refresh(current.getConfigurationManager());
+        authServerUrl = current.getAuthServerConfiguration().getAuthServerConnectionString();
+        resourceCache.reconfigure(current.getCacheConfiguration());
+        if (!resourceCache.isEnabled()) {
+            // Listings stop using the fragment store, so release what it holds
+            fragmentStore.allResourcesInvalidated();
+        }
+        boolean retargeted = databaseConnectionPool.applyConfiguration(current.getDatabaseConfiguration());
+        if (!retargeted) {
+            return;
+        }
+        // Cached resources and rendered fragments may come from the old database
+        resourceCache.invalidateAll();
+        if (changeListener != null) {
+            changeListener.close();
+            changeListener = new ResourceChangeListener(databaseConnectionPool.getDatabaseConnection(), 
+                resourceCache, changeListenerId());
+            changeListener.start();
+        }
+    }
+
+    /**
+     * Sets the metrics collected from the embedded Tomcat connectors.
+     * 
+     * @param connectorMetrics The connector metrics.
+     */
+    @Autowired
+    public void setConnectorMetrics(ConnectorMetrics connectorMetrics) {
+        if (connectorMetrics == null) {
+            logger.error("Attempted to set null ConnectorMetrics.");
+            throw new IllegalArgumentException("ConnectorMetrics cannot be null.");
+        }
+        this.connectorMetrics = connectorMetrics;
     }
 
     /**
@@ -79,6 +173,15 @@ public class WikiEndpoint {
      */
     @PreDestroy
     public void cleanup() {
+        if (configReloader != null) {
+            configReloader.close();
+        }
+        if (eventStream != null) {
+            eventStream.close();
+        }
+        if (changeListener != null) {
+            changeListener.close();
+        }
         if (databaseConnectionPool != null) {
             databaseConnectionPool.close();
         }
@@ -108,18 +211,129 @@ public class WikiEndpoint {
 
     /**
      * GET Request.
-     * Retrieve the 'About Us' information from a config file.
+     * Retrieve the resource cache statistics. Only administrators may view metrics.
      * 
-     * @return ResponseEntity containing the 'About Us' section and HTTP status 200.
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @return ResponseEntity containing the cache statistics and HTTP status 200.
      */
-    @GetMapping("about-us")
-    public ResponseEntity<String> getAboutSection() {
-        logger.info("HTTP GET request (getAboutSection) received.");
-        ConfigurationManager configManager = ConfigurationManagerImpl.getInstance();
-        String aboutPage = configManager.getAboutPageInfo();
+    @GetMapping("metrics/cache")
+    public ResponseEntity<String> getCacheMetrics(@Valid @RequestHeader("Bearer") String tokenStr) {
+        logger.info("HTTP GET request (getCacheMetrics) received.");
+        requireMetricsAccess(tokenStr);
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        try {
+            String returnObj = objectMapper.writeValueAsString(resourceCache.getStats());
+
+            logger.info("Returning HTTP response code 200.");
+            return ResponseEntity.ok()
+                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .body(returnObj);
+        } catch(JsonProcessingException e) {
+            throw new NullPointerException("Unable to parse JSON from cache statistics.");
+        }
+    }
+
+    /**
+     * GET Request.
+     * Retrieve the rendered resource fragment store statistics. Only administrators may view metrics.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @return ResponseEntity containing the fragment store statistics and HTTP status 200.
+     */
+    @GetMapping("metrics/fragments")
+    public ResponseEntity<String> getFragmentMetrics(@Valid @RequestHeader("Bearer") String tokenStr) {
+        logger.info("HTTP GET request (getFragmentMetrics) received.");
+        requireMetricsAccess(tokenStr);
+        ObjectNode metrics = ObjectMapperFactory.getObjectMapper().createObjectNode()
+            .put("fragments", fragmentStore.getFragmentCount())
+            .put("offHeapBytes", fragmentStore.getOffHeapBytes())
+            .put("hits", fragmentStore.getHits())
+            .put("misses", fragmentStore.getMisses());
+
+        logger.info("Returning HTTP response code 200.");
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body(metrics.toString());
+    }
+
+    /**
+     * GET Request.
+     * Retrieve the embedded web server connector statistics: connections, limits, request
+     * thread usage and requests by HTTP protocol version. Only administrators may view metrics.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @return ResponseEntity containing the connector statistics and HTTP status 200.
+     */
+    @GetMapping("metrics/connectors")
+    public ResponseEntity<String> getConnectorMetrics(@Valid @RequestHeader("Bearer") String tokenStr) {
+        logger.info("HTTP GET request (getConnectorMetrics) received.");
+        requireMetricsAccess(tokenStr);
+        ObjectNode metrics = connectorMetrics.snapshot();
+
+        logger.info("Returning HTTP response code 200.");
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body(metrics.toString());
+    }
+
+    /**
+     * GET Request.
+     * Retrieve the configuration reload statistics: reloads applied, files rejected by
+     * validation, reloads rolled back and the last error. Only administrators may view metrics.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @return ResponseEntity containing the reload statistics and HTTP status 200.
+     */
+    @GetMapping("metrics/config")
+    public ResponseEntity<String> getConfigurationMetrics(@Valid @RequestHeader("Bearer") String tokenStr) {
+        logger.info("HTTP GET request (getConfigurationMetrics) received.");
+        requireMetricsAccess(tokenStr);
+        ObjectNode metrics = ObjectMapperFactory.getObjectMapper().createObjectNode();
+        metrics.put("reloads", configReloader.getReloadCount());
+        metrics.put("rejected", configReloader.getRejectedCount());
+        metrics.put("rolledBack", configReloader.getRolledBackCount());
+        metrics.put("lastReloadMillis", configReloader.getLastReloadMillis());
+        metrics.put("lastError", configReloader.getLastError());
+
+        logger.info("Returning HTTP response code 200.");
         return ResponseEntity.ok()
                              .contentType(MediaType.APPLICATION_JSON)
-                             .body(aboutPage);
+                             .body(metrics.toString());
+    }
+
+    /**
+     * GET Request.
+     * Subscribe to a Server-Sent Events stream of resource changes: resources created,
+     * edited and removed, comments added and upvote counts changed. Each event is named
+     * after its type and carries a small JSON object identifying the resource, so clients
+     * can update their listings without polling them.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @return The event stream, which stays open until the client disconnects or the request times out.
+     */
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamResourceEvents(@Valid @RequestHeader("Bearer") String tokenStr) {
+        logger.info("HTTP GET request (streamResourceEvents) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        auth.authenticate(token);
+        logger.info("Opening resource event stream.");
+        return eventStream.subscribe();
+    }
+
+    /**
+     * GET Request.
+     * Retrieve the 'About Us' information from a config file. The page is rendered once at
+     * startup, so this returns the stored copy, or a 304 if the client already has it.
+     * 
+     * @param ifNoneMatch The If-None-Match header holding the ETag of the client's copy, if any.
+     * @return ResponseEntity containing the 'About Us' section and HTTP status 200, or 304.
+     */
+    @GetMapping("about-us")
+    public ResponseEntity<byte[]> getAboutSection(@RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.info("HTTP GET request (getAboutSection) received.");
+        return aboutPage.respond(ifNoneMatch);
     }
 
     /**
@@ -129,96 +343,237 @@ public class WikiEndpoint {
      * 
      * @param tokenStr A string representation of the user's Java Web Token (JWT).
      * @param resourceId The index of the resource record to retrieve.
-     * @return ResponseEntity containing a JSON array of resources and HTTP status 200.
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing the resource and HTTP status 200.
      */
     @GetMapping("resource/{resourceId}")
-    public ResponseEntity<String> retrieveResourceById(@Valid @RequestHeader("Bearer") String tokenStr, @PathVariable("resourceId") int resourceId) {
+    public ResponseEntity<byte[]> retrieveResourceById(@Valid @RequestHeader("Bearer") String tokenStr, @PathVariable("resourceId") int resourceId, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         logger.info("HTTP GET request (retrieveAllResources) received.");
         Token token = new Token();
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        ResourceDAO resourceDAO = newResourceDAO();
         Resource resource = resourceDAO.getResourceById(userCredentials, resourceId);
         if(resource == null) {
             logger.error("Cannot return a null resource.");
             throw new NullPointerException("Cannot return a null resource.");
         }
-        ObjectMapper objectMapper = new ObjectMapper();
+        ResponseFormat format = ResponseFormat.negotiate(accept);
         try {
-            String returnObj = objectMapper.writeValueAsString(resource);
+            byte[] returnObj = format.getObjectMapper().writeValueAsBytes(resource);
         
             logger.info("Returning HTTP response code 200.");
             return ResponseEntity.ok()
-                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .contentType(format.getMediaType())
+                                 .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
                                  .body(returnObj);
         } catch(JsonProcessingException e) {
             throw new NullPointerException("Unable to parse JSON from list of resources.");
         }
     }
 
+    /**
+     * POST Request.
+     * Retrieve many resource records by ID with one authentication and one database query
+     * per collection.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param resourceIds The IDs of the resources to retrieve, at most 100.
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing one entry per requested ID, in request order, and HTTP status 200.
+     */
+    @PostMapping("resource/batch-get")
+    public ResponseEntity<byte[]> retrieveResourcesById(@Valid @RequestHeader("Bearer") String tokenStr, @RequestBody List<Integer> resourceIds, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("HTTP POST request (retrieveResourcesById) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        ResourceDAO resourceDAO = newResourceDAO();
+        List<Resource> resources = resourceDAO.getResourcesById(userCredentials, resourceIds);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        try {
+            ByteArrayOutputStream returnObj = new ByteArrayOutputStream();
+            try (JsonGenerator gen = format.getObjectMapper().createGenerator(returnObj)) {
+                gen.writeStartArray();
+                for (int i = 0; i < resourceIds.size(); i++) {
+                    gen.writeStartObject();
+                    gen.writeNumberField("resourceId", resourceIds.get(i));
+                    gen.writeBooleanField("found", resources.get(i) != null);
+                    if (resources.get(i) != null) {
+                        gen.writeObjectField("resource", resources.get(i));
+                    } else {
+                        gen.writeStringField("errorMsg", "Resource not found.");
+                    }
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+            }
+
+            logger.info("Returning HTTP response code 200.");
+            return ResponseEntity.ok()
+                                 .contentType(format.getMediaType())
+                                 .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                                 .body(returnObj.toByteArray());
+        } catch(IOException e) {
+            throw new NullPointerException("Unable to parse JSON from list of resources.");
+        }
+    }
+
     /**
      * GET Request.
      * Retrieve all resource records from the database as a JSON object
      * containing a list of Record objects.
      * 
      * @param tokenStr A string representation of the user's Java Web Token (JWT).
-     * @return ResponseEntity containing a JSON array of resources and HTTP status 200.
+     * @param view The named field set to return, either "full" (default) or "summary".
+     * @param fields A comma-separated list of fields to return, overriding view.
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing an array of resources and HTTP status 200.
      */
     @GetMapping("resource")
-    public ResponseEntity<String> retrieveAllResources(@Valid @RequestHeader("Bearer") String tokenStr) {
+    public ResponseEntity<StreamingResponseBody> retrieveAllResources(@Valid @RequestHeader("Bearer") String tokenStr, @RequestParam(name = "view", required = false) String view, @RequestParam(name = "fields", required = false) String fields, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         logger.info("HTTP GET request (retrieveAllResources) received.");
         Token token = new Token();
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
-        List<Resource> resources = resourceDAO.listAllResources(userCredentials);
-        if(resources == null) {
-            logger.error("Cannot return a null list of resources.");
-            throw new NullPointerException("Cannot return a null list of resources.");
-        }
-        ObjectMapper objectMapper = new ObjectMapper();
+        ResourceView resourceView = ResourceView.of(view, fields);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        ResourceDAO resourceDAO = newResourceDAO();
         try {
-            String returnObj = objectMapper.writeValueAsString(resources);
+            StreamingResponseBody returnObj;
+            if (resourceView.isFull()) {
+                returnObj = writeSnapshots(resourceDAO.listAllResourceSnapshots(userCredentials), userCredentials, format);
+            } else {
+                returnObj = writeResources(resourceDAO.listAllResources(userCredentials, resourceView), resourceView, format);
+            }
         
             logger.info("Returning HTTP response code 200.");
             return ResponseEntity.ok()
-                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .contentType(format.getMediaType())
+                                 .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
                                  .body(returnObj);
         } catch(JsonProcessingException e) {
             throw new NullPointerException("Unable to parse JSON from list of resources.");
         }
     }
 
+    /**
+     * GET Request.
+     * Export every resource record, with its comments, review flags and upvotes, as
+     * newline-delimited JSON (NDJSON).
+     * <p>
+     * The export is streamed straight from database cursors, optionally through gzip, so it
+     * never holds the whole wiki in memory. Only administrators may export resources.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param gzip Whether to gzip the export.
+     * @return ResponseEntity streaming one JSON resource per line and HTTP status 200.
+     */
+    @GetMapping("resource/export")
+    public ResponseEntity<StreamingResponseBody> exportResources(@Valid @RequestHeader("Bearer") String tokenStr, @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+        logger.info("HTTP GET request (exportResources) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        // The DAO makes the same check, but only once the response has started streaming
+        AccessPolicy access = AccessPolicy.forUser(userCredentials);
+        if (!access.allows(Operation.EXPORT, RecordType.RESOURCE)) {
+            logger.error(String.format("User %d with role %s denied permission to export resources.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to export resources.");
+        }
+        ResourceDAO resourceDAO = newResourceDAO();
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out);
+                Writer writer = new OutputStreamWriter(gzipOut, StandardCharsets.UTF_8);
+                resourceDAO.exportResources(userCredentials, writer);
+                gzipOut.finish();
+            } else {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                resourceDAO.exportResources(userCredentials, writer);
+            }
+        };
+        logger.info("Returning HTTP response code 200.");
+        if (gzip) {
+            return ResponseEntity.ok()
+                                 .contentType(MediaType.parseMediaType("application/gzip"))
+                                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"wiki-export.ndjson.gz\"")
+                                 .body(body);
+        }
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
+    }
+
+    /**
+     * GET Request.
+     * Retrieve only the resources, comments and review flags created or edited, the upvote
+     * counts that changed, and the records deleted, after the watermark returned by a
+     * previous sync.
+     * <p>
+     * The response is streamed from database cursors over the lastModified indexes. A since
+     * of 0 returns every record; if fullSyncRequired is true the client must sync from 0.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param since The watermark returned by the previous sync, or 0 for every record.
+     * @return ResponseEntity streaming the changes and the next watermark, and HTTP status 200.
+     */
+    @GetMapping("resource/changes")
+    public ResponseEntity<StreamingResponseBody> retrieveResourceChanges(@Valid @RequestHeader("Bearer") String tokenStr, @RequestParam(name = "since", defaultValue = "0") long since) {
+        logger.info("HTTP GET request (retrieveResourceChanges) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        ResourceDAO resourceDAO = newResourceDAO();
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            resourceDAO.writeChanges(userCredentials, since, writer);
+        };
+        logger.info("Returning HTTP response code 200.");
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_JSON)
+                             .body(body);
+    }
+
     /**
      * GET Request.
      * Retrieve all of user's own resource records from the database as a JSON object
      * containing a list of Record objects.
      * 
      * @param tokenStr A string representation of the user's Java Web Token (JWT).
-     * @return ResponseEntity containing a JSON array of resources and HTTP status 200.
+     * @param view The named field set to return, either "full" (default) or "summary".
+     * @param fields A comma-separated list of fields to return, overriding view.
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing an array of resources and HTTP status 200.
      */
     @GetMapping("resource-own")
-    public ResponseEntity<String> retrieveOwnResources(@Valid @RequestHeader("Bearer") String tokenStr) {
+    public ResponseEntity<StreamingResponseBody> retrieveOwnResources(@Valid @RequestHeader("Bearer") String tokenStr, @RequestParam(name = "view", required = false) String view, @RequestParam(name = "fields", required = false) String fields, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         logger.info("HTTP GET request (retrieveOwnResources) received.");
         Token token = new Token();
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
-        List<Resource> resources = resourceDAO.listOwnResources(userCredentials);
-        if(resources == null) {
-            logger.error("Cannot return a null list of resources.");
-            throw new NullPointerException("Cannot return a null list of resources.");
-        }
-        ObjectMapper objectMapper = new ObjectMapper();
+        ResourceView resourceView = ResourceView.of(view, fields);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        ResourceDAO resourceDAO = newResourceDAO();
         try {
-            String returnObj = objectMapper.writeValueAsString(resources);
+            StreamingResponseBody returnObj;
+            if (resourceView.isFull()) {
+                returnObj = writeSnapshots(resourceDAO.listOwnResourceSnapshots(userCredentials), userCredentials, format);
+            } else {
+                returnObj = writeResources(resourceDAO.listOwnResources(userCredentials, resourceView), resourceView, format);
+            }
         
             logger.info("Returning HTTP response code 200.");
             return ResponseEntity.ok()
-                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .contentType(format.getMediaType())
+                                 .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
                                  .body(returnObj);
         } catch(JsonProcessingException e) {
             throw new NullPointerException("Unable to parse JSON from list of resources.");
@@ -232,33 +587,163 @@ public class WikiEndpoint {
      * 
      * @param tokenStr A string representation of the user's Java Web Token (JWT).
      * @param keywords A JSON-formatted list of keywords from the HTTP request body.
-     * @return ResponseEntity containing a JSON array of filtered resources and HTTP status 200.
+     * @param view The named field set to return, either "full" (default) or "summary".
+     * @param fields A comma-separated list of fields to return, overriding view.
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing an array of filtered resources and HTTP status 200.
      */
     @PostMapping("resource-filtered")
-    public ResponseEntity<String> retrieveResourcesByKeywords(@Valid @RequestHeader("Bearer") String tokenStr, @Valid @RequestBody KeywordList keywords) {
+    public ResponseEntity<StreamingResponseBody> retrieveResourcesByKeywords(@Valid @RequestHeader("Bearer") String tokenStr, @Valid @RequestBody KeywordList keywords, @RequestParam(name = "view", required = false) String view, @RequestParam(name = "fields", required = false) String fields, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
         Token token = new Token();
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
-        List<Resource> resources = resourceDAO.listResourcesByKeywords(userCredentials, keywords);
-        if(resources == null) {
-            logger.error("Cannot return a null list of resources.");
-            throw new NullPointerException("Cannot return a null list of resources.");
-        }
-        ObjectMapper objectMapper = new ObjectMapper();
+        ResourceView resourceView = ResourceView.of(view, fields);
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        ResourceDAO resourceDAO = newResourceDAO();
         try {
-            String returnObj = objectMapper.writeValueAsString(resources);
+            StreamingResponseBody returnObj;
+            if (resourceView.isFull()) {
+                returnObj = writeSnapshots(resourceDAO.listResourceSnapshotsByKeywords(userCredentials, keywords), userCredentials, format);
+            } else {
+                returnObj = writeResources(resourceDAO.listResourcesByKeywords(userCredentials, keywords, resourceView), resourceView, format);
+            }
         
             logger.info("Returning HTTP response code 200.");
             return ResponseEntity.ok()
-                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .contentType(format.getMediaType())
+                                 .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
                                  .body(returnObj);
         } catch(JsonProcessingException e) {
             throw new NullPointerException("Unable to parse JSON from list of resources.");
         }
     }
     
+    /**
+     * GET Request.
+     * Retrieve all resource records in the compact v2 listing schema.
+     * <p>
+     * See {@link CompactListingWriter} for the schema. The v1 listing is unchanged.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing the compact listing and HTTP status 200.
+     */
+    @GetMapping("v2/resource")
+    public ResponseEntity<StreamingResponseBody> retrieveAllResourcesV2(@Valid @RequestHeader("Bearer") String tokenStr, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("HTTP GET request (retrieveAllResourcesV2) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        ResourceDAO resourceDAO = newResourceDAO();
+        return writeCompactListing(resourceDAO.listAllResourceSnapshots(userCredentials), userCredentials, ResponseFormat.negotiate(accept));
+    }
+
+    /**
+     * GET Request.
+     * Retrieve all of user's own resource records in the compact v2 listing schema.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing the compact listing and HTTP status 200.
+     */
+    @GetMapping("v2/resource-own")
+    public ResponseEntity<StreamingResponseBody> retrieveOwnResourcesV2(@Valid @RequestHeader("Bearer") String tokenStr, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("HTTP GET request (retrieveOwnResourcesV2) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        ResourceDAO resourceDAO = newResourceDAO();
+        return writeCompactListing(resourceDAO.listOwnResourceSnapshots(userCredentials), userCredentials, ResponseFormat.negotiate(accept));
+    }
+
+    /**
+     * POST Request.
+     * Retrieve the resource records matching a list of keywords in the compact v2 listing
+     * schema.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param keywords A JSON-formatted list of keywords from the HTTP request body.
+     * @param accept The Accept header, which may ask for CBOR or Smile instead of JSON.
+     * @return ResponseEntity containing the compact listing and HTTP status 200.
+     */
+    @PostMapping("v2/resource-filtered")
+    public ResponseEntity<StreamingResponseBody> retrieveResourcesByKeywordsV2(@Valid @RequestHeader("Bearer") String tokenStr, @Valid @RequestBody KeywordList keywords, @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        logger.info("HTTP POST request (retrieveResourcesByKeywordsV2) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        ResourceDAO resourceDAO = newResourceDAO();
+        return writeCompactListing(resourceDAO.listResourceSnapshotsByKeywords(userCredentials, keywords), userCredentials, ResponseFormat.negotiate(accept));
+    }
+
+    /**
+     * GET Request.
+     * Retrieve one page of the comments on a specific resource record, in ascending ID order.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param resourceId The index of the resource record containing the comments.
+     * @param after The ID to continue after, taken from the previous page's nextCursor.
+     * @param limit The maximum number of comments to return.
+     * @return ResponseEntity containing a JSON page of comments and HTTP status 200.
+     */
+    @GetMapping("resource/{resourceId}/comment")
+    public ResponseEntity<String> retrieveComments(@Valid @RequestHeader("Bearer") String tokenStr, @PathVariable int resourceId, @RequestParam(name = "after", required = false) Integer after, @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        logger.info("HTTP GET request (retrieveComments) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        CommentDAO commentDAO = newCommentDAO();
+        RecordPage<Comment> page = commentDAO.listComments(userCredentials, resourceId, after, limit);
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        try {
+            String returnObj = objectMapper.writeValueAsString(page);
+        
+            logger.info("Returning HTTP response code 200.");
+            return ResponseEntity.ok()
+                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .body(returnObj);
+        } catch(JsonProcessingException e) {
+            throw new NullPointerException("Unable to parse JSON from list of comments.");
+        }
+    }
+
+    /**
+     * GET Request.
+     * Retrieve one page of the review flags on a specific resource record, in ascending ID order.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param resourceId The index of the resource record containing the review flags.
+     * @param after The ID to continue after, taken from the previous page's nextCursor.
+     * @param limit The maximum number of review flags to return.
+     * @return ResponseEntity containing a JSON page of review flags and HTTP status 200.
+     */
+    @GetMapping("resource/{resourceId}/reviewFlag")
+    public ResponseEntity<String> retrieveReviewFlags(@Valid @RequestHeader("Bearer") String tokenStr, @PathVariable int resourceId, @RequestParam(name = "after", required = false) Integer after, @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        logger.info("HTTP GET request (retrieveReviewFlags) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        FlagDAO flagDAO = newFlagDAO();
+        RecordPage<ReviewFlag> page = flagDAO.listReviewFlags(userCredentials, resourceId, after, limit);
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        try {
+            String returnObj = objectMapper.writeValueAsString(page);
+        
+            logger.info("Returning HTTP response code 200.");
+            return ResponseEntity.ok()
+                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .body(returnObj);
+        } catch(JsonProcessingException e) {
+            throw new NullPointerException("Unable to parse JSON from list of review flags.");
+        }
+    }
+
     /**
      * POST Request. 
      * Insert a new resource record into the database.
@@ -274,7 +759,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        ResourceDAO resourceDAO = newResourceDAO();
         int resourceId = resourceDAO.insertResource(userCredentials, resource);
         logger.info("Returning HTTP response code 201.");
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -282,6 +767,38 @@ public class WikiEndpoint {
                              .body("{\"resourceId\": "+ resourceId +", \"msg\": \"Successfully added a new resource.\"}");
     }
 
+    /**
+     * POST Request.
+     * Bulk import resource records from a newline-delimited JSON (NDJSON) request body.
+     * <p>
+     * The body is read as a stream and written in bounded batches, and the response streams
+     * NDJSON progress and per-line error messages. Only administrators may import resources.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param body The NDJSON request body, one resource object per line.
+     * @return ResponseEntity streaming NDJSON progress and HTTP status 200.
+     */
+    @PostMapping(value = "resource/import", consumes = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importResources(@Valid @RequestHeader("Bearer") String tokenStr, InputStream body) {
+        logger.info("HTTP POST request (importResources) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        AccessPolicy access = AccessPolicy.forUser(userCredentials);
+        if (!access.allows(Operation.IMPORT, RecordType.RESOURCE)) {
+            logger.error(String.format("User %d with role %s denied permission to import resources.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to import resources.");
+        }
+        ResourceDAO resourceDAO = newResourceDAO();
+        ResourceImporter importer = new ResourceImporter(resourceDAO, userCredentials);
+        logger.info("Returning HTTP response code 200.");
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(out -> importer.importResources(body, out));
+    }
+
     /**
      * POST Request.
      * Insert a new comment on a specific resource record in the database.
@@ -298,7 +815,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        CommentDAO commentDAO = new CommentDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        CommentDAO commentDAO = newCommentDAO();
         int commentId = commentDAO.addComment(userCredentials, comment, resourceId);
         logger.info("Returning HTTP response code 201.");
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -321,7 +838,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        UpvoteDAO upvoteDAO = new UpvoteDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        UpvoteDAO upvoteDAO = newUpvoteDAO();
         int upvoteId = upvoteDAO.addUpvote(userCredentials, new Upvote(), resourceId);
         logger.info("Returning HTTP response code 201.");
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -345,7 +862,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        FlagDAO flagDAO = new FlagDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        FlagDAO flagDAO = newFlagDAO();
         int reviewFlagId = flagDAO.addReviewFlag(userCredentials, reviewFlag, resourceId);
         logger.info("Returning HTTP response code 201.");
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -369,7 +886,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        ResourceDAO resourceDAO = newResourceDAO();
         resourceDAO.editResource(userCredentials, resourceId, resource);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.status(HttpStatus.OK)
@@ -394,7 +911,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        CommentDAO commentDAO = new CommentDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        CommentDAO commentDAO = newCommentDAO();
         commentDAO.editComment(userCredentials, commentId, comment, resourceId);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.status(HttpStatus.OK)
@@ -419,7 +936,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        FlagDAO flagDAO = new FlagDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        FlagDAO flagDAO = newFlagDAO();
         flagDAO.editReviewFlag(userCredentials, flagId, reviewFlag, resourceId);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.status(HttpStatus.OK)
@@ -442,7 +959,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        ResourceDAO resourceDAO = newResourceDAO();
         resourceDAO.removeResource(userCredentials, resourceId);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.ok()
@@ -466,7 +983,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        CommentDAO commentDAO = new CommentDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        CommentDAO commentDAO = newCommentDAO();
         commentDAO.removeComment(userCredentials, commentId, resourceId);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.ok()
@@ -490,7 +1007,7 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        UpvoteDAO upvoteDAO = new UpvoteDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        UpvoteDAO upvoteDAO = newUpvoteDAO();
         upvoteDAO.removeUpvote(userCredentials, upvoteId, resourceId);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.ok()
@@ -514,11 +1031,209 @@ public class WikiEndpoint {
         token.setToken(tokenStr);
         Authenticator auth = new AuthenticatorImpl(authServerUrl);
         Credentials userCredentials = auth.authenticate(token);
-        FlagDAO flagDAO = new FlagDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        FlagDAO flagDAO = newFlagDAO();
         flagDAO.removeReviewFlag(userCredentials, flagId, resourceId);
         logger.info("Returning HTTP response code 200.");
         return ResponseEntity.ok()
                              .contentType(MediaType.APPLICATION_JSON)
                              .body("{\"msg\": \"Successfully removed review flag " + flagId + " from resource " + resourceId + ".\"}");
     }
+
+    /**
+     * POST Request.
+     * Run an ordered list of add, edit and remove operations on resources, comments, upvotes
+     * and review flags with one authentication.
+     * <p>
+     * Consecutive operations of the same kind are written together, and every operation is
+     * subject to the same authorization checks as its single-record request. A failed
+     * operation does not stop the others.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @param operations The operations to run, in order, at most 100.
+     * @return ResponseEntity containing one result per operation, in request order, and HTTP status 200.
+     */
+    @PostMapping("batch")
+    public ResponseEntity<String> runBatch(@Valid @RequestHeader("Bearer") String tokenStr, @RequestBody List<BatchOperation> operations) {
+        logger.info("HTTP POST request (runBatch) received.");
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        BatchMutationExecutor executor = new BatchMutationExecutor(newResourceDAO(), newCommentDAO(), 
+            newUpvoteDAO(), newFlagDAO(), userCredentials);
+        List<BatchItemResult> results = executor.execute(operations);
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        try {
+            String returnObj = objectMapper.writeValueAsString(results);
+
+            logger.info("Returning HTTP response code 200.");
+            return ResponseEntity.ok()
+                                 .contentType(MediaType.APPLICATION_JSON)
+                                 .body(returnObj);
+        } catch(JsonProcessingException e) {
+            throw new NullPointerException("Unable to parse JSON from batch results.");
+        }
+    }
+
+    /**
+     * Builds the response for a compact v2 resource listing.
+     * 
+     * @param snapshots The resource snapshots to list.
+     * @param user The credentials of the user the listing is written for.
+     * @param format The wire format to write.
+     * @return ResponseEntity streaming the listing and HTTP status 200.
+     */
+    private ResponseEntity<StreamingResponseBody> writeCompactListing(List<ResourceSnapshot> snapshots, Credentials user, ResponseFormat format) {
+        if(snapshots == null) {
+            logger.error("Cannot return a null list of resources.");
+            throw new NullPointerException("Cannot return a null list of resources.");
+        }
+        PermissionOverlay overlay = new PermissionOverlay(user);
+        CompactListingWriter writer = new CompactListingWriter(format);
+        StreamingResponseBody body = out -> writer.write(out, snapshots, overlay);
+        logger.info("Returning HTTP response code 200.");
+        return ResponseEntity.ok()
+                             .contentType(format.getMediaType())
+                             .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                             .body(body);
+    }
+
+    /**
+     * Serializes a full resource listing from shared resource snapshots.
+     * <p>
+     * The snapshots are written from the pre-rendered fragments in the fragment store, with
+     * the user's permissions applied as each resource is written. Any fragment that has to be
+     * rendered is rendered here, before the response starts. When the resource cache is
+     * disabled the store is bypassed, as every listing reads new snapshots.
+     * 
+     * @param snapshots The resource snapshots to serialize.
+     * @param user The credentials of the user the listing is written for.
+     * @param format The wire format to write.
+     * @return The body writing the array of resources.
+     * @throws JsonProcessingException if the resources cannot be serialized.
+     */
+    private StreamingResponseBody writeSnapshots(List<ResourceSnapshot> snapshots, Credentials user, ResponseFormat format) throws JsonProcessingException {
+        if(snapshots == null) {
+            logger.error("Cannot return a null list of resources.");
+            throw new NullPointerException("Cannot return a null list of resources.");
+        }
+        PermissionOverlay overlay = new PermissionOverlay(user);
+        // Fragments are pre-rendered JSON, and are only reused for the cached snapshots they
+        // were rendered from, so binary formats and uncached snapshots serialize the resources
+        if (format != ResponseFormat.JSON || !resourceCache.isEnabled()) {
+            List<Resource> resources = new ArrayList<Resource>(snapshots.size());
+            for (ResourceSnapshot snapshot : snapshots) {
+                resources.add(overlay.toResource(snapshot));
+            }
+            byte[] body = format.getObjectMapper().writeValueAsBytes(resources);
+            return out -> out.write(body);
+        }
+        List<ResourceFragmentStore.Fragment> fragments = fragmentStore.fragmentsFor(snapshots);
+        return out -> fragmentStore.writeResources(out, snapshots, fragments, overlay);
+    }
+
+    /**
+     * Serializes a resource listing, keeping only the JSON properties in the view.
+     * 
+     * @param resources The resources to serialize.
+     * @param view The fields to return.
+     * @param format The wire format to write.
+     * @return The body writing the array of resources.
+     * @throws JsonProcessingException if the resources cannot be serialized.
+     */
+    private StreamingResponseBody writeResources(List<Resource> resources, ResourceView view, ResponseFormat format) throws JsonProcessingException {
+        if(resources == null) {
+            logger.error("Cannot return a null list of resources.");
+            throw new NullPointerException("Cannot return a null list of resources.");
+        }
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        ArrayNode resourceArray = objectMapper.valueToTree(resources);
+        for (JsonNode resourceNode : resourceArray) {
+            ((ObjectNode) resourceNode).retain(view.getJsonFields());
+        }
+        byte[] body = format.getObjectMapper().writeValueAsBytes(resourceArray);
+        return out -> out.write(body);
+    }
+
+    /**
+     * Authenticates the user and checks that their role may view server metrics.
+     * 
+     * @param tokenStr A string representation of the user's Java Web Token (JWT).
+     * @throws AuthorizationException if the user may not view metrics.
+     */
+    private void requireMetricsAccess(String tokenStr) {
+        Token token = new Token();
+        token.setToken(tokenStr);
+        Authenticator auth = new AuthenticatorImpl(authServerUrl);
+        Credentials userCredentials = auth.authenticate(token);
+        AccessPolicy access = AccessPolicy.forUser(userCredentials);
+        if (!access.allows(Operation.VIEW, RecordType.METRICS)) {
+            logger.error(String.format("User %d with role %s denied permission to view metrics.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to view metrics.");
+        }
+    }
+
+    /**
+     * Gets the key this node's change stream resume token is stored under.
+     * 
+     * @return The host name, or a random ID if it cannot be determined.
+     */
+    private String changeListenerId() {
+        try {
+            return "resourceCache@" + InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "resourceCache@" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Creates a resource DAO that reads through the shared resource cache and publishes
+     * its changes to the event stream.
+     * 
+     * @return The resource DAO.
+     */
+    private ResourceDAO newResourceDAO() {
+        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        resourceDAO.setResourceCache(resourceCache);
+        resourceDAO.setEventPublisher(eventStream);
+        return resourceDAO;
+    }
+
+    /**
+     * Creates a comment DAO that invalidates the shared resource cache and publishes
+     * new comments to the event stream.
+     * 
+     * @return The comment DAO.
+     */
+    private CommentDAO newCommentDAO() {
+        CommentDAO commentDAO = new CommentDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        commentDAO.setResourceCache(resourceCache);
+        commentDAO.setEventPublisher(eventStream);
+        return commentDAO;
+    }
+
+    /**
+     * Creates an upvote DAO that invalidates the shared resource cache and publishes
+     * upvote counts to the event stream.
+     * 
+     * @return The upvote DAO.
+     */
+    private UpvoteDAO newUpvoteDAO() {
+        UpvoteDAO upvoteDAO = new UpvoteDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        upvoteDAO.setResourceCache(resourceCache);
+        upvoteDAO.setEventPublisher(eventStream);
+        return upvoteDAO;
+    }
+
+    /**
+     * Creates a review flag DAO that invalidates the shared resource cache.
+     * 
+     * @return The review flag DAO.
+     */
+    private FlagDAO newFlagDAO() {
+        FlagDAO flagDAO = new FlagDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        flagDAO.setResourceCache(resourceCache);
+        return flagDAO;
+    }
 }
@@ -0,0 +1,105 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class AboutPageTest {
+
+    private static final String CONTENT = "{\"title\": \"About Us\", \"team\": [{\"name\": \"Ben Edens\"}]}";
+
+    @Test
+    void rendersContentOnceAndServesItFromMemory() {
+        ConfigurationManager configManager = mock(ConfigurationManager.class);
+        when(configManager.getAboutPageInfo()).thenReturn(CONTENT);
+
+        AboutPage page = new AboutPage(configManager);
+        ResponseEntity<byte[]> first = page.respond(null);
+        ResponseEntity<byte[]> second = page.respond(null);
+
+        verify(configManager, times(1)).getAboutPageInfo();
+        Assertions.assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(new String(first.getBody(), StandardCharsets.UTF_8))
+                  .isEqualTo("{\"title\":\"About Us\",\"team\":[{\"name\":\"Ben Edens\"}]}");
+        Assertions.assertThat(first.getHeaders().getETag()).isEqualTo(page.getEtag());
+        Assertions.assertThat(second.getBody()).isSameAs(first.getBody());
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() {
+        ConfigurationManager configManager = mock(ConfigurationManager.class);
+        when(configManager.getAboutPageInfo()).thenReturn(CONTENT);
+        AboutPage page = new AboutPage(configManager);
+
+        ResponseEntity<byte[]> response = page.respond("\"stale\", W/" + page.getEtag());
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(response.getBody()).isNull();
+        Assertions.assertThat(response.getHeaders().getETag()).isEqualTo(page.getEtag());
+        Assertions.assertThat(page.respond("\"stale\"").getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(page.respond("*").getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void refreshPicksUpChangedContent() {
+        ConfigurationManager configManager = mock(ConfigurationManager.class);
+        when(configManager.getAboutPageInfo()).thenReturn(CONTENT, "{\"title\": \"About Them\"}");
+        AboutPage page = new AboutPage(configManager);
+        String before = page.getEtag();
+
+        page.refresh(configManager);
+
+        Assertions.assertThat(page.getEtag()).isNotEqualTo(before);
+        Assertions.assertThat(page.respond(before).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void invalidRefreshKeepsCurrentPage() {
+        ConfigurationManager configManager = mock(ConfigurationManager.class);
+        when(configManager.getAboutPageInfo()).thenReturn(CONTENT, "not json");
+        AboutPage page = new AboutPage(configManager);
+        String before = page.getEtag();
+
+        assertThrows(ConfigurationException.class, () -> page.refresh(configManager));
+
+        Assertions.assertThat(page.getEtag()).isEqualTo(before);
+    }
+
+    @Test
+    void contentThatIsNotAnObjectIsRejected() {
+        ConfigurationManager configManager = mock(ConfigurationManager.class);
+        when(configManager.getAboutPageInfo()).thenReturn("[1, 2]");
+
+        assertThrows(ConfigurationException.class, () -> new AboutPage(configManager));
+    }
+}
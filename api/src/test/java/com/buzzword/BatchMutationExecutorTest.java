@@ -0,0 +1,156 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchMutationExecutorTest {
+
+    @Mock
+    ResourceDAO mockResourceDAO;
+
+    @Mock
+    CommentDAO mockCommentDAO;
+
+    @Mock
+    UpvoteDAO mockUpvoteDAO;
+
+    @Mock
+    FlagDAO mockFlagDAO;
+
+    @Mock
+    Credentials mockCredentials;
+
+    BatchMutationExecutor executor;
+
+    @BeforeEach
+    void setUpExecutor() {
+        executor = new BatchMutationExecutor(mockResourceDAO, mockCommentDAO, mockUpvoteDAO, mockFlagDAO, mockCredentials);
+    }
+
+    private static BatchOperation operation(String action, String type, Integer resourceId, Integer recordId) {
+        BatchOperation operation = new BatchOperation();
+        operation.setAction(action);
+        operation.setType(type);
+        operation.setResourceId(resourceId);
+        operation.setRecordId(recordId);
+        return operation;
+    }
+
+    @Test
+    void groupsConsecutiveRemovalsInOrder() {
+        when(mockCommentDAO.removeComments(eq(mockCredentials), anyList())).thenReturn(Arrays.asList(
+            BatchItemResult.success(0, 3), BatchItemResult.failure(1, "Failed to find comment for removal.")));
+        when(mockFlagDAO.removeReviewFlags(eq(mockCredentials), anyList())).thenReturn(List.of(
+            BatchItemResult.success(0, 5)));
+
+        List<BatchItemResult> results = executor.execute(Arrays.asList(
+            operation("remove", "comment", 1, 3),
+            operation("remove", "comment", 2, 4),
+            operation("remove", "upvote", 1, 7),
+            operation("remove", "reviewFlag", 1, 5)));
+
+        verify(mockCommentDAO).removeComments(mockCredentials, Arrays.asList(new RecordKey(1, 3), new RecordKey(2, 4)));
+        verify(mockUpvoteDAO).removeUpvote(mockCredentials, 7, 1);
+        verify(mockFlagDAO).removeReviewFlags(mockCredentials, List.of(new RecordKey(1, 5)));
+        Assertions.assertThat(results).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2, 3);
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(true, false, true, true);
+        Assertions.assertThat(results).extracting(BatchItemResult::getRecordId).containsExactly(3, -1, 7, 5);
+    }
+
+    @Test
+    void deniedOperationDoesNotStopBatch() {
+        doThrow(new AuthorizationException("User is not authorized to delete upvotes."))
+            .when(mockUpvoteDAO).removeUpvote(mockCredentials, 7, 1);
+
+        List<BatchItemResult> results = executor.execute(Arrays.asList(
+            operation("remove", "upvote", 1, 7),
+            operation("remove", "resource", 2, null)));
+
+        verify(mockResourceDAO).removeResource(mockCredentials, 2);
+        Assertions.assertThat(results.get(0).isSuccess()).isFalse();
+        Assertions.assertThat(results.get(0).getErrorMsg()).isEqualTo("User is not authorized to delete upvotes.");
+        Assertions.assertThat(results.get(1).isSuccess()).isTrue();
+        Assertions.assertThat(results.get(1).getRecordId()).isEqualTo(2);
+    }
+
+    @Test
+    void deniedGroupFailsEachOperation() {
+        when(mockFlagDAO.removeReviewFlags(eq(mockCredentials), anyList()))
+            .thenThrow(new AuthorizationException("User is not authorized to delete flags."));
+
+        List<BatchItemResult> results = executor.execute(Arrays.asList(
+            operation("remove", "reviewFlag", 1, 1),
+            operation("remove", "reviewFlag", 1, 2)));
+
+        Assertions.assertThat(results).extracting(BatchItemResult::getErrorMsg)
+            .containsOnly("User is not authorized to delete flags.");
+    }
+
+    @Test
+    void malformedOperationsFailWithoutWrites() {
+        List<BatchItemResult> results = executor.execute(Arrays.asList(
+            operation("edit", "upvote", 1, 1),
+            operation("remove", "comment", 1, null),
+            operation("add", "comment", 1, null),
+            null));
+
+        Assertions.assertThat(results).extracting(BatchItemResult::getErrorMsg).containsExactly(
+            "Unsupported operation \"edit upvote\".",
+            "Operation requires a recordId.",
+            "Operation requires a body.",
+            "Operation cannot be null.");
+        verifyNoInteractions(mockResourceDAO, mockCommentDAO, mockUpvoteDAO, mockFlagDAO);
+    }
+
+    @Test
+    void tooManyOperationsAreRejected() {
+        List<BatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i <= BatchMutationExecutor.MAX_OPERATIONS; i++) {
+            operations.add(operation("add", "upvote", i, null));
+        }
+
+        assertThrows(InvalidRequestException.class, () -> {
+            executor.execute(operations);
+        });
+
+        verifyNoInteractions(mockUpvoteDAO);
+    }
+}
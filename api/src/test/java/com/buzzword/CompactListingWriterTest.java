@@ -0,0 +1,115 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CompactListingWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    private static PermissionOverlay overlay(int userId) {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(userId);
+        when(credentials.getSystemRole()).thenReturn("Contributor");
+        return new PermissionOverlay(credentials);
+    }
+
+    private static RecordSnapshot comment(int id, int creatorId) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setCreatorId(creatorId);
+        comment.setFirstName("First" + creatorId);
+        comment.setLastName("Last" + creatorId);
+        comment.setCreationDate(new Date(2000));
+        comment.setContents("Comment " + id);
+        return new RecordSnapshot(comment);
+    }
+
+    private static ResourceSnapshot snapshot(int id, int creatorId, List<RecordSnapshot> comments) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setCreatorId(creatorId);
+        resource.setFirstName("First" + creatorId);
+        resource.setLastName("Last" + creatorId);
+        resource.setCreationDate(new Date(1000));
+        resource.setTitle("Title " + id);
+        resource.setDescription("Description");
+        resource.setUrl("http://example.com");
+        return new ResourceSnapshot(resource, comments, List.of(), List.of());
+    }
+
+    private JsonNode write(List<ResourceSnapshot> snapshots, PermissionOverlay overlay) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CompactListingWriter(ResponseFormat.JSON).write(out, snapshots, overlay);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void writesEachAuthorOnce() throws IOException {
+        JsonNode listing = write(List.of(snapshot(1, 3, List.of(comment(5, 3), comment(6, 4))), snapshot(2, 4, List.of())), overlay(9));
+
+        assertEquals(2, listing.get("authors").size());
+        assertEquals("First3", listing.get("authors").get("3").get("firstName").asText());
+        assertEquals("Last4", listing.get("authors").get("4").get("lastName").asText());
+        JsonNode comment = listing.get("resources").get(0).get("comments").get(1);
+        assertEquals(4, comment.get("creatorId").asInt());
+        assertFalse(comment.has("firstName"));
+    }
+
+    @Test
+    void leavesOutFalseFlagsAndEmptyArrays() throws IOException {
+        JsonNode resource = write(List.of(snapshot(1, 3, List.of())), overlay(9)).get("resources").get(0);
+
+        assertFalse(resource.has("canEdit"));
+        assertFalse(resource.has("canDelete"));
+        assertFalse(resource.has("edited"));
+        assertFalse(resource.has("upvoteId"));
+        assertFalse(resource.has("comments"));
+        assertFalse(resource.has("reviewFlags"));
+        assertEquals(1000, resource.get("created").asLong());
+    }
+
+    @Test
+    void writesCreatorPermissions() throws IOException {
+        JsonNode resource = write(List.of(snapshot(1, 3, List.of(comment(5, 3)))), overlay(3)).get("resources").get(0);
+
+        assertTrue(resource.get("canEdit").asBoolean());
+        assertTrue(resource.get("canDelete").asBoolean());
+        assertTrue(resource.get("comments").get(0).get("canEdit").asBoolean());
+        assertEquals(1, resource.get("commentCount").asInt());
+    }
+}
@@ -0,0 +1,91 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+public class ConnectorMetricsTest {
+
+    @Test
+    void snapshotReportsConnectorLimits() {
+        Connector connector = new Connector("HTTP/1.1");
+        connector.setScheme("https");
+        connector.setPort(8443);
+        connector.setProperty("maxConnections", "1000");
+        connector.addUpgradeProtocol(new Http2Protocol());
+
+        ConnectorMetrics metrics = new ConnectorMetrics();
+        metrics.register(connector);
+        JsonNode node = metrics.snapshot().get("connectors").get(0);
+
+        Assertions.assertThat(node.get("scheme").asText()).isEqualTo("https");
+        Assertions.assertThat(node.get("http2").asBoolean()).isTrue();
+        Assertions.assertThat(node.get("maxConnections").asInt()).isEqualTo(1000);
+        Assertions.assertThat(node.has("connections")).isTrue();
+    }
+
+    @Test
+    void countsRequestsByProtocol() throws IOException, ServletException {
+        ServletRequest http1 = mock(ServletRequest.class);
+        when(http1.getProtocol()).thenReturn("HTTP/1.1");
+        ServletRequest http2 = mock(ServletRequest.class);
+        when(http2.getProtocol()).thenReturn("HTTP/2.0");
+        ServletResponse response = mock(ServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        ConnectorMetrics metrics = new ConnectorMetrics();
+        metrics.doFilter(http1, response, chain);
+        metrics.doFilter(http2, response, chain);
+        metrics.doFilter(http2, response, chain);
+
+        verify(chain).doFilter(http1, response);
+        ObjectNode requests = (ObjectNode) metrics.snapshot().get("requestsByProtocol");
+        Assertions.assertThat(requests.get("HTTP/1.1").asLong()).isEqualTo(1);
+        Assertions.assertThat(requests.get("HTTP/2.0").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    void nullConnectorIsRejected() {
+        ConnectorMetrics metrics = new ConnectorMetrics();
+        assertThrows(IllegalArgumentException.class, () -> {
+            metrics.register(null);
+        });
+    }
+}
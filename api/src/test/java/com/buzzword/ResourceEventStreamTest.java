@@ -0,0 +1,102 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ResourceEventStreamTest {
+
+    ResourceEventStream stream = new ResourceEventStream();
+    ObjectMapper mapper = new ObjectMapper();
+
+    @AfterEach
+    void closeStream() {
+        stream.close();
+    }
+
+    @Test
+    void commentEventNamesComment() throws Exception {
+        JsonNode data = mapper.readTree(ResourceEventStream.toJson(ResourceEvent.commentAdded(3, 7)));
+
+        assertEquals("COMMENT_ADDED", data.get("type").asText());
+        assertEquals(3, data.get("resourceId").asInt());
+        assertEquals(7, data.get("commentId").asInt());
+        assertEquals(3, data.size());
+    }
+
+    @Test
+    void upvoteEventCarriesCount() throws Exception {
+        JsonNode data = mapper.readTree(ResourceEventStream.toJson(ResourceEvent.upvoteCountChanged(3, 12)));
+
+        assertEquals("UPVOTE_COUNT_CHANGED", data.get("type").asText());
+        assertEquals(12, data.get("upvoteCount").asLong());
+        assertEquals(3, data.size());
+    }
+
+    @Test
+    void resourceEventNamesOnlyResource() throws Exception {
+        JsonNode data = mapper.readTree(ResourceEventStream.toJson(ResourceEvent.resourceRemoved(3)));
+
+        assertEquals("RESOURCE_REMOVED", data.get("type").asText());
+        assertEquals(2, data.size());
+    }
+
+    @Test
+    void publishingWithoutSubscribersDoesNothing() {
+        stream.publish(ResourceEvent.resourceCreated(1));
+
+        assertEquals(0, stream.getSubscriberCount());
+    }
+
+    @Test
+    void completedSubscriberIsRemovedOnNextEvent() throws Exception {
+        SseEmitter emitter = stream.subscribe();
+        assertEquals(1, stream.getSubscriberCount());
+
+        emitter.complete();
+        stream.publish(ResourceEvent.resourceEdited(1));
+
+        // The failed send is noticed on the subscriber's sender thread
+        long deadline = System.currentTimeMillis() + 5000;
+        while (stream.getSubscriberCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, stream.getSubscriberCount());
+    }
+
+    @Test
+    void closeDisconnectsSubscribers() {
+        stream.subscribe();
+        stream.subscribe();
+
+        stream.close();
+
+        assertEquals(0, stream.getSubscriberCount());
+    }
+}
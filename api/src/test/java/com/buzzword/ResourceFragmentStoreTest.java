@@ -0,0 +1,168 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ResourceFragmentStoreTest {
+
+    ResourceFragmentStore store;
+    ObjectMapper objectMapper = new ObjectMapper();
+    PermissionOverlay creator;
+    PermissionOverlay other;
+
+    @BeforeEach
+    void setUpStore() {
+        store = new ResourceFragmentStore(1024 * 1024);
+        creator = new PermissionOverlay(user(3));
+        other = new PermissionOverlay(user(4));
+    }
+
+    private static Credentials user(int id) {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(id);
+        when(credentials.getSystemRole()).thenReturn("Contributor");
+        return credentials;
+    }
+
+    private static RecordSnapshot comment(int id) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setCreatorId(3);
+        comment.setFirstName("Foo");
+        comment.setLastName("Bar");
+        comment.setCreationDate(new Date(0));
+        comment.setContents("Comment " + id);
+        return new RecordSnapshot(comment);
+    }
+
+    private static RecordSnapshot upvote(int id) {
+        Upvote upvote = new Upvote();
+        upvote.setId(id);
+        upvote.setCreatorId(3);
+        upvote.setFirstName("Foo");
+        upvote.setLastName("Bar");
+        upvote.setCreationDate(new Date(0));
+        return new RecordSnapshot(upvote);
+    }
+
+    private static ResourceSnapshot snapshot(int id, List<RecordSnapshot> comments, List<RecordSnapshot> upvotes) {
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setCreatorId(3);
+        resource.setFirstName("Foo");
+        resource.setLastName("Bar");
+        resource.setCreationDate(new Date(0));
+        resource.setTitle("Title " + id);
+        resource.setDescription("Description");
+        resource.setUrl("http://example.com");
+        return new ResourceSnapshot(resource, comments, List.of(), upvotes);
+    }
+
+    private String write(List<ResourceSnapshot> snapshots, PermissionOverlay overlay) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.writeResources(out, snapshots, store.fragmentsFor(snapshots), overlay);
+        return out.toString("UTF-8");
+    }
+
+    private List<Resource> expected(List<ResourceSnapshot> snapshots, PermissionOverlay overlay) {
+        List<Resource> resources = new ArrayList<Resource>();
+        for (ResourceSnapshot snapshot : snapshots) {
+            resources.add(overlay.toResource(snapshot));
+        }
+        return resources;
+    }
+
+    @Test
+    void writesSameJsonAsJackson() throws IOException {
+        List<ResourceSnapshot> snapshots = List.of(snapshot(1, List.of(comment(5), comment(6)), List.of(upvote(9))), snapshot(2, List.of(), List.of()));
+
+        assertEquals(objectMapper.valueToTree(expected(snapshots, creator)), objectMapper.readTree(write(snapshots, creator)));
+    }
+
+    @Test
+    void appliesEachUsersPermissionsToStoredFragment() throws IOException {
+        List<ResourceSnapshot> snapshots = List.of(snapshot(1, List.of(comment(5)), List.of(upvote(9))));
+        write(snapshots, creator);
+
+        String json = write(snapshots, other);
+
+        assertEquals(objectMapper.valueToTree(expected(snapshots, other)), objectMapper.readTree(json));
+        assertEquals(1, store.getHits());
+        assertEquals(1, store.getMisses());
+    }
+
+    @Test
+    void rendersAgainAfterInvalidation() throws IOException {
+        List<ResourceSnapshot> snapshots = List.of(snapshot(1, List.of(), List.of()));
+        write(snapshots, creator);
+        store.resourceInvalidated(1);
+
+        assertEquals(0, store.getFragmentCount());
+        write(snapshots, creator);
+        assertEquals(2, store.getMisses());
+    }
+
+    @Test
+    void rendersAgainForNewSnapshot() throws IOException {
+        write(List.of(snapshot(1, List.of(comment(5)), List.of())), creator);
+
+        List<ResourceSnapshot> changed = List.of(snapshot(1, List.of(comment(5), comment(6)), List.of()));
+        assertEquals(objectMapper.valueToTree(expected(changed, creator)), objectMapper.readTree(write(changed, creator)));
+        assertEquals(2, store.getMisses());
+    }
+
+    @Test
+    void doesNotReplaceFragmentOfNewerSnapshot() throws IOException {
+        ResourceSnapshot older = snapshot(1, List.of(), List.of());
+        ResourceSnapshot newer = snapshot(1, List.of(comment(5)), List.of());
+        write(List.of(newer), creator);
+        write(List.of(older), creator);
+
+        write(List.of(newer), creator);
+        assertEquals(1, store.getHits());
+    }
+
+    @Test
+    void evictsToStayWithinMaxBytes() throws IOException {
+        write(List.of(snapshot(1, List.of(), List.of())), creator);
+        long fragmentBytes = store.getOffHeapBytes();
+        store = new ResourceFragmentStore(fragmentBytes + fragmentBytes / 2);
+
+        write(List.of(snapshot(1, List.of(), List.of()), snapshot(2, List.of(), List.of())), creator);
+
+        assertEquals(1, store.getFragmentCount());
+    }
+}
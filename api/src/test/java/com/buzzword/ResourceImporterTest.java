@@ -0,0 +1,145 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceImporterTest {
+
+    private static final String GOOD_LINE = "{\"title\": \"Title\", \"description\": \"Description\", \"url\": \"http://example.com\"}";
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<BatchItemResult> allWritten(int firstId, int count) {
+        List<BatchItemResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(BatchItemResult.success(i, firstId + i));
+        }
+        return results;
+    }
+
+    @Test
+    void writesInBoundedBatches() throws IOException {
+        ResourceDAO mockResourceDAO = mock(ResourceDAO.class);
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockResourceDAO.insertResources(eq(mockCredentials), anyList()))
+            .thenReturn(allWritten(0, 2), allWritten(2, 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResourceImporter(mockResourceDAO, mockCredentials, 2, 1024)
+            .importResources(ndjson(GOOD_LINE, GOOD_LINE, "", GOOD_LINE), out);
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ArgumentCaptor<List<Resource>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(mockResourceDAO, times(2)).insertResources(eq(mockCredentials), captor.capture());
+        Assertions.assertThat(captor.getAllValues()).extracting(List::size).containsExactly(2, 1);
+
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+            "{\"status\":\"progress\",\"lines\":2,\"inserted\":2,\"failed\":0}",
+            "{\"status\":\"done\",\"lines\":4,\"inserted\":3,\"failed\":0}");
+    }
+
+    @Test
+    void reportsInvalidLinesAndContinues() throws IOException {
+        ResourceDAO mockResourceDAO = mock(ResourceDAO.class);
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockResourceDAO.insertResources(eq(mockCredentials), anyList()))
+            .thenReturn(allWritten(0, 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResourceImporter(mockResourceDAO, mockCredentials, 10, 1024).importResources(ndjson(
+            "not json",
+            "{\"title\": \"Title\", \"description\": \"Description\", \"url\": \"ftp://example.com\"}",
+            "{\"title\": \"Title\"}",
+            GOOD_LINE), out);
+
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+            "{\"line\":1,\"errorMsg\":\"Unable to parse resource.\"}",
+            "{\"line\":2,\"errorMsg\":\"URL is not valid. Must be a valid HTTP or HTTPS URL.\"}",
+            "{\"line\":3,\"errorMsg\":\"Resource must have a title, description and URL.\"}",
+            "{\"status\":\"done\",\"lines\":4,\"inserted\":1,\"failed\":3}");
+    }
+
+    @Test
+    void reportsItemsRejectedByTheDatabase() throws IOException {
+        ResourceDAO mockResourceDAO = mock(ResourceDAO.class);
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockResourceDAO.insertResources(eq(mockCredentials), anyList()))
+            .thenReturn(List.of(BatchItemResult.success(0, 7), BatchItemResult.failure(1, "Failed to write record.")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResourceImporter(mockResourceDAO, mockCredentials, 10, 1024)
+            .importResources(ndjson(GOOD_LINE, "", GOOD_LINE), out);
+
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+            "{\"line\":3,\"errorMsg\":\"Failed to write record.\"}",
+            "{\"status\":\"done\",\"lines\":3,\"inserted\":1,\"failed\":1}");
+    }
+
+    @Test
+    void skipsLinesOverTheLengthLimit() throws IOException {
+        ResourceDAO mockResourceDAO = mock(ResourceDAO.class);
+        Credentials mockCredentials = mock(Credentials.class);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ResourceImporter(mockResourceDAO, mockCredentials, 10, 16)
+            .importResources(ndjson(GOOD_LINE), out);
+
+        verify(mockResourceDAO, times(0)).insertResources(any(), anyList());
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+            "{\"line\":1,\"errorMsg\":\"Line exceeds 16 characters.\"}",
+            "{\"status\":\"done\",\"lines\":1,\"inserted\":0,\"failed\":1}");
+    }
+
+    @Test
+    void rejectsInvalidBatchSize() {
+        ResourceDAO mockResourceDAO = mock(ResourceDAO.class);
+        Credentials mockCredentials = mock(Credentials.class);
+
+        Assertions.assertThatThrownBy(() -> new ResourceImporter(mockResourceDAO, mockCredentials, 0, 16))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(mockResourceDAO);
+    }
+}
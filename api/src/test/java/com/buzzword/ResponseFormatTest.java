@@ -0,0 +1,70 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+public class ResponseFormatTest {
+
+    @Test
+    void missingOrMalformedHeaderSelectsJson() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(" "));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("not a media type"));
+    }
+
+    @Test
+    void browserHeaderSelectsJson() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"));
+    }
+
+    @Test
+    void binaryFormatsAreSelectedWhenPreferred() {
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("application/cbor"));
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.negotiate("application/x-jackson-smile, application/json;q=0.5"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0.5, application/json"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0, */*"));
+    }
+
+    @Test
+    void binaryFormatsCarryTheSameProperties() throws IOException {
+        Resource resource = new Resource();
+        resource.setId(1);
+        resource.setFirstName("Foo");
+        resource.setLastName("Bar");
+        resource.setCreationDate(new Date(1000));
+        resource.setTitle("Title");
+        resource.setDescription("Description");
+        resource.setUrl("http://example.com");
+
+        Object json = ResponseFormat.JSON.getObjectMapper().readTree(ResponseFormat.JSON.getObjectMapper().writeValueAsBytes(resource));
+        for (ResponseFormat format : ResponseFormat.values()) {
+            byte[] encoded = format.getObjectMapper().writeValueAsBytes(resource);
+            assertEquals(json, format.getObjectMapper().readTree(encoded));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.nio.charset.StandardCharsets;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+public class StaticResourceConfigTest {
+
+    @Test
+    void etagDependsOnContent() {
+        StaticResourceConfig config = new StaticResourceConfig();
+        String page = config.etagFor(new ByteArrayResource("<html>a</html>".getBytes(StandardCharsets.UTF_8), "index.html"));
+        String compressedPage = config.etagFor(new ByteArrayResource("<html>b</html>".getBytes(StandardCharsets.UTF_8), "index.html.gz"));
+
+        Assertions.assertThat(page).hasSize(32).isNotEqualTo(compressedPage);
+        Assertions.assertThat(config.etagFor(new ByteArrayResource("<html>a</html>".getBytes(StandardCharsets.UTF_8), "index.html")))
+            .isEqualTo(page);
+    }
+
+    @Test
+    void unreadableResourceHasNoEtag() {
+        StaticResourceConfig config = new StaticResourceConfig();
+        Assertions.assertThat(config.etagFor(new ClassPathResource("static/missing.html"))).isNull();
+    }
+}
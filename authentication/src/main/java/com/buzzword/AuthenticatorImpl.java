@@ -24,12 +24,12 @@ package com.buzzword;
 import java.net.URL;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
@@ -37,12 +37,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * This class facilitates a connection to an authentication server to
  * retrieve user credentials using a JSON Web Token (JWT) provided by
  * the authentication server for Single Sign-On (SSO).
+ * <p>
+ * Requests block the calling thread, which is cheap when the API runs on virtual threads.
+ * Responses are read to the end and the connection is left open so the JDK can reuse it
+ * for the next request, and connect and read timeouts stop a slow authentication server
+ * from holding request threads indefinitely.
  * 
  * @author Ben Edens
  * @version 1.0
  */
 public class AuthenticatorImpl implements Authenticator{
 
+    /** The time allowed to open a connection to the authentication server. */
+    public static final int CONNECT_TIMEOUT_MILLIS = 5000;
+
+    /** The time allowed for the authentication server to respond. */
+    public static final int READ_TIMEOUT_MILLIS = 10000;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private URL serverUrl;
     private final Logger logger = LoggerFactory.getEventLogger();
 
@@ -83,30 +96,24 @@ public class AuthenticatorImpl implements Authenticator{
             HttpURLConnection connection = (HttpURLConnection) serverUrl.openConnection();
             connection.setRequestMethod("POST");
             connection.setDoOutput(true);
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+            connection.setReadTimeout(READ_TIMEOUT_MILLIS);
             connection.setRequestProperty("Content-Type", "application/json");
             String tokenJson = String.format("{\"token\": \"%s\"}", token.getToken());
             logger.info("Attempting to send data to authentication server.");
             try (OutputStream os = connection.getOutputStream()) {
-                byte[] output = (tokenJson).getBytes("utf-8");
+                byte[] output = tokenJson.getBytes(StandardCharsets.UTF_8);
                 os.write(output, 0, output.length);
             }
             int responseCode = connection.getResponseCode();
 
             if (responseCode == HttpURLConnection.HTTP_CREATED) {
                 logger.info("Received HTTP response code 201 from authentication server.");
-                BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                String inputLine;
-                StringBuilder response = new StringBuilder();
-
-                while ((inputLine = in.readLine()) != null) {
-                    response.append(inputLine);
+                byte[] response;
+                try (InputStream in = connection.getInputStream()) {
+                    response = in.readAllBytes();
                 }
-                in.close();
-                String responseStr = response.toString();
-                ObjectMapper objectMapper = new ObjectMapper();
-                Credentials userCredentials;
-                userCredentials = objectMapper.readValue(responseStr, Credentials.class);
-                connection.disconnect();
+                Credentials userCredentials = OBJECT_MAPPER.readValue(response, Credentials.class);
                 if(userCredentials == null) {
                     logger.error("Authenticator must not return null credentials");
                     throw new AuthenticationException("Authenticator must not return null credentials.");
@@ -114,7 +121,12 @@ public class AuthenticatorImpl implements Authenticator{
                 logger.info("Successfully received credentials from authentication server.");
                 return userCredentials;
             } else {
-                connection.disconnect();
+                // Drain the error body so the connection can still be reused
+                try (InputStream err = connection.getErrorStream()) {
+                    if (err != null) {
+                        err.readAllBytes();
+                    }
+                }
                 String errorMsg = String.format("Received response code %d from authentication server.", responseCode);
                 logger.error(errorMsg);
                 throw new AuthenticationException(errorMsg);
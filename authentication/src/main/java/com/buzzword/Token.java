@@ -40,7 +40,7 @@ public class Token {
     /**
      * The sanitizer used to prevent XSS attacks.
      */
-    XssSanitizer sanitizer = new XssSanitizerImpl();
+    static final Sanitizer sanitizer = SharedXssSanitizer.getInstance();
 
     /**
      * Represents the validated token string provided by the user.
@@ -0,0 +1,156 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Compares running blocking authentication calls on a platform thread pool the size of
+ * Tomcat's default (200 threads) against running each call on its own virtual thread.
+ * <p>
+ * Each operation is a burst of concurrent requests against a local authentication server
+ * that takes a fixed time to answer, as a slow auth server would. Throughput is bursts per
+ * second, and the sampled burst time is the latency of the slowest requests in the burst,
+ * so its p99 is an upper bound on the per-request p99.
+ * <p>
+ * After installing the modules with {@code mvn install -DskipTests}, run from the project
+ * root with:
+ * <pre>
+ * mvn -pl authentication test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.buzzword.RequestExecutionBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    private static final int PLATFORM_POOL_SIZE = 200;
+    private static final byte[] CREDENTIALS = ("{\"fName\": \"John\", \"lName\": \"Smith\", \"loc\": \"US\", "
+        + "\"id\": 10, \"dept\": \"Information Technology\", \"title\": \"Manager\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({ "platform", "virtual" })
+    private String threads;
+
+    @Param({ "1000" })
+    private int concurrentRequests;
+
+    @Param({ "20" })
+    private int authDelayMillis;
+
+    private HttpServer authServer;
+    private ExecutorService executor;
+    private String authServerUrl;
+    private Token token;
+
+    /**
+     * Starts the local authentication server and the executor under test.
+     * @throws IOException if the server cannot be started
+     */
+    @Setup
+    public void start() throws IOException {
+        authServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        authServer.createContext("/auth-service/api/auth/verify", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(authDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(201, CREDENTIALS.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(CREDENTIALS);
+            }
+        });
+        // The server never queues requests, so only the executor under test limits concurrency
+        authServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        authServer.start();
+        authServerUrl = "http://localhost:" + authServer.getAddress().getPort() + "/auth-service/api/auth/verify";
+
+        executor = threads.equals("virtual") 
+            ? Executors.newVirtualThreadPerTaskExecutor() 
+            : Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        token = new Token();
+        token.setToken("eyJhbGciOiJIUzI1NiJ9.e30.signature");
+    }
+
+    /**
+     * Stops the executor and the local authentication server.
+     */
+    @TearDown
+    public void stop() {
+        executor.shutdownNow();
+        authServer.stop(0);
+    }
+
+    @Benchmark
+    public int authenticateBurst() throws InterruptedException, ExecutionException {
+        List<Future<Credentials>> requests = new ArrayList<Future<Credentials>>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            requests.add(executor.submit(() -> new AuthenticatorImpl(authServerUrl).authenticate(token)));
+        }
+        int authenticated = 0;
+        for (Future<Credentials> request : requests) {
+            if (request.get() != null) {
+                authenticated++;
+            }
+        }
+        return authenticated;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RequestExecutionBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,236 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * The authorization rules for every operation on every kind of record, and a user's
+ * permissions under them.
+ * <p>
+ * The rules are compiled once into a bitset per system role, with one bit for each
+ * operation, record type and ownership. A policy resolves the user's role once, when it is
+ * created, so each check after that is a single bit test. The rules are:
+ * <ul>
+ *   <li>every role may view every record; only administrators may view server metrics</li>
+ *   <li>administrators and contributors may add resources; every role may add comments,
+ *       review flags and upvotes</li>
+ *   <li>contributors may edit and delete their own resources, and administrators any resource</li>
+ *   <li>only the creator may edit a comment or review flag; administrators and the creator
+ *       may delete one</li>
+ *   <li>only the creator may delete an upvote, and upvotes cannot be edited</li>
+ *   <li>only administrators may export and import resources</li>
+ * </ul>
+ * A user whose title maps to no known role has no permissions.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class AccessPolicy {
+
+    /**
+     * The operations a user can perform on records.
+     */
+    public enum Operation {
+        VIEW,
+        INSERT,
+        EDIT,
+        REMOVE,
+        EXPORT,
+        IMPORT
+    }
+
+    /**
+     * The kinds of record operations apply to. Server metrics, such as the cache,
+     * connector and configuration reload statistics, are treated as a record type that
+     * can only be viewed.
+     */
+    public enum RecordType {
+        RESOURCE,
+        COMMENT,
+        REVIEW_FLAG,
+        UPVOTE,
+        METRICS
+    }
+
+    private static final int RECORD_TYPES = RecordType.values().length;
+
+    static {
+        // Every operation, record type and ownership needs its own bit in a long
+        if (Operation.values().length * RECORD_TYPES * 2 > Long.SIZE) {
+            throw new ExceptionInInitializerError("Too many operations and record types for the grant bitset.");
+        }
+    }
+    private static final long[] GRANTS = new long[SystemRole.values().length];
+
+    static {
+        long commenter = any(Operation.VIEW, RecordType.RESOURCE, RecordType.COMMENT, RecordType.REVIEW_FLAG, RecordType.UPVOTE)
+            | own(Operation.INSERT, RecordType.COMMENT, RecordType.REVIEW_FLAG, RecordType.UPVOTE)
+            | own(Operation.EDIT, RecordType.COMMENT, RecordType.REVIEW_FLAG)
+            | own(Operation.REMOVE, RecordType.COMMENT, RecordType.REVIEW_FLAG, RecordType.UPVOTE);
+        long contributor = commenter
+            | own(Operation.INSERT, RecordType.RESOURCE)
+            | own(Operation.EDIT, RecordType.RESOURCE)
+            | own(Operation.REMOVE, RecordType.RESOURCE);
+        long admin = contributor
+            | any(Operation.EDIT, RecordType.RESOURCE)
+            | any(Operation.REMOVE, RecordType.RESOURCE, RecordType.COMMENT, RecordType.REVIEW_FLAG)
+            | any(Operation.EXPORT, RecordType.RESOURCE)
+            | any(Operation.IMPORT, RecordType.RESOURCE)
+            | any(Operation.VIEW, RecordType.METRICS);
+        GRANTS[SystemRole.COMMENTER.ordinal()] = commenter;
+        GRANTS[SystemRole.CONTRIBUTOR.ordinal()] = contributor;
+        GRANTS[SystemRole.ADMIN.ordinal()] = admin;
+    }
+
+    private static final Logger logger = LoggerFactory.getSecurityLogger();
+
+    private final int userId;
+    private final String roleName;
+    private final SystemRole role;
+    private final long grants;
+
+    /**
+     * Constructs a policy for a user ID and role.
+     * @param userId the user ID
+     * @param roleName the name of the user's system role, as resolved from their title
+     */
+    private AccessPolicy(int userId, String roleName) {
+        this.userId = userId;
+        this.roleName = roleName;
+        this.role = SystemRole.fromName(roleName);
+        this.grants = role == null ? 0 : GRANTS[role.ordinal()];
+    }
+
+    /**
+     * Resolves a user's permissions. The user's system role is looked up once, here.
+     * @param user the credentials of the current user
+     * @return the user's policy
+     * @throws IllegalArgumentException if the credentials or system role are null
+     */
+    public static AccessPolicy forUser(Credentials user) {
+        if (user == null) {
+            logger.error("Attempted to resolve permissions for null user credentials.");
+            throw new IllegalArgumentException("User credentials cannot be null.");
+        }
+        String roleName = user.getSystemRole();
+        if (roleName == null) {
+            logger.error(String.format("Attempted to resolve permissions for user %d with no system role.", user.getId()));
+            throw new IllegalArgumentException("User system role cannot be null.");
+        }
+        return new AccessPolicy(user.getId(), roleName);
+    }
+
+    /**
+     * Gets a policy that grants nothing, for output that is shared between users.
+     * @return the policy
+     */
+    public static AccessPolicy anonymous() {
+        // Record IDs are never negative, so this user created nothing
+        return new AccessPolicy(-1, null);
+    }
+
+    /**
+     * Checks whether the user may perform an operation on at least their own records of
+     * a type. Use this before the records are read; check each record with
+     * {@link #allows(Operation, RecordType, int)} once its creator is known.
+     * @param operation the operation
+     * @param recordType the record type
+     * @return true if the operation is allowed on some records
+     */
+    public boolean allows(Operation operation, RecordType recordType) {
+        return (grants & (bit(operation, recordType, true) | bit(operation, recordType, false))) != 0;
+    }
+
+    /**
+     * Checks whether the user may perform an operation on a particular record.
+     * @param operation the operation
+     * @param recordType the record type
+     * @param creatorId the ID of the user who created the record
+     * @return true if the operation is allowed on the record
+     */
+    public boolean allows(Operation operation, RecordType recordType, int creatorId) {
+        return (grants & bit(operation, recordType, creatorId == userId)) != 0;
+    }
+
+    /**
+     * Gets the ID of the user.
+     * @return the user ID
+     */
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Gets the user's system role.
+     * @return the role, or null if the user's role is not a known system role
+     */
+    public SystemRole getRole() {
+        return role;
+    }
+
+    /**
+     * Gets the name of the user's system role as it was resolved, for log messages.
+     * @return the role name
+     */
+    public String getRoleName() {
+        return roleName;
+    }
+
+    /**
+     * Gets the bit for an operation on a record type by its creator or by another user.
+     * @param operation the operation
+     * @param recordType the record type
+     * @param owner whether the user created the record
+     * @return the bit
+     */
+    private static long bit(Operation operation, RecordType recordType, boolean owner) {
+        int index = (operation.ordinal() * RECORD_TYPES + recordType.ordinal()) * 2 + (owner ? 0 : 1);
+        return 1L << index;
+    }
+
+    /**
+     * Grants an operation on the user's own records of the given types.
+     * @param operation the operation
+     * @param recordTypes the record types
+     * @return the granted bits
+     */
+    private static long own(Operation operation, RecordType... recordTypes) {
+        long bits = 0;
+        for (RecordType recordType : recordTypes) {
+            bits |= bit(operation, recordType, true);
+        }
+        return bits;
+    }
+
+    /**
+     * Grants an operation on all records of the given types.
+     * @param operation the operation
+     * @param recordTypes the record types
+     * @return the granted bits
+     */
+    private static long any(Operation operation, RecordType... recordTypes) {
+        long bits = own(operation, recordTypes);
+        for (RecordType recordType : recordTypes) {
+            bits |= bit(operation, recordType, false);
+        }
+        return bits;
+    }
+}
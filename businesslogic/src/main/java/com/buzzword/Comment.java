@@ -21,6 +21,11 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
 /**
  * The Comment class creates a comment object that holds the content of a 
  * comment as well as all fields from the Record class.
@@ -31,7 +36,7 @@ package com.buzzword;
 public class Comment extends Record {
     private String contents;
 
-    private final XssSanitizer commentSanitizer;
+    private static final Sanitizer commentSanitizer = SharedXssSanitizer.getInstance();
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
@@ -40,7 +45,6 @@ public class Comment extends Record {
      */
     public Comment() {
         super();
-        commentSanitizer = new XssSanitizerImpl();
     }
 
     /**
@@ -99,4 +103,13 @@ public class Comment extends Record {
         logger.debug("setting contents");
         this.contents = validateContents(contents);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        super.writeFields(gen, provider);
+        gen.writeStringField("contents", contents);
+    }
 }
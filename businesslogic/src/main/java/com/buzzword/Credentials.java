@@ -6,7 +6,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 
-import java.util.Map;
 
 /**
  * The Credentials class creates an object that contains
@@ -38,7 +37,7 @@ public class Credentials {
     @JsonIgnore
     private String systemRole;
 
-    private XssSanitizer mySanitizer;
+    private static final Sanitizer mySanitizer = SharedXssSanitizer.getInstance();
 
     private final Logger logger = LoggerFactory.getSecurityLogger();
 
@@ -46,7 +45,6 @@ public class Credentials {
      * Constructs a new Credentials object with default values.
      */
     public Credentials() {
-        mySanitizer = new XssSanitizerImpl();
         logger.debug("finishing the default constructor");
         firstName = new Name();
         lastName = new Name();
@@ -216,21 +214,19 @@ public class Credentials {
     }
     
     /** 
-     * Returns the system role of the user.
+     * Returns the system role of the user, looked up from the user's title in the
+     * role table of the current configuration snapshot.
      * @return the system role
+     * @throws IllegalArgumentException if the title is not mapped to a system role
      */
     public String getSystemRole() {
-        RoleConfiguration config = new RoleConfigurationImpl(ConfigurationManagerImpl.getInstance());
-        Map<String, String> roleMap = config.getRoleMap();
+        String systemRole = ConfigurationSnapshot.getCurrent().getSystemRole(title);
 
-        String systemRole = roleMap.get(title);
-
-        if (systemRole != "Admin" && systemRole != "Contributor" && systemRole != "Commenter") {
-            logger.error(String.format("User possesses invalid system role %s", systemRole));
+        if (systemRole == null) {
+            logger.error(String.format("User title %s is not mapped to a system role", title));
             throw new IllegalArgumentException("Invalid system role");
         }
         this.systemRole = systemRole;
-        logger.debug(String.format("setting the system role: %s", systemRole));
 
         logger.debug("returning the system role: " + systemRole);
         return systemRole;
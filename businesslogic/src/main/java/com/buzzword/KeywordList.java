@@ -39,14 +39,13 @@ public class KeywordList {
     private List<String> keywordList;
     private final int MAX_KEYWORDS = 100;
 
-    private final XssSanitizer resourceSanitizer;
+    private static final Sanitizer resourceSanitizer = SharedXssSanitizer.getInstance();
     private final Logger logger = LoggerFactory.getEventLogger();
 
     /**
      * Constructs a new KeywordList with an empty list of keywords.
      */
     public KeywordList() {
-        this.resourceSanitizer = new XssSanitizerImpl();
         this.keywordList = new ArrayList<>();
     }
 
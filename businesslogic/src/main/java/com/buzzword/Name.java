@@ -21,6 +21,10 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
 /**
  * This Name class defines a generic name object that 
  * can be used to create a first or last name.
@@ -31,7 +35,7 @@ package com.buzzword;
 public class Name {
     private String nameString = "Name";
 
-    private XssSanitizer mySanitizer;
+    private static final Sanitizer mySanitizer = SharedXssSanitizer.getInstance();
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
@@ -39,7 +43,6 @@ public class Name {
      * Constructs a new Name object with default values.
      */
     public Name() {
-        mySanitizer = new XssSanitizerImpl();
     }
 
     /**
@@ -48,7 +51,6 @@ public class Name {
      * @param nameString the initial name value
      */
     public Name(String nameString) {
-        mySanitizer = new XssSanitizerImpl();
         this.nameString = nameString;
     }
 
@@ -99,4 +101,13 @@ public class Name {
         return nameString;
     }
 
+    /**
+     * Writes the name as a JSON string.
+     * @param gen the generator to write to
+     * @throws IOException if the name cannot be written
+     */
+    void writeJson(JsonGenerator gen) throws IOException {
+        gen.writeString(nameString);
+    }
+
 }
@@ -0,0 +1,103 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Factory class to provide access to the shared Jackson object mappers.
+ * <p>
+ * The mappers write resources, comments, review flags and upvotes with a
+ * {@link RecordSerializer} instead of reflection. There is one mapper per wire format,
+ * JSON, CBOR and Smile, all with the same serializers, so every format carries the same
+ * properties. An object mapper is thread-safe once configured, so every caller shares the
+ * one instance and its serializer caches.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ObjectMapperFactory {
+
+    /**
+     * The shared object mapper instance.
+     */
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(recordModule());
+
+    /**
+     * The shared CBOR object mapper instance.
+     */
+    private static final ObjectMapper cborMapper = new CBORMapper().registerModule(recordModule());
+
+    /**
+     * The shared Smile object mapper instance.
+     */
+    private static final ObjectMapper smileMapper = new SmileMapper().registerModule(recordModule());
+
+    /**
+     * Provides singleton access to the shared object mapper.
+     * <p>
+     * Callers must not reconfigure the returned mapper.
+     * 
+     * @return the object mapper instance
+     */
+    public static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Provides singleton access to the shared CBOR object mapper.
+     * <p>
+     * Callers must not reconfigure the returned mapper.
+     * 
+     * @return the CBOR object mapper instance
+     */
+    public static ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /**
+     * Provides singleton access to the shared Smile object mapper.
+     * <p>
+     * Callers must not reconfigure the returned mapper.
+     * 
+     * @return the Smile object mapper instance
+     */
+    public static ObjectMapper getSmileMapper() {
+        return smileMapper;
+    }
+
+    /**
+     * Builds the module registering the record serializers.
+     * @return the module
+     */
+    private static SimpleModule recordModule() {
+        SimpleModule module = new SimpleModule("RecordModule");
+        module.addSerializer(Resource.class, new RecordSerializer<Resource>(Resource.class));
+        module.addSerializer(Comment.class, new RecordSerializer<Comment>(Comment.class));
+        module.addSerializer(ReviewFlag.class, new RecordSerializer<ReviewFlag>(ReviewFlag.class));
+        module.addSerializer(Upvote.class, new RecordSerializer<Upvote>(Upvote.class));
+        return module;
+    }
+}
@@ -0,0 +1,250 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
+/**
+ * Computes the current user's permission and upvote fields for shared resource snapshots.
+ * <p>
+ * The edit and delete fields follow the rules of {@link AccessPolicy}, and every listing
+ * sets them through {@link #applyTo(Resource)}.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class PermissionOverlay {
+
+    private final AccessPolicy access;
+
+    /**
+     * Constructs the overlay for a user.
+     * @param user the credentials of the current user
+     * @throws IllegalArgumentException if the credentials or system role are null
+     */
+    public PermissionOverlay(Credentials user) {
+        this(AccessPolicy.forUser(user));
+    }
+
+    /**
+     * Constructs an overlay for a resolved policy.
+     * @param access the user's policy
+     */
+    private PermissionOverlay(AccessPolicy access) {
+        this.access = access;
+    }
+
+    /**
+     * Gets the overlay for a user whose permissions are already resolved.
+     * @param access the current user's policy
+     * @return the overlay
+     * @throws IllegalArgumentException if the policy is null
+     */
+    public static PermissionOverlay forPolicy(AccessPolicy access) {
+        if (access == null) {
+            throw new IllegalArgumentException("Access policy cannot be null.");
+        }
+        return new PermissionOverlay(access);
+    }
+
+    /**
+     * Gets an overlay that grants no permissions, for rendering output that is shared
+     * between users.
+     * @return the overlay
+     */
+    public static PermissionOverlay anonymous() {
+        return new PermissionOverlay(AccessPolicy.anonymous());
+    }
+
+    /**
+     * Checks whether the user may delete a resource.
+     * @param resource the resource
+     * @return true if the user may delete it
+     */
+    public boolean canDelete(ResourceSnapshot resource) {
+        return access.allows(Operation.REMOVE, RecordType.RESOURCE, resource.getCreatorId());
+    }
+
+    /**
+     * Checks whether the user may edit a resource.
+     * @param resource the resource
+     * @return true if the user may edit it
+     */
+    public boolean canEdit(ResourceSnapshot resource) {
+        return access.allows(Operation.EDIT, RecordType.RESOURCE, resource.getCreatorId());
+    }
+
+    /**
+     * Checks whether the user may delete a child record of a resource.
+     * @param record the comment, review flag or upvote
+     * @param recordType the type of the record
+     * @return true if the user may delete it
+     */
+    public boolean canDelete(RecordSnapshot record, RecordType recordType) {
+        return access.allows(Operation.REMOVE, recordType, record.getCreatorId());
+    }
+
+    /**
+     * Checks whether the user may edit a child record of a resource.
+     * @param record the comment, review flag or upvote
+     * @param recordType the type of the record
+     * @return true if the user may edit it
+     */
+    public boolean canEdit(RecordSnapshot record, RecordType recordType) {
+        return access.allows(Operation.EDIT, recordType, record.getCreatorId());
+    }
+
+    /**
+     * Finds the user's upvote on a resource.
+     * @param resource the resource
+     * @return the ID of the user's upvote, or -1 if the user has not upvoted it
+     */
+    public int upvoteId(ResourceSnapshot resource) {
+        for (RecordSnapshot upvote : resource.getUpvotes()) {
+            if (upvote.getCreatorId() == access.getUserId()) {
+                return upvote.getId();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds a Resource for the user from a shared snapshot.
+     * <p>
+     * The snapshot is not modified; the Resource and its child records are new objects.
+     * 
+     * @param snapshot the resource snapshot
+     * @return the resource with the user's fields set
+     */
+    public Resource toResource(ResourceSnapshot snapshot) {
+        Resource resource = new Resource();
+        resource.setId(snapshot.getId());
+        resource.setTitle(snapshot.getTitle());
+        resource.setDescription(snapshot.getDescription());
+        resource.setUrl(snapshot.getUrl());
+        resource.setCreatorId(snapshot.getCreatorId());
+        resource.setCreationDate(snapshot.getCreationDate());
+        resource.setFirstName(snapshot.getFirstName());
+        resource.setLastName(snapshot.getLastName());
+        resource.setIsEdited(snapshot.getIsEdited());
+
+        List<Comment> comments = new ArrayList<Comment>(snapshot.getComments().size());
+        for (RecordSnapshot commentSnapshot : snapshot.getComments()) {
+            comments.add(copyComment(commentSnapshot, new Comment()));
+        }
+        resource.setComments(comments);
+        resource.setCommentCount(comments.size());
+
+        List<ReviewFlag> reviewFlags = new ArrayList<ReviewFlag>(snapshot.getReviewFlags().size());
+        for (RecordSnapshot flagSnapshot : snapshot.getReviewFlags()) {
+            reviewFlags.add(copyComment(flagSnapshot, new ReviewFlag()));
+        }
+        resource.setReviewFlags(reviewFlags);
+
+        List<Upvote> upvotes = new ArrayList<Upvote>(snapshot.getUpvotes().size());
+        for (RecordSnapshot upvoteSnapshot : snapshot.getUpvotes()) {
+            Upvote upvote = new Upvote();
+            copyRecord(upvoteSnapshot, upvote);
+            upvotes.add(upvote);
+        }
+        resource.setUpvotes(upvotes);
+        resource.setUpvoteCount(upvotes.size());
+
+        int upvoteId = upvoteId(snapshot);
+        if (upvoteId != -1) {
+            resource.setUpvotedByCurrentUser(true);
+            resource.setCurrentUserUpvoteId(upvoteId);
+        }
+        return applyTo(resource);
+    }
+
+    /**
+     * Sets the user's edit and delete fields on a Resource and on the comments, review flags
+     * and upvotes it holds.
+     * <p>
+     * Listings that read only some fields build their Resources without a snapshot; this
+     * gives them the same fields as {@link #toResource(ResourceSnapshot)}.
+     * 
+     * @param resource the resource, with its creator ID and any child records set
+     * @return the same resource
+     */
+    public Resource applyTo(Resource resource) {
+        applyTo(resource, RecordType.RESOURCE);
+        if (resource.getComments() != null) {
+            for (Comment comment : resource.getComments()) {
+                applyTo(comment, RecordType.COMMENT);
+            }
+        }
+        if (resource.getReviewFlags() != null) {
+            for (ReviewFlag reviewFlag : resource.getReviewFlags()) {
+                applyTo(reviewFlag, RecordType.REVIEW_FLAG);
+            }
+        }
+        if (resource.getUpvotes() != null) {
+            for (Upvote upvote : resource.getUpvotes()) {
+                applyTo(upvote, RecordType.UPVOTE);
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * Sets the user's edit and delete fields on a record.
+     * @param record the record, with its creator ID set
+     * @param recordType the type of the record
+     */
+    private void applyTo(Record record, RecordType recordType) {
+        record.setCurrentUserCanDelete(access.allows(Operation.REMOVE, recordType, record.getCreatorId()));
+        record.setCurrentUserCanEdit(access.allows(Operation.EDIT, recordType, record.getCreatorId()));
+    }
+
+    /**
+     * Copies a comment or review flag snapshot.
+     * @param <T> the comment type
+     * @param snapshot the snapshot to copy
+     * @param comment the new comment or review flag
+     * @return the filled-in comment or review flag
+     */
+    private <T extends Comment> T copyComment(RecordSnapshot snapshot, T comment) {
+        copyRecord(snapshot, comment);
+        comment.setContents(snapshot.getContents());
+        return comment;
+    }
+
+    /**
+     * Copies the common record fields of a snapshot.
+     * @param snapshot the snapshot to copy
+     * @param record the new record
+     */
+    private static void copyRecord(RecordSnapshot snapshot, Record record) {
+        record.setId(snapshot.getId());
+        record.setCreatorId(snapshot.getCreatorId());
+        record.setFirstName(snapshot.getFirstName());
+        record.setLastName(snapshot.getLastName());
+        record.setCreationDate(snapshot.getCreationDate());
+        record.setIsEdited(snapshot.getIsEdited());
+    }
+}
@@ -22,7 +22,10 @@ package com.buzzword;
 */
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
 
+import java.io.IOException;
 import java.util.Date;
 
 /**
@@ -248,4 +251,28 @@ abstract class Record{
         logger.debug("setting currentUserCanEdit");
         this.currentUserCanEdit = currentUserCanEdit;
     }
+
+    /**
+     * Writes the record's JSON properties straight from its fields.
+     * <p>
+     * Used by {@link RecordSerializer} instead of the getters, which log on every call.
+     * Subclasses write their own properties after calling this method.
+     * 
+     * @param gen the generator to write to
+     * @param provider the provider of the mapper's serialization settings
+     * @throws IOException if the record cannot be written
+     */
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumberField("id", id);
+        gen.writeFieldName("firstName");
+        firstName.writeJson(gen);
+        gen.writeFieldName("lastName");
+        lastName.writeJson(gen);
+        gen.writeNumberField("creatorId", creatorId);
+        gen.writeFieldName("creationDate");
+        provider.defaultSerializeDateValue(creationDate, gen);
+        gen.writeBooleanField("currentUserCanDelete", currentUserCanDelete);
+        gen.writeBooleanField("currentUserCanEdit", currentUserCanEdit);
+        gen.writeBooleanField("isEdited", isEdited);
+    }
 }
@@ -0,0 +1,131 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Date;
+
+/**
+ * An immutable copy of a comment, review flag or upvote, without any per-user state.
+ * <p>
+ * Snapshots are built once when a resource graph is read and may be shared by every user.
+ * The current user's permissions are applied by a {@link PermissionOverlay}.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class RecordSnapshot {
+
+    private final int id;
+    private final int creatorId;
+    private final String firstName;
+    private final String lastName;
+    private final long creationTime;
+    private final boolean isEdited;
+    private final String contents;
+
+    /**
+     * Constructs a snapshot of a comment or review flag.
+     * @param comment the comment to copy
+     */
+    public RecordSnapshot(Comment comment) {
+        this(comment, comment.getContents());
+    }
+
+    /**
+     * Constructs a snapshot of an upvote.
+     * @param upvote the upvote to copy
+     */
+    public RecordSnapshot(Upvote upvote) {
+        this(upvote, null);
+    }
+
+    /**
+     * Copies the common record fields.
+     * @param record the record to copy
+     * @param contents the comment contents, or null for an upvote
+     */
+    private RecordSnapshot(Record record, String contents) {
+        this.id = record.getId();
+        this.creatorId = record.getCreatorId();
+        this.firstName = record.getFirstName();
+        this.lastName = record.getLastName();
+        this.creationTime = record.getCreationDate().getTime();
+        this.isEdited = record.getIsEdited();
+        this.contents = contents;
+    }
+
+    /**
+     * Returns the record ID.
+     * @return the record ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the ID of the user who created the record.
+     * @return the creator ID
+     */
+    public int getCreatorId() {
+        return creatorId;
+    }
+
+    /**
+     * Returns the creator's first name.
+     * @return the first name
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Returns the creator's last name.
+     * @return the last name
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Returns a copy of the creation date.
+     * @return the creation date
+     */
+    public Date getCreationDate() {
+        return new Date(creationTime);
+    }
+
+    /**
+     * Returns whether the record was edited.
+     * @return true if the record was edited
+     */
+    public boolean getIsEdited() {
+        return isEdited;
+    }
+
+    /**
+     * Returns the comment contents.
+     * @return the contents, or null for an upvote
+     */
+    public String getContents() {
+        return contents;
+    }
+}
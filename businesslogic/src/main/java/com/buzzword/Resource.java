@@ -21,12 +21,15 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.io.IOException;
 import java.util.List;
 
 import org.apache.commons.validator.routines.UrlValidator;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
 
 /**
  * The Resource class creates a Resource object that holds the title, 
@@ -49,11 +52,13 @@ public class Resource extends Record {
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private int upvoteCount;
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int commentCount;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private boolean upvotedByCurrentUser;
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private int currentUserUpvoteId;
 
-    private final XssSanitizer resourceSanitizer;
+    private static final Sanitizer resourceSanitizer = SharedXssSanitizer.getInstance();
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
@@ -62,7 +67,6 @@ public class Resource extends Record {
      */
     public Resource() {
         super(); // Call the parent constructor (i.e. Record)
-        resourceSanitizer = new XssSanitizerImpl(); // Initialize the sanitizer
     }
 
 
@@ -387,6 +391,43 @@ public class Resource extends Record {
         }
     }
 
+    /**
+     * Ensures that the comment count is not negative before setting it.
+     * 
+     * @param commentCount the comment count to validate
+     * @return the validated comment count
+     */
+    private int validateCommentCount(final int commentCount)
+    {
+        if (commentCount < 0) {
+            logger.error("Comment count must not be negative");
+            throw new IllegalArgumentException("Comment count must not be negative.");
+        }
+        return commentCount;
+    }
+
+    /**
+     * Gets the total count of comments on this resource.
+     * 
+     * @return the comment count
+     */
+    public int getCommentCount() {
+        logger.debug("returning the comment count");
+        return commentCount;
+    }
+
+    /**
+     * Sets the comment count for this resource.
+     * <p>
+     * The comment count will be validated before being set.
+     * 
+     * @param commentCount the comment count to set
+     */
+    public void setCommentCount(int commentCount) {
+        logger.debug("setting the comment count");
+        this.commentCount = validateCommentCount(commentCount);
+    }
+
     /**
      * Checks if the current user has upvoted this resource.
      * 
@@ -441,4 +482,42 @@ public class Resource extends Record {
         logger.debug("setting the current user upvote ID");
         this.currentUserUpvoteId = validateCurrentUserUpvoteId(currentUserUpvoteId);
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeFields(JsonGenerator gen, SerializerProvider provider) throws IOException {
+        super.writeFields(gen, provider);
+        gen.writeStringField("title", title);
+        gen.writeStringField("description", description);
+        gen.writeStringField("url", url);
+        gen.writeFieldName("comments");
+        writeRecords(gen, provider, comments);
+        gen.writeFieldName("reviewFlags");
+        writeRecords(gen, provider, reviewFlags);
+        gen.writeNumberField("upvoteCount", upvoteCount);
+        gen.writeNumberField("commentCount", commentCount);
+        gen.writeBooleanField("upvotedByCurrentUser", upvotedByCurrentUser);
+        gen.writeNumberField("currentUserUpvoteId", currentUserUpvoteId);
+    }
+
+    /**
+     * Writes a list of comments or review flags as a JSON array.
+     * @param gen the generator to write to
+     * @param provider the provider of the mapper's serialization settings
+     * @param records the records to write, or null
+     * @throws IOException if the records cannot be written
+     */
+    private static void writeRecords(JsonGenerator gen, SerializerProvider provider, List<? extends Comment> records) throws IOException {
+        if (records == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(records, records.size());
+        for (Comment record : records) {
+            RecordSerializer.writeRecord(record, gen, provider);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,186 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable resource graph: a resource with its comments, review flags and upvotes,
+ * without any per-user state.
+ * <p>
+ * A snapshot is built once when the resource is read and may be shared by every user and
+ * cached. The current user's permission and upvote fields are computed from it by a
+ * {@link PermissionOverlay} when the resource is written out.
+ * <p>
+ * Every snapshot has a distinct version, so anything derived from a snapshot can tell
+ * whether it was derived from the same read.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class ResourceSnapshot {
+
+    private static final AtomicLong NEXT_VERSION = new AtomicLong();
+
+    private final long version;
+    private final int id;
+    private final int creatorId;
+    private final String firstName;
+    private final String lastName;
+    private final long creationTime;
+    private final boolean isEdited;
+    private final String title;
+    private final String description;
+    private final String url;
+    private final List<RecordSnapshot> comments;
+    private final List<RecordSnapshot> reviewFlags;
+    private final List<RecordSnapshot> upvotes;
+
+    /**
+     * Constructs a snapshot of a resource graph.
+     * @param resource the resource to copy; its child lists are ignored
+     * @param comments the comments of the resource
+     * @param reviewFlags the review flags of the resource
+     * @param upvotes the upvotes of the resource
+     */
+    public ResourceSnapshot(Resource resource, List<RecordSnapshot> comments, List<RecordSnapshot> reviewFlags, List<RecordSnapshot> upvotes) {
+        this.version = NEXT_VERSION.incrementAndGet();
+        this.id = resource.getId();
+        this.creatorId = resource.getCreatorId();
+        this.firstName = resource.getFirstName();
+        this.lastName = resource.getLastName();
+        this.creationTime = resource.getCreationDate().getTime();
+        this.isEdited = resource.getIsEdited();
+        this.title = resource.getTitle();
+        this.description = resource.getDescription();
+        this.url = resource.getUrl();
+        this.comments = List.copyOf(comments);
+        this.reviewFlags = List.copyOf(reviewFlags);
+        this.upvotes = List.copyOf(upvotes);
+    }
+
+    /**
+     * Returns the version of this snapshot, unique within the process.
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the resource ID.
+     * @return the resource ID
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the ID of the user who created the resource.
+     * @return the creator ID
+     */
+    public int getCreatorId() {
+        return creatorId;
+    }
+
+    /**
+     * Returns the creator's first name.
+     * @return the first name
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Returns the creator's last name.
+     * @return the last name
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Returns a copy of the creation date.
+     * @return the creation date
+     */
+    public Date getCreationDate() {
+        return new Date(creationTime);
+    }
+
+    /**
+     * Returns whether the resource was edited.
+     * @return true if the resource was edited
+     */
+    public boolean getIsEdited() {
+        return isEdited;
+    }
+
+    /**
+     * Returns the resource title.
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the resource description.
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the resource URL.
+     * @return the URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Returns the comments of the resource.
+     * @return an unmodifiable list of comments
+     */
+    public List<RecordSnapshot> getComments() {
+        return comments;
+    }
+
+    /**
+     * Returns the review flags of the resource.
+     * @return an unmodifiable list of review flags
+     */
+    public List<RecordSnapshot> getReviewFlags() {
+        return reviewFlags;
+    }
+
+    /**
+     * Returns the upvotes of the resource.
+     * @return an unmodifiable list of upvotes
+     */
+    public List<RecordSnapshot> getUpvotes() {
+        return upvotes;
+    }
+}
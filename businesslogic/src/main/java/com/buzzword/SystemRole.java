@@ -0,0 +1,64 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * The system roles a user's title can map to, from most to least privileged.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public enum SystemRole {
+    ADMIN(ConfigurationSnapshot.ADMIN_ROLE),
+    CONTRIBUTOR(ConfigurationSnapshot.CONTRIBUTOR_ROLE),
+    COMMENTER(ConfigurationSnapshot.COMMENTER_ROLE);
+
+    private static final SystemRole[] ROLES = values();
+
+    private final String name;
+
+    SystemRole(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the role's name as it appears in the role mappings.
+     * @return the role name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Finds the role with a given name.
+     * @param name the role name, such as Admin
+     * @return the role, or null if no role has that name
+     */
+    public static SystemRole fromName(String name) {
+        for (SystemRole role : ROLES) {
+            if (role.name.equals(name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
+public class AccessPolicyTest {
+
+    private static AccessPolicy policy(int id, String systemRole) {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(id);
+        when(credentials.getSystemRole()).thenReturn(systemRole);
+        return AccessPolicy.forUser(credentials);
+    }
+
+    @Test
+    void everyRoleMayViewEveryRecord() {
+        for (SystemRole role : SystemRole.values()) {
+            AccessPolicy access = policy(1, role.getName());
+            for (RecordType recordType : RecordType.values()) {
+                if (recordType == RecordType.METRICS) {
+                    continue;
+                }
+                assertTrue(access.allows(Operation.VIEW, recordType));
+                assertTrue(access.allows(Operation.VIEW, recordType, 2));
+            }
+        }
+    }
+
+    @Test
+    void onlyContributorsAndAdminsMayInsertResources() {
+        assertTrue(policy(1, "Admin").allows(Operation.INSERT, RecordType.RESOURCE));
+        assertTrue(policy(1, "Contributor").allows(Operation.INSERT, RecordType.RESOURCE));
+        assertFalse(policy(1, "Commenter").allows(Operation.INSERT, RecordType.RESOURCE));
+        assertTrue(policy(1, "Commenter").allows(Operation.INSERT, RecordType.COMMENT));
+    }
+
+    @Test
+    void contributorMayEditOnlyOwnResources() {
+        AccessPolicy access = policy(1, "Contributor");
+
+        assertTrue(access.allows(Operation.EDIT, RecordType.RESOURCE, 1));
+        assertFalse(access.allows(Operation.EDIT, RecordType.RESOURCE, 2));
+        assertTrue(access.allows(Operation.REMOVE, RecordType.RESOURCE, 1));
+        assertFalse(access.allows(Operation.REMOVE, RecordType.RESOURCE, 2));
+    }
+
+    @Test
+    void adminMayDeleteButNotEditOthersComments() {
+        AccessPolicy access = policy(1, "Admin");
+
+        assertTrue(access.allows(Operation.EDIT, RecordType.RESOURCE, 2));
+        assertTrue(access.allows(Operation.REMOVE, RecordType.COMMENT, 2));
+        assertFalse(access.allows(Operation.EDIT, RecordType.COMMENT, 2));
+        assertTrue(access.allows(Operation.REMOVE, RecordType.REVIEW_FLAG, 2));
+        assertFalse(access.allows(Operation.EDIT, RecordType.REVIEW_FLAG, 2));
+        assertFalse(access.allows(Operation.REMOVE, RecordType.UPVOTE, 2));
+        assertTrue(access.allows(Operation.REMOVE, RecordType.UPVOTE, 1));
+    }
+
+    @Test
+    void onlyAdminsMayExport() {
+        assertTrue(policy(1, "Admin").allows(Operation.EXPORT, RecordType.RESOURCE));
+        assertFalse(policy(1, "Contributor").allows(Operation.EXPORT, RecordType.RESOURCE));
+        assertFalse(policy(1, "Commenter").allows(Operation.EXPORT, RecordType.RESOURCE));
+    }
+
+    @Test
+    void onlyAdminsMayImportAndViewMetrics() {
+        assertTrue(policy(1, "Admin").allows(Operation.IMPORT, RecordType.RESOURCE));
+        assertTrue(policy(1, "Admin").allows(Operation.VIEW, RecordType.METRICS));
+        for (String role : new String[] { "Contributor", "Commenter" }) {
+            AccessPolicy access = policy(1, role);
+            assertFalse(access.allows(Operation.IMPORT, RecordType.RESOURCE));
+            assertFalse(access.allows(Operation.VIEW, RecordType.METRICS));
+        }
+    }
+
+    @Test
+    void unknownRoleHasNoPermissions() {
+        AccessPolicy access = policy(1, "Some Invalid Role");
+
+        assertNull(access.getRole());
+        assertEquals("Some Invalid Role", access.getRoleName());
+        for (Operation operation : Operation.values()) {
+            for (RecordType recordType : RecordType.values()) {
+                assertFalse(access.allows(operation, recordType));
+                assertFalse(access.allows(operation, recordType, 1));
+            }
+        }
+    }
+
+    @Test
+    void anonymousOwnsNothing() {
+        AccessPolicy access = AccessPolicy.anonymous();
+
+        assertEquals(-1, access.getUserId());
+        assertFalse(access.allows(Operation.VIEW, RecordType.RESOURCE));
+        assertFalse(access.allows(Operation.REMOVE, RecordType.UPVOTE, -1));
+    }
+
+    @Test
+    void forUserThrowsOnNullUser() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            AccessPolicy.forUser(null);
+        });
+    }
+
+    @Test
+    void forUserThrowsOnNullRole() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> {
+            policy(1, null);
+        });
+        assertEquals("User system role cannot be null.", e.getMessage());
+    }
+}
@@ -0,0 +1,161 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.buzzword.AccessPolicy.RecordType;
+
+public class PermissionOverlayTest {
+
+    private ResourceSnapshot snapshot;
+
+    private static Credentials user(int id, String systemRole) {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(id);
+        when(credentials.getSystemRole()).thenReturn(systemRole);
+        return credentials;
+    }
+
+    @BeforeEach
+    void setUpSnapshot() {
+        Resource resource = new Resource();
+        resource.setId(1);
+        resource.setCreatorId(2);
+        resource.setFirstName("Foo");
+        resource.setLastName("Bar");
+        resource.setTitle("Title");
+        resource.setDescription("Description");
+        resource.setUrl("http://example.com");
+
+        Comment comment = new Comment();
+        comment.setId(5);
+        comment.setCreatorId(3);
+        comment.setFirstName("Baz");
+        comment.setLastName("Qux");
+        comment.setContents("Comment");
+
+        Upvote upvote = new Upvote();
+        upvote.setId(9);
+        upvote.setCreatorId(3);
+        upvote.setFirstName("Baz");
+        upvote.setLastName("Qux");
+
+        snapshot = new ResourceSnapshot(resource, List.of(new RecordSnapshot(comment)), List.of(), List.of(new RecordSnapshot(upvote)));
+    }
+
+    @Test
+    void creatorMayEditOwnResource() {
+        PermissionOverlay overlay = new PermissionOverlay(user(2, "Contributor"));
+
+        assertTrue(overlay.canEdit(snapshot));
+        assertTrue(overlay.canDelete(snapshot));
+        assertFalse(overlay.canEdit(snapshot.getComments().get(0), RecordType.COMMENT));
+        assertEquals(-1, overlay.upvoteId(snapshot));
+    }
+
+    @Test
+    void adminMayDeleteButNotEditOthersComments() {
+        PermissionOverlay overlay = new PermissionOverlay(user(7, "Admin"));
+
+        assertTrue(overlay.canEdit(snapshot));
+        assertTrue(overlay.canDelete(snapshot.getComments().get(0), RecordType.COMMENT));
+        assertFalse(overlay.canEdit(snapshot.getComments().get(0), RecordType.COMMENT));
+    }
+
+    @Test
+    void checksRecordsAgainstTheirOwnType() {
+        PermissionOverlay overlay = new PermissionOverlay(user(3, "Commenter"));
+        RecordSnapshot upvote = snapshot.getUpvotes().get(0);
+
+        assertTrue(overlay.canEdit(snapshot.getComments().get(0), RecordType.COMMENT));
+        assertTrue(overlay.canEdit(snapshot.getComments().get(0), RecordType.REVIEW_FLAG));
+        assertTrue(overlay.canDelete(upvote, RecordType.UPVOTE));
+        assertFalse(overlay.canEdit(upvote, RecordType.UPVOTE));
+    }
+
+    @Test
+    void buildsResourceForUser() {
+        Resource resource = new PermissionOverlay(user(3, "Commenter")).toResource(snapshot);
+
+        assertEquals("Title", resource.getTitle());
+        assertFalse(resource.getCurrentUserCanEdit());
+        assertTrue(resource.getUpvotedByCurrentUser());
+        assertEquals(9, resource.getCurrentUserUpvoteId());
+        assertEquals(1, resource.getUpvoteCount());
+        assertEquals(1, resource.getCommentCount());
+        assertTrue(resource.getComments().get(0).getCurrentUserCanEdit());
+        assertTrue(resource.getUpvotes().get(0).getCurrentUserCanDelete());
+    }
+
+    @Test
+    void buildsSeparateResourcesFromSharedSnapshot() {
+        Resource first = new PermissionOverlay(user(3, "Commenter")).toResource(snapshot);
+        Resource second = new PermissionOverlay(user(4, "Commenter")).toResource(snapshot);
+
+        assertNotSame(first.getComments().get(0), second.getComments().get(0));
+        assertTrue(first.getComments().get(0).getCurrentUserCanEdit());
+        assertFalse(second.getComments().get(0).getCurrentUserCanEdit());
+    }
+
+    @Test
+    void appliesFlagsToResourceBuiltWithoutSnapshot() {
+        Resource resource = new Resource();
+        resource.setId(1);
+        resource.setCreatorId(2);
+        ReviewFlag reviewFlag = new ReviewFlag();
+        reviewFlag.setCreatorId(3);
+        resource.setReviewFlags(List.of(reviewFlag));
+
+        new PermissionOverlay(user(3, "Commenter")).applyTo(resource);
+
+        assertFalse(resource.getCurrentUserCanEdit());
+        assertFalse(resource.getCurrentUserCanDelete());
+        assertTrue(reviewFlag.getCurrentUserCanEdit());
+        assertTrue(reviewFlag.getCurrentUserCanDelete());
+    }
+
+    @Test
+    void snapshotListsAreUnmodifiable() {
+        assertThrows(UnsupportedOperationException.class, () -> {
+            snapshot.getComments().clear();
+        });
+    }
+
+    @Test
+    void constructorThrowsOnNullUser() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new PermissionOverlay(null);
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares writing a resource listing with Jackson's reflective serializer against the
+ * shared mapper's {@link RecordSerializer}.
+ * <p>
+ * After installing the modules with {@code mvn install -DskipTests}, run from the project
+ * root with:
+ * <pre>
+ * mvn -pl businesslogic test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.buzzword.RecordSerializationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordSerializationBenchmark {
+
+    private final ObjectMapper reflectiveMapper = new ObjectMapper();
+    private final ObjectMapper sharedMapper = ObjectMapperFactory.getObjectMapper();
+
+    private List<Resource> resources;
+
+    /**
+     * Builds a listing of 100 resources with 10 comments and 2 review flags each.
+     */
+    @Setup
+    public void buildResources() {
+        resources = new ArrayList<Resource>();
+        for (int i = 0; i < 100; i++) {
+            Resource resource = record(new Resource(), i);
+            resource.setTitle("Resource " + i);
+            resource.setDescription("A description of resource " + i);
+            resource.setUrl("https://example.com/resources/" + i);
+            List<Comment> comments = new ArrayList<Comment>();
+            for (int j = 0; j < 10; j++) {
+                Comment comment = record(new Comment(), i * 100 + j);
+                comment.setContents("Comment " + j + " on resource " + i);
+                comments.add(comment);
+            }
+            List<ReviewFlag> reviewFlags = new ArrayList<ReviewFlag>();
+            for (int j = 0; j < 2; j++) {
+                ReviewFlag reviewFlag = record(new ReviewFlag(), i * 100 + 50 + j);
+                reviewFlag.setContents("Flag " + j + " on resource " + i);
+                reviewFlags.add(reviewFlag);
+            }
+            resource.setComments(comments);
+            resource.setReviewFlags(reviewFlags);
+            resource.setCommentCount(comments.size());
+            resources.add(resource);
+        }
+    }
+
+    private static <T extends Record> T record(T record, int id) {
+        record.setId(id);
+        record.setCreatorId(id % 7);
+        record.setFirstName("Foo");
+        record.setLastName("Bar");
+        record.setCreationDate(new Date(1000L * id));
+        return record;
+    }
+
+    @Benchmark
+    public byte[] reflective() throws JsonProcessingException {
+        return reflectiveMapper.writeValueAsBytes(resources);
+    }
+
+    @Benchmark
+    public byte[] recordSerializer() throws JsonProcessingException {
+        return sharedMapper.writeValueAsBytes(resources);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecordSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
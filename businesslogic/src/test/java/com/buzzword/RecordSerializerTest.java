@@ -0,0 +1,115 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RecordSerializerTest {
+
+    ObjectMapper reflectiveMapper = new ObjectMapper();
+    ObjectMapper sharedMapper = ObjectMapperFactory.getObjectMapper();
+
+    private static <T extends Record> T record(T record, int id) {
+        record.setId(id);
+        record.setCreatorId(3);
+        record.setFirstName("Foo");
+        record.setLastName("Bar");
+        record.setCreationDate(new Date(1000));
+        record.setCurrentUserCanDelete(true);
+        return record;
+    }
+
+    private static Comment comment(int id) {
+        Comment comment = record(new Comment(), id);
+        comment.setContents("Comment " + id);
+        return comment;
+    }
+
+    private static ReviewFlag reviewFlag(int id) {
+        ReviewFlag reviewFlag = record(new ReviewFlag(), id);
+        reviewFlag.setContents("Flag " + id);
+        return reviewFlag;
+    }
+
+    private static Resource resource() {
+        Resource resource = record(new Resource(), 1);
+        resource.setTitle("Title");
+        resource.setDescription("Description");
+        resource.setUrl("http://example.com");
+        resource.setComments(new ArrayList<Comment>(List.of(comment(5), comment(6))));
+        resource.setReviewFlags(new ArrayList<ReviewFlag>(List.of(reviewFlag(7))));
+        resource.setUpvotes(new ArrayList<Upvote>(List.of(record(new Upvote(), 8))));
+        resource.setCommentCount(2);
+        resource.setUpvoteCount(1);
+        resource.setUpvotedByCurrentUser(true);
+        resource.setCurrentUserUpvoteId(8);
+        resource.setIsEdited(true);
+        return resource;
+    }
+
+    private void assertSameJson(Object value) throws JsonProcessingException {
+        assertEquals(reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(value)),
+            reflectiveMapper.readTree(sharedMapper.writeValueAsString(value)));
+    }
+
+    @Test
+    void resourceMatchesReflectiveSerialization() throws JsonProcessingException {
+        assertSameJson(resource());
+    }
+
+    @Test
+    void defaultResourceMatchesReflectiveSerialization() throws JsonProcessingException {
+        assertSameJson(new Resource());
+    }
+
+    @Test
+    void recordsMatchReflectiveSerialization() throws JsonProcessingException {
+        assertSameJson(comment(5));
+        assertSameJson(reviewFlag(7));
+        assertSameJson(record(new Upvote(), 8));
+        assertSameJson(List.of(resource(), resource()));
+    }
+
+    @Test
+    void serializerDoesNotCallGetters() throws JsonProcessingException {
+        Resource resource = spy(resource());
+
+        sharedMapper.writeValueAsString(resource);
+
+        verify(resource, never()).getTitle();
+        verify(resource, never()).getComments();
+        verify(resource, never()).getCreatorId();
+        verify(resource, never()).getCreationDate();
+    }
+}
@@ -127,6 +127,14 @@ public class ResourceTest {
         assertEquals(0, testResource.getUpvoteCount());
     }
 
+    @Test
+    public void testSetCommentCount() {
+        testResource.setCommentCount(3);
+        assertEquals(3, testResource.getCommentCount());
+
+        assertThrows(IllegalArgumentException.class, () -> testResource.setCommentCount(-1));
+    }
+
     @Test
     public void testIncrementUpvoteCount() {
         testResource.setUpvoteCount(0);
@@ -35,7 +35,7 @@ public class AuthServerConfigurationImpl implements AuthServerConfiguration {
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
-    private XssSanitizer sanitizer = new XssSanitizerImpl();
+    private static final Sanitizer sanitizer = SharedXssSanitizer.getInstance();
 
     /**
      * Constructs an AuthServerConfiguration using ConfigurationManager.
@@ -0,0 +1,55 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * The resource cache configuration information.
+ * <p>
+ * Retrieves the size and lifetime limits of the in-process resource cache from the configuration files.
+ * @author Ted Bjurlin
+ */
+public interface CacheConfiguration {
+
+    /**
+     * Getter for the maximum number of resources held in the cache.
+     * @return max cached resources
+     */
+    public abstract Integer getResourceCacheMaxSize();
+
+    /**
+     * Getter for the number of seconds a cached resource stays valid.
+     * @return cached resource time to live in seconds
+     */
+    public abstract Long getResourceCacheTtlSeconds();
+
+    /**
+     * Getter for whether writes made by other nodes invalidate the cache through MongoDB change streams.
+     * @return true if change stream invalidation is enabled
+     */
+    public abstract Boolean getResourceCacheChangeStreamEnabled();
+
+    /**
+     * Getter for the maximum number of off-heap bytes held by the rendered resource fragment store.
+     * @return max fragment store bytes
+     */
+    public abstract Long getFragmentStoreMaxBytes();
+}
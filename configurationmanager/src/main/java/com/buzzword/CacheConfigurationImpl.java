@@ -0,0 +1,188 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * Stores the resource cache configuration for the application.
+ * <p>
+ * All settings are optional. A missing setting falls back to its default, while a
+ * setting that is present but invalid is rejected.
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class CacheConfigurationImpl implements CacheConfiguration {
+
+    /** The number of resources cached when cache.resource.maxSize is not set. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** The number of seconds a resource stays cached when cache.resource.ttlSeconds is not set. */
+    public static final long DEFAULT_TTL_SECONDS = 60;
+
+    /** The off-heap bytes held by the fragment store when cache.fragment.maxBytes is not set. */
+    public static final long DEFAULT_FRAGMENT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private Integer resourceCacheMaxSize;
+    private Long resourceCacheTtlSeconds;
+    private Boolean resourceCacheChangeStreamEnabled;
+    private Long fragmentStoreMaxBytes;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs a CacheConfiguration using ConfigurationManager.
+     * <p>
+     * Constructs a cache configuration, reading configuration information from the
+     * configuration manager. 
+     * @param manager the configuration manager containing cache configuration
+     * @throws ConfigurationException if a field in the config file is invalid
+     */
+    public CacheConfigurationImpl(ConfigurationManager manager) {
+        setResourceCacheMaxSize(manager.getResourceCacheMaxSize());
+        setResourceCacheTtlSeconds(manager.getResourceCacheTtlSeconds());
+        setResourceCacheChangeStreamEnabled(manager.getResourceCacheChangeStream());
+        setFragmentStoreMaxBytes(manager.getFragmentStoreMaxBytes());
+    }
+
+    /**
+     * Sets the maximum number of cached resources. A size of zero disables the cache.
+     * @param maxSize the maximum size as a String, or null for the default
+     */
+    private void setResourceCacheMaxSize(String maxSize) {
+        if (maxSize == null) {
+            resourceCacheMaxSize = DEFAULT_MAX_SIZE;
+            return;
+        }
+        try {
+            Integer size = Integer.parseInt(maxSize.trim());
+
+            if (size < 0) {
+                logger.error("Resource cache size is less than zero.");
+                throw new ConfigurationException("Invalid resource cache size.");
+            }
+
+            resourceCacheMaxSize = size;
+        } catch (NumberFormatException e) {
+            logger.error("Resource cache size is not a number.");
+            throw new ConfigurationException("Invalid resource cache size.");
+        }
+    }
+
+    /**
+     * Sets the number of seconds a cached resource stays valid.
+     * @param ttlSeconds the time to live as a String, or null for the default
+     */
+    private void setResourceCacheTtlSeconds(String ttlSeconds) {
+        if (ttlSeconds == null) {
+            resourceCacheTtlSeconds = DEFAULT_TTL_SECONDS;
+            return;
+        }
+        try {
+            Long ttl = Long.parseLong(ttlSeconds.trim());
+
+            if (ttl < 1) {
+                logger.error("Resource cache time to live is less than one second.");
+                throw new ConfigurationException("Invalid resource cache time to live.");
+            }
+
+            resourceCacheTtlSeconds = ttl;
+        } catch (NumberFormatException e) {
+            logger.error("Resource cache time to live is not a number.");
+            throw new ConfigurationException("Invalid resource cache time to live.");
+        }
+    }
+
+    /**
+     * Sets whether change streams drive cache invalidation. Disabled unless set to true,
+     * since change streams need a replica set.
+     * @param changeStream "true" or "false", or null for the default
+     */
+    private void setResourceCacheChangeStreamEnabled(String changeStream) {
+        if (changeStream == null) {
+            resourceCacheChangeStreamEnabled = false;
+            return;
+        }
+        if (changeStream.trim().equalsIgnoreCase("true")) {
+            resourceCacheChangeStreamEnabled = true;
+        } else if (changeStream.trim().equalsIgnoreCase("false")) {
+            resourceCacheChangeStreamEnabled = false;
+        } else {
+            logger.error("Resource cache change stream setting is not true or false.");
+            throw new ConfigurationException("Invalid resource cache change stream setting.");
+        }
+    }
+
+    /**
+     * Sets the maximum off-heap bytes held by the fragment store. Zero disables the store.
+     * @param maxBytes the maximum size in bytes as a String, or null for the default
+     */
+    private void setFragmentStoreMaxBytes(String maxBytes) {
+        if (maxBytes == null) {
+            fragmentStoreMaxBytes = DEFAULT_FRAGMENT_MAX_BYTES;
+            return;
+        }
+        try {
+            Long bytes = Long.parseLong(maxBytes.trim());
+
+            if (bytes < 0) {
+                logger.error("Fragment store size is less than zero.");
+                throw new ConfigurationException("Invalid fragment store size.");
+            }
+
+            fragmentStoreMaxBytes = bytes;
+        } catch (NumberFormatException e) {
+            logger.error("Fragment store size is not a number.");
+            throw new ConfigurationException("Invalid fragment store size.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getResourceCacheMaxSize() {
+        return resourceCacheMaxSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getResourceCacheTtlSeconds() {
+        return resourceCacheTtlSeconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean getResourceCacheChangeStreamEnabled() {
+        return resourceCacheChangeStreamEnabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getFragmentStoreMaxBytes() {
+        return fragmentStoreMaxBytes;
+    }
+}
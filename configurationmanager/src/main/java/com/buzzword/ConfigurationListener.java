@@ -0,0 +1,44 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * A component that adapts to a reloaded configuration.
+ * <p>
+ * Listeners are called by the {@link ConfigurationReloader} after the new configuration has
+ * been validated and installed as the current snapshot. A listener that cannot apply the new
+ * configuration throws a ConfigurationException; the reload is then rolled back and the
+ * listeners already called are handed the previous snapshot again.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public interface ConfigurationListener {
+
+    /**
+     * Applies a reloaded configuration.
+     * @param previous the snapshot that was in use before the reload
+     * @param current the snapshot now in use
+     * @throws ConfigurationException if the new configuration cannot be applied
+     */
+    public abstract void configurationReloaded(ConfigurationSnapshot previous, ConfigurationSnapshot current);
+}
@@ -108,4 +108,112 @@ public interface ConfigurationManager {
      * @return the about page information
      */
     public abstract String getAboutPageInfo();
+
+    /**
+     * Gets the maximum number of resources held in the resource cache from the config file
+     * @return the maximum resource cache size
+     */
+    public abstract String getResourceCacheMaxSize();
+
+    /**
+     * Gets the number of seconds a cached resource stays valid from the config file
+     * @return the resource cache time to live in seconds
+     */
+    public abstract String getResourceCacheTtlSeconds();
+
+    /**
+     * Gets whether cache invalidation follows MongoDB change streams from the config file
+     * @return the resource cache change stream setting
+     */
+    public abstract String getResourceCacheChangeStream();
+
+    /**
+     * Gets the maximum off-heap bytes held by the rendered resource fragment store from the config file
+     * @return the maximum fragment store size in bytes
+     */
+    public abstract String getFragmentStoreMaxBytes();
+
+    /**
+     * Gets the port the gRPC server listens on from the config file
+     * @return the gRPC port
+     */
+    public abstract String getGrpcPort();
+
+    /**
+     * Gets the path of the gRPC server's TLS certificate chain from the config file
+     * @return the certificate chain path
+     */
+    public abstract String getGrpcCertChain();
+
+    /**
+     * Gets the path of the gRPC server's TLS private key from the config file
+     * @return the private key path
+     */
+    public abstract String getGrpcPrivateKey();
+
+    /**
+     * Gets whether the HTTPS connector offers HTTP/2 from the config file
+     * @return the HTTP/2 setting
+     */
+    public abstract String getConnectorHttp2Enabled();
+
+    /**
+     * Gets the maximum concurrent HTTP/2 streams per connection from the config file
+     * @return the maximum concurrent streams
+     */
+    public abstract String getConnectorHttp2MaxConcurrentStreams();
+
+    /**
+     * Gets the maximum number of request threads per connector from the config file
+     * @return the maximum number of threads
+     */
+    public abstract String getConnectorMaxThreads();
+
+    /**
+     * Gets the maximum number of open connections per connector from the config file
+     * @return the maximum number of connections
+     */
+    public abstract String getConnectorMaxConnections();
+
+    /**
+     * Gets the number of connections queued once the connection limit is reached from the config file
+     * @return the accept queue length
+     */
+    public abstract String getConnectorAcceptCount();
+
+    /**
+     * Gets how long an idle keep-alive connection is held open from the config file
+     * @return the keep-alive timeout in milliseconds
+     */
+    public abstract String getConnectorKeepAliveTimeout();
+
+    /**
+     * Gets the maximum number of requests served on one keep-alive connection from the config file
+     * @return the maximum keep-alive requests
+     */
+    public abstract String getConnectorMaxKeepAliveRequests();
+
+    /**
+     * Gets the number of TLS sessions cached for resumption from the config file
+     * @return the TLS session cache size
+     */
+    public abstract String getConnectorTlsSessionCacheSize();
+
+    /**
+     * Gets how long a cached TLS session may be resumed from the config file
+     * @return the TLS session timeout in seconds
+     */
+    public abstract String getConnectorTlsSessionTimeout();
+
+    /**
+     * Gets whether the HTTPS connector compresses responses from the config file
+     * @return the compression setting
+     */
+    public abstract String getConnectorCompressionEnabled();
+
+    /**
+     * Gets the smallest response body compressed by the HTTPS connector from the config file
+     * @return the compression threshold in bytes
+     */
+    public abstract String getConnectorCompressionMinSize();
 }
@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -43,7 +45,7 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
-    private static ConfigurationManagerImpl instance;
+    private static volatile ConfigurationManagerImpl instance;
 
     /**
      * Constructs a ConfigurationManager.
@@ -55,19 +57,23 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
      * @throws ConfigurationException if there is a configuration loading error
      */
     private ConfigurationManagerImpl()  {
-        String configPath = System.getenv("BRL_CONFIG");
-        if (configPath == null) {
-            configPath = "brl.properties";
-        }
+        this(getConfigPath());
+    }
+
+    /**
+     * Constructs a ConfigurationManager from the config file at the given path.
+     * @param configPath the path of the config file
+     * @throws ConfigurationException if there is a configuration loading error
+     */
+    private ConfigurationManagerImpl(Path configPath) {
         logger.info("Looking for configuration file at path " + configPath);
     
-        try {
-            InputStream stream = new FileInputStream(configPath);
+        try (InputStream stream = new FileInputStream(configPath.toFile())) {
             propertiesFile.load(stream);
         } catch (FileNotFoundException e) {
             logger.error("No configuration file found.");
             throw new ConfigurationException("No configuration file found.");
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             logger.error("Malformed configuration file.");
             throw new ConfigurationException("Malformed configuration file.");
         }
@@ -79,12 +85,66 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
      */
     public static ConfigurationManagerImpl getInstance() {
         if (instance == null) {
-            instance = new ConfigurationManagerImpl();
+            synchronized (ConfigurationManagerImpl.class) {
+                if (instance == null) {
+                    instance = new ConfigurationManagerImpl();
+                }
+            }
         }
 
         return instance;
     }
 
+    /**
+     * Reads a config file into a new ConfigurationManager without making it the
+     * singleton instance, so its contents can be validated first.
+     * @param configPath the path of the config file
+     * @return a manager holding the contents of the file
+     * @throws ConfigurationException if the file is missing or malformed
+     */
+    public static ConfigurationManagerImpl load(Path configPath) {
+        if (configPath == null) {
+            throw new IllegalArgumentException("Configuration path cannot be null.");
+        }
+        return new ConfigurationManagerImpl(configPath);
+    }
+
+    /**
+     * Replaces the singleton instance, after a reloaded config file has been validated.
+     * @param manager the new instance
+     */
+    static void setInstance(ConfigurationManagerImpl manager) {
+        if (manager == null) {
+            throw new IllegalArgumentException("ConfigurationManager cannot be null.");
+        }
+        instance = manager;
+    }
+
+    /**
+     * Replaces the singleton instance without loading one first, so tests can put back
+     * whatever was installed before they ran.
+     * @param manager the instance to install, or null to load one again on next use
+     * @return the instance that was installed, or null if none was
+     */
+    static ConfigurationManagerImpl replaceInstance(ConfigurationManagerImpl manager) {
+        ConfigurationManagerImpl previous = instance;
+        instance = manager;
+        return previous;
+    }
+
+    /**
+     * Gets the path of the application config file: the BRL_CONFIG environmental
+     * variable if it is set, otherwise brl.properties in the working directory.
+     * @return the config file path
+     */
+    public static Path getConfigPath() {
+        String configPath = System.getenv("BRL_CONFIG");
+        if (configPath == null) {
+            configPath = "brl.properties";
+        }
+        return Paths.get(configPath);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -223,8 +283,151 @@ public class ConfigurationManagerImpl implements ConfigurationManager {
             logger.error("About page information is missing from the configuration file.");
             throw new ConfigurationException("Missing about page information.");
         }
-        XssSanitizer sanitizer = new XssSanitizerImpl();
-        aboutPageInfo = sanitizer.sanitizeInput(aboutPageInfo);
+        aboutPageInfo = SharedXssSanitizer.getInstance().sanitizeInput(aboutPageInfo);
         return aboutPageInfo;
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getResourceCacheMaxSize() {
+        return propertiesFile.getProperty("cache.resource.maxSize");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getResourceCacheTtlSeconds() {
+        return propertiesFile.getProperty("cache.resource.ttlSeconds");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getResourceCacheChangeStream() {
+        return propertiesFile.getProperty("cache.resource.changeStream");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getFragmentStoreMaxBytes() {
+        return propertiesFile.getProperty("cache.fragment.maxBytes");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGrpcPort() {
+        return propertiesFile.getProperty("grpc.port");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGrpcCertChain() {
+        return propertiesFile.getProperty("grpc.tls.certChain");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGrpcPrivateKey() {
+        return propertiesFile.getProperty("grpc.tls.privateKey");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorHttp2Enabled() {
+        return propertiesFile.getProperty("connector.http2.enabled");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorHttp2MaxConcurrentStreams() {
+        return propertiesFile.getProperty("connector.http2.maxConcurrentStreams");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorMaxThreads() {
+        return propertiesFile.getProperty("connector.threads.max");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorMaxConnections() {
+        return propertiesFile.getProperty("connector.connections.max");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorAcceptCount() {
+        return propertiesFile.getProperty("connector.acceptCount");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorKeepAliveTimeout() {
+        return propertiesFile.getProperty("connector.keepAlive.timeoutMillis");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorMaxKeepAliveRequests() {
+        return propertiesFile.getProperty("connector.keepAlive.maxRequests");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorTlsSessionCacheSize() {
+        return propertiesFile.getProperty("connector.tls.sessionCacheSize");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorTlsSessionTimeout() {
+        return propertiesFile.getProperty("connector.tls.sessionTimeoutSeconds");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorCompressionEnabled() {
+        return propertiesFile.getProperty("connector.compression.enabled");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getConnectorCompressionMinSize() {
+        return propertiesFile.getProperty("connector.compression.minSize");
+    }
+}
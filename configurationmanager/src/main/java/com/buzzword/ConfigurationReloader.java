@@ -0,0 +1,283 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reloads the config file when it changes, without restarting the application.
+ * <p>
+ * A daemon thread watches the directory holding the config file. When the file is written,
+ * the reloader reads it into a new ConfigurationManager and builds a new snapshot from it,
+ * which validates every section. A file that fails validation is rejected and the current
+ * configuration stays in use. A valid file is installed as the current snapshot and
+ * configuration manager in one step, and then each listener is told about it. If a listener
+ * rejects the new configuration, the previous one is installed again and the listeners
+ * already called are handed it back.
+ * <p>
+ * Counts of reloads, rejected files and rollbacks are kept for the metrics endpoint.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ConfigurationReloader implements AutoCloseable {
+
+    /** How long to wait after a change for the rest of the write before reading the file. */
+    public static final long DEBOUNCE_MILLIS = 500;
+
+    private final Path configPath;
+    private final List<ConfigurationListener> listeners = new CopyOnWriteArrayList<ConfigurationListener>();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong rolledBack = new AtomicLong();
+    private volatile long lastReloadMillis = 0;
+    private volatile String lastError;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs a reloader for a config file. The file is not watched until
+     * {@link #start()} is called.
+     * @param configPath the path of the config file
+     * @throws IllegalArgumentException if the path is null
+     */
+    public ConfigurationReloader(Path configPath) {
+        if (configPath == null) {
+            logger.error("Attempted to create a configuration reloader with a null path.");
+            throw new IllegalArgumentException("Configuration path cannot be null.");
+        }
+        this.configPath = configPath.toAbsolutePath();
+    }
+
+    /**
+     * Adds a listener to be told about each reloaded configuration. Listeners are called in
+     * the order they were added.
+     * @param listener the listener
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public void addListener(ConfigurationListener listener) {
+        if (listener == null) {
+            logger.error("Attempted to add a null configuration listener.");
+            throw new IllegalArgumentException("Configuration listener cannot be null.");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts watching the config file.
+     * @throws ConfigurationException if the directory holding the file cannot be watched
+     */
+    public synchronized void start() {
+        if (watcher != null) {
+            return;
+        }
+        Path directory = configPath.getParent();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, ENTRY_MODIFY, ENTRY_CREATE);
+        } catch (IOException e) {
+            logger.error(String.format("Unable to watch configuration directory %s: %s", directory, e.getMessage()));
+            throw new ConfigurationException("Unable to watch the configuration file.");
+        }
+        watcher = Thread.ofPlatform().name("config-reloader").daemon().start(this::watch);
+        logger.info(String.format("Watching %s for configuration changes.", configPath));
+    }
+
+    /**
+     * Reads the config file again and, if it is valid, makes it the current configuration.
+     * @return true if the new configuration was installed, false if it was rejected or rolled back
+     */
+    public synchronized boolean reload() {
+        ConfigurationSnapshot previous = ConfigurationSnapshot.getCurrent();
+        ConfigurationManager manager;
+        ConfigurationSnapshot next;
+        try {
+            manager = ConfigurationManagerImpl.load(configPath);
+            next = new ConfigurationSnapshot(manager);
+        } catch (ConfigurationException | IllegalArgumentException e) {
+            rejected.incrementAndGet();
+            lastError = e.getMessage();
+            logger.error(String.format("Rejected configuration from %s, keeping the current configuration: %s", 
+                configPath, e.getMessage()));
+            return false;
+        }
+
+        install(next);
+        List<ConfigurationListener> notified = new ArrayList<ConfigurationListener>();
+        for (ConfigurationListener listener : listeners) {
+            // A listener that fails may have applied part of the change, so it is reverted too
+            notified.add(listener);
+            try {
+                listener.configurationReloaded(previous, next);
+            } catch (RuntimeException e) {
+                rolledBack.incrementAndGet();
+                lastError = e.getMessage();
+                logger.error(String.format("A component rejected the configuration from %s, rolling back: %s", 
+                    configPath, e.getMessage()));
+                rollBack(next, previous, notified);
+                return false;
+            }
+        }
+        reloads.incrementAndGet();
+        lastReloadMillis = System.currentTimeMillis();
+        logger.info(String.format("Reloaded configuration from %s.", configPath));
+        return true;
+    }
+
+    /**
+     * Gets the number of configurations reloaded and applied.
+     * @return the reload count
+     */
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    /**
+     * Gets the number of config files rejected because they failed validation.
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the number of reloads rolled back because a component could not apply them.
+     * @return the rollback count
+     */
+    public long getRolledBackCount() {
+        return rolledBack.get();
+    }
+
+    /**
+     * Gets the time of the last applied reload.
+     * @return the time in milliseconds since the epoch, or 0 if nothing has been reloaded
+     */
+    public long getLastReloadMillis() {
+        return lastReloadMillis;
+    }
+
+    /**
+     * Gets the reason the last rejected or rolled back reload failed.
+     * @return the error message, or null if no reload has failed
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Stops watching the config file.
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher == null) {
+            return;
+        }
+        watcher.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn(String.format("Unable to close the configuration watch service: %s", e.getMessage()));
+        }
+        watcher = null;
+        logger.info("Stopped watching for configuration changes.");
+    }
+
+    /**
+     * Waits for changes to the config file and reloads it, until the reloader is closed.
+     */
+    private void watch() {
+        Path fileName = configPath.getFileName();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW || fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    // Editors and deployment tools often write a file in several steps
+                    Thread.sleep(DEBOUNCE_MILLIS);
+                    WatchKey pending;
+                    while ((pending = watchService.poll()) != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (RuntimeException e) {
+                logger.error(String.format("Unexpected error while reloading configuration: %s", e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Reinstalls the previous configuration and hands it back to the listeners already told
+     * about the rejected one.
+     * @param rejectedSnapshot the snapshot being rolled back
+     * @param previous the snapshot to restore
+     * @param notified the listeners to revert
+     */
+    private void rollBack(ConfigurationSnapshot rejectedSnapshot, ConfigurationSnapshot previous, 
+            List<ConfigurationListener> notified) {
+        install(previous);
+        for (ConfigurationListener listener : notified) {
+            try {
+                listener.configurationReloaded(rejectedSnapshot, previous);
+            } catch (RuntimeException e) {
+                logger.error(String.format("A component failed to restore the previous configuration: %s", e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Makes a snapshot, and the configuration manager it was built from, the current ones.
+     * @param snapshot the snapshot to install
+     */
+    private void install(ConfigurationSnapshot snapshot) {
+        ConfigurationSnapshot.setCurrent(snapshot);
+        if (snapshot.getConfigurationManager() instanceof ConfigurationManagerImpl manager) {
+            ConfigurationManagerImpl.setInstance(manager);
+        }
+    }
+}
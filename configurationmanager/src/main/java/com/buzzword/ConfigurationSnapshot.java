@@ -0,0 +1,227 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, validated view of the whole application configuration.
+ * <p>
+ * A snapshot parses and validates every configuration section once, when it is built, and
+ * resolves the role mappings into a single lookup table from a user's title to their system
+ * role. The snapshot in use is held in a volatile reference, so components read it with
+ * {@link #getCurrent()} instead of building configuration objects on every request, and a
+ * newly loaded snapshot can be swapped in with {@link #setCurrent(ConfigurationSnapshot)}.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class ConfigurationSnapshot {
+
+    /** The system role of administrators. */
+    public static final String ADMIN_ROLE = "Admin";
+    /** The system role of contributors. */
+    public static final String CONTRIBUTOR_ROLE = "Contributor";
+    /** The system role of commenters. */
+    public static final String COMMENTER_ROLE = "Commenter";
+
+    private static volatile ConfigurationSnapshot current;
+
+    private final ConfigurationManager manager;
+    private final DatabaseConfiguration database;
+    private final AuthServerConfiguration authServer;
+    private final CacheConfiguration cache;
+    private final GrpcConfiguration grpc;
+    private final ConnectorConfiguration connector;
+    private final Map<String, String> systemRoles;
+
+    private static final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Builds a snapshot from the values held by a configuration manager.
+     * @param manager the configuration manager to read
+     * @throws ConfigurationException if any configuration section is invalid
+     * @throws IllegalArgumentException if the manager is null
+     */
+    public ConfigurationSnapshot(ConfigurationManager manager) {
+        if (manager == null) {
+            logger.error("Attempted to build a configuration snapshot from a null manager.");
+            throw new IllegalArgumentException("ConfigurationManager cannot be null.");
+        }
+        this.manager = manager;
+        database = new DatabaseConfigurationImpl(manager);
+        authServer = new AuthServerConfigurationImpl(manager);
+        cache = new CacheConfigurationImpl(manager);
+        grpc = new GrpcConfigurationImpl(manager);
+        connector = new ConnectorConfigurationImpl(manager);
+        systemRoles = resolveSystemRoles(manager);
+    }
+
+    /**
+     * Gets the snapshot in use, loading it from the configuration file the first time.
+     * @return the current configuration snapshot
+     * @throws ConfigurationException if the configuration file is missing or invalid
+     */
+    public static ConfigurationSnapshot getCurrent() {
+        ConfigurationSnapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (ConfigurationSnapshot.class) {
+                snapshot = current;
+                if (snapshot == null) {
+                    snapshot = new ConfigurationSnapshot(ConfigurationManagerImpl.getInstance());
+                    current = snapshot;
+                    logger.info("Loaded configuration snapshot.");
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the snapshot in use. Readers that already hold the previous snapshot keep
+     * using it until they call {@link #getCurrent()} again.
+     * @param snapshot the new snapshot
+     * @throws IllegalArgumentException if the snapshot is null
+     */
+    public static void setCurrent(ConfigurationSnapshot snapshot) {
+        if (snapshot == null) {
+            logger.error("Attempted to install a null configuration snapshot.");
+            throw new IllegalArgumentException("ConfigurationSnapshot cannot be null.");
+        }
+        current = snapshot;
+    }
+
+    /**
+     * Replaces the snapshot in use without loading one first, so tests can put back
+     * whatever was installed before they ran.
+     * @param snapshot the snapshot to install, or null to load one again on next use
+     * @return the snapshot that was installed, or null if none was
+     */
+    static ConfigurationSnapshot replaceCurrent(ConfigurationSnapshot snapshot) {
+        ConfigurationSnapshot previous = current;
+        current = snapshot;
+        return previous;
+    }
+
+    /**
+     * Gets the configuration manager the snapshot was built from, for settings that have
+     * no typed configuration section, such as the about page content.
+     * @return the configuration manager
+     */
+    public ConfigurationManager getConfigurationManager() {
+        return manager;
+    }
+
+    /**
+     * Gets the database configuration.
+     * @return the database configuration
+     */
+    public DatabaseConfiguration getDatabaseConfiguration() {
+        return database;
+    }
+
+    /**
+     * Gets the authentication server configuration.
+     * @return the authentication server configuration
+     */
+    public AuthServerConfiguration getAuthServerConfiguration() {
+        return authServer;
+    }
+
+    /**
+     * Gets the cache configuration.
+     * @return the cache configuration
+     */
+    public CacheConfiguration getCacheConfiguration() {
+        return cache;
+    }
+
+    /**
+     * Gets the gRPC server configuration.
+     * @return the gRPC server configuration
+     */
+    public GrpcConfiguration getGrpcConfiguration() {
+        return grpc;
+    }
+
+    /**
+     * Gets the embedded web server connector configuration.
+     * @return the connector configuration
+     */
+    public ConnectorConfiguration getConnectorConfiguration() {
+        return connector;
+    }
+
+    /**
+     * Gets the system role mapped to a user's title.
+     * @param title the title provided by the auth server
+     * @return Admin, Contributor or Commenter, or null if the title is not mapped
+     */
+    public String getSystemRole(String title) {
+        if (title == null) {
+            return null;
+        }
+        return systemRoles.get(title);
+    }
+
+    /**
+     * Gets the full mapping from user titles to system roles.
+     * @return an unmodifiable map of title to system role
+     */
+    public Map<String, String> getSystemRoles() {
+        return systemRoles;
+    }
+
+    /**
+     * Resolves the role mappings into one table. When a title is listed under more than one
+     * system role, the same precedence as RoleConfigurationImpl applies.
+     * @param manager the configuration manager to read
+     * @return an unmodifiable map of title to system role
+     */
+    private static Map<String, String> resolveSystemRoles(ConfigurationManager manager) {
+        Map<String, String> roles = new HashMap<String, String>();
+        putAll(roles, manager.getAdminUserRoles(), ADMIN_ROLE);
+        putAll(roles, manager.getContributorUserRoles(), CONTRIBUTOR_ROLE);
+        putAll(roles, manager.getCommenterUserRoles(), COMMENTER_ROLE);
+        if (roles.isEmpty()) {
+            logger.warn("No user roles are mapped to system roles.");
+        }
+        return Map.copyOf(roles);
+    }
+
+    /**
+     * Maps each of a list of titles to a system role.
+     * @param roles the table being built
+     * @param titles the titles, possibly null
+     * @param systemRole the system role to map them to
+     */
+    private static void putAll(Map<String, String> roles, List<String> titles, String systemRole) {
+        if (titles == null) {
+            return;
+        }
+        for (String title : titles) {
+            roles.put(title, systemRole);
+        }
+    }
+}
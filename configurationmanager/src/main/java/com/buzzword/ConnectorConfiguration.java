@@ -0,0 +1,100 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * The embedded web server connector configuration information.
+ * <p>
+ * Retrieves the HTTP/2, thread, connection, keep-alive, TLS session and compression
+ * settings of the Tomcat connectors from the configuration files.
+ * @author Ted Bjurlin
+ */
+public interface ConnectorConfiguration {
+
+    /**
+     * Getter for whether the HTTPS connector offers HTTP/2 (h2 over TLS).
+     * @return true if HTTP/2 is enabled
+     */
+    public abstract Boolean getHttp2Enabled();
+
+    /**
+     * Getter for the maximum number of concurrent HTTP/2 streams on one connection.
+     * @return maximum concurrent streams
+     */
+    public abstract Integer getHttp2MaxConcurrentStreams();
+
+    /**
+     * Getter for the maximum number of request threads per connector. Only used when
+     * requests run on a platform thread pool rather than virtual threads.
+     * @return maximum threads
+     */
+    public abstract Integer getMaxThreads();
+
+    /**
+     * Getter for the maximum number of connections each connector holds open.
+     * @return maximum connections
+     */
+    public abstract Integer getMaxConnections();
+
+    /**
+     * Getter for the number of connections queued by the operating system once the
+     * connection limit is reached.
+     * @return accept queue length
+     */
+    public abstract Integer getAcceptCount();
+
+    /**
+     * Getter for how long an idle keep-alive connection is held open.
+     * @return keep-alive timeout in milliseconds
+     */
+    public abstract Integer getKeepAliveTimeoutMillis();
+
+    /**
+     * Getter for the maximum number of requests served on one keep-alive connection.
+     * @return maximum keep-alive requests
+     */
+    public abstract Integer getMaxKeepAliveRequests();
+
+    /**
+     * Getter for the number of TLS sessions cached for resumption.
+     * @return TLS session cache size
+     */
+    public abstract Integer getTlsSessionCacheSize();
+
+    /**
+     * Getter for how long a cached TLS session may be resumed.
+     * @return TLS session timeout in seconds
+     */
+    public abstract Integer getTlsSessionTimeoutSeconds();
+
+    /**
+     * Getter for whether the HTTPS connector gzip-compresses JSON and text responses.
+     * @return true if compression is enabled
+     */
+    public abstract Boolean getCompressionEnabled();
+
+    /**
+     * Getter for the smallest response body that is compressed.
+     * @return compression threshold in bytes
+     */
+    public abstract Integer getCompressionMinSize();
+}
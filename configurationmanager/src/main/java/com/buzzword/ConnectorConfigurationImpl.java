@@ -0,0 +1,241 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * Stores the embedded web server connector configuration for the application.
+ * <p>
+ * Every field falls back to its default when missing. The defaults match Tomcat's own,
+ * except that HTTP/2 and compression are enabled.
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ConnectorConfigurationImpl implements ConnectorConfiguration {
+
+    /** The maximum concurrent HTTP/2 streams when connector.http2.maxConcurrentStreams is not set. */
+    public static final int DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+
+    /** The maximum threads per connector when connector.threads.max is not set. */
+    public static final int DEFAULT_MAX_THREADS = 200;
+
+    /** The maximum connections per connector when connector.connections.max is not set. */
+    public static final int DEFAULT_MAX_CONNECTIONS = 8192;
+
+    /** The accept queue length when connector.acceptCount is not set. */
+    public static final int DEFAULT_ACCEPT_COUNT = 100;
+
+    /** The keep-alive timeout when connector.keepAlive.timeoutMillis is not set. */
+    public static final int DEFAULT_KEEP_ALIVE_TIMEOUT_MILLIS = 20000;
+
+    /** The maximum keep-alive requests when connector.keepAlive.maxRequests is not set. */
+    public static final int DEFAULT_MAX_KEEP_ALIVE_REQUESTS = 100;
+
+    /** The TLS session cache size when connector.tls.sessionCacheSize is not set. */
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 20480;
+
+    /** The TLS session timeout when connector.tls.sessionTimeoutSeconds is not set. */
+    public static final int DEFAULT_TLS_SESSION_TIMEOUT_SECONDS = 86400;
+
+    /** The compression threshold when connector.compression.minSize is not set. */
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+
+    private Boolean http2Enabled;
+    private Integer http2MaxConcurrentStreams;
+    private Integer maxThreads;
+    private Integer maxConnections;
+    private Integer acceptCount;
+    private Integer keepAliveTimeoutMillis;
+    private Integer maxKeepAliveRequests;
+    private Integer tlsSessionCacheSize;
+    private Integer tlsSessionTimeoutSeconds;
+    private Boolean compressionEnabled;
+    private Integer compressionMinSize;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs a ConnectorConfiguration using ConfigurationManager.
+     * <p>
+     * Constructs a connector configuration, reading configuration information from the
+     * configuration manager. 
+     * @param manager the configuration manager containing connector configuration
+     * @throws ConfigurationException if a field in the config file is invalid
+     */
+    public ConnectorConfigurationImpl(ConfigurationManager manager) {
+        http2Enabled = parseEnabled(manager.getConnectorHttp2Enabled(), "HTTP/2 setting");
+        http2MaxConcurrentStreams = parsePositive(manager.getConnectorHttp2MaxConcurrentStreams(), 
+            DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS, "HTTP/2 maximum concurrent streams");
+        maxThreads = parsePositive(manager.getConnectorMaxThreads(), DEFAULT_MAX_THREADS, "maximum threads");
+        maxConnections = parsePositive(manager.getConnectorMaxConnections(), DEFAULT_MAX_CONNECTIONS, "maximum connections");
+        acceptCount = parsePositive(manager.getConnectorAcceptCount(), DEFAULT_ACCEPT_COUNT, "accept count");
+        keepAliveTimeoutMillis = parsePositive(manager.getConnectorKeepAliveTimeout(), 
+            DEFAULT_KEEP_ALIVE_TIMEOUT_MILLIS, "keep-alive timeout");
+        maxKeepAliveRequests = parsePositive(manager.getConnectorMaxKeepAliveRequests(), 
+            DEFAULT_MAX_KEEP_ALIVE_REQUESTS, "maximum keep-alive requests");
+        tlsSessionCacheSize = parsePositive(manager.getConnectorTlsSessionCacheSize(), 
+            DEFAULT_TLS_SESSION_CACHE_SIZE, "TLS session cache size");
+        tlsSessionTimeoutSeconds = parsePositive(manager.getConnectorTlsSessionTimeout(), 
+            DEFAULT_TLS_SESSION_TIMEOUT_SECONDS, "TLS session timeout");
+        compressionEnabled = parseEnabled(manager.getConnectorCompressionEnabled(), "compression setting");
+        compressionMinSize = parsePositive(manager.getConnectorCompressionMinSize(), 
+            DEFAULT_COMPRESSION_MIN_SIZE, "compression minimum size");
+
+        if (maxConnections < maxThreads) {
+            logger.error("Connector maximum connections is less than the maximum threads.");
+            throw new ConfigurationException("Invalid connector maximum connections.");
+        }
+    }
+
+    /**
+     * Parses a connector feature switch. Features are enabled unless set to false.
+     * @param enabled "true" or "false", or null for the default
+     * @param name the name of the setting, used in error messages
+     * @return the parsed setting
+     */
+    private Boolean parseEnabled(String enabled, String name) {
+        if (enabled == null) {
+            return true;
+        }
+        if (enabled.trim().equalsIgnoreCase("true")) {
+            return true;
+        } else if (enabled.trim().equalsIgnoreCase("false")) {
+            return false;
+        } else {
+            logger.error(String.format("Connector %s is not true or false.", name));
+            throw new ConfigurationException(String.format("Invalid connector %s.", name));
+        }
+    }
+
+    /**
+     * Parses a connector limit, which must be a positive whole number.
+     * @param value the limit as a String, or null for the default
+     * @param defaultValue the limit to use when the value is missing
+     * @param name the name of the limit, used in error messages
+     * @return the parsed limit
+     */
+    private Integer parsePositive(String value, int defaultValue, String name) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            Integer limit = Integer.parseInt(value.trim());
+
+            if (limit < 1) {
+                logger.error(String.format("Connector %s is less than one.", name));
+                throw new ConfigurationException(String.format("Invalid connector %s.", name));
+            }
+
+            return limit;
+        } catch (NumberFormatException e) {
+            logger.error(String.format("Connector %s is not a number.", name));
+            throw new ConfigurationException(String.format("Invalid connector %s.", name));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean getHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getAcceptCount() {
+        return acceptCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getKeepAliveTimeoutMillis() {
+        return keepAliveTimeoutMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getMaxKeepAliveRequests() {
+        return maxKeepAliveRequests;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getTlsSessionTimeoutSeconds() {
+        return tlsSessionTimeoutSeconds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean getCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getCompressionMinSize() {
+        return compressionMinSize;
+    }
+}
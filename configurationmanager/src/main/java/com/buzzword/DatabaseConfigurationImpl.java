@@ -41,7 +41,7 @@ public class DatabaseConfigurationImpl implements DatabaseConfiguration {
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
-    private XssSanitizer sanitizer = new XssSanitizerImpl();
+    private static final Sanitizer sanitizer = SharedXssSanitizer.getInstance();
 
     /**
      * Constructs a DatabaseConfiguration using ConfigurationManager.
@@ -0,0 +1,49 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * The gRPC server configuration information.
+ * <p>
+ * Retrieves the port and TLS key material of the gRPC server from the configuration files.
+ * @author Ted Bjurlin
+ */
+public interface GrpcConfiguration {
+
+    /**
+     * Getter for the port the gRPC server listens on.
+     * @return gRPC port
+     */
+    public abstract Integer getGrpcPort();
+
+    /**
+     * Getter for the path of the TLS certificate chain, in PEM format.
+     * @return certificate chain path, or null to serve plaintext
+     */
+    public abstract String getGrpcCertChain();
+
+    /**
+     * Getter for the path of the TLS private key, in PEM format.
+     * @return private key path, or null to serve plaintext
+     */
+    public abstract String getGrpcPrivateKey();
+}
@@ -0,0 +1,119 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * Stores the gRPC server configuration for the application.
+ * <p>
+ * The port falls back to its default when missing. TLS is used only when both the
+ * certificate chain and the private key are set.
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class GrpcConfigurationImpl implements GrpcConfiguration {
+
+    /** The port the gRPC server listens on when grpc.port is not set. */
+    public static final int DEFAULT_PORT = 9090;
+
+    private Integer grpcPort;
+    private String grpcCertChain;
+    private String grpcPrivateKey;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs a GrpcConfiguration using ConfigurationManager.
+     * <p>
+     * Constructs a gRPC configuration, reading configuration information from the
+     * configuration manager. 
+     * @param manager the configuration manager containing gRPC configuration
+     * @throws ConfigurationException if a field in the config file is invalid
+     */
+    public GrpcConfigurationImpl(ConfigurationManager manager) {
+        setGrpcPort(manager.getGrpcPort());
+        setGrpcTls(manager.getGrpcCertChain(), manager.getGrpcPrivateKey());
+    }
+
+    /**
+     * Sets the port the gRPC server listens on.
+     * @param port the port as a String, or null for the default
+     */
+    private void setGrpcPort(String port) {
+        if (port == null) {
+            grpcPort = DEFAULT_PORT;
+            return;
+        }
+        try {
+            Integer portNumber = Integer.parseInt(port.trim());
+
+            if (portNumber < 1 || portNumber > 65535) {
+                logger.error("gRPC port is outside the range 1-65535.");
+                throw new ConfigurationException("Invalid gRPC port.");
+            }
+
+            grpcPort = portNumber;
+        } catch (NumberFormatException e) {
+            logger.error("gRPC port is not a number.");
+            throw new ConfigurationException("Invalid gRPC port.");
+        }
+    }
+
+    /**
+     * Sets the TLS key material. Both paths must be set, or neither.
+     * @param certChain the certificate chain path, or null
+     * @param privateKey the private key path, or null
+     */
+    private void setGrpcTls(String certChain, String privateKey) {
+        boolean hasCertChain = certChain != null && !certChain.isBlank();
+        boolean hasPrivateKey = privateKey != null && !privateKey.isBlank();
+        if (hasCertChain != hasPrivateKey) {
+            logger.error("Only one of the gRPC TLS certificate chain and private key is set.");
+            throw new ConfigurationException("Invalid gRPC TLS configuration.");
+        }
+        grpcCertChain = hasCertChain ? certChain.trim() : null;
+        grpcPrivateKey = hasPrivateKey ? privateKey.trim() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer getGrpcPort() {
+        return grpcPort;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGrpcCertChain() {
+        return grpcCertChain;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getGrpcPrivateKey() {
+        return grpcPrivateKey;
+    }
+}
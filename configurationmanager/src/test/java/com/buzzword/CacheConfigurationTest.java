@@ -0,0 +1,112 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CacheConfigurationTest {
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    ConfigurationManagerImpl manager;
+
+    @BeforeEach
+    void setUpMock() {
+        when(manager.getResourceCacheMaxSize()).thenReturn("250");
+        when(manager.getResourceCacheTtlSeconds()).thenReturn("30");
+        when(manager.getResourceCacheChangeStream()).thenReturn("true");
+        when(manager.getFragmentStoreMaxBytes()).thenReturn("1048576");
+    }
+
+    @Test
+    void constructsValidCacheConfiguration() {
+        CacheConfiguration cacheConfig = new CacheConfigurationImpl(manager);
+
+        assertEquals(250, cacheConfig.getResourceCacheMaxSize(), "Incorrect cache size.");
+        assertEquals(30L, cacheConfig.getResourceCacheTtlSeconds(), "Incorrect cache time to live.");
+        assertEquals(true, cacheConfig.getResourceCacheChangeStreamEnabled(), "Incorrect change stream setting.");
+        assertEquals(1048576L, cacheConfig.getFragmentStoreMaxBytes(), "Incorrect fragment store size.");
+    }
+
+    @Test
+    void usesDefaultsWhenMissing() {
+        when(manager.getResourceCacheMaxSize()).thenReturn(null);
+        when(manager.getResourceCacheTtlSeconds()).thenReturn(null);
+        when(manager.getResourceCacheChangeStream()).thenReturn(null);
+        when(manager.getFragmentStoreMaxBytes()).thenReturn(null);
+
+        CacheConfiguration cacheConfig = new CacheConfigurationImpl(manager);
+
+        assertEquals(CacheConfigurationImpl.DEFAULT_MAX_SIZE, cacheConfig.getResourceCacheMaxSize(), "Incorrect default cache size.");
+        assertEquals(CacheConfigurationImpl.DEFAULT_TTL_SECONDS, cacheConfig.getResourceCacheTtlSeconds(), "Incorrect default time to live.");
+        assertEquals(false, cacheConfig.getResourceCacheChangeStreamEnabled(), "Incorrect default change stream setting.");
+        assertEquals(CacheConfigurationImpl.DEFAULT_FRAGMENT_MAX_BYTES, cacheConfig.getFragmentStoreMaxBytes(), "Incorrect default fragment store size.");
+    }
+
+    @Test
+    void rejectsNegativeCacheSize() {
+        when(manager.getResourceCacheMaxSize()).thenReturn("-1");
+        assertThrows(ConfigurationException.class, () -> {
+            new CacheConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsNonNumericTimeToLive() {
+        when(manager.getResourceCacheTtlSeconds()).thenReturn("forever");
+        assertThrows(ConfigurationException.class, () -> {
+            new CacheConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsZeroTimeToLive() {
+        when(manager.getResourceCacheTtlSeconds()).thenReturn("0");
+        assertThrows(ConfigurationException.class, () -> {
+            new CacheConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsInvalidChangeStreamSetting() {
+        when(manager.getResourceCacheChangeStream()).thenReturn("yes");
+        assertThrows(ConfigurationException.class, () -> {
+            new CacheConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsNegativeFragmentStoreSize() {
+        when(manager.getFragmentStoreMaxBytes()).thenReturn("-1");
+        assertThrows(ConfigurationException.class, () -> {
+            new CacheConfigurationImpl(manager);
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigurationReloaderTest {
+
+    @TempDir
+    Path directory;
+
+    Path configFile;
+
+    ConfigurationSnapshot previousSnapshot;
+
+    ConfigurationManagerImpl previousManager;
+
+    private static String config(String grpcPort, String adminTitle) {
+        return String.join("\n",
+            "database.userName = admin",
+            "database.password = password",
+            "database.host = localhost",
+            "database.port = 27017",
+            "database.name = BRL",
+            "database.pool.min = 10",
+            "authentication.url = http://localhost",
+            "authentication.port = 8080",
+            "authentication.subdomain = /auth",
+            "grpc.port = " + grpcPort,
+            "roles.admin.0 = " + adminTitle,
+            "");
+    }
+
+    @BeforeEach
+    void installInitialConfiguration() throws IOException {
+        configFile = directory.resolve("brl.properties");
+        Files.writeString(configFile, config("9090", "Manager"));
+        ConfigurationManagerImpl manager = ConfigurationManagerImpl.load(configFile);
+        previousManager = ConfigurationManagerImpl.replaceInstance(manager);
+        previousSnapshot = ConfigurationSnapshot.replaceCurrent(new ConfigurationSnapshot(manager));
+    }
+
+    @AfterEach
+    void restoreConfiguration() {
+        ConfigurationManagerImpl.replaceInstance(previousManager);
+        ConfigurationSnapshot.replaceCurrent(previousSnapshot);
+    }
+
+    @Test
+    void reloadInstallsValidConfiguration() throws IOException {
+        ConfigurationListener listener = mock(ConfigurationListener.class);
+        ConfigurationReloader reloader = new ConfigurationReloader(configFile);
+        reloader.addListener(listener);
+        ConfigurationSnapshot previous = ConfigurationSnapshot.getCurrent();
+        Files.writeString(configFile, config("9443", "Director"));
+
+        assertTrue(reloader.reload());
+
+        ConfigurationSnapshot current = ConfigurationSnapshot.getCurrent();
+        assertEquals(9443, current.getGrpcConfiguration().getGrpcPort());
+        assertEquals(ConfigurationSnapshot.ADMIN_ROLE, current.getSystemRole("Director"));
+        assertSame(current.getConfigurationManager(), ConfigurationManagerImpl.getInstance());
+        verify(listener).configurationReloaded(previous, current);
+        assertEquals(1, reloader.getReloadCount());
+        assertTrue(reloader.getLastReloadMillis() > 0);
+    }
+
+    @Test
+    void invalidFileKeepsCurrentConfiguration() throws IOException {
+        ConfigurationListener listener = mock(ConfigurationListener.class);
+        ConfigurationReloader reloader = new ConfigurationReloader(configFile);
+        reloader.addListener(listener);
+        ConfigurationSnapshot previous = ConfigurationSnapshot.getCurrent();
+        Files.writeString(configFile, config("70000", "Director"));
+
+        assertFalse(reloader.reload());
+
+        assertSame(previous, ConfigurationSnapshot.getCurrent());
+        verify(listener, never()).configurationReloaded(any(), any());
+        assertEquals(1, reloader.getRejectedCount());
+        assertEquals("Invalid gRPC port.", reloader.getLastError());
+    }
+
+    @Test
+    void rejectingListenerRollsBack() throws IOException {
+        ConfigurationListener applied = mock(ConfigurationListener.class);
+        ConfigurationListener rejecting = mock(ConfigurationListener.class);
+        doThrow(new ConfigurationException("Cannot apply.")).when(rejecting).configurationReloaded(any(), any());
+        ConfigurationReloader reloader = new ConfigurationReloader(configFile);
+        reloader.addListener(applied);
+        reloader.addListener(rejecting);
+        ConfigurationSnapshot previous = ConfigurationSnapshot.getCurrent();
+        Files.writeString(configFile, config("9443", "Director"));
+
+        assertFalse(reloader.reload());
+
+        assertSame(previous, ConfigurationSnapshot.getCurrent());
+        verify(applied).configurationReloaded(any(), eq(previous));
+        assertEquals(1, reloader.getRolledBackCount());
+        assertEquals(0, reloader.getReloadCount());
+    }
+
+    @Test
+    void reloadsWhenFileChanges() throws IOException, InterruptedException {
+        try (ConfigurationReloader reloader = new ConfigurationReloader(configFile)) {
+            reloader.start();
+            Files.writeString(configFile, config("9443", "Director"));
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (reloader.getReloadCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertTrue(reloader.getReloadCount() > 0, "The change should have been reloaded.");
+            assertNotNull(ConfigurationSnapshot.getCurrent().getSystemRole("Director"));
+        }
+    }
+
+    @Test
+    void rejectsNullArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConfigurationReloader(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConfigurationReloader(configFile).addListener(null));
+    }
+}
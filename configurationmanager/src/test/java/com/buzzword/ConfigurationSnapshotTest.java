@@ -0,0 +1,105 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConfigurationSnapshotTest {
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    ConfigurationManagerImpl manager;
+
+    @BeforeEach
+    void setUpMock() {
+        when(manager.getDatabaseName()).thenReturn("databaseName");
+        when(manager.getDatabaseUserName()).thenReturn("userName");
+        when(manager.getDatabasePassword()).thenReturn("password");
+        when(manager.getDatabaseHost()).thenReturn("hostname");
+        when(manager.getDatabasePort()).thenReturn("27017");
+        when(manager.getDatabaseMinPoolSize()).thenReturn("5");
+        when(manager.getDatabaseMaxPoolSize()).thenReturn("10");
+        when(manager.getAuthServerHost()).thenReturn("https://example.com");
+        when(manager.getAuthServerPort()).thenReturn("8080");
+        when(manager.getAuthServerSubdomain()).thenReturn("/auth");
+        when(manager.getGrpcPort()).thenReturn("9443");
+        when(manager.getAdminUserRoles()).thenReturn(List.of("Manager"));
+        when(manager.getContributorUserRoles()).thenReturn(List.of("Developer"));
+        when(manager.getCommenterUserRoles()).thenReturn(List.of("Aide", "Sales Agent"));
+    }
+
+    @Test
+    void resolvesSystemRolesOnce() {
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(manager);
+
+        assertEquals(ConfigurationSnapshot.ADMIN_ROLE, snapshot.getSystemRole("Manager"));
+        assertEquals(ConfigurationSnapshot.CONTRIBUTOR_ROLE, snapshot.getSystemRole("Developer"));
+        assertEquals(ConfigurationSnapshot.COMMENTER_ROLE, snapshot.getSystemRole("Sales Agent"));
+        assertNull(snapshot.getSystemRole("Intern"), "Unmapped titles should have no system role.");
+        assertNull(snapshot.getSystemRole(null), "A missing title should have no system role.");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getSystemRoles().put("Intern", "Admin"));
+    }
+
+    @Test
+    void holdsValidatedSections() {
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(manager);
+
+        assertEquals("databaseName", snapshot.getDatabaseConfiguration().getDatabaseName());
+        assertEquals(9443, snapshot.getGrpcConfiguration().getGrpcPort());
+        assertEquals(ConnectorConfigurationImpl.DEFAULT_MAX_THREADS, snapshot.getConnectorConfiguration().getMaxThreads());
+        assertEquals(CacheConfigurationImpl.DEFAULT_MAX_SIZE, snapshot.getCacheConfiguration().getResourceCacheMaxSize());
+    }
+
+    @Test
+    void invalidSectionRejectsSnapshot() {
+        when(manager.getGrpcPort()).thenReturn("70000");
+
+        assertThrows(ConfigurationException.class, () -> new ConfigurationSnapshot(manager));
+    }
+
+    @Test
+    void setCurrentSwapsSnapshot() {
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(manager);
+
+        ConfigurationSnapshot previous = ConfigurationSnapshot.replaceCurrent(null);
+        try {
+            ConfigurationSnapshot.setCurrent(snapshot);
+
+            assertSame(snapshot, ConfigurationSnapshot.getCurrent());
+            assertThrows(IllegalArgumentException.class, () -> ConfigurationSnapshot.setCurrent(null));
+        } finally {
+            ConfigurationSnapshot.replaceCurrent(previous);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectorConfigurationTest {
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    ConfigurationManagerImpl manager;
+
+    @BeforeEach
+    void setUpMock() {
+        when(manager.getConnectorHttp2Enabled()).thenReturn("false");
+        when(manager.getConnectorHttp2MaxConcurrentStreams()).thenReturn("50");
+        when(manager.getConnectorMaxThreads()).thenReturn("400");
+        when(manager.getConnectorMaxConnections()).thenReturn("10000");
+        when(manager.getConnectorAcceptCount()).thenReturn("200");
+        when(manager.getConnectorKeepAliveTimeout()).thenReturn(" 15000 ");
+        when(manager.getConnectorMaxKeepAliveRequests()).thenReturn("500");
+        when(manager.getConnectorTlsSessionCacheSize()).thenReturn("4096");
+        when(manager.getConnectorTlsSessionTimeout()).thenReturn("3600");
+        when(manager.getConnectorCompressionEnabled()).thenReturn("true");
+        when(manager.getConnectorCompressionMinSize()).thenReturn("2048");
+    }
+
+    @Test
+    void constructsValidConnectorConfiguration() {
+        ConnectorConfiguration connectorConfig = new ConnectorConfigurationImpl(manager);
+
+        assertFalse(connectorConfig.getHttp2Enabled(), "HTTP/2 should be disabled.");
+        assertEquals(50, connectorConfig.getHttp2MaxConcurrentStreams(), "Incorrect maximum concurrent streams.");
+        assertEquals(400, connectorConfig.getMaxThreads(), "Incorrect maximum threads.");
+        assertEquals(10000, connectorConfig.getMaxConnections(), "Incorrect maximum connections.");
+        assertEquals(200, connectorConfig.getAcceptCount(), "Incorrect accept count.");
+        assertEquals(15000, connectorConfig.getKeepAliveTimeoutMillis(), "Incorrect keep-alive timeout.");
+        assertEquals(500, connectorConfig.getMaxKeepAliveRequests(), "Incorrect maximum keep-alive requests.");
+        assertEquals(4096, connectorConfig.getTlsSessionCacheSize(), "Incorrect TLS session cache size.");
+        assertEquals(3600, connectorConfig.getTlsSessionTimeoutSeconds(), "Incorrect TLS session timeout.");
+        assertTrue(connectorConfig.getCompressionEnabled(), "Compression should be enabled.");
+        assertEquals(2048, connectorConfig.getCompressionMinSize(), "Incorrect compression minimum size.");
+    }
+
+    @Test
+    void usesDefaultsWhenMissing() {
+        when(manager.getConnectorHttp2Enabled()).thenReturn(null);
+        when(manager.getConnectorHttp2MaxConcurrentStreams()).thenReturn(null);
+        when(manager.getConnectorMaxThreads()).thenReturn(null);
+        when(manager.getConnectorMaxConnections()).thenReturn(null);
+        when(manager.getConnectorAcceptCount()).thenReturn(null);
+        when(manager.getConnectorKeepAliveTimeout()).thenReturn(null);
+        when(manager.getConnectorMaxKeepAliveRequests()).thenReturn(null);
+        when(manager.getConnectorTlsSessionCacheSize()).thenReturn(null);
+        when(manager.getConnectorTlsSessionTimeout()).thenReturn(null);
+        when(manager.getConnectorCompressionEnabled()).thenReturn(null);
+        when(manager.getConnectorCompressionMinSize()).thenReturn(null);
+
+        ConnectorConfiguration connectorConfig = new ConnectorConfigurationImpl(manager);
+
+        assertTrue(connectorConfig.getHttp2Enabled(), "HTTP/2 should be enabled by default.");
+        assertEquals(ConnectorConfigurationImpl.DEFAULT_MAX_THREADS, connectorConfig.getMaxThreads(), "Incorrect default maximum threads.");
+        assertEquals(ConnectorConfigurationImpl.DEFAULT_MAX_CONNECTIONS, connectorConfig.getMaxConnections(), "Incorrect default maximum connections.");
+        assertEquals(ConnectorConfigurationImpl.DEFAULT_KEEP_ALIVE_TIMEOUT_MILLIS, connectorConfig.getKeepAliveTimeoutMillis(), "Incorrect default keep-alive timeout.");
+        assertTrue(connectorConfig.getCompressionEnabled(), "Compression should be enabled by default.");
+        assertEquals(ConnectorConfigurationImpl.DEFAULT_COMPRESSION_MIN_SIZE, connectorConfig.getCompressionMinSize(), "Incorrect default compression minimum size.");
+    }
+
+    @Test
+    void rejectsNonBooleanHttp2Setting() {
+        when(manager.getConnectorHttp2Enabled()).thenReturn("yes");
+        assertThrows(ConfigurationException.class, () -> {
+            new ConnectorConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsZeroLimit() {
+        when(manager.getConnectorAcceptCount()).thenReturn("0");
+        assertThrows(ConfigurationException.class, () -> {
+            new ConnectorConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsNonNumericLimit() {
+        when(manager.getConnectorMaxKeepAliveRequests()).thenReturn("many");
+        assertThrows(ConfigurationException.class, () -> {
+            new ConnectorConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsFewerConnectionsThanThreads() {
+        when(manager.getConnectorMaxConnections()).thenReturn("100");
+        assertThrows(ConfigurationException.class, () -> {
+            new ConnectorConfigurationImpl(manager);
+        });
+    }
+}
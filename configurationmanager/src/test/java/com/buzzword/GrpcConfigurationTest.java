@@ -0,0 +1,93 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcConfigurationTest {
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    ConfigurationManagerImpl manager;
+
+    @BeforeEach
+    void setUpMock() {
+        when(manager.getGrpcPort()).thenReturn("9443");
+        when(manager.getGrpcCertChain()).thenReturn("/etc/brl/grpc.crt");
+        when(manager.getGrpcPrivateKey()).thenReturn("/etc/brl/grpc.key");
+    }
+
+    @Test
+    void constructsValidGrpcConfiguration() {
+        GrpcConfiguration grpcConfig = new GrpcConfigurationImpl(manager);
+
+        assertEquals(9443, grpcConfig.getGrpcPort(), "Incorrect gRPC port.");
+        assertEquals("/etc/brl/grpc.crt", grpcConfig.getGrpcCertChain(), "Incorrect certificate chain.");
+        assertEquals("/etc/brl/grpc.key", grpcConfig.getGrpcPrivateKey(), "Incorrect private key.");
+    }
+
+    @Test
+    void usesDefaultsWhenMissing() {
+        when(manager.getGrpcPort()).thenReturn(null);
+        when(manager.getGrpcCertChain()).thenReturn(null);
+        when(manager.getGrpcPrivateKey()).thenReturn(null);
+
+        GrpcConfiguration grpcConfig = new GrpcConfigurationImpl(manager);
+
+        assertEquals(GrpcConfigurationImpl.DEFAULT_PORT, grpcConfig.getGrpcPort(), "Incorrect default gRPC port.");
+        assertNull(grpcConfig.getGrpcCertChain(), "Certificate chain should not be set.");
+        assertNull(grpcConfig.getGrpcPrivateKey(), "Private key should not be set.");
+    }
+
+    @Test
+    void rejectsPortOutOfRange() {
+        when(manager.getGrpcPort()).thenReturn("70000");
+        assertThrows(ConfigurationException.class, () -> {
+            new GrpcConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsNonNumericPort() {
+        when(manager.getGrpcPort()).thenReturn("grpc");
+        assertThrows(ConfigurationException.class, () -> {
+            new GrpcConfigurationImpl(manager);
+        });
+    }
+
+    @Test
+    void rejectsCertChainWithoutPrivateKey() {
+        when(manager.getGrpcPrivateKey()).thenReturn(null);
+        assertThrows(ConfigurationException.class, () -> {
+            new GrpcConfigurationImpl(manager);
+        });
+    }
+}
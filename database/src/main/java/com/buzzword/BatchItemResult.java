@@ -0,0 +1,105 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * The outcome of a single item within a batch write.
+ * <p>
+ * Batch operations report one result per submitted item, in submission order, so callers
+ * can tell exactly which records were written and which were rejected.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class BatchItemResult {
+
+    private final int index;
+    private final int recordId;
+    private final boolean success;
+    private final String errorMsg;
+
+    /**
+     * Constructs a batch item result.
+     * @param index the position of the item in the submitted batch
+     * @param recordId the ID assigned to the written record, or -1 if the item failed
+     * @param success whether the item was written
+     * @param errorMsg the reason the item failed, or null if it succeeded
+     */
+    private BatchItemResult(int index, int recordId, boolean success, String errorMsg) {
+        this.index = index;
+        this.recordId = recordId;
+        this.success = success;
+        this.errorMsg = errorMsg;
+    }
+
+    /**
+     * Creates a result for an item that was written successfully.
+     * @param index the position of the item in the submitted batch
+     * @param recordId the ID assigned to the written record
+     * @return a successful batch item result
+     */
+    public static BatchItemResult success(int index, int recordId) {
+        return new BatchItemResult(index, recordId, true, null);
+    }
+
+    /**
+     * Creates a result for an item that could not be written.
+     * @param index the position of the item in the submitted batch
+     * @param errorMsg the reason the item failed
+     * @return a failed batch item result
+     */
+    public static BatchItemResult failure(int index, String errorMsg) {
+        return new BatchItemResult(index, -1, false, errorMsg);
+    }
+
+    /**
+     * Gets the position of the item in the submitted batch.
+     * @return the item index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the ID assigned to the written record.
+     * @return the record ID, or -1 if the item failed
+     */
+    public int getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * Gets whether the item was written.
+     * @return true if the item was written, false otherwise
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Gets the reason the item failed.
+     * @return the error message, or null if the item succeeded
+     */
+    public String getErrorMsg() {
+        return errorMsg;
+    }
+}
@@ -0,0 +1,91 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Shared helper for the batch insert paths of the data access objects.
+ * <p>
+ * Writes a prepared set of documents with a single unordered insertMany and records a
+ * result for every document, so one rejected document does not abort the rest of the batch.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+final class BatchWriter {
+
+    private static final Logger logger = LoggerFactory.getEventLogger();
+
+    private BatchWriter() {}
+
+    /**
+     * Inserts documents with an unordered insertMany and fills in their batch results.
+     * 
+     * @param collection the collection to insert into
+     * @param documents the documents to insert
+     * @param itemIndexes the batch index of each document, parallel to documents
+     * @param idField the name of the document field holding the record ID
+     * @param results the batch results to fill in, indexed by batch index
+     * @return the positions within documents of the documents that were not written
+     */
+    static List<Integer> insertUnordered(
+        MongoCollection<Document> collection,
+        List<Document> documents,
+        List<Integer> itemIndexes,
+        String idField,
+        BatchItemResult[] results) {
+
+        List<Integer> failedPositions = new ArrayList<Integer>();
+        if (documents.isEmpty()) {
+            return failedPositions;
+        }
+
+        try {
+            collection.insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Unordered inserts keep going past errors; only the reported documents are missing
+            for (BulkWriteError error : e.getWriteErrors()) {
+                int itemIndex = itemIndexes.get(error.getIndex());
+                logger.warn(String.format("Batch item %d was rejected by the database with code %d.", itemIndex, error.getCode()));
+                results[itemIndex] = BatchItemResult.failure(itemIndex, "Failed to write record.");
+                failedPositions.add(error.getIndex());
+            }
+        }
+
+        for (int position = 0; position < documents.size(); position++) {
+            int itemIndex = itemIndexes.get(position);
+            if (results[itemIndex] == null) {
+                results[itemIndex] = BatchItemResult.success(itemIndex, documents.get(position).getInteger(idField));
+            }
+        }
+        return failedPositions;
+    }
+}
@@ -0,0 +1,68 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Date;
+
+import org.bson.Document;
+
+/**
+ * The fields and tombstones the DAOs maintain so that clients can sync only what changed.
+ * <p>
+ * Every write stamps the written document with lastModified, the server time in
+ * milliseconds. A delete removes the document, so a tombstone naming the deleted record is
+ * written to the tombstones collection with the same stamp. Removing a resource writes a
+ * single tombstone for the resource; its child records are implied.
+ * <p>
+ * Tombstones expire after {@link #TOMBSTONE_RETENTION_DAYS}, so a client that has not
+ * synced for longer must reload everything.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+final class ChangeTracking {
+
+    /** The name of the collection deletes are recorded in. */
+    static final String TOMBSTONES = "tombstones";
+
+    /** How long tombstones are kept before MongoDB expires them. */
+    static final long TOMBSTONE_RETENTION_DAYS = 30;
+
+    private ChangeTracking() {}
+
+    /**
+     * Creates the tombstone for a deleted record.
+     * @param recordType the type of the deleted record: resource, comment, reviewFlag or upvote
+     * @param resourceId the ID of the resource the record belonged to
+     * @param recordId the ID of the deleted record
+     * @param lastModified the time of the delete in milliseconds
+     * @return the tombstone document
+     */
+    static Document tombstone(String recordType, int resourceId, int recordId, long lastModified) {
+        return new Document()
+            .append("recordType", recordType)
+            .append("resourceId", resourceId)
+            .append("recordId", recordId)
+            .append("lastModified", lastModified)
+            .append("dateDeleted", new Date(lastModified));
+    }
+}
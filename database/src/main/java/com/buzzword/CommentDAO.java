@@ -21,6 +21,8 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.List;
+
 public interface CommentDAO {
 
     /**
@@ -29,6 +31,18 @@ public interface CommentDAO {
      */
     public void setCounterDAO(CounterDAO counterDAO);
 
+    /**
+     * Set the resource cache to invalidate when a resource's child records change.
+     * @param resourceCache the shared resource cache
+     */
+    public void setResourceCache(ResourceCache resourceCache);
+
+    /**
+     * Set the publisher told about added comments after they are written.
+     * @param eventPublisher the change event publisher
+     */
+    public void setEventPublisher(ResourceEventPublisher eventPublisher);
+
     /**
      * Allows a user to add a comment to a specific resource.
      * 
@@ -38,6 +52,19 @@ public interface CommentDAO {
      */
     int addComment(Credentials user, Comment comment, int resourceId);
 
+    /**
+     * Allows a user to add many comments to a specific resource at once.
+     * <p>
+     * IDs for the whole batch are reserved with a single counter update and the comments are
+     * written with one unordered insert, so a rejected comment does not stop the others.
+     * 
+     * @param user the credentials of the user adding the comments
+     * @param comments the comments to be added
+     * @param resourceId the ID of the resource to add the comments to
+     * @return one result per submitted comment, in submission order
+     */
+    List<BatchItemResult> addComments(Credentials user, List<Comment> comments, int resourceId);
+
     /**
      * Allows a user to edit a comment on a specific resource.
      * 
@@ -56,4 +83,34 @@ public interface CommentDAO {
      * @param resourceId the ID of the resource containing the comment
      */
     void removeComment(Credentials user, int commentId, int resourceId);
+
+    /**
+     * Removes many comments at once, possibly across several resources.
+     * <p>
+     * Every targeted comment is read with a single query and the permitted ones are deleted
+     * with a single write. The same ownership rules as single removal apply to each comment, so
+     * a comment the user may not remove fails on its own without stopping the others.
+     * A key that repeats an earlier key in the batch fails rather than being reported as
+     * removed twice.
+     * 
+     * @param user the credentials of the user removing the comments
+     * @param keys the resource and comment ID of each comment to be removed
+     * @return one result per submitted key, in submission order
+     */
+    List<BatchItemResult> removeComments(Credentials user, List<RecordKey> keys);
+
+    /**
+     * Lists one page of the comments on a resource, in ascending ID order.
+     * <p>
+     * Each comment carries the current user's edit and delete flags. Pass the returned
+     * next cursor as {@code after} to fetch the following page.
+     * 
+     * @param user the credentials of the user requesting the comments
+     * @param resourceId the ID of the resource containing the comments
+     * @param after the ID to continue after, or null to start from the first comment
+     * @param limit the maximum number of comments to return, from 1 to {@link RecordPage#MAX_LIMIT}
+     * @return the page of comments
+     * @throws InvalidRequestException if the limit is out of range
+     */
+    RecordPage<Comment> listComments(Credentials user, int resourceId, Integer after, int limit);
 }
\ No newline at end of file
@@ -21,20 +21,37 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
 public class CommentDAOImpl implements CommentDAO {
     private final MongoCollection<Document> comments;
+    private final MongoCollection<Document> tombstones;
     private final Logger logger = LoggerFactory.getEventLogger();
+    private static volatile boolean paginationIndexCreated = false;
     private CounterDAO counterDAO;
+    private ResourceCache resourceCache;
+    private ResourceEventPublisher eventPublisher;
 
     /**
      * Constructs a CommentDAOImpl with the specified MongoDB database.
@@ -51,6 +68,7 @@ public class CommentDAOImpl implements CommentDAO {
             throw new IllegalArgumentException("Database cannot be null.");
         }
         this.comments = db.getCollection("comments");
+        this.tombstones = db.getCollection(ChangeTracking.TOMBSTONES);
         counterDAO = new CounterDAOImpl(db);
     }
 
@@ -67,19 +85,69 @@ public class CommentDAOImpl implements CommentDAO {
         this.counterDAO = counterDAO;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResourceCache(ResourceCache resourceCache) {
+        // Check for null ResourceCache
+        if (resourceCache == null) {
+            logger.error("Attempted to set null ResourceCache.");
+            throw new IllegalArgumentException("ResourceCache cannot be null.");
+        }
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEventPublisher(ResourceEventPublisher eventPublisher) {
+        // Check for null ResourceEventPublisher
+        if (eventPublisher == null) {
+            logger.error("Attempted to set null ResourceEventPublisher.");
+            throw new IllegalArgumentException("ResourceEventPublisher cannot be null.");
+        }
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Removes a resource from the resource cache, if one is configured.
+     * @param resourceId the ID of the resource whose child records changed
+     */
+    private void invalidateCachedResource(int resourceId) {
+        if (resourceCache != null) {
+            resourceCache.invalidate(resourceId);
+        }
+    }
+
+    /**
+     * Publishes a change event, if a publisher is configured. A failing publisher does
+     * not fail the write that has already been made.
+     * @param event the change event
+     */
+    private void publishEvent(ResourceEvent event) {
+        if (eventPublisher == null) {
+            return;
+        }
+        try {
+            eventPublisher.publish(event);
+        } catch (RuntimeException e) {
+            logger.error(String.format("Failed to publish %s event for resource %d: %s", 
+                event.getType(), event.getResourceId(), e.getMessage()));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int addComment(Credentials user, Comment comment, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to add comment with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.COMMENT)) {
             logger.error(String.format("User %d with role %s denied permission to add comments.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to add comments.");
         }
         // Check for null comment
@@ -97,12 +165,15 @@ public class CommentDAOImpl implements CommentDAO {
             .append("lastName", user.getLastName())
             .append("contents", comment.getContents())
             .append("dateCreated", comment.getCreationDate())
-            .append("isEdited", comment.getIsEdited());
+            .append("isEdited", comment.getIsEdited())
+            .append("lastModified", System.currentTimeMillis());
 
         // Push the comment into the resource's comments array
         comments.insertOne(commentDoc);
 
+        invalidateCachedResource(resourceId);
         logger.info(String.format("User %d added comment %d to resource %d.", user.getId(), comment.getId(), resourceId));
+        publishEvent(ResourceEvent.commentAdded(resourceId, commentDoc.getInteger("commentId")));
     
         return commentDoc.getInteger("commentId");
     }
@@ -111,15 +182,75 @@ public class CommentDAOImpl implements CommentDAO {
      * {@inheritDoc}
      */
     @Override
-    public void editComment(Credentials user, int commentId, Comment comment, int resourceId) {
+    public List<BatchItemResult> addComments(Credentials user, List<Comment> comments, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to edit comment with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.COMMENT)) {
+            logger.error(String.format("User %d with role %s denied permission to add comments.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to add comments.");
+        }
+        // Check for null batch
+        if (comments == null) {
+            logger.error("Attempted to add null list of comments.");
+            throw new IllegalArgumentException("Comments cannot be null.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[comments.size()];
+        List<Integer> itemIndexes = new ArrayList<Integer>();
+        for (int i = 0; i < comments.size(); i++) {
+            if (comments.get(i) == null) {
+                results[i] = BatchItemResult.failure(i, "Comment cannot be null.");
+            } else {
+                itemIndexes.add(i);
+            }
+        }
+        if (itemIndexes.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Reserve IDs for every valid comment in one counter update
+        int nextId = counterDAO.reserveCommentIds(resourceId, itemIndexes.size());
+
+        long lastModified = System.currentTimeMillis();
+        List<Document> commentDocs = new ArrayList<Document>(itemIndexes.size());
+        for (int itemIndex : itemIndexes) {
+            Comment comment = comments.get(itemIndex);
+            commentDocs.add(new Document()
+                .append("commentId", nextId++)
+                .append("resourceId", resourceId)
+                .append("creatorId", user.getId())
+                .append("firstName", user.getFirstName())
+                .append("lastName", user.getLastName())
+                .append("contents", comment.getContents())
+                .append("dateCreated", comment.getCreationDate())
+                .append("isEdited", comment.getIsEdited())
+                .append("lastModified", lastModified));
+        }
+
+        List<Integer> failedPositions = BatchWriter.insertUnordered(this.comments, commentDocs, itemIndexes, "commentId", results);
+
+        invalidateCachedResource(resourceId);
+        logger.info(String.format("User %d added %d of %d comments to resource %d in a batch.", 
+            user.getId(), commentDocs.size() - failedPositions.size(), comments.size(), resourceId));
+        for (BatchItemResult result : results) {
+            if (result.isSuccess()) {
+                publishEvent(ResourceEvent.commentAdded(resourceId, result.getRecordId()));
+            }
         }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editComment(Credentials user, int commentId, Comment comment, int resourceId) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.EDIT, RecordType.COMMENT)) {
             logger.error(String.format("User %d with role %s denied permission to edit comments.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to edit comments.");
         }
         // Check for null comment
@@ -136,11 +267,8 @@ public class CommentDAOImpl implements CommentDAO {
             throw new RecordDoesNotExistException("Failed to find comment to update.");
         }
 
-        // Check if user has permission to edit this comment
-        // Allow editing only if the user is the original creator of the comment
-        int commentCreatorId = doc.getInteger("creatorId");
-
-        if (commentCreatorId != user.getId()) {
+        // Only the creator of a comment may edit it
+        if (!access.allows(Operation.EDIT, RecordType.COMMENT, doc.getInteger("creatorId"))) {
             logger.error(String.format("User %d denied permission to edit comment %d because they are not the creator.", user.getId(), commentId));
             throw new AuthorizationException("User does not have permission to edit this comment because they are not the creator.");
         }
@@ -150,13 +278,15 @@ public class CommentDAOImpl implements CommentDAO {
                         Filters.eq("resourceId", resourceId));
         Bson updateComment = Updates.combine(
                                 Updates.set("contents", comment.getContents()),
-                                Updates.set("isEdited", true));
+                                Updates.set("isEdited", true),
+                                Updates.set("lastModified", System.currentTimeMillis()));
 
         UpdateResult result = comments.updateOne(filter, updateComment);
         if(result.getMatchedCount() == 0) {
             logger.error(String.format("Comment %d not found for editing by user %d.", commentId, user.getId()));
             throw new RecordDoesNotExistException("Comment not found for editing.");
         } else {
+            invalidateCachedResource(resourceId);
             logger.info(String.format("User %d edited comment %d on resource %d.", user.getId(), commentId, resourceId));
         }
     }
@@ -167,13 +297,10 @@ public class CommentDAOImpl implements CommentDAO {
     @Override
     public void removeComment(Credentials user, int commentId, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to delete comment with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.REMOVE, RecordType.COMMENT)) {
             logger.error(String.format("User %d with role %s denied permission to delete comments.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to delete comments.");
         }
 
@@ -186,18 +313,10 @@ public class CommentDAOImpl implements CommentDAO {
             throw new RecordDoesNotExistException("Failed to find comment for removal.");
         }
 
-        // An admin may remove any comment; only do ownership check if they're a commenter or contributor
-        if (!user.getSystemRole().equals("Admin")) {
-            
-
-            // Check if user has permission to delete this comment
-            // Allow deletion only if the user is the original creator of the comment
-            int commentCreatorId = doc.getInteger("creatorId");
-
-            if (commentCreatorId != user.getId()) {
-                logger.error(String.format("User %d denied permission to delete comment %d because they are not the creator.", user.getId(), commentId));
-                throw new AuthorizationException("User does not have permission to delete this comment because they are not the creator.");
-            }
+        // An admin may remove any comment; anyone else only their own
+        if (!access.allows(Operation.REMOVE, RecordType.COMMENT, doc.getInteger("creatorId"))) {
+            logger.error(String.format("User %d denied permission to delete comment %d because they are not the creator.", user.getId(), commentId));
+            throw new AuthorizationException("User does not have permission to delete this comment because they are not the creator.");
         }
 
         // Delete the comment document
@@ -207,10 +326,183 @@ public class CommentDAOImpl implements CommentDAO {
 
         // Check if deletion was successful
         if (result.getDeletedCount() > 0) {
+            tombstones.insertOne(ChangeTracking.tombstone("comment", resourceId, commentId, System.currentTimeMillis()));
+            invalidateCachedResource(resourceId);
             logger.info(String.format("User %d removed comment %d from resource %d.", user.getId(), commentId, resourceId));
         } else {
             logger.error(String.format("User %d failed to remove comment %d from resource %d.", user.getId(), commentId, resourceId));
             throw new RecordDoesNotExistException("Failed to remove comment.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BatchItemResult> removeComments(Credentials user, List<RecordKey> keys) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.REMOVE, RecordType.COMMENT)) {
+            logger.error(String.format("User %d with role %s denied permission to delete comments.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to delete comments.");
+        }
+        // Check for null batch
+        if (keys == null) {
+            logger.error("Attempted to delete null list of comments.");
+            throw new IllegalArgumentException("Comment keys cannot be null.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[keys.size()];
+        Set<RecordKey> distinctKeys = new LinkedHashSet<RecordKey>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i) == null) {
+                results[i] = BatchItemResult.failure(i, "Comment key cannot be null.");
+            } else if (!distinctKeys.add(keys.get(i))) {
+                // Only the first occurrence is removed, so a repeat cannot be reported as removed too
+                results[i] = BatchItemResult.failure(i, "Comment key is repeated in the batch.");
+            }
+        }
+        if (distinctKeys.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Read every targeted comment with one query
+        Map<RecordKey, Document> found = new HashMap<RecordKey, Document>();
+        for (Document doc : comments.find(keyFilter(distinctKeys)).into(new ArrayList<Document>())) {
+            found.put(new RecordKey(doc.getInteger("resourceId"), doc.getInteger("commentId")), doc);
+        }
+
+        // Apply the ownership check from single removal to each comment; an admin may remove any comment
+        Set<RecordKey> permitted = new LinkedHashSet<RecordKey>();
+        for (int i = 0; i < keys.size(); i++) {
+            RecordKey key = keys.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            Document doc = found.get(key);
+            if (doc == null) {
+                results[i] = BatchItemResult.failure(i, "Failed to find comment for removal.");
+            } else if (!access.allows(Operation.REMOVE, RecordType.COMMENT, doc.getInteger("creatorId"))) {
+                logger.error(String.format("User %d denied permission to delete comment %d because they are not the creator.", user.getId(), key.getRecordId()));
+                results[i] = BatchItemResult.failure(i, "User does not have permission to delete this comment because they are not the creator.");
+            } else {
+                permitted.add(key);
+                results[i] = BatchItemResult.success(i, key.getRecordId());
+            }
+        }
+        if (permitted.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Delete every permitted comment with one write
+        DeleteResult result = comments.deleteMany(keyFilter(permitted));
+
+        long lastModified = System.currentTimeMillis();
+        List<Document> tombstoneDocs = new ArrayList<Document>(permitted.size());
+        Set<Integer> resourceIds = new LinkedHashSet<Integer>();
+        for (RecordKey key : permitted) {
+            tombstoneDocs.add(ChangeTracking.tombstone("comment", key.getResourceId(), key.getRecordId(), lastModified));
+            resourceIds.add(key.getResourceId());
+        }
+        tombstones.insertMany(tombstoneDocs);
+        for (int resourceId : resourceIds) {
+            invalidateCachedResource(resourceId);
+        }
+        logger.info(String.format("User %d removed %d of %d comments across %d resources in a batch.", 
+            user.getId(), result.getDeletedCount(), keys.size(), resourceIds.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordPage<Comment> listComments(Credentials user, int resourceId, Integer after, int limit) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.VIEW, RecordType.COMMENT)) {
+            logger.error(String.format("User %d with role %s denied permission to retrieve comments.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User does not have a valid system role.");
+        }
+        // Check for a valid page size
+        if (limit < 1 || limit > RecordPage.MAX_LIMIT) {
+            logger.error(String.format("Attempted to list comments with invalid page size %d.", limit));
+            throw new InvalidRequestException(String.format("Page size must be between 1 and %d.", RecordPage.MAX_LIMIT));
+        }
+
+        createPaginationIndex();
+
+        // Read one record past the page to learn whether another page follows
+        Bson filter = after == null
+            ? Filters.eq("resourceId", resourceId)
+            : Filters.and(Filters.eq("resourceId", resourceId), Filters.gt("commentId", after));
+        List<Document> docs = comments.find(filter)
+            .sort(Sorts.ascending("commentId"))
+            .limit(limit + 1)
+            .into(new ArrayList<Document>());
+        boolean hasMore = docs.size() > limit;
+
+        List<Comment> page = new ArrayList<Comment>(limit);
+        for (Document doc : hasMore ? docs.subList(0, limit) : docs) {
+            page.add(convertDocumentToComment(access, doc));
+        }
+
+        Integer nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new RecordPage<Comment>(page, nextCursor);
+    }
+
+    /**
+     * Converts a MongoDB Document to a Comment object with the current user's flags set.
+     * 
+     * @param access the permissions of the user requesting the comment
+     * @param doc the MongoDB document to convert
+     * @return a Comment object populated with data from the document
+     */
+    private Comment convertDocumentToComment(AccessPolicy access, Document doc) {
+        Comment record = new Comment();
+        record.setId(doc.getInteger("commentId"));
+        record.setCreatorId(doc.getInteger("creatorId"));
+        record.setFirstName(doc.getString("firstName"));
+        record.setLastName(doc.getString("lastName"));
+        record.setIsEdited(doc.getBoolean("isEdited", false));
+        record.setCreationDate(doc.getDate("dateCreated"));
+        record.setContents(doc.getString("contents"));
+
+        // Set front end flags for current user
+        int creatorId = doc.getInteger("creatorId");
+        record.setCurrentUserCanDelete(access.allows(Operation.REMOVE, RecordType.COMMENT, creatorId));
+        record.setCurrentUserCanEdit(access.allows(Operation.EDIT, RecordType.COMMENT, creatorId));
+        return record;
+    }
+
+    /**
+     * Creates the (resourceId, commentId) index that backs paginated listings.
+     * <p>
+     * Index creation is idempotent in MongoDB, so this only guards against repeating the
+     * request on every listing.
+     */
+    private void createPaginationIndex() {
+        if (!paginationIndexCreated) {
+            comments.createIndex(Indexes.ascending("resourceId", "commentId"));
+            paginationIndexCreated = true;
+            logger.info("Ensured pagination index on comments collection.");
+        }
+    }
+
+    /**
+     * Builds a filter matching every comment identified by the given keys.
+     * @param keys the resource and comment ID of each comment to match
+     * @return the filter
+     */
+    private Bson keyFilter(Set<RecordKey> keys) {
+        List<Bson> keyFilters = new ArrayList<Bson>(keys.size());
+        for (RecordKey key : keys) {
+            keyFilters.add(Filters.and(
+                                Filters.eq("resourceId", key.getResourceId()), 
+                                Filters.eq("commentId", key.getRecordId())));
+        }
+        return Filters.or(keyFilters);
+    }
+}
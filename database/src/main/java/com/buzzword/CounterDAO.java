@@ -61,4 +61,35 @@ public interface CounterDAO {
      * @return an available upvote ID
      */
     public int getNextUpvoteId(int resourceId);
+
+    /**
+     * Reserves a contiguous block of resource IDs with a single counter update.
+     * <p>
+     * ID tracking documents are created for every reserved resource. The counter is advanced
+     * first, since the block it returns decides which tracking documents to create, so if
+     * creating them fails the block is lost and its IDs are skipped, never reused. Resource
+     * IDs only need to be unique, so the gap is harmless.
+     * @param count the number of resource IDs to reserve
+     * @return the first resource ID of the reserved block
+     * @throws IllegalArgumentException if count is less than one
+     */
+    public int reserveResourceIds(int count);
+
+    /**
+     * Reserves a contiguous block of comment IDs for the given resource with a single counter update.
+     * @param resourceId the ID of the resource
+     * @param count the number of comment IDs to reserve
+     * @return the first comment ID of the reserved block
+     * @throws IllegalArgumentException if count is less than one
+     */
+    public int reserveCommentIds(int resourceId, int count);
+
+    /**
+     * Reserves a contiguous block of flag IDs for the given resource with a single counter update.
+     * @param resourceId the ID of the resource
+     * @param count the number of flag IDs to reserve
+     * @return the first flag ID of the reserved block
+     * @throws IllegalArgumentException if count is less than one
+     */
+    public int reserveReviewFlagIds(int resourceId, int count);
 }
@@ -21,6 +21,9 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.bson.Document;
 
 import com.mongodb.client.MongoCollection;
@@ -131,6 +134,78 @@ public class CounterDAOImpl implements CounterDAO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reserveResourceIds(int count) {
+        if (count < 1) {
+            logger.error(String.format("Attempted to reserve %d resource IDs.", count));
+            throw new IllegalArgumentException("At least one ID must be reserved.");
+        }
+        // Upsert so the first reservation creates the counter in the same round trip
+        Document previous = counterCollection.findOneAndUpdate(
+            Filters.eq("_id", "resourceIdCounter"),
+            Updates.inc("count", count),
+            new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.BEFORE)
+        );
+        int first = previous == null ? 0 : previous.getInteger("count");
+
+        // Create the ID tracking documents for the whole block at once. If this fails the
+        // block stays reserved and its IDs are skipped, which leaves a gap but no duplicates
+        List<Document> trackingDocs = new ArrayList<Document>(count);
+        for (int id = first; id < first + count; id++) {
+            trackingDocs.add(new Document("_id", id)
+                .append("commentCount", 0)
+                .append("upvoteCount", 0)
+                .append("flagCount", 0));
+        }
+        counterCollection.insertMany(trackingDocs);
+        logger.debug(String.format("Reserved resource IDs %d to %d", first, first + count - 1));
+        return first;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reserveCommentIds(int resourceId, int count) {
+        return reserveChildIds(resourceId, "commentCount", count);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int reserveReviewFlagIds(int resourceId, int count) {
+        return reserveChildIds(resourceId, "flagCount", count);
+    }
+
+    /**
+     * Reserves a block of IDs from one of the per-resource counters.
+     * @param resourceId the ID of the resource owning the counter
+     * @param counterField the name of the counter field to advance
+     * @param count the number of IDs to reserve
+     * @return the first ID of the reserved block
+     * @throws RecordDoesNotExistException if the resource has no ID tracking document
+     */
+    private int reserveChildIds(int resourceId, String counterField, int count) {
+        if (count < 1) {
+            logger.error(String.format("Attempted to reserve %d IDs for resource %d.", count, resourceId));
+            throw new IllegalArgumentException("At least one ID must be reserved.");
+        }
+        Document counters = counterCollection.findOneAndUpdate(
+            Filters.eq("_id", resourceId),
+            Updates.inc(counterField, count),
+            new FindOneAndUpdateOptions().returnDocument(ReturnDocument.BEFORE)
+        );
+        if (counters == null) {
+            logger.error(String.format("Attempted to get id counters for non-existent resource %d", resourceId));
+            throw new RecordDoesNotExistException("Attempted to get id counters for non-existent resource");
+        }
+        return counters.getInteger(counterField);
+    }
+
     /**
      * {@inheritDoc}
      */
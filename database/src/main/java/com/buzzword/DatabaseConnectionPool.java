@@ -39,11 +39,37 @@ public class DatabaseConnectionPool {
      */
     private static DatabaseConnectionPool instance;
 
-    private final DatabaseConfiguration config = new DatabaseConfigurationImpl(ConfigurationManagerImpl.getInstance());
+    /**
+     * How long a client replaced by a configuration reload is kept open, so requests
+     * already using it can finish.
+     */
+    public static final long RETIRE_DELAY_MILLIS = 60_000;
 
     private final Logger logger = LoggerFactory.getEventLogger();
 
-    private MongoClient client;
+    /**
+     * The configuration and the client built from it, published together so a reader never
+     * pairs a new client with an old database name or the reverse.
+     */
+    private volatile Pool pool;
+
+    /**
+     * A database configuration and the Mongo client created for it.
+     */
+    private static final class Pool {
+        private final DatabaseConfiguration config;
+        private final MongoClient client;
+
+        /**
+         * Pairs a configuration with its client.
+         * @param config the database configuration
+         * @param client the client created for the configuration's connection settings
+         */
+        private Pool(DatabaseConfiguration config, MongoClient client) {
+            this.config = config;
+            this.client = client;
+        }
+    }
 
     /**
      * Gets a reference to the database connection pool.
@@ -64,7 +90,17 @@ public class DatabaseConnectionPool {
      * @throws IOException when the config file does not exist
      */
     private DatabaseConnectionPool() throws IllegalArgumentException, IOException {
+        DatabaseConfiguration config = ConfigurationSnapshot.getCurrent().getDatabaseConfiguration();
+        pool = new Pool(config, createClient(config));
+        logger.info("Acquired database connection pool.");
+    };
 
+    /**
+     * Creates a Mongo client with its own connection pool.
+     * @param config the database configuration
+     * @return the new client
+     */
+    private MongoClient createClient(DatabaseConfiguration config) {
         ConnectionPoolSettings poolSettings = ConnectionPoolSettings.builder()
             .maxSize(config.getMaxDatabaseConnections())
             .minSize(config.getMinDatabaseConnections())
@@ -79,17 +115,63 @@ public class DatabaseConnectionPool {
 
         logger.debug("Configured Mongo client.");
 
-        client = MongoClients.create(settings);
-        logger.info("Acquired database connection pool.");
-    };
+        return MongoClients.create(settings);
+    }
+
+    /**
+     * Applies a reloaded database configuration.
+     * <p>
+     * A change to the database name takes effect on the next connection. A change to the
+     * connection string or the pool sizes needs a new client: it is created and used for
+     * every following connection, and the old client is closed once requests already using
+     * it have had {@link #RETIRE_DELAY_MILLIS} to finish.
+     * @param newConfig the reloaded database configuration
+     * @return true if the database name changed or the client was replaced, so databases taken
+     *         before the reload should be taken again and anything read from them discarded
+     * @throws IllegalArgumentException if the configuration is null
+     */
+    public synchronized boolean applyConfiguration(DatabaseConfiguration newConfig) {
+        if (newConfig == null) {
+            logger.error("Attempted to apply a null database configuration.");
+            throw new IllegalArgumentException("Database configuration cannot be null.");
+        }
+        Pool oldPool = pool;
+        DatabaseConfiguration oldConfig = oldPool.config;
+        boolean samePool = oldConfig.getDatabaseConnectionString().equals(newConfig.getDatabaseConnectionString())
+            && oldConfig.getMinDatabaseConnections().equals(newConfig.getMinDatabaseConnections())
+            && oldConfig.getMaxDatabaseConnections().equals(newConfig.getMaxDatabaseConnections());
+        if (samePool) {
+            pool = new Pool(newConfig, oldPool.client);
+            if (oldConfig.getDatabaseName().equals(newConfig.getDatabaseName())) {
+                return false;
+            }
+            logger.info(String.format("Switched to database %s.", newConfig.getDatabaseName()));
+            return true;
+        }
+        MongoClient retired = oldPool.client;
+        pool = new Pool(newConfig, createClient(newConfig));
+        logger.info("Replaced database connection pool with reloaded settings.");
+        Thread.ofVirtual().name("database-pool-retire").start(() -> {
+            try {
+                Thread.sleep(RETIRE_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            retired.close();
+            logger.info("Closed replaced database connection pool.");
+        });
+        return true;
+    }
 
     /**
      * Gets a database connection from the Mongo connection pool.
      * @return a database connection
      */
     public MongoDatabase getDatabaseConnection() {
-        MongoDatabase db = client.getDatabase(config.getDatabaseName());
-        logger.info(String.format("Acquired database %s", config.getDatabaseName()));
+        Pool current = pool;
+        String databaseName = current.config.getDatabaseName();
+        MongoDatabase db = current.client.getDatabase(databaseName);
+        logger.info(String.format("Acquired database %s", databaseName));
         return db;
     }
 
@@ -98,8 +180,9 @@ public class DatabaseConnectionPool {
      * Should be called on application shutdown.
      */
     public void close() {
-        if (client != null) {
-            client.close();
+        Pool current = pool;
+        if (current != null) {
+            current.client.close();
             logger.info("MongoDB client closed and connections released.");
         }
     }
@@ -21,6 +21,8 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.List;
+
 /**
  * This is the interface for the flag data access object.
  * 
@@ -36,6 +38,12 @@ public interface FlagDAO {
      */
     public void setCounterDAO(CounterDAO counterDAO);
 
+    /**
+     * Set the resource cache to invalidate when a resource's child records change.
+     * @param resourceCache the shared resource cache
+     */
+    public void setResourceCache(ResourceCache resourceCache);
+
     /**
      * Adds a review flag to the database for the specific resource for managerial review.
      * 
@@ -45,6 +53,19 @@ public interface FlagDAO {
      */
     int addReviewFlag(Credentials user, ReviewFlag flag, int resourceId);
 
+    /**
+     * Adds many review flags to the database for the specific resource at once.
+     * <p>
+     * IDs for the whole batch are reserved with a single counter update and the flags are
+     * written with one unordered insert, so a rejected flag does not stop the others.
+     * 
+     * @param user the credentials of the user adding the flags
+     * @param flags the review flags to be added
+     * @param resourceId the ID of the resource to be flagged for review
+     * @return one result per submitted flag, in submission order
+     */
+    List<BatchItemResult> addReviewFlags(Credentials user, List<ReviewFlag> flags, int resourceId);
+
     /**
      * Edits a review flag in the database for the specific resource for managerial review.
      * 
@@ -64,4 +85,34 @@ public interface FlagDAO {
      */
     void removeReviewFlag(Credentials user, int flagId, int resourceId);
 
+    /**
+     * Removes many review flags at once, possibly across several resources.
+     * <p>
+     * Every targeted review flag is read with a single query and the permitted ones are deleted
+     * with a single write. The same ownership rules as single removal apply to each review flag, so
+     * a review flag the user may not remove fails on its own without stopping the others.
+     * A key that repeats an earlier key in the batch fails rather than being reported as
+     * removed twice.
+     * 
+     * @param user the credentials of the user removing the review flags
+     * @param keys the resource and flag ID of each review flag to be removed
+     * @return one result per submitted key, in submission order
+     */
+    List<BatchItemResult> removeReviewFlags(Credentials user, List<RecordKey> keys);
+
+    /**
+     * Lists one page of the review flags on a resource, in ascending ID order.
+     * <p>
+     * Each review flag carries the current user's edit and delete flags. Pass the returned
+     * next cursor as {@code after} to fetch the following page.
+     * 
+     * @param user the credentials of the user requesting the review flags
+     * @param resourceId the ID of the resource containing the review flags
+     * @param after the ID to continue after, or null to start from the first review flag
+     * @param limit the maximum number of review flags to return, from 1 to {@link RecordPage#MAX_LIMIT}
+     * @return the page of review flags
+     * @throws InvalidRequestException if the limit is out of range
+     */
+    RecordPage<ReviewFlag> listReviewFlags(Credentials user, int resourceId, Integer after, int limit);
+
 }
\ No newline at end of file
@@ -21,20 +21,36 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
 public class FlagDAOImpl implements FlagDAO {
     private final MongoCollection<Document> flags;
+    private final MongoCollection<Document> tombstones;
     private final Logger logger = LoggerFactory.getEventLogger();
+    private static volatile boolean paginationIndexCreated = false;
     private CounterDAO counterDAO;
+    private ResourceCache resourceCache;
 
     /**
      * Constructs a FlagDAOImpl with the specified MongoDB database.
@@ -51,6 +67,7 @@ public class FlagDAOImpl implements FlagDAO {
             throw new IllegalArgumentException("Database cannot be null.");
         }
         this.flags = db.getCollection("flags");
+        this.tombstones = db.getCollection(ChangeTracking.TOMBSTONES);
         counterDAO = new CounterDAOImpl(db);
     }
 
@@ -67,19 +84,39 @@ public class FlagDAOImpl implements FlagDAO {
         this.counterDAO = counterDAO;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResourceCache(ResourceCache resourceCache) {
+        // Check for null ResourceCache
+        if (resourceCache == null) {
+            logger.error("Attempted to set null ResourceCache.");
+            throw new IllegalArgumentException("ResourceCache cannot be null.");
+        }
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * Removes a resource from the resource cache, if one is configured.
+     * @param resourceId the ID of the resource whose child records changed
+     */
+    private void invalidateCachedResource(int resourceId) {
+        if (resourceCache != null) {
+            resourceCache.invalidate(resourceId);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int addReviewFlag(Credentials user, ReviewFlag flag, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to add flag with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.REVIEW_FLAG)) {
             logger.error(String.format("User %d with role %s denied permission to add flags.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to add flags.");
         }
         // Check for null flag
@@ -97,11 +134,13 @@ public class FlagDAOImpl implements FlagDAO {
             .append("lastName", user.getLastName())
             .append("contents", flag.getContents())
             .append("dateCreated", flag.getCreationDate())
-            .append("isEdited", flag.getIsEdited());
+            .append("isEdited", flag.getIsEdited())
+            .append("lastModified", System.currentTimeMillis());
 
         // Insert the flag document into the collection
         flags.insertOne(flagDoc);
 
+        invalidateCachedResource(resourceId);
         logger.info(String.format("User %d added flag %d to resource %d.", user.getId(), flag.getId(), resourceId));
     
         return flagDoc.getInteger("flagId");
@@ -111,15 +150,70 @@ public class FlagDAOImpl implements FlagDAO {
      * {@inheritDoc}
      */
     @Override
-    public void editReviewFlag(Credentials user, int flagId, ReviewFlag flag, int resourceId) {
+    public List<BatchItemResult> addReviewFlags(Credentials user, List<ReviewFlag> flags, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to edit flag with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.REVIEW_FLAG)) {
+            logger.error(String.format("User %d with role %s denied permission to add flags.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to add flags.");
+        }
+        // Check for null batch
+        if (flags == null) {
+            logger.error("Attempted to add null list of flags.");
+            throw new IllegalArgumentException("Flags cannot be null.");
         }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+
+        BatchItemResult[] results = new BatchItemResult[flags.size()];
+        List<Integer> itemIndexes = new ArrayList<Integer>();
+        for (int i = 0; i < flags.size(); i++) {
+            if (flags.get(i) == null) {
+                results[i] = BatchItemResult.failure(i, "Flag cannot be null.");
+            } else {
+                itemIndexes.add(i);
+            }
+        }
+        if (itemIndexes.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Reserve IDs for every valid flag in one counter update
+        int nextId = counterDAO.reserveReviewFlagIds(resourceId, itemIndexes.size());
+
+        long lastModified = System.currentTimeMillis();
+        List<Document> flagDocs = new ArrayList<Document>(itemIndexes.size());
+        for (int itemIndex : itemIndexes) {
+            ReviewFlag flag = flags.get(itemIndex);
+            flagDocs.add(new Document()
+                .append("flagId", nextId++)
+                .append("resourceId", resourceId)
+                .append("creatorId", user.getId())
+                .append("firstName", user.getFirstName())
+                .append("lastName", user.getLastName())
+                .append("contents", flag.getContents())
+                .append("dateCreated", flag.getCreationDate())
+                .append("isEdited", flag.getIsEdited())
+                .append("lastModified", lastModified));
+        }
+
+        List<Integer> failedPositions = BatchWriter.insertUnordered(this.flags, flagDocs, itemIndexes, "flagId", results);
+
+        invalidateCachedResource(resourceId);
+        logger.info(String.format("User %d added %d of %d flags to resource %d in a batch.", 
+            user.getId(), flagDocs.size() - failedPositions.size(), flags.size(), resourceId));
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editReviewFlag(Credentials user, int flagId, ReviewFlag flag, int resourceId) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.EDIT, RecordType.REVIEW_FLAG)) {
             logger.error(String.format("User %d with role %s denied permission to edit flags.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to edit flags.");
         }
         // Check for null flag
@@ -136,11 +230,8 @@ public class FlagDAOImpl implements FlagDAO {
             throw new RecordDoesNotExistException("Failed to find flag to update.");
         }
 
-        // Check if user has permission to edit this flag
-        // Allow editing only if the user is the original creator of the flag
-        int flagCreatorId = doc.getInteger("creatorId");
-
-        if (flagCreatorId != user.getId()) {
+        // Only the creator of a flag may edit it
+        if (!access.allows(Operation.EDIT, RecordType.REVIEW_FLAG, doc.getInteger("creatorId"))) {
             logger.error(String.format("User %d denied permission to edit flag %d because they are not the creator.", user.getId(), flagId));
             throw new AuthorizationException("User does not have permission to edit this flag because they are not the creator.");
         }
@@ -150,7 +241,8 @@ public class FlagDAOImpl implements FlagDAO {
                         Filters.eq("resourceId", resourceId));
         Bson updateFlag = Updates.combine(
                             Updates.set("contents", flag.getContents()),
-                            Updates.set("isEdited", true));
+                            Updates.set("isEdited", true),
+                            Updates.set("lastModified", System.currentTimeMillis()));
 
         // Update the flag document
         UpdateResult result = flags.updateOne(filter, updateFlag);
@@ -160,6 +252,7 @@ public class FlagDAOImpl implements FlagDAO {
             logger.error(String.format("Flag %d not found for editing by user %d.", flagId, user.getId()));
             throw new RecordDoesNotExistException("Flag not found for editing.");
         } else {
+            invalidateCachedResource(resourceId);
             logger.info(String.format("User %d edited flag %d on resource %d.", user.getId(), flagId, resourceId));
         }
     }
@@ -170,13 +263,10 @@ public class FlagDAOImpl implements FlagDAO {
     @Override
     public void removeReviewFlag(Credentials user, int flagId, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to delete flag with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.REMOVE, RecordType.REVIEW_FLAG)) {
             logger.error(String.format("User %d with role %s denied permission to delete flags.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to delete flags.");
         }
 
@@ -189,17 +279,10 @@ public class FlagDAOImpl implements FlagDAO {
             throw new RecordDoesNotExistException("Failed to find flag for removal.");
         }
 
-        // An admin may remove any flag; only do ownership check if they're a commenter or contributor
-        if (!user.getSystemRole().equals("Admin")) {
-
-            // Check if user has permission to delete this flag
-            // Allow deletion only if the user is the original creator of the flag
-            int flagCreatorId = doc.getInteger("creatorId");
-
-            if (flagCreatorId != user.getId()) {
-                logger.error(String.format("User %d denied permission to delete flag %d because they are not the creator.", user.getId(), flagId));
-                throw new AuthorizationException("User does not have permission to delete this flag because they are not the creator.");
-            }
+        // An admin may remove any flag; anyone else only their own
+        if (!access.allows(Operation.REMOVE, RecordType.REVIEW_FLAG, doc.getInteger("creatorId"))) {
+            logger.error(String.format("User %d denied permission to delete flag %d because they are not the creator.", user.getId(), flagId));
+            throw new AuthorizationException("User does not have permission to delete this flag because they are not the creator.");
         }
 
         // Delete the flag document
@@ -209,10 +292,183 @@ public class FlagDAOImpl implements FlagDAO {
 
         // Check if deletion was successful
         if (result.getDeletedCount() > 0) {
+            tombstones.insertOne(ChangeTracking.tombstone("reviewFlag", resourceId, flagId, System.currentTimeMillis()));
+            invalidateCachedResource(resourceId);
             logger.info(String.format("User %d removed flag %d from resource %d.", user.getId(), flagId, resourceId));
         } else {
             logger.error(String.format("User %d failed to remove flag %d from resource %d.", user.getId(), flagId, resourceId));
             throw new RecordDoesNotExistException("Failed to remove flag.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BatchItemResult> removeReviewFlags(Credentials user, List<RecordKey> keys) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.REMOVE, RecordType.REVIEW_FLAG)) {
+            logger.error(String.format("User %d with role %s denied permission to delete flags.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to delete flags.");
+        }
+        // Check for null batch
+        if (keys == null) {
+            logger.error("Attempted to delete null list of flags.");
+            throw new IllegalArgumentException("Flag keys cannot be null.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[keys.size()];
+        Set<RecordKey> distinctKeys = new LinkedHashSet<RecordKey>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i) == null) {
+                results[i] = BatchItemResult.failure(i, "Flag key cannot be null.");
+            } else if (!distinctKeys.add(keys.get(i))) {
+                // Only the first occurrence is removed, so a repeat cannot be reported as removed too
+                results[i] = BatchItemResult.failure(i, "Flag key is repeated in the batch.");
+            }
+        }
+        if (distinctKeys.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Read every targeted flag with one query
+        Map<RecordKey, Document> found = new HashMap<RecordKey, Document>();
+        for (Document doc : flags.find(keyFilter(distinctKeys)).into(new ArrayList<Document>())) {
+            found.put(new RecordKey(doc.getInteger("resourceId"), doc.getInteger("flagId")), doc);
+        }
+
+        // Apply the ownership check from single removal to each flag; an admin may remove any flag
+        Set<RecordKey> permitted = new LinkedHashSet<RecordKey>();
+        for (int i = 0; i < keys.size(); i++) {
+            RecordKey key = keys.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            Document doc = found.get(key);
+            if (doc == null) {
+                results[i] = BatchItemResult.failure(i, "Failed to find flag for removal.");
+            } else if (!access.allows(Operation.REMOVE, RecordType.REVIEW_FLAG, doc.getInteger("creatorId"))) {
+                logger.error(String.format("User %d denied permission to delete flag %d because they are not the creator.", user.getId(), key.getRecordId()));
+                results[i] = BatchItemResult.failure(i, "User does not have permission to delete this flag because they are not the creator.");
+            } else {
+                permitted.add(key);
+                results[i] = BatchItemResult.success(i, key.getRecordId());
+            }
+        }
+        if (permitted.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Delete every permitted flag with one write
+        DeleteResult result = flags.deleteMany(keyFilter(permitted));
+
+        long lastModified = System.currentTimeMillis();
+        List<Document> tombstoneDocs = new ArrayList<Document>(permitted.size());
+        Set<Integer> resourceIds = new LinkedHashSet<Integer>();
+        for (RecordKey key : permitted) {
+            tombstoneDocs.add(ChangeTracking.tombstone("reviewFlag", key.getResourceId(), key.getRecordId(), lastModified));
+            resourceIds.add(key.getResourceId());
+        }
+        tombstones.insertMany(tombstoneDocs);
+        for (int resourceId : resourceIds) {
+            invalidateCachedResource(resourceId);
+        }
+        logger.info(String.format("User %d removed %d of %d flags across %d resources in a batch.", 
+            user.getId(), result.getDeletedCount(), keys.size(), resourceIds.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RecordPage<ReviewFlag> listReviewFlags(Credentials user, int resourceId, Integer after, int limit) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.VIEW, RecordType.REVIEW_FLAG)) {
+            logger.error(String.format("User %d with role %s denied permission to retrieve review flags.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User does not have a valid system role.");
+        }
+        // Check for a valid page size
+        if (limit < 1 || limit > RecordPage.MAX_LIMIT) {
+            logger.error(String.format("Attempted to list review flags with invalid page size %d.", limit));
+            throw new InvalidRequestException(String.format("Page size must be between 1 and %d.", RecordPage.MAX_LIMIT));
+        }
+
+        createPaginationIndex();
+
+        // Read one record past the page to learn whether another page follows
+        Bson filter = after == null
+            ? Filters.eq("resourceId", resourceId)
+            : Filters.and(Filters.eq("resourceId", resourceId), Filters.gt("flagId", after));
+        List<Document> docs = flags.find(filter)
+            .sort(Sorts.ascending("flagId"))
+            .limit(limit + 1)
+            .into(new ArrayList<Document>());
+        boolean hasMore = docs.size() > limit;
+
+        List<ReviewFlag> page = new ArrayList<ReviewFlag>(limit);
+        for (Document doc : hasMore ? docs.subList(0, limit) : docs) {
+            page.add(convertDocumentToReviewFlag(access, doc));
+        }
+
+        Integer nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new RecordPage<ReviewFlag>(page, nextCursor);
+    }
+
+    /**
+     * Converts a MongoDB Document to a ReviewFlag object with the current user's flags set.
+     * 
+     * @param access the permissions of the user requesting the review flag
+     * @param doc the MongoDB document to convert
+     * @return a ReviewFlag object populated with data from the document
+     */
+    private ReviewFlag convertDocumentToReviewFlag(AccessPolicy access, Document doc) {
+        ReviewFlag record = new ReviewFlag();
+        record.setId(doc.getInteger("flagId"));
+        record.setCreatorId(doc.getInteger("creatorId"));
+        record.setFirstName(doc.getString("firstName"));
+        record.setLastName(doc.getString("lastName"));
+        record.setIsEdited(doc.getBoolean("isEdited", false));
+        record.setCreationDate(doc.getDate("dateCreated"));
+        record.setContents(doc.getString("contents"));
+
+        // Set front end flags for current user
+        int creatorId = doc.getInteger("creatorId");
+        record.setCurrentUserCanDelete(access.allows(Operation.REMOVE, RecordType.REVIEW_FLAG, creatorId));
+        record.setCurrentUserCanEdit(access.allows(Operation.EDIT, RecordType.REVIEW_FLAG, creatorId));
+        return record;
+    }
+
+    /**
+     * Creates the (resourceId, flagId) index that backs paginated listings.
+     * <p>
+     * Index creation is idempotent in MongoDB, so this only guards against repeating the
+     * request on every listing.
+     */
+    private void createPaginationIndex() {
+        if (!paginationIndexCreated) {
+            flags.createIndex(Indexes.ascending("resourceId", "flagId"));
+            paginationIndexCreated = true;
+            logger.info("Ensured pagination index on flags collection.");
+        }
+    }
+
+    /**
+     * Builds a filter matching every flag identified by the given keys.
+     * @param keys the resource and flag ID of each flag to match
+     * @return the filter
+     */
+    private Bson keyFilter(Set<RecordKey> keys) {
+        List<Bson> keyFilters = new ArrayList<Bson>(keys.size());
+        for (RecordKey key : keys) {
+            keyFilters.add(Filters.and(
+                                Filters.eq("resourceId", key.getResourceId()), 
+                                Filters.eq("flagId", key.getRecordId())));
+        }
+        return Filters.or(keyFilters);
+    }
+}
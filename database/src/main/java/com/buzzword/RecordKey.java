@@ -0,0 +1,83 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * Identifies a comment, upvote or review flag by the resource that holds it and its
+ * record ID, which is only unique within that resource.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class RecordKey {
+
+    private final int resourceId;
+    private final int recordId;
+
+    /**
+     * Constructs a record key.
+     * @param resourceId the ID of the resource holding the record
+     * @param recordId the ID of the record within the resource
+     */
+    public RecordKey(int resourceId, int recordId) {
+        this.resourceId = resourceId;
+        this.recordId = recordId;
+    }
+
+    /**
+     * Gets the ID of the resource holding the record.
+     * @return the resource ID
+     */
+    public int getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Gets the ID of the record within the resource.
+     * @return the record ID
+     */
+    public int getRecordId() {
+        return recordId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RecordKey)) {
+            return false;
+        }
+        RecordKey other = (RecordKey) obj;
+        return resourceId == other.resourceId && recordId == other.recordId;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * resourceId + recordId;
+    }
+
+    @Override
+    public String toString() {
+        return resourceId + "/" + recordId;
+    }
+}
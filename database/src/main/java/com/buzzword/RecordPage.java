@@ -0,0 +1,70 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of records from a cursor-paginated listing.
+ * <p>
+ * Records are ordered by ID. To fetch the following page, pass the next cursor back as
+ * the {@code after} parameter of the same listing.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ * @param <T> the record type
+ */
+public class RecordPage<T> {
+
+    /** The largest number of records a single page may hold. */
+    public static final int MAX_LIMIT = 100;
+
+    private final List<T> items;
+    private final Integer nextCursor;
+
+    /**
+     * Constructs a page of records.
+     * @param items the records on this page
+     * @param nextCursor the ID to continue after, or null if this is the last page
+     */
+    public RecordPage(List<T> items, Integer nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the records on this page.
+     * @return the records, in ascending ID order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor for the following page.
+     * @return the ID to continue after, or null if this is the last page
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+}
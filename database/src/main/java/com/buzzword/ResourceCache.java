@@ -0,0 +1,95 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * A bounded in-process cache of immutable resource snapshots, keyed by resource ID.
+ * <p>
+ * Reads go through the cache and fall back to the database on a miss. Every write to a
+ * resource or one of its child records must invalidate that resource.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public interface ResourceCache {
+
+    /**
+     * Gets a cached resource snapshot.
+     * @param resourceId the ID of the resource
+     * @return the cached snapshot, or null if it is not cached or has expired
+     */
+    ResourceSnapshot get(int resourceId);
+
+    /**
+     * Gets whether the cache holds resources. When it does not, every read builds new
+     * snapshots, so nothing derived from a snapshot is worth keeping.
+     * @return true if the cache size is above zero
+     */
+    boolean isEnabled();
+
+    /**
+     * Gets a stamp to take before reading a resource graph from the database.
+     * <p>
+     * Passing the stamp to {@link #put(ResourceSnapshot, long)} stops a graph that was read
+     * before a concurrent write from being cached after that write's invalidation.
+     * 
+     * @return the current invalidation stamp
+     */
+    long stamp();
+
+    /**
+     * Caches a resource snapshot read from the database.
+     * @param resource the resource snapshot
+     * @param stamp the stamp taken before the snapshot was read
+     */
+    void put(ResourceSnapshot resource, long stamp);
+
+    /**
+     * Removes a resource from the cache after it or one of its child records changed.
+     * @param resourceId the ID of the changed resource
+     */
+    void invalidate(int resourceId);
+
+    /**
+     * Removes every resource from the cache.
+     */
+    void invalidateAll();
+
+    /**
+     * Registers a listener that is told about every invalidation.
+     * @param listener the listener
+     */
+    void addInvalidationListener(ResourceInvalidationListener listener);
+
+    /**
+     * Changes the size limit and time to live after a configuration reload. Entries over the
+     * new limit are evicted; entries already cached keep the expiry they were given.
+     * @param config the reloaded cache configuration
+     */
+    void reconfigure(CacheConfiguration config);
+
+    /**
+     * Gets a snapshot of the cache statistics.
+     * @return the cache statistics
+     */
+    ResourceCacheStats getStats();
+}
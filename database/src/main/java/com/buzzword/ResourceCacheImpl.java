@@ -0,0 +1,232 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A least-recently-used resource cache with a fixed time to live.
+ * <p>
+ * One instance is shared by every DAO in the process. All operations are synchronized on
+ * the cache; each holds the lock only for a map lookup or update.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ResourceCacheImpl implements ResourceCache {
+
+    private int maxSize;
+    private long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<Integer, Entry> entries;
+    private final List<ResourceInvalidationListener> listeners = new CopyOnWriteArrayList<ResourceInvalidationListener>();
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    private long stamp = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    /**
+     * A cached graph and the time it expires.
+     */
+    private static final class Entry {
+        private final ResourceSnapshot resource;
+        private final long expiresAt;
+
+        private Entry(ResourceSnapshot resource, long expiresAt) {
+            this.resource = resource;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Constructs a resource cache from the cache configuration.
+     * @param config the cache configuration
+     */
+    public ResourceCacheImpl(CacheConfiguration config) {
+        this(config.getResourceCacheMaxSize(), config.getResourceCacheTtlSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Constructs a resource cache.
+     * @param maxSize the maximum number of cached resources; zero disables caching
+     * @param ttl how long a cached resource stays valid
+     * @param unit the unit of the time to live
+     */
+    public ResourceCacheImpl(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, unit.toNanos(ttl), System::nanoTime);
+    }
+
+    /**
+     * Constructs a resource cache with an explicit clock.
+     * @param maxSize the maximum number of cached resources; zero disables caching
+     * @param ttlNanos how long a cached resource stays valid, in nanoseconds
+     * @param clock the source of the current time in nanoseconds
+     */
+    ResourceCacheImpl(int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize < 0 || ttlNanos < 1) {
+            logger.error(String.format("Attempted to create a resource cache with size %d and time to live %dns.", maxSize, ttlNanos));
+            throw new IllegalArgumentException("Cache size must not be negative and time to live must be positive.");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        // Access order makes the eldest entry the least recently used one
+        this.entries = new LinkedHashMap<Integer, Entry>(16, 0.75f, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ResourceSnapshot get(int resourceId) {
+        Entry entry = entries.get(resourceId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt >= 0) {
+            entries.remove(resourceId);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.resource;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void put(ResourceSnapshot resource, long stamp) {
+        // A write happened since the graph was read, so it may already be stale
+        if (maxSize == 0 || stamp != this.stamp) {
+            return;
+        }
+        entries.put(resource.getId(), new Entry(resource, clock.getAsLong() + ttlNanos));
+        if (entries.size() > maxSize) {
+            Iterator<Integer> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidate(int resourceId) {
+        synchronized (this) {
+            stamp++;
+            invalidations++;
+            entries.remove(resourceId);
+        }
+        for (ResourceInvalidationListener listener : listeners) {
+            listener.resourceInvalidated(resourceId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidateAll() {
+        synchronized (this) {
+            stamp++;
+            invalidations++;
+            entries.clear();
+        }
+        for (ResourceInvalidationListener listener : listeners) {
+            listener.allResourcesInvalidated();
+        }
+        logger.info("Cleared the resource cache.");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addInvalidationListener(ResourceInvalidationListener listener) {
+        if (listener == null) {
+            logger.error("Attempted to add a null invalidation listener.");
+            throw new IllegalArgumentException("Invalidation listener cannot be null.");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reconfigure(CacheConfiguration config) {
+        int newMaxSize = config.getResourceCacheMaxSize();
+        long newTtlNanos = TimeUnit.SECONDS.toNanos(config.getResourceCacheTtlSeconds());
+        if (newMaxSize < 0 || newTtlNanos < 1) {
+            logger.error(String.format("Attempted to resize the resource cache to size %d and time to live %dns.", newMaxSize, newTtlNanos));
+            throw new IllegalArgumentException("Cache size must not be negative and time to live must be positive.");
+        }
+        maxSize = newMaxSize;
+        ttlNanos = newTtlNanos;
+        Iterator<Integer> eldest = entries.keySet().iterator();
+        while (entries.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+        logger.info(String.format("Resized the resource cache to %d entries with a %ds time to live.", 
+            newMaxSize, config.getResourceCacheTtlSeconds()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ResourceCacheStats getStats() {
+        return new ResourceCacheStats(hits, misses, evictions, invalidations, entries.size(), maxSize);
+    }
+}
@@ -0,0 +1,240 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Invalidates a resource cache when any node writes a resource or one of its child records.
+ * <p>
+ * A background thread watches the resources, comments, upvotes and flags collections with
+ * a MongoDB change stream, which requires a replica set. Inserts and updates invalidate the
+ * resource named by the document's resourceId. Deletes only carry the document key, so they
+ * are skipped; the DAOs record every delete as a tombstone naming its resource, and the
+ * tombstone's insert invalidates that resource. An update whose document is gone by the
+ * time it is looked up clears the whole cache.
+ * <p>
+ * The resume token is stored in the changeStreamTokens collection under the listener ID, so
+ * a restarted node resumes where it stopped. If the token has aged out of the oplog the stream
+ * starts over and the cache is cleared.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ResourceChangeListener implements AutoCloseable {
+
+    /** The collections whose writes change a cached resource graph, and the tombstones of their deletes. */
+    static final List<String> WATCHED_COLLECTIONS = List.of("resources", "comments", "upvotes", "flags", ChangeTracking.TOMBSTONES);
+
+    /** MongoDB error code for a resume token that is no longer in the oplog. */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private static final long MAX_AWAIT_SECONDS = 1;
+    private static final long TOKEN_SAVE_INTERVAL_MILLIS = 1000;
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final MongoDatabase database;
+    private final MongoCollection<Document> tokens;
+    private final ResourceCache cache;
+    private final String listenerId;
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    private volatile boolean running = false;
+    private Thread thread;
+    private BsonDocument pendingToken;
+    private long lastTokenSave = 0;
+
+    /**
+     * Constructs a change listener.
+     * @param db the MongoDB database to watch
+     * @param cache the cache to invalidate
+     * @param listenerId the key the resume token is stored under; must be unique per node
+     * @throws IllegalArgumentException if any argument is null
+     */
+    public ResourceChangeListener(MongoDatabase db, ResourceCache cache, String listenerId) {
+        if (db == null || cache == null || listenerId == null) {
+            logger.error("Attempted to create a change listener with a null argument.");
+            throw new IllegalArgumentException("Database, cache and listener ID cannot be null.");
+        }
+        this.database = db;
+        this.tokens = db.getCollection("changeStreamTokens");
+        this.cache = cache;
+        this.listenerId = listenerId;
+    }
+
+    /**
+     * Starts watching for changes on a daemon thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "resource-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info(String.format("Started resource change listener %s.", listenerId));
+    }
+
+    /**
+     * Stops watching and stores the latest resume token.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            // The thread notices within one await period
+            thread.join(TimeUnit.SECONDS.toMillis(MAX_AWAIT_SECONDS) * 5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info(String.format("Stopped resource change listener %s.", listenerId));
+    }
+
+    /**
+     * Watches the change stream until closed, reopening it after errors.
+     */
+    private void listen() {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = openStream().cursor()) {
+                // Writes made while the stream was not open were missed
+                cache.invalidateAll();
+                while (running) {
+                    ChangeStreamDocument<Document> event = cursor.tryNext();
+                    if (event != null && event.getOperationType() == OperationType.INVALIDATE) {
+                        logger.warn("Resource change stream was invalidated; reopening.");
+                        deleteResumeToken();
+                        break;
+                    }
+                    if (event != null) {
+                        processEvent(event);
+                    } else if (cursor.getResumeToken() != null) {
+                        pendingToken = cursor.getResumeToken();
+                    }
+                    saveResumeToken(false);
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                logger.error(String.format("Resource change stream failed: %s", e));
+                if (e instanceof MongoException && ((MongoException) e).getCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    deleteResumeToken();
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        saveResumeToken(true);
+    }
+
+    /**
+     * Opens the change stream, resuming after the stored token if there is one.
+     * @return the change stream
+     */
+    ChangeStreamIterable<Document> openStream() {
+        Bson watchedCollections = Aggregates.match(Filters.in("ns.coll", WATCHED_COLLECTIONS));
+        ChangeStreamIterable<Document> stream = database.watch(List.of(watchedCollections))
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .maxAwaitTime(MAX_AWAIT_SECONDS, TimeUnit.SECONDS);
+
+        Document stored = tokens.find(Filters.eq("_id", listenerId)).first();
+        if (stored != null && stored.getString("resumeToken") != null) {
+            logger.info(String.format("Resuming resource change stream %s from stored token.", listenerId));
+            stream = stream.resumeAfter(BsonDocument.parse(stored.getString("resumeToken")));
+        }
+        return stream;
+    }
+
+    /**
+     * Invalidates the resource a change belongs to.
+     * @param event the change event
+     */
+    void processEvent(ChangeStreamDocument<Document> event) {
+        // A delete names no resource, and is followed by its tombstone's insert, which does
+        if (event.getOperationType() != OperationType.DELETE) {
+            Document changed = event.getFullDocument();
+            Integer resourceId = changed == null ? null : changed.getInteger("resourceId");
+            if (resourceId != null) {
+                cache.invalidate(resourceId);
+            } else {
+                // Documents removed before the lookup name no resource
+                cache.invalidateAll();
+            }
+        }
+        pendingToken = event.getResumeToken();
+    }
+
+    /**
+     * Stores the latest resume token, at most once per save interval unless forced.
+     * @param force whether to save regardless of the interval
+     */
+    void saveResumeToken(boolean force) {
+        long now = System.currentTimeMillis();
+        if (pendingToken == null || (!force && now - lastTokenSave < TOKEN_SAVE_INTERVAL_MILLIS)) {
+            return;
+        }
+        try {
+            Document tokenDoc = new Document("_id", listenerId)
+                .append("resumeToken", pendingToken.toJson())
+                .append("dateUpdated", new Date(now));
+            tokens.replaceOne(Filters.eq("_id", listenerId), tokenDoc, new ReplaceOptions().upsert(true));
+            pendingToken = null;
+            lastTokenSave = now;
+        } catch (MongoException e) {
+            logger.error(String.format("Failed to store resume token for %s: %s", listenerId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Removes the stored resume token so the next stream starts from the present.
+     */
+    private void deleteResumeToken() {
+        tokens.deleteOne(Filters.eq("_id", listenerId));
+        pendingToken = null;
+    }
+}
@@ -21,16 +21,35 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 public interface ResourceDAO {
 
+    /** The largest number of resources that may be retrieved by ID in one call. */
+    int MAX_BATCH_GET_SIZE = 100;
+
     /**
      * Set the counterDAO used to get ids for new records.
      * @param counterDAO the data access object for record Ids
      */
     public void setCounterDAO(CounterDAO counterDAO);
 
+    /**
+     * Set the resource cache used to serve reads and invalidated by writes.
+     * <p>
+     * Without a cache every read goes to the database.
+     * @param resourceCache the shared resource cache
+     */
+    public void setResourceCache(ResourceCache resourceCache);
+
+    /**
+     * Set the publisher told about created, edited and removed resources after they are written.
+     * @param eventPublisher the change event publisher
+     */
+    public void setEventPublisher(ResourceEventPublisher eventPublisher);
+
     /**
      * A contributor or admin may insert a resource into the database.
      * <p>
@@ -42,6 +61,18 @@ public interface ResourceDAO {
      */
     int insertResource(Credentials user, Resource resource);
 
+    /**
+     * A contributor or admin may insert many resources into the database at once.
+     * <p>
+     * IDs for the whole batch are reserved with a single counter update and the resources are
+     * written with one unordered insert, so a rejected resource does not stop the others.
+     * 
+     * @param user the credentials of the user inserting the resources
+     * @param resources the resources to be inserted
+     * @return one result per submitted resource, in submission order
+     */
+    List<BatchItemResult> insertResources(Credentials user, List<Resource> resources);
+
     /**
      * A contributor may update their own resource or an admin may update any resource.
      * <p>
@@ -70,6 +101,18 @@ public interface ResourceDAO {
      */
     List<Resource> listAllResources(Credentials user);
 
+    /**
+     * Lists all resources available in the system, returning only the fields in the view.
+     * <p>
+     * Only the fields the view needs are read from the database, and child collections the
+     * view does not need are not queried.
+     * 
+     * @param user the credentials of the user requesting the list
+     * @param view the fields to return
+     * @return list of all resources
+     */
+    List<Resource> listAllResources(Credentials user, ResourceView view);
+
     /**
      * Lists resources available in the system created by the current user.
      * 
@@ -78,6 +121,15 @@ public interface ResourceDAO {
      */
     List<Resource> listOwnResources(Credentials user);
 
+    /**
+     * Lists resources created by the current user, returning only the fields in the view.
+     * 
+     * @param user the credentials of the user requesting the list
+     * @param view the fields to return
+     * @return list of all resources created by the user
+     */
+    List<Resource> listOwnResources(Credentials user, ResourceView view);
+
     /**
      * Retrieves a single resource by its ID.
      * 
@@ -87,6 +139,20 @@ public interface ResourceDAO {
      */
     Resource getResourceById(Credentials user, int id);
 
+    /**
+     * Retrieves many resources by ID in one call.
+     * <p>
+     * Resources in the resource cache are reused; the rest are read with one query per
+     * collection, however many IDs are requested.
+     * 
+     * @param user the credentials of the user requesting the resources
+     * @param ids the IDs of the resources to retrieve, at most {@link #MAX_BATCH_GET_SIZE}
+     * @return the resources in request order, with null for each ID that has no resource
+     * @throws IllegalArgumentException if the credentials or the list of IDs are null
+     * @throws InvalidRequestException if an ID is null or too many IDs are requested
+     */
+    List<Resource> getResourcesById(Credentials user, List<Integer> ids);
+
     /**
      * Lists all resources available in the system, filtered by keywords.
      * 
@@ -95,4 +161,77 @@ public interface ResourceDAO {
      * @return list of filtered resources
      */
     List<Resource> listResourcesByKeywords(Credentials user, KeywordList keywords);
-}
\ No newline at end of file
+
+    /**
+     * Lists all resources filtered by keywords, returning only the fields in the view.
+     * 
+     * @param user the credentials of the user requesting the list
+     * @param keywords the list of keywords to filter resources by
+     * @param view the fields to return
+     * @return list of filtered resources
+     */
+    List<Resource> listResourcesByKeywords(Credentials user, KeywordList keywords, ResourceView view);
+
+    /**
+     * Lists all resources as shared, immutable snapshots.
+     * <p>
+     * Snapshots hold no per-user state; apply a {@link PermissionOverlay} for the user when
+     * writing them out. Snapshots come from the resource cache when one is set.
+     * 
+     * @param user the credentials of the user requesting the list
+     * @return snapshots of all resources
+     */
+    List<ResourceSnapshot> listAllResourceSnapshots(Credentials user);
+
+    /**
+     * Lists resources created by the current user as shared, immutable snapshots.
+     * 
+     * @param user the credentials of the user requesting the list
+     * @return snapshots of all resources created by the user
+     */
+    List<ResourceSnapshot> listOwnResourceSnapshots(Credentials user);
+
+    /**
+     * Lists resources filtered by keywords as shared, immutable snapshots.
+     * 
+     * @param user the credentials of the user requesting the list
+     * @param keywords the list of keywords to filter resources by
+     * @return snapshots of the filtered resources
+     */
+    List<ResourceSnapshot> listResourceSnapshotsByKeywords(Credentials user, KeywordList keywords);
+
+    /**
+     * An admin may export every resource, with its comments, review flags and upvotes,
+     * as newline-delimited JSON (NDJSON).
+     * <p>
+     * Records are read with cursors in resource ID order and written as they are read, so
+     * memory use does not grow with the size of the wiki. Reads prefer a secondary node
+     * when one is available.
+     * 
+     * @param user the credentials of the user requesting the export
+     * @param out the writer that receives one JSON resource per line
+     * @return the number of resources exported
+     * @throws IOException if writing to the output fails
+     */
+    int exportResources(Credentials user, Writer out) throws IOException;
+
+    /**
+     * Writes the records created, edited or deleted after a watermark as one JSON object, so
+     * that a client caching the wiki can catch up without downloading it again.
+     * <p>
+     * The object holds the new watermark, fullSyncRequired, the changed resources, comments
+     * and reviewFlags with the fields the resource listing shows, the current upvoteCounts of
+     * the resources whose upvotes changed, and the deleted records' tombstones. Writes from the
+     * last few seconds are left for the next sync, so a write that is still in flight when
+     * the changes are read is not skipped. A since of 0 returns every record. A since older
+     * than the tombstone retention only sets fullSyncRequired, and the client must sync from 0.
+     * Tombstones are only written when since is above 0, since a full sync has nothing to remove.
+     * 
+     * @param user the credentials of the user requesting the changes
+     * @param since the watermark returned by the previous sync, or 0 for every record
+     * @param out the writer that receives the JSON object
+     * @return the watermark to pass as since on the next sync
+     * @throws IOException if writing to the output fails
+     */
+    long writeChanges(Credentials user, long since, Writer out) throws IOException;
+}
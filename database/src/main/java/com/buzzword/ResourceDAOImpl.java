@@ -21,31 +21,70 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
 
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.TextSearchOptions;
 import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
 public class ResourceDAOImpl implements ResourceDAO {
+
     private final MongoCollection<Document> resources;
     private final MongoCollection<Document> comments;
     private final MongoCollection<Document> flags;
     private final MongoCollection<Document> upvotes;
+    private final MongoCollection<Document> tombstones;
     private final Logger logger = LoggerFactory.getEventLogger();
     private CounterDAO counterDAO;
+    private ResourceCache resourceCache;
+    private ResourceEventPublisher eventPublisher;
+
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final long CHANGE_SETTLE_MILLIS = 5000;
+    private static volatile boolean changeIndexesCreated = false;
+    private static final JsonWriterSettings EXPORT_JSON_SETTINGS = JsonWriterSettings.builder()
+        .outputMode(JsonMode.RELAXED)
+        .build();
+    // Changes carry only what the resource listing already shows every user
+    private static final Bson CHANGED_RESOURCE_FIELDS = Projections.fields(Projections.excludeId(), Projections.include(
+        "resourceId", "creatorId", "firstName", "lastName", "title", "description", "url", "dateCreated", "isEdited", "lastModified"));
+    private static final Bson CHANGED_COMMENT_FIELDS = Projections.fields(Projections.excludeId(), Projections.include(
+        "commentId", "resourceId", "creatorId", "firstName", "lastName", "contents", "dateCreated", "isEdited", "lastModified"));
+    private static final Bson CHANGED_FLAG_FIELDS = Projections.fields(Projections.excludeId(), Projections.include(
+        "flagId", "resourceId", "creatorId", "firstName", "lastName", "contents", "dateCreated", "isEdited", "lastModified"));
+    private static final Bson TOMBSTONE_FIELDS = Projections.fields(Projections.excludeId(), Projections.include(
+        "recordType", "resourceId", "recordId", "lastModified"));
 
     /**
      * Constructs a ResourceDAOImpl with the specified MongoDB database.
@@ -68,6 +107,7 @@ public class ResourceDAOImpl implements ResourceDAO {
         this.comments = db.getCollection("comments");
         this.flags = db.getCollection("flags");
         this.upvotes = db.getCollection("upvotes");
+        this.tombstones = db.getCollection(ChangeTracking.TOMBSTONES);
         counterDAO = new CounterDAOImpl(db);
     }
 
@@ -84,19 +124,69 @@ public class ResourceDAOImpl implements ResourceDAO {
         this.counterDAO = counterDAO;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResourceCache(ResourceCache resourceCache) {
+        // Check for null ResourceCache
+        if (resourceCache == null) {
+            logger.error("Attempted to set null ResourceCache.");
+            throw new IllegalArgumentException("ResourceCache cannot be null.");
+        }
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEventPublisher(ResourceEventPublisher eventPublisher) {
+        // Check for null ResourceEventPublisher
+        if (eventPublisher == null) {
+            logger.error("Attempted to set null ResourceEventPublisher.");
+            throw new IllegalArgumentException("ResourceEventPublisher cannot be null.");
+        }
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Removes a resource from the resource cache, if one is configured.
+     * @param resourceId the ID of the changed resource
+     */
+    private void invalidateCachedResource(int resourceId) {
+        if (resourceCache != null) {
+            resourceCache.invalidate(resourceId);
+        }
+    }
+
+    /**
+     * Publishes a change event, if a publisher is configured. A failing publisher does
+     * not fail the write that has already been made.
+     * @param event the change event
+     */
+    private void publishEvent(ResourceEvent event) {
+        if (eventPublisher == null) {
+            return;
+        }
+        try {
+            eventPublisher.publish(event);
+        } catch (RuntimeException e) {
+            logger.error(String.format("Failed to publish %s event for resource %d: %s", 
+                event.getType(), event.getResourceId(), e.getMessage()));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public int insertResource(Credentials user, Resource resource) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to insert resource with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.RESOURCE)) {
             logger.error(String.format("User %d with role %s denied permission to insert resources.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to insert resources.");
         }
         // Check for null resource
@@ -115,12 +205,14 @@ public class ResourceDAOImpl implements ResourceDAO {
             .append("firstName", user.getFirstName())
             .append("lastName", user.getLastName())
             .append("dateCreated", resource.getCreationDate())
-            .append("isEdited", resource.getIsEdited());
+            .append("isEdited", resource.getIsEdited())
+            .append("lastModified", System.currentTimeMillis());
 
         // Push the resource into the resources collection
         resources.insertOne(resourceDoc);
 
         logger.info(String.format("User %d inserted new resource %d", user.getId(), resource.getId()));
+        publishEvent(ResourceEvent.resourceCreated(resourceDoc.getInteger("resourceId")));
         return resourceDoc.getInteger("resourceId");
     }
 
@@ -128,15 +220,79 @@ public class ResourceDAOImpl implements ResourceDAO {
      * {@inheritDoc}
      */
     @Override
-    public void editResource(Credentials user, int id, Resource resource) {
+    public List<BatchItemResult> insertResources(Credentials user, List<Resource> resources) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to edit resource with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.RESOURCE)) {
+            logger.error(String.format("User %d with role %s denied permission to insert resources.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to insert resources.");
         }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor")) {
+        // Check for null batch
+        if (resources == null) {
+            logger.error("Attempted to insert null list of resources.");
+            throw new IllegalArgumentException("Resources cannot be null.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[resources.size()];
+        List<Integer> itemIndexes = new ArrayList<Integer>();
+        for (int i = 0; i < resources.size(); i++) {
+            if (resources.get(i) == null) {
+                results[i] = BatchItemResult.failure(i, "Resource cannot be null.");
+            } else {
+                itemIndexes.add(i);
+            }
+        }
+        if (itemIndexes.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Reserve IDs for every valid resource in one counter update
+        int nextId = counterDAO.reserveResourceIds(itemIndexes.size());
+
+        long lastModified = System.currentTimeMillis();
+        List<Document> resourceDocs = new ArrayList<Document>(itemIndexes.size());
+        for (int itemIndex : itemIndexes) {
+            Resource resource = resources.get(itemIndex);
+            resourceDocs.add(new Document()
+                .append("resourceId", nextId++)
+                .append("title", resource.getTitle())
+                .append("description", resource.getDescription())
+                .append("url", resource.getUrl())
+                .append("creatorId", user.getId())
+                .append("firstName", user.getFirstName())
+                .append("lastName", user.getLastName())
+                .append("dateCreated", resource.getCreationDate())
+                .append("isEdited", resource.getIsEdited())
+                .append("lastModified", lastModified));
+        }
+
+        // Write the batch and release the counters of any resource that was rejected
+        List<Integer> failedPositions = BatchWriter.insertUnordered(this.resources, resourceDocs, itemIndexes, "resourceId", results);
+        for (int position : failedPositions) {
+            counterDAO.removeResourceCounters(resourceDocs.get(position).getInteger("resourceId"));
+        }
+
+        logger.info(String.format("User %d inserted %d of %d resources in a batch.", 
+            user.getId(), resourceDocs.size() - failedPositions.size(), resources.size()));
+        for (BatchItemResult result : results) {
+            if (result.isSuccess()) {
+                publishEvent(ResourceEvent.resourceCreated(result.getRecordId()));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editResource(Credentials user, int id, Resource resource) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.EDIT, RecordType.RESOURCE)) {
             logger.error(String.format("User %d with role %s denied permission to edit resources.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to edit resources.");
         }
         // Check for null resource
@@ -152,17 +308,12 @@ public class ResourceDAOImpl implements ResourceDAO {
             throw new RecordDoesNotExistException("Failed to find resource to update.");
         }
 
-        // Check ownership for Contributors; Admins can edit any resource
-        if (user.getSystemRole().equals("Contributor")) {
-            // Allow editing only if the user is the original creator of the resource.
-            Integer creatorId = doc.getInteger("creatorId");
-            boolean isCreator = creatorId != null && creatorId.equals(user.getId());
-
-            if (!isCreator) {
-                logger.error(String.format("User %d denied permission to edit resource %d because they are not the creator.", 
-                    user.getId(), id));
-                throw new AuthorizationException("User does not have permission to edit this resource because they are not the creator.");
-            }
+        // Contributors may only edit their own resources; Admins can edit any resource.
+        // A resource with no recorded creator belongs to nobody.
+        if (!access.allows(Operation.EDIT, RecordType.RESOURCE, doc.getInteger("creatorId", -1))) {
+            logger.error(String.format("User %d denied permission to edit resource %d because they are not the creator.", 
+                user.getId(), id));
+            throw new AuthorizationException("User does not have permission to edit this resource because they are not the creator.");
         }
 
         // Update the resource document
@@ -171,7 +322,8 @@ public class ResourceDAOImpl implements ResourceDAO {
             Updates.set("title", resource.getTitle()),
             Updates.set("description", resource.getDescription()),
             Updates.set("url", resource.getUrl()),
-            Updates.set("isEdited", true)
+            Updates.set("isEdited", true),
+            Updates.set("lastModified", System.currentTimeMillis())
         );
         UpdateResult result = resources.updateOne(filter, updateResource);
 
@@ -180,7 +332,9 @@ public class ResourceDAOImpl implements ResourceDAO {
             logger.error(String.format("Resource %d not found for editing by user %d.", id, user.getId()));
             throw new RecordDoesNotExistException("Resource not found for editing.");
         } else {
+            invalidateCachedResource(id);
             logger.info(String.format("User %d edited resource %d.", user.getId(), id));
+            publishEvent(ResourceEvent.resourceEdited(id));
         }
     }
 
@@ -190,13 +344,10 @@ public class ResourceDAOImpl implements ResourceDAO {
     @Override
     public void removeResource(Credentials user, int id) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to delete resource with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.REMOVE, RecordType.RESOURCE)) {
             logger.error(String.format("User %d with role %s denied permission to delete resources.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to delete resources.");
         }
 
@@ -207,17 +358,12 @@ public class ResourceDAOImpl implements ResourceDAO {
             throw new RecordDoesNotExistException("Failed to find resource for removal.");
         }
 
-        // Check ownership for Contributors; Admins can delete any resource
-        if (user.getSystemRole().equals("Contributor")) {
-            // Allow deletion only if the user is the original creator of the resource.
-            Integer creatorId = doc.getInteger("creatorId");
-            boolean isCreator = creatorId != null && creatorId.equals(user.getId());
-
-            if (!isCreator) {
-                logger.error(String.format("User %d denied permission to delete resource %d because they are not the creator.", 
-                    user.getId(), id));
-                throw new AuthorizationException("User does not have permission to delete this resource because they are not the creator.");
-            }
+        // Contributors may only delete their own resources; Admins can delete any resource.
+        // A resource with no recorded creator belongs to nobody.
+        if (!access.allows(Operation.REMOVE, RecordType.RESOURCE, doc.getInteger("creatorId", -1))) {
+            logger.error(String.format("User %d denied permission to delete resource %d because they are not the creator.", 
+                user.getId(), id));
+            throw new AuthorizationException("User does not have permission to delete this resource because they are not the creator.");
         }
 
         // Delete the resource document
@@ -229,7 +375,10 @@ public class ResourceDAOImpl implements ResourceDAO {
             comments.deleteMany(Filters.eq("resourceId", id));
             upvotes.deleteMany(Filters.eq("resourceId", id));
             flags.deleteMany(Filters.eq("resourceId", id));
+            tombstones.insertOne(ChangeTracking.tombstone("resource", id, id, System.currentTimeMillis()));
+            invalidateCachedResource(id);
             logger.info(String.format("User %d removed resource %d.", user.getId(), id));
+            publishEvent(ResourceEvent.resourceRemoved(id));
         } else {
             logger.error(String.format("User %d failed to remove resource %d.", user.getId(), id));
             throw new RecordDoesNotExistException("Failed to find resource for removal.");
@@ -266,13 +415,58 @@ public class ResourceDAOImpl implements ResourceDAO {
         return resource;
     }
 
+    /**
+     * Converts a projected MongoDB Document to a Resource object.
+     * <p>
+     * Only the fields included in the view are copied, since the rest were not read.
+     * 
+     * @param doc the projected MongoDB document to convert
+     * @param view the fields that were read
+     * @return a Resource object populated with the fields in the view
+     */
+    private Resource convertProjectedDocumentToResource(Document doc, ResourceView view) {
+        Resource resource = new Resource();
+        resource.setId(doc.getInteger("resourceId"));
+        resource.setCreatorId(doc.getInteger("creatorId"));
+        if (view.includes("title")) {
+            resource.setTitle(doc.getString("title"));
+        }
+        if (view.includes("description")) {
+            resource.setDescription(doc.getString("description"));
+        }
+        if (view.includes("url")) {
+            resource.setUrl(doc.getString("url"));
+        }
+        if (view.includes("creationDate")) {
+            resource.setCreationDate(doc.getDate("dateCreated"));
+        }
+        if (view.includes("firstName")) {
+            resource.setFirstName(doc.getString("firstName"));
+        }
+        if (view.includes("lastName")) {
+            resource.setLastName(doc.getString("lastName"));
+        }
+        if (view.includes("isEdited")) {
+            resource.setIsEdited(doc.getBoolean("isEdited", false));
+        }
+        return resource;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<Resource> listAllResources(Credentials user) {
+        return listAllResources(user, ResourceView.full());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Resource> listAllResources(Credentials user, ResourceView view) {
         // List resources using listResources helper with empty filters (lists all in default order)
-        return listResources(user, new Document(), new Document());
+        return listResources(user, new Document(), new Document(), view);
     }
 
     /**
@@ -280,8 +474,16 @@ public class ResourceDAOImpl implements ResourceDAO {
      */
     @Override
     public List<Resource> listOwnResources(Credentials user) {
+        return listOwnResources(user, ResourceView.full());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Resource> listOwnResources(Credentials user, ResourceView view) {
         Bson findByCreatorId = Filters.eq("creatorId", user.getId());
-        return listResources(user, findByCreatorId, new Document());
+        return listResources(user, findByCreatorId, new Document(), view);
     }
 
     /**
@@ -289,14 +491,49 @@ public class ResourceDAOImpl implements ResourceDAO {
      */
     @Override
     public Resource getResourceById(Credentials user, int id) {
-        Bson findById = Filters.eq("resourceId", id);
-        return listResources(user, findById, new Document())
-                .stream()
-                .findFirst()
-                .orElseThrow(() -> {
-                    logger.error(String.format("Resource %d not found for retrieval by user %d.", id, user.getId()));
-                    return new RecordDoesNotExistException("Resource not found.");
-                });
+        AccessPolicy access = checkCanRetrieve(user);
+        // Read through the resource cache when one is configured
+        ResourceSnapshot snapshot = findSnapshots(List.of(id)).get(id);
+        if (snapshot == null) {
+            logger.error(String.format("Resource %d not found for retrieval by user %d.", id, user.getId()));
+            throw new RecordDoesNotExistException("Resource not found.");
+        }
+        return PermissionOverlay.forPolicy(access).toResource(snapshot);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Resource> getResourcesById(Credentials user, List<Integer> ids) {
+        AccessPolicy access = checkCanRetrieve(user);
+        // Check for a null or oversized list of IDs
+        if (ids == null) {
+            logger.error("Attempted to retrieve a null list of resources.");
+            throw new IllegalArgumentException("Resource IDs cannot be null.");
+        }
+        if (ids.size() > MAX_BATCH_GET_SIZE) {
+            logger.error(String.format("User %d requested %d resources, more than the limit of %d.", 
+                user.getId(), ids.size(), MAX_BATCH_GET_SIZE));
+            throw new InvalidRequestException(String.format("At most %d resources may be retrieved at once.", MAX_BATCH_GET_SIZE));
+        }
+        for (Integer id : ids) {
+            if (id == null) {
+                logger.error("Attempted to retrieve a resource with a null ID.");
+                throw new InvalidRequestException("Resource IDs cannot be null.");
+            }
+        }
+
+        Map<Integer, ResourceSnapshot> snapshots = findSnapshots(ids);
+        PermissionOverlay overlay = PermissionOverlay.forPolicy(access);
+        List<Resource> results = new ArrayList<Resource>(ids.size());
+        for (int id : ids) {
+            ResourceSnapshot snapshot = snapshots.get(id);
+            results.add(snapshot == null ? null : overlay.toResource(snapshot));
+        }
+
+        logger.info(String.format("User %d retrieved %d of %d requested resources.", user.getId(), snapshots.size(), ids.size()));
+        return results;
     }
 
     /**
@@ -304,9 +541,17 @@ public class ResourceDAOImpl implements ResourceDAO {
      */
     @Override
     public List<Resource> listResourcesByKeywords(Credentials user, KeywordList keywords) {
+        return listResourcesByKeywords(user, keywords, ResourceView.full());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Resource> listResourcesByKeywords(Credentials user, KeywordList keywords, ResourceView view) {
         // Check for null or empty keywords
         if(keywords == null || keywords.getKeywords().isEmpty()) {
-            return listAllResources(user);
+            return listAllResources(user, view);
         }
         // Create new text index if not already present
         createTextIndex();
@@ -315,7 +560,7 @@ public class ResourceDAOImpl implements ResourceDAO {
         Bson findByKeyword = Filters.text(keywords.toString(), searchOptions);
         Document sortByWeight = new Document("weight", -1);
         // List resources using listResources helper with the constructed filters
-        return listResources(user, findByKeyword, sortByWeight);
+        return listResources(user, findByKeyword, sortByWeight, view);
     }
 
     /**
@@ -323,24 +568,22 @@ public class ResourceDAOImpl implements ResourceDAO {
      * <p>
      * This method retrieves resources from the database that match the specified filter,
      * sorts them according to the provided sort criteria, and populates associated comments,
-     * flags, and upvotes. It also sets front-end permission flags based on the user's
-     * system role and ownership of the resources.
+     * flags, and upvotes. The front-end permission flags are set by a PermissionOverlay
+     * for the user once the resources are built.
+     * <p>
+     * The full view is built from resource snapshots, through the resource cache when one
+     * is configured. For any other view, only the fields in the view are read, child
+     * counts are computed with aggregations, and child collections the view does not need
+     * are not queried.
      * @param user the credentials of the user requesting the resources
      * @param findFilter the filter criteria to apply when retrieving resources
      * @param sortFilter the sort criteria to apply when retrieving resources
+     * @param view the fields to return
      * @return
      */
-    private List<Resource> listResources(Credentials user, Bson findFilter, Document sortFilter) {
+    private List<Resource> listResources(Credentials user, Bson findFilter, Document sortFilter, ResourceView view) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to list resources with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
-            logger.error(String.format("User %d with role %s denied permission to retrieve resources.", 
-                user.getId(), user.getSystemRole()));
-            throw new AuthorizationException("User does not have a valid system role.");
-        }
+        AccessPolicy access = checkCanRetrieve(user);
         // Check for null filters
         if (findFilter == null) {
             logger.error("Attempted to list resources with null findFilter.");
@@ -350,23 +593,35 @@ public class ResourceDAOImpl implements ResourceDAO {
             logger.error("Attempted to list resources with null sortFilter.");
             throw new IllegalArgumentException("Sort filter cannot be null.");
         }
+        if (view == null) {
+            logger.error("Attempted to list resources with null view.");
+            throw new IllegalArgumentException("Resource view cannot be null.");
+        }
+
+        PermissionOverlay overlay = PermissionOverlay.forPolicy(access);
+        if (view.isFull()) {
+            List<Resource> results = new ArrayList<Resource>();
+            for (ResourceSnapshot snapshot : listSnapshots(findFilter, sortFilter)) {
+                results.add(overlay.toResource(snapshot));
+            }
+            return results;
+        }
 
         // Linked hash map to maintain insertion order while allowing quick access by resource ID
         Map<Integer, Resource> resourceMap = new LinkedHashMap<Integer, Resource>();
 
-        // Load resources based on the provided filters
-        resources.find(findFilter).sort(sortFilter).forEach(resDoc -> {
-            Resource resource = convertDocumentToResource(resDoc);
-            resource.setComments(new ArrayList<Comment>());
-            resource.setReviewFlags(new ArrayList<ReviewFlag>());
-            resource.setUpvotes(new ArrayList<Upvote>());
-
-            // Set front end flags for current user
-            if(user.getSystemRole().equals("Admin") || resDoc.getInteger("creatorId") == user.getId()) {
-                resource.setCurrentUserCanDelete(true);
-                resource.setCurrentUserCanEdit(true);
+        // Load resources based on the provided filters, reading only the fields the view needs
+        Bson viewFields = Projections.fields(
+            Projections.include(new ArrayList<String>(view.getDatabaseFields())),
+            Projections.excludeId());
+        resources.find(findFilter).projection(viewFields).sort(sortFilter).forEach(resDoc -> {
+            Resource resource = convertProjectedDocumentToResource(resDoc, view);
+            if (view.includes("comments")) {
+                resource.setComments(new ArrayList<Comment>());
+            }
+            if (view.includes("reviewFlags")) {
+                resource.setReviewFlags(new ArrayList<ReviewFlag>());
             }
-
             resourceMap.put(resource.getId(), resource);
         });
 
@@ -378,85 +633,504 @@ public class ResourceDAOImpl implements ResourceDAO {
         // Load comments, flags, and upvotes for the retrieved resources
         Bson resourceIdFilter = Filters.in("resourceId", resourceMap.keySet());
 
-        // Load comments
+        // Load comments, or only count them if the view does not need the comments themselves
+        if (view.includes("comments")) {
+            loadComments(resourceMap, resourceIdFilter);
+            for (Resource resource : resourceMap.values()) {
+                resource.setCommentCount(resource.getComments().size());
+            }
+        } else if (view.includes("commentCount")) {
+            countComments(resourceMap, resourceIdFilter);
+        }
+
+        // Load flags
+        if (view.includes("reviewFlags")) {
+            loadReviewFlags(resourceMap, resourceIdFilter);
+        }
+
+        // Count upvotes; only the full view returns the upvotes themselves
+        if (view.includes("upvoteCount")) {
+            countUpvotes(access, resourceMap, resourceIdFilter);
+        }
+
+        List<Resource> results = new ArrayList<Resource>(resourceMap.size());
+        for (Resource resource : resourceMap.values()) {
+            results.add(overlay.applyTo(resource));
+        }
+        return results;
+    }
+
+    /**
+     * Checks that a user may retrieve resources.
+     * @param user the credentials of the user requesting the resources
+     * @return the user's permissions, for the permission overlay of the results
+     * @throws IllegalArgumentException if the credentials are null
+     * @throws AuthorizationException if the user does not have a valid system role
+     */
+    private AccessPolicy checkCanRetrieve(Credentials user) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.VIEW, RecordType.RESOURCE)) {
+            logger.error(String.format("User %d with role %s denied permission to retrieve resources.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User does not have a valid system role.");
+        }
+        return access;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResourceSnapshot> listAllResourceSnapshots(Credentials user) {
+        checkCanRetrieve(user);
+        return listSnapshots(new Document(), new Document());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResourceSnapshot> listOwnResourceSnapshots(Credentials user) {
+        checkCanRetrieve(user);
+        return listSnapshots(Filters.eq("creatorId", user.getId()), new Document());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ResourceSnapshot> listResourceSnapshotsByKeywords(Credentials user, KeywordList keywords) {
+        checkCanRetrieve(user);
+        if(keywords == null || keywords.getKeywords().isEmpty()) {
+            return listSnapshots(new Document(), new Document());
+        }
+        createTextIndex();
+        TextSearchOptions searchOptions = new TextSearchOptions().caseSensitive(false);
+        Bson findByKeyword = Filters.text(keywords.toString(), searchOptions);
+        return listSnapshots(findByKeyword, new Document("weight", -1));
+    }
+
+    /**
+     * Lists the snapshots of the resources matching a filter.
+     * <p>
+     * Only resource IDs are read for the filter. Snapshots found in the resource cache are
+     * reused; the rest are read from the database with one query per collection and cached.
+     * @param findFilter the filter criteria to apply when retrieving resources
+     * @param sortFilter the sort criteria to apply when retrieving resources
+     * @return the snapshots of the matching resources in sort order
+     */
+    private List<ResourceSnapshot> listSnapshots(Bson findFilter, Document sortFilter) {
+        List<Integer> resourceIds = new ArrayList<Integer>();
+        resources.find(findFilter)
+                 .projection(Projections.fields(Projections.include("resourceId"), Projections.excludeId()))
+                 .sort(sortFilter)
+                 .forEach(idDoc -> resourceIds.add(idDoc.getInteger("resourceId")));
+
+        Map<Integer, ResourceSnapshot> snapshots = findSnapshots(resourceIds);
+
+        // A resource removed between the two reads is simply left out
+        List<ResourceSnapshot> results = new ArrayList<ResourceSnapshot>(resourceIds.size());
+        for (int resourceId : resourceIds) {
+            ResourceSnapshot snapshot = snapshots.get(resourceId);
+            if (snapshot != null) {
+                results.add(snapshot);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Finds the snapshots of the given resources.
+     * <p>
+     * Snapshots found in the resource cache are reused; the rest are read from the database
+     * with one query per collection and cached.
+     * @param resourceIds the IDs of the resources to find
+     * @return the snapshots of the resources that exist, by resource ID
+     */
+    private Map<Integer, ResourceSnapshot> findSnapshots(List<Integer> resourceIds) {
+        long stamp = resourceCache == null ? 0 : resourceCache.stamp();
+
+        Map<Integer, ResourceSnapshot> snapshots = new HashMap<Integer, ResourceSnapshot>();
+        List<Integer> missingIds = new ArrayList<Integer>();
+        for (int resourceId : new LinkedHashSet<Integer>(resourceIds)) {
+            ResourceSnapshot cached = resourceCache == null ? null : resourceCache.get(resourceId);
+            if (cached != null) {
+                snapshots.put(resourceId, cached);
+            } else {
+                missingIds.add(resourceId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            for (ResourceSnapshot loaded : loadResourceSnapshots(missingIds)) {
+                if (resourceCache != null) {
+                    resourceCache.put(loaded, stamp);
+                }
+                snapshots.put(loaded.getId(), loaded);
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Reads the snapshots of the given resources with one query per collection.
+     * @param resourceIds the IDs of the resources to read
+     * @return the snapshots of the resources that exist
+     */
+    private List<ResourceSnapshot> loadResourceSnapshots(List<Integer> resourceIds) {
+        Bson resourceIdFilter = Filters.in("resourceId", resourceIds);
+
+        Map<Integer, Document> resourceDocs = new LinkedHashMap<Integer, Document>();
+        resources.find(resourceIdFilter).forEach(resDoc -> resourceDocs.put(resDoc.getInteger("resourceId"), resDoc));
+
+        Map<Integer, List<RecordSnapshot>> commentSnapshots = new HashMap<Integer, List<RecordSnapshot>>();
+        comments.find(resourceIdFilter).forEach(commentDoc -> 
+            commentSnapshots.computeIfAbsent(commentDoc.getInteger("resourceId"), id -> new ArrayList<RecordSnapshot>())
+                            .add(new RecordSnapshot(convertDocumentToComment(commentDoc))));
+        Map<Integer, List<RecordSnapshot>> flagSnapshots = new HashMap<Integer, List<RecordSnapshot>>();
+        flags.find(resourceIdFilter).forEach(flagDoc -> 
+            flagSnapshots.computeIfAbsent(flagDoc.getInteger("resourceId"), id -> new ArrayList<RecordSnapshot>())
+                         .add(new RecordSnapshot(convertDocumentToReviewFlag(flagDoc))));
+        Map<Integer, List<RecordSnapshot>> upvoteSnapshots = new HashMap<Integer, List<RecordSnapshot>>();
+        upvotes.find(resourceIdFilter).forEach(upvoteDoc -> 
+            upvoteSnapshots.computeIfAbsent(upvoteDoc.getInteger("resourceId"), id -> new ArrayList<RecordSnapshot>())
+                           .add(new RecordSnapshot(convertDocumentToUpvote(upvoteDoc))));
+
+        List<ResourceSnapshot> snapshots = new ArrayList<ResourceSnapshot>(resourceDocs.size());
+        for (Map.Entry<Integer, Document> entry : resourceDocs.entrySet()) {
+            int resourceId = entry.getKey();
+            snapshots.add(new ResourceSnapshot(
+                convertDocumentToResource(entry.getValue()),
+                commentSnapshots.getOrDefault(resourceId, List.of()),
+                flagSnapshots.getOrDefault(resourceId, List.of()),
+                upvoteSnapshots.getOrDefault(resourceId, List.of())));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Loads the comments of the listed resources.
+     * @param resourceMap the listed resources by resource ID
+     * @param resourceIdFilter a filter matching the listed resource IDs
+     */
+    private void loadComments(Map<Integer, Resource> resourceMap, Bson resourceIdFilter) {
         comments.find(resourceIdFilter).forEach(commentDoc -> {
             Resource parent = resourceMap.get(commentDoc.getInteger("resourceId"));
             if (parent != null) {
-                Comment comment = new Comment();
-                comment.setId(commentDoc.getInteger("commentId"));
-                comment.setCreatorId(commentDoc.getInteger("creatorId"));
-                comment.setFirstName(commentDoc.getString("firstName"));
-                comment.setLastName(commentDoc.getString("lastName"));
-                comment.setIsEdited(commentDoc.getBoolean("isEdited", false));
-                comment.setCreationDate(commentDoc.getDate("dateCreated"));
-                comment.setContents(commentDoc.getString("contents"));
-
-                // Set front end flags for current user
-                if(user.getSystemRole().equals("Admin") || commentDoc.getInteger("creatorId") == user.getId()) {
-                    comment.setCurrentUserCanDelete(true);
-                    comment.setCurrentUserCanEdit(commentDoc.getInteger("creatorId") == user.getId());
-                }
-
                 List<Comment> comments = parent.getComments();
-                comments.add(comment);
+                comments.add(convertDocumentToComment(commentDoc));
             } else {
                 logger.warn("Comment in database without a parent post.");
             }
         });
+    }
 
-        // Load flags
+    /**
+     * Converts a comment document to a Comment object without any per-user flags.
+     * @param commentDoc the comment document to convert
+     * @return the comment
+     */
+    private Comment convertDocumentToComment(Document commentDoc) {
+        Comment comment = new Comment();
+        comment.setId(commentDoc.getInteger("commentId"));
+        comment.setCreatorId(commentDoc.getInteger("creatorId"));
+        comment.setFirstName(commentDoc.getString("firstName"));
+        comment.setLastName(commentDoc.getString("lastName"));
+        comment.setIsEdited(commentDoc.getBoolean("isEdited", false));
+        comment.setCreationDate(commentDoc.getDate("dateCreated"));
+        comment.setContents(commentDoc.getString("contents"));
+        return comment;
+    }
+
+    /**
+     * Loads the review flags of the listed resources.
+     * @param resourceMap the listed resources by resource ID
+     * @param resourceIdFilter a filter matching the listed resource IDs
+     */
+    private void loadReviewFlags(Map<Integer, Resource> resourceMap, Bson resourceIdFilter) {
         flags.find(resourceIdFilter).forEach(flagDoc -> {
             Resource parent = resourceMap.get(flagDoc.getInteger("resourceId"));
             if (parent != null) {
-                ReviewFlag flag = new ReviewFlag();
-                flag.setId(flagDoc.getInteger("flagId"));
-                flag.setCreatorId(flagDoc.getInteger("creatorId"));
-                flag.setFirstName(flagDoc.getString("firstName"));
-                flag.setLastName(flagDoc.getString("lastName"));
-                flag.setIsEdited(flagDoc.getBoolean("isEdited", false));
-                flag.setCreationDate(flagDoc.getDate("dateCreated"));
-                flag.setContents(flagDoc.getString("contents"));
-
-                // Set front end flags for current user
-                if(user.getSystemRole().equals("Admin") || flagDoc.getInteger("creatorId") == user.getId()) {
-                    flag.setCurrentUserCanDelete(true);
-                    flag.setCurrentUserCanEdit(flagDoc.getInteger("creatorId") == user.getId());
-                }
-
                 List<ReviewFlag> flags = parent.getReviewFlags();
-                flags.add(flag);
+                flags.add(convertDocumentToReviewFlag(flagDoc));
             } else {
                 logger.warn("Flag in database without a parent post.");
             }
         });
+    }
+
+    /**
+     * Converts a review flag document to a ReviewFlag object without any per-user flags.
+     * @param flagDoc the review flag document to convert
+     * @return the review flag
+     */
+    private ReviewFlag convertDocumentToReviewFlag(Document flagDoc) {
+        ReviewFlag flag = new ReviewFlag();
+        flag.setId(flagDoc.getInteger("flagId"));
+        flag.setCreatorId(flagDoc.getInteger("creatorId"));
+        flag.setFirstName(flagDoc.getString("firstName"));
+        flag.setLastName(flagDoc.getString("lastName"));
+        flag.setIsEdited(flagDoc.getBoolean("isEdited", false));
+        flag.setCreationDate(flagDoc.getDate("dateCreated"));
+        flag.setContents(flagDoc.getString("contents"));
+        return flag;
+    }
+
+    /**
+     * Converts an upvote document to an Upvote object without any per-user flags.
+     * @param upvoteDoc the upvote document to convert
+     * @return the upvote
+     */
+    private Upvote convertDocumentToUpvote(Document upvoteDoc) {
+        Upvote upvote = new Upvote();
+        upvote.setId(upvoteDoc.getInteger("upvoteId"));
+        upvote.setCreatorId(upvoteDoc.getInteger("creatorId"));
+        upvote.setFirstName(upvoteDoc.getString("firstName"));
+        upvote.setLastName(upvoteDoc.getString("lastName"));
+        upvote.setCreationDate(upvoteDoc.getDate("dateCreated"));
+        return upvote;
+    }
+
+    /**
+     * Counts the comments of the listed resources with a single aggregation.
+     * @param resourceMap the listed resources by resource ID
+     * @param resourceIdFilter a filter matching the listed resource IDs
+     */
+    private void countComments(Map<Integer, Resource> resourceMap, Bson resourceIdFilter) {
+        comments.aggregate(Arrays.asList(
+            Aggregates.match(resourceIdFilter),
+            Aggregates.group("$resourceId", Accumulators.sum("count", 1))
+        )).forEach(countDoc -> {
+            Resource parent = resourceMap.get(countDoc.getInteger("_id"));
+            if (parent != null) {
+                parent.setCommentCount(countDoc.getInteger("count"));
+            }
+        });
+    }
 
-        // Load upvotes
-        upvotes.find(resourceIdFilter).forEach(upvoteDoc -> {
-            Resource parent = resourceMap.get(upvoteDoc.getInteger("resourceId"));
+    /**
+     * Counts the upvotes of the listed resources and finds the current user's upvote
+     * with a single aggregation.
+     * @param access the permissions of the user requesting the resources
+     * @param resourceMap the listed resources by resource ID
+     * @param resourceIdFilter a filter matching the listed resource IDs
+     */
+    private void countUpvotes(AccessPolicy access, Map<Integer, Resource> resourceMap, Bson resourceIdFilter) {
+        Document currentUserUpvoteId = new Document("$cond", Arrays.asList(
+            new Document("$eq", Arrays.asList("$creatorId", access.getUserId())), "$upvoteId", -1));
+        upvotes.aggregate(Arrays.asList(
+            Aggregates.match(resourceIdFilter),
+            Aggregates.group("$resourceId",
+                Accumulators.sum("count", 1),
+                Accumulators.max("currentUserUpvoteId", currentUserUpvoteId))
+        )).forEach(countDoc -> {
+            Resource parent = resourceMap.get(countDoc.getInteger("_id"));
             if (parent != null) {
-                Upvote upvote = new Upvote();
-                upvote.setId(upvoteDoc.getInteger("upvoteId"));
-                upvote.setCreatorId(upvoteDoc.getInteger("creatorId"));
-                upvote.setFirstName(upvoteDoc.getString("firstName"));
-                upvote.setLastName(upvoteDoc.getString("lastName"));
-                upvote.setCreationDate(upvoteDoc.getDate("dateCreated"));
-
-                // Set front end flags for current user and upvote count
-                parent.incrementUpvoteCount();
-                if (upvoteDoc.getInteger("creatorId") == user.getId()) {
-                    upvote.setCurrentUserCanDelete(true);
+                parent.setUpvoteCount(countDoc.getInteger("count"));
+                int upvoteId = countDoc.getInteger("currentUserUpvoteId");
+                if (upvoteId >= 0) {
                     parent.setUpvotedByCurrentUser(true);
-                    parent.setCurrentUserUpvoteId(upvoteDoc.getInteger("upvoteId"));
+                    parent.setCurrentUserUpvoteId(upvoteId);
                 }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int exportResources(Credentials user, Writer out) throws IOException {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.EXPORT, RecordType.RESOURCE)) {
+            logger.error(String.format("User %d with role %s denied permission to export resources.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to export resources.");
+        }
+        // Check for null writer
+        if (out == null) {
+            logger.error("Attempted to export resources to a null writer.");
+            throw new IllegalArgumentException("Writer cannot be null.");
+        }
+
+        // Merge the sorted child cursors into the sorted resource cursor one resource at a time
+        int exported = 0;
+        try (MongoCursor<Document> resourceCursor = exportCursor(resources, Sorts.ascending("resourceId"));
+             SortedChildCursor commentCursor = new SortedChildCursor(exportCursor(comments, Sorts.ascending("resourceId", "commentId")), "comment");
+             SortedChildCursor flagCursor = new SortedChildCursor(exportCursor(flags, Sorts.ascending("resourceId", "flagId")), "flag");
+             SortedChildCursor upvoteCursor = new SortedChildCursor(exportCursor(upvotes, Sorts.ascending("resourceId", "upvoteId")), "upvote")) {
+            while (resourceCursor.hasNext()) {
+                Document resDoc = resourceCursor.next();
+                int resourceId = resDoc.getInteger("resourceId");
+                resDoc.append("comments", commentCursor.childrenOf(resourceId))
+                      .append("reviewFlags", flagCursor.childrenOf(resourceId))
+                      .append("upvotes", upvoteCursor.childrenOf(resourceId));
+                out.write(resDoc.toJson(EXPORT_JSON_SETTINGS));
+                out.write('\n');
+                exported++;
+            }
+        }
+        out.flush();
+
+        logger.info(String.format("User %d exported %d resources.", user.getId(), exported));
+        return exported;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long writeChanges(Credentials user, long since, Writer out) throws IOException {
+        checkCanRetrieve(user);
+        // Check for null writer and invalid watermark
+        if (out == null) {
+            logger.error("Attempted to write changes to a null writer.");
+            throw new IllegalArgumentException("Writer cannot be null.");
+        }
+        if (since < 0) {
+            logger.error(String.format("User %d requested changes since invalid watermark %d.", user.getId(), since));
+            throw new IllegalArgumentException("Watermark cannot be negative.");
+        }
+        createChangeIndexes();
+
+        // Leave recent writes for the next sync, since one may commit after this read
+        long now = System.currentTimeMillis();
+        long watermark = Math.max(since, now - CHANGE_SETTLE_MILLIS);
+        boolean fullSyncRequired = since > 0 && since < now - TimeUnit.DAYS.toMillis(ChangeTracking.TOMBSTONE_RETENTION_DAYS);
 
-                List<Upvote> upvotes = parent.getUpvotes();
-                upvotes.add(upvote);
+        out.write(String.format("{\"watermark\":%d,\"fullSyncRequired\":%b", watermark, fullSyncRequired));
+        int written = 0;
+        if (!fullSyncRequired) {
+            Bson window;
+            if (since == 0) {
+                // Records written before change tracking have no lastModified
+                window = Filters.or(Filters.exists("lastModified", false), Filters.lte("lastModified", watermark));
             } else {
-                logger.warn("Upvote in database without a parent post.");
+                window = Filters.and(Filters.gt("lastModified", since), Filters.lte("lastModified", watermark));
             }
-        });
+            written += writeChangedDocuments(out, "resources", resources, CHANGED_RESOURCE_FIELDS, window);
+            written += writeChangedDocuments(out, "comments", comments, CHANGED_COMMENT_FIELDS, window);
+            written += writeChangedDocuments(out, "reviewFlags", flags, CHANGED_FLAG_FIELDS, window);
+            written += writeChangedUpvoteCounts(out, window, since > 0);
+            if (since > 0) {
+                written += writeChangedDocuments(out, "deleted", tombstones, TOMBSTONE_FIELDS, window);
+            }
+        }
+        out.write('}');
+        out.flush();
+
+        logger.info(String.format("User %d synced %d changes since %d.", user.getId(), written, since));
+        return watermark;
+    }
+
+    /**
+     * Writes the documents of a collection that match a change window as a named JSON array.
+     * @param out the writer that receives the array
+     * @param name the name of the array
+     * @param collection the collection to read
+     * @param fields the projection of the fields to write
+     * @param window the filter matching the changed documents
+     * @return the number of documents written
+     * @throws IOException if writing to the output fails
+     */
+    private int writeChangedDocuments(Writer out, String name, MongoCollection<Document> collection, 
+            Bson fields, Bson window) throws IOException {
+        out.write(",\"" + name + "\":[");
+        int written = 0;
+        try (MongoCursor<Document> cursor = collection.find(window)
+                .projection(fields)
+                .sort(Sorts.ascending("lastModified"))
+                .batchSize(EXPORT_BATCH_SIZE)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                if (written > 0) {
+                    out.write(',');
+                }
+                out.write(cursor.next().toJson(EXPORT_JSON_SETTINGS));
+                written++;
+            }
+        }
+        out.write(']');
+        return written;
+    }
 
-        return new ArrayList<Resource>(resourceMap.values());
+    /**
+     * Writes the current upvote count of every resource whose upvotes changed in a change
+     * window as the upvoteCounts JSON array, rather than the upvotes themselves, since the
+     * listing shows other users' upvotes only as counts.
+     * @param out the writer that receives the array
+     * @param window the filter matching the changed documents
+     * @param includeDeletes whether resources that only lost upvotes are included
+     * @return the number of counts written
+     * @throws IOException if writing to the output fails
+     */
+    private int writeChangedUpvoteCounts(Writer out, Bson window, boolean includeDeletes) throws IOException {
+        Set<Integer> changedIds = new TreeSet<Integer>();
+        upvotes.distinct("resourceId", window, Integer.class).forEach(changedIds::add);
+        if (includeDeletes) {
+            tombstones.distinct("resourceId", Filters.and(Filters.eq("recordType", "upvote"), window), Integer.class)
+                      .forEach(changedIds::add);
+        }
+
+        out.write(",\"upvoteCounts\":[");
+        if (!changedIds.isEmpty()) {
+            Map<Integer, Integer> upvoteCounts = new HashMap<Integer, Integer>();
+            upvotes.aggregate(Arrays.asList(
+                Aggregates.match(Filters.in("resourceId", changedIds)),
+                Aggregates.group("$resourceId", Accumulators.sum("count", 1))
+            )).forEach(countDoc -> upvoteCounts.put(countDoc.getInteger("_id"), countDoc.getInteger("count")));
+            boolean first = true;
+            for (int resourceId : changedIds) {
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(String.format("{\"resourceId\":%d,\"upvoteCount\":%d}", 
+                    resourceId, upvoteCounts.getOrDefault(resourceId, 0)));
+                first = false;
+            }
+        }
+        out.write(']');
+        return changedIds.size();
+    }
+
+    /**
+     * Creates the lastModified indexes that back change syncs, and the index that expires
+     * tombstones.
+     * <p>
+     * Index creation is idempotent in MongoDB, so this only guards against repeating the
+     * request on every sync.
+     */
+    private void createChangeIndexes() {
+        if (!changeIndexesCreated) {
+            for (MongoCollection<Document> collection : List.of(resources, comments, flags, upvotes, tombstones)) {
+                collection.createIndex(Indexes.ascending("lastModified"));
+            }
+            tombstones.createIndex(Indexes.ascending("dateDeleted"), 
+                new IndexOptions().expireAfter(ChangeTracking.TOMBSTONE_RETENTION_DAYS, TimeUnit.DAYS));
+            changeIndexesCreated = true;
+            logger.info("Ensured change tracking indexes.");
+        }
+    }
+
+    /**
+     * Opens an export cursor over a collection in the given order.
+     * <p>
+     * The cursor prefers a secondary node, fetches in fixed-size batches and may sort on
+     * disk, so a large export neither holds the collection in memory nor loads the primary.
+     * 
+     * @param collection the collection to read
+     * @param sort the sort order, which must lead with the resource ID
+     * @return a cursor over the collection without MongoDB object IDs
+     */
+    private MongoCursor<Document> exportCursor(MongoCollection<Document> collection, Bson sort) {
+        return collection.withReadPreference(ReadPreference.secondaryPreferred())
+            .find()
+            .projection(Projections.excludeId())
+            .sort(sort)
+            .batchSize(EXPORT_BATCH_SIZE)
+            .allowDiskUse(true)
+            .cursor();
     }
 
     /**
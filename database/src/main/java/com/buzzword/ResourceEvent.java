@@ -0,0 +1,144 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * A change to a resource or one of its child records, published by the DAOs after the
+ * write succeeds.
+ * <p>
+ * Events are deliberately small: they name what changed so that clients can update a
+ * listing in place or fetch the one resource again, rather than reload every resource.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public class ResourceEvent {
+
+    /**
+     * The kinds of change that are published.
+     */
+    public enum Type {
+        RESOURCE_CREATED,
+        RESOURCE_EDITED,
+        RESOURCE_REMOVED,
+        COMMENT_ADDED,
+        UPVOTE_COUNT_CHANGED
+    }
+
+    private final Type type;
+    private final int resourceId;
+    private final int recordId;
+    private final long upvoteCount;
+
+    /**
+     * Constructs an event.
+     * @param type the kind of change
+     * @param resourceId the ID of the changed resource
+     * @param recordId the ID of the added child record, or -1 if there is none
+     * @param upvoteCount the resource's new upvote count, or -1 if it did not change
+     */
+    private ResourceEvent(Type type, int resourceId, int recordId, long upvoteCount) {
+        this.type = type;
+        this.resourceId = resourceId;
+        this.recordId = recordId;
+        this.upvoteCount = upvoteCount;
+    }
+
+    /**
+     * Creates an event for a new resource.
+     * @param resourceId the ID of the new resource
+     * @return the event
+     */
+    public static ResourceEvent resourceCreated(int resourceId) {
+        return new ResourceEvent(Type.RESOURCE_CREATED, resourceId, -1, -1);
+    }
+
+    /**
+     * Creates an event for an edited resource.
+     * @param resourceId the ID of the edited resource
+     * @return the event
+     */
+    public static ResourceEvent resourceEdited(int resourceId) {
+        return new ResourceEvent(Type.RESOURCE_EDITED, resourceId, -1, -1);
+    }
+
+    /**
+     * Creates an event for a removed resource.
+     * @param resourceId the ID of the removed resource
+     * @return the event
+     */
+    public static ResourceEvent resourceRemoved(int resourceId) {
+        return new ResourceEvent(Type.RESOURCE_REMOVED, resourceId, -1, -1);
+    }
+
+    /**
+     * Creates an event for a comment added to a resource.
+     * @param resourceId the ID of the commented resource
+     * @param commentId the ID of the new comment
+     * @return the event
+     */
+    public static ResourceEvent commentAdded(int resourceId, int commentId) {
+        return new ResourceEvent(Type.COMMENT_ADDED, resourceId, commentId, -1);
+    }
+
+    /**
+     * Creates an event for a resource whose upvote count changed.
+     * @param resourceId the ID of the upvoted resource
+     * @param upvoteCount the new upvote count
+     * @return the event
+     */
+    public static ResourceEvent upvoteCountChanged(int resourceId, long upvoteCount) {
+        return new ResourceEvent(Type.UPVOTE_COUNT_CHANGED, resourceId, -1, upvoteCount);
+    }
+
+    /**
+     * Gets the kind of change.
+     * @return the event type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the changed resource.
+     * @return the resource ID
+     */
+    public int getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * Gets the ID of the added child record.
+     * @return the record ID, or -1 if there is none
+     */
+    public int getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * Gets the resource's new upvote count.
+     * @return the upvote count, or -1 if it did not change
+     */
+    public long getUpvoteCount() {
+        return upvoteCount;
+    }
+}
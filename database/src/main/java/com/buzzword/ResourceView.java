@@ -0,0 +1,185 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes which fields of a resource a listing should return.
+ * <p>
+ * A view is built from the {@code view} and {@code fields} query parameters. The full view
+ * returns every field with embedded comments, review flags and upvotes; any other view only
+ * reads the requested fields from the database and reports children as counts unless the
+ * child lists themselves are requested.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+public final class ResourceView {
+
+    /** Maps each selectable field to the database field it is read from, or null if it is computed. */
+    private static final Map<String, String> SELECTABLE_FIELDS = new LinkedHashMap<String, String>();
+    static {
+        SELECTABLE_FIELDS.put("title", "title");
+        SELECTABLE_FIELDS.put("description", "description");
+        SELECTABLE_FIELDS.put("url", "url");
+        SELECTABLE_FIELDS.put("creatorId", "creatorId");
+        SELECTABLE_FIELDS.put("firstName", "firstName");
+        SELECTABLE_FIELDS.put("lastName", "lastName");
+        SELECTABLE_FIELDS.put("creationDate", "dateCreated");
+        SELECTABLE_FIELDS.put("isEdited", "isEdited");
+        SELECTABLE_FIELDS.put("upvoteCount", null);
+        SELECTABLE_FIELDS.put("commentCount", null);
+        SELECTABLE_FIELDS.put("comments", null);
+        SELECTABLE_FIELDS.put("reviewFlags", null);
+    }
+
+    private static final ResourceView FULL = new ResourceView(SELECTABLE_FIELDS.keySet(), true);
+    private static final ResourceView SUMMARY = new ResourceView(Set.of("title", "url", "upvoteCount", "commentCount"), false);
+
+    private final Set<String> fields;
+    private final boolean full;
+
+    /**
+     * Constructs a view.
+     * @param fields the selectable fields included in the view
+     * @param full whether this is the full view
+     */
+    private ResourceView(Set<String> fields, boolean full) {
+        this.fields = Collections.unmodifiableSet(new LinkedHashSet<String>(fields));
+        this.full = full;
+    }
+
+    /**
+     * Gets the full view, which returns every field and embedded child records.
+     * @return the full view
+     */
+    public static ResourceView full() {
+        return FULL;
+    }
+
+    /**
+     * Gets the summary view, which returns the title, URL, upvote count and comment count.
+     * @return the summary view
+     */
+    public static ResourceView summary() {
+        return SUMMARY;
+    }
+
+    /**
+     * Builds a view from the listing query parameters.
+     * <p>
+     * {@code fields} takes precedence over {@code view}. With neither parameter the full view
+     * is returned.
+     * 
+     * @param view the named view, either "full" or "summary", or null
+     * @param fields a comma-separated list of fields, or null
+     * @return the requested view
+     * @throws InvalidRequestException if the view name or any field is not recognized
+     */
+    public static ResourceView of(String view, String fields) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = new LinkedHashSet<String>();
+            for (String field : fields.split(",")) {
+                String trimmed = field.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (!SELECTABLE_FIELDS.containsKey(trimmed)) {
+                    throw new InvalidRequestException(String.format("Unknown resource field '%s'.", trimmed));
+                }
+                selected.add(trimmed);
+            }
+            return selected.containsAll(SELECTABLE_FIELDS.keySet()) ? FULL : new ResourceView(selected, false);
+        }
+        if (view == null || view.isBlank() || view.equals("full")) {
+            return FULL;
+        }
+        if (view.equals("summary")) {
+            return SUMMARY;
+        }
+        throw new InvalidRequestException(String.format("Unknown resource view '%s'.", view));
+    }
+
+    /**
+     * Gets whether this is the full view.
+     * @return true if every field and embedded child record is returned
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Gets whether a selectable field is included in this view.
+     * @param field the field name
+     * @return true if the field is included
+     */
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Gets the database fields that must be read for this view.
+     * <p>
+     * The resource ID and creator ID are always read, as they are needed to apply the
+     * current user's edit and delete permissions.
+     * 
+     * @return the database field names
+     */
+    public Set<String> getDatabaseFields() {
+        Set<String> databaseFields = new LinkedHashSet<String>();
+        databaseFields.add("resourceId");
+        databaseFields.add("creatorId");
+        for (String field : fields) {
+            String databaseField = SELECTABLE_FIELDS.get(field);
+            if (databaseField != null) {
+                databaseFields.add(databaseField);
+            }
+        }
+        return databaseFields;
+    }
+
+    /**
+     * Gets the JSON properties a response should keep for this view.
+     * <p>
+     * The resource ID and current user permission flags are always kept. The current user's
+     * upvote state is kept whenever the upvote count is.
+     * 
+     * @return the JSON property names
+     */
+    public Set<String> getJsonFields() {
+        Set<String> jsonFields = new LinkedHashSet<String>();
+        jsonFields.add("id");
+        jsonFields.addAll(fields);
+        jsonFields.add("currentUserCanEdit");
+        jsonFields.add("currentUserCanDelete");
+        if (fields.contains("upvoteCount")) {
+            jsonFields.add("upvotedByCurrentUser");
+            jsonFields.add("currentUserUpvoteId");
+        }
+        return jsonFields;
+    }
+}
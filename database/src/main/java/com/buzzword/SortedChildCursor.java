@@ -0,0 +1,92 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+
+import com.mongodb.client.MongoCursor;
+
+/**
+ * Walks a child collection cursor that is sorted by resource ID alongside a sorted
+ * resource cursor, handing back the children of one resource at a time.
+ * <p>
+ * Only the children of the current resource are held in memory, so a full export of the
+ * wiki is a single merge pass over each collection.
+ * 
+ * @author Ted Bjurlin
+ * @version 1.0
+ */
+final class SortedChildCursor implements AutoCloseable {
+
+    private final MongoCursor<Document> cursor;
+    private final String childName;
+    private final Logger logger = LoggerFactory.getEventLogger();
+    private Document next;
+
+    /**
+     * Wraps a cursor over child documents sorted by ascending resource ID.
+     * @param cursor the sorted child cursor
+     * @param childName the child type, used in log messages
+     */
+    SortedChildCursor(MongoCursor<Document> cursor, String childName) {
+        this.cursor = cursor;
+        this.childName = childName;
+        this.next = cursor.hasNext() ? cursor.next() : null;
+    }
+
+    /**
+     * Collects the children of a resource.
+     * <p>
+     * Resources must be requested in ascending ID order. Children whose parent resource
+     * was skipped over are discarded and logged.
+     * 
+     * @param resourceId the ID of the resource whose children to collect
+     * @return the child documents of the resource, possibly empty
+     */
+    List<Document> childrenOf(int resourceId) {
+        List<Document> children = new ArrayList<Document>();
+        while (next != null) {
+            int parentId = next.getInteger("resourceId");
+            if (parentId > resourceId) {
+                break;
+            }
+            if (parentId == resourceId) {
+                children.add(next);
+            } else {
+                logger.warn(String.format("Skipping %s for missing resource %d during export.", childName, parentId));
+            }
+            next = cursor.hasNext() ? cursor.next() : null;
+        }
+        return children;
+    }
+
+    /**
+     * Closes the underlying cursor.
+     */
+    @Override
+    public void close() {
+        cursor.close();
+    }
+}
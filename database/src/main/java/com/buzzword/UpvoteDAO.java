@@ -21,6 +21,8 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.List;
+
 /**
  * This is the interface for the upvote data access object.
  * 
@@ -35,6 +37,18 @@ public interface UpvoteDAO {
      * @param counterDAO the data access object for record Ids
      */
     public void setCounterDAO(CounterDAO counterDAO);
+
+    /**
+     * Set the resource cache to invalidate when a resource's child records change.
+     * @param resourceCache the shared resource cache
+     */
+    public void setResourceCache(ResourceCache resourceCache);
+
+    /**
+     * Set the publisher told about upvote count changes after they are written.
+     * @param eventPublisher the change event publisher
+     */
+    public void setEventPublisher(ResourceEventPublisher eventPublisher);
  
     /**
      * Adds an upvote to the database for the specific resource by the user.
@@ -44,6 +58,18 @@ public interface UpvoteDAO {
      * @param resourceId the ID of the resource to be upvoted
      */
     int addUpvote(Credentials user, Upvote upvote, int resourceId);
+
+    /**
+     * Adds an upvote by the user to each of the given resources at once.
+     * <p>
+     * Existing upvotes are found with a single query and the new upvotes are written with one
+     * unordered insert. Resources the user already upvoted are reported as failed items.
+     * 
+     * @param user the credentials of the user adding the upvotes
+     * @param resourceIds the IDs of the resources to be upvoted
+     * @return one result per submitted resource ID, in submission order
+     */
+    List<BatchItemResult> addUpvotes(Credentials user, List<Integer> resourceIds);
     
     /**
      * Instead of downvoting, a user can remove their upvote from a previously upvoted resource within the database.
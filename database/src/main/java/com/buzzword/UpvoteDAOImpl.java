@@ -21,13 +21,28 @@ package com.buzzword;
  * For more information, please refer to: https://unlicense.org/
 */
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.bson.Document;
 
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.result.DeleteResult;
 
+import com.buzzword.AccessPolicy.Operation;
+import com.buzzword.AccessPolicy.RecordType;
+
 /**
  * This is the UserDAO Implementation file, which handles operations related to users.
  * 
@@ -39,8 +54,11 @@ public class UpvoteDAOImpl
     implements UpvoteDAO {
 
     private final MongoCollection<Document> upvotes;
+    private final MongoCollection<Document> tombstones;
     private final Logger logger = LoggerFactory.getEventLogger();
     private CounterDAO counterDAO;
+    private ResourceCache resourceCache;
+    private ResourceEventPublisher eventPublisher;
 
     /**
      * Constructs an UpvoteDAOImpl with the specified MongoDB database.
@@ -57,6 +75,7 @@ public class UpvoteDAOImpl
             throw new IllegalArgumentException("Database cannot be null.");
         }
         this.upvotes = db.getCollection("upvotes");
+        this.tombstones = db.getCollection(ChangeTracking.TOMBSTONES);
         this.counterDAO = new CounterDAOImpl(db);
     }
 
@@ -73,6 +92,85 @@ public class UpvoteDAOImpl
         this.counterDAO = counterDAO;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResourceCache(ResourceCache resourceCache) {
+        // Check for null ResourceCache
+        if (resourceCache == null) {
+            logger.error("Attempted to set null ResourceCache.");
+            throw new IllegalArgumentException("ResourceCache cannot be null.");
+        }
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEventPublisher(ResourceEventPublisher eventPublisher) {
+        // Check for null ResourceEventPublisher
+        if (eventPublisher == null) {
+            logger.error("Attempted to set null ResourceEventPublisher.");
+            throw new IllegalArgumentException("ResourceEventPublisher cannot be null.");
+        }
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Removes a resource from the resource cache, if one is configured.
+     * @param resourceId the ID of the resource whose child records changed
+     */
+    private void invalidateCachedResource(int resourceId) {
+        if (resourceCache != null) {
+            resourceCache.invalidate(resourceId);
+        }
+    }
+
+    /**
+     * Publishes a resource's new upvote count, if a publisher with subscribers is configured.
+     * The count is only read when someone is listening, and a failed count, like a failing
+     * publisher, does not fail the write that has already been made.
+     * @param resourceId the ID of the upvoted resource
+     */
+    private void publishUpvoteCount(int resourceId) {
+        if (eventPublisher == null || !eventPublisher.hasSubscribers()) {
+            return;
+        }
+        try {
+            long upvoteCount = upvotes.countDocuments(Filters.eq("resourceId", resourceId));
+            eventPublisher.publish(ResourceEvent.upvoteCountChanged(resourceId, upvoteCount));
+        } catch (RuntimeException e) {
+            logger.error(String.format("Failed to publish %s event for resource %d: %s", 
+                ResourceEvent.Type.UPVOTE_COUNT_CHANGED, resourceId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Publishes the new upvote counts of several resources, reading every count with one
+     * query, if a publisher with subscribers is configured.
+     * @param resourceIds the IDs of the upvoted resources
+     */
+    private void publishUpvoteCounts(Set<Integer> resourceIds) {
+        if (eventPublisher == null || resourceIds.isEmpty() || !eventPublisher.hasSubscribers()) {
+            return;
+        }
+        try {
+            Map<Integer, Long> upvoteCounts = new HashMap<Integer, Long>();
+            upvotes.aggregate(Arrays.asList(
+                        Aggregates.match(Filters.in("resourceId", resourceIds)),
+                        Aggregates.group("$resourceId", Accumulators.sum("count", 1))))
+                   .forEach(doc -> upvoteCounts.put(doc.getInteger("_id"), ((Number) doc.get("count")).longValue()));
+            for (int resourceId : resourceIds) {
+                eventPublisher.publish(ResourceEvent.upvoteCountChanged(resourceId, upvoteCounts.getOrDefault(resourceId, 0L)));
+            }
+        } catch (RuntimeException e) {
+            logger.error(String.format("Failed to publish %s events for %d resources: %s", 
+                ResourceEvent.Type.UPVOTE_COUNT_CHANGED, resourceIds.size(), e.getMessage()));
+        }
+    }
+
 
     /**
      * {@inheritDoc}
@@ -80,13 +178,10 @@ public class UpvoteDAOImpl
     @Override
     public int addUpvote(Credentials user, Upvote upvote, int resourceId) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to add upvote with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
-        }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.UPVOTE)) {
             logger.error(String.format("User %d with role %s denied permission to add upvotes.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to add upvotes.");
         }
         // Check for null upvote
@@ -112,12 +207,15 @@ public class UpvoteDAOImpl
             .append("resourceId", resourceId)
             .append("firstName", user.getFirstName())
             .append("lastName", user.getLastName())
-            .append("dateCreated", upvote.getCreationDate());
+            .append("dateCreated", upvote.getCreationDate())
+            .append("lastModified", System.currentTimeMillis());
 
         // Insert the upvote document into the collection
         upvotes.insertOne(upvoteDoc);
 
+        invalidateCachedResource(resourceId);
         logger.info(String.format("User %d added upvote to resource %d.", user.getId(), resourceId));
+        publishUpvoteCount(resourceId);
         
         return upvoteDoc.getInteger("upvoteId");
     }
@@ -126,15 +224,111 @@ public class UpvoteDAOImpl
      * {@inheritDoc}
      */
     @Override
-    public void removeUpvote(Credentials user,  int upvoteId, int resourceId) {
+    public List<BatchItemResult> addUpvotes(Credentials user, List<Integer> resourceIds) {
         // Check for valid authentication and authorization
-        if (user == null || user.getSystemRole() == null) {
-            logger.error("Attempted to delete upvote with null user credentials.");
-            throw new IllegalArgumentException("User credentials cannot be null.");
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.INSERT, RecordType.UPVOTE)) {
+            logger.error(String.format("User %d with role %s denied permission to add upvotes.", 
+                access.getUserId(), access.getRoleName()));
+            throw new AuthorizationException("User is not authorized to add upvotes.");
+        }
+        // Check for null batch
+        if (resourceIds == null) {
+            logger.error("Attempted to add upvotes to null list of resources.");
+            throw new IllegalArgumentException("Resource IDs cannot be null.");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[resourceIds.size()];
+        Set<Integer> requestedIds = new HashSet<Integer>();
+        for (Integer resourceId : resourceIds) {
+            if (resourceId != null) {
+                requestedIds.add(resourceId);
+            }
+        }
+        if (requestedIds.isEmpty()) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = BatchItemResult.failure(i, "Resource ID cannot be null.");
+            }
+            return Arrays.asList(results);
+        }
+
+        // Find every resource in the batch the user has already upvoted with one query
+        Set<Integer> upvotedIds = new HashSet<Integer>();
+        upvotes.find(Filters.and(
+                        Filters.in("resourceId", requestedIds),
+                        Filters.eq("creatorId", user.getId())))
+               .forEach(doc -> upvotedIds.add(doc.getInteger("resourceId")));
+
+        Set<Integer> missingIds = new HashSet<Integer>();
+        Date creationDate = new Date();
+        long lastModified = creationDate.getTime();
+        List<Document> upvoteDocs = new ArrayList<Document>();
+        List<Integer> itemIndexes = new ArrayList<Integer>();
+        for (int i = 0; i < resourceIds.size(); i++) {
+            Integer resourceId = resourceIds.get(i);
+            if (resourceId == null) {
+                results[i] = BatchItemResult.failure(i, "Resource ID cannot be null.");
+                continue;
+            }
+            // A repeat of a missing resource fails the same way as its first occurrence
+            if (missingIds.contains(resourceId)) {
+                results[i] = BatchItemResult.failure(i, "Resource does not exist.");
+                continue;
+            }
+            // Upvotes are unique per user and resource, including repeats within the batch
+            if (upvotedIds.contains(resourceId)) {
+                logger.error(String.format("User %d attempted to add duplicate upvote to resource %d.", user.getId(), resourceId));
+                results[i] = BatchItemResult.failure(i, "Upvote already exists.");
+                continue;
+            }
+            // Upvote IDs are scoped to their resource, so each resource needs its own counter update
+            int upvoteId;
+            try {
+                upvoteId = counterDAO.getNextUpvoteId(resourceId);
+            } catch (RecordDoesNotExistException e) {
+                missingIds.add(resourceId);
+                results[i] = BatchItemResult.failure(i, "Resource does not exist.");
+                continue;
+            }
+            upvotedIds.add(resourceId);
+            upvoteDocs.add(new Document()
+                .append("creatorId", user.getId())
+                .append("upvoteId", upvoteId)
+                .append("resourceId", resourceId)
+                .append("firstName", user.getFirstName())
+                .append("lastName", user.getLastName())
+                .append("dateCreated", creationDate)
+                .append("lastModified", lastModified));
+            itemIndexes.add(i);
+        }
+
+        List<Integer> failedPositions = BatchWriter.insertUnordered(upvotes, upvoteDocs, itemIndexes, "upvoteId", results);
+        for (Document upvoteDoc : upvoteDocs) {
+            invalidateCachedResource(upvoteDoc.getInteger("resourceId"));
         }
-        if (!user.getSystemRole().equals("Admin") && !user.getSystemRole().equals("Contributor") && !user.getSystemRole().equals("Commenter")) {
+
+        logger.info(String.format("User %d added %d of %d upvotes in a batch.", 
+            user.getId(), upvoteDocs.size() - failedPositions.size(), resourceIds.size()));
+        Set<Integer> upvotedResourceIds = new LinkedHashSet<Integer>();
+        for (BatchItemResult result : results) {
+            if (result.isSuccess()) {
+                upvotedResourceIds.add(resourceIds.get(result.getIndex()));
+            }
+        }
+        publishUpvoteCounts(upvotedResourceIds);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeUpvote(Credentials user,  int upvoteId, int resourceId) {
+        // Check for valid authentication and authorization
+        AccessPolicy access = AccessPolicy.forUser(user);
+        if (!access.allows(Operation.REMOVE, RecordType.UPVOTE)) {
             logger.error(String.format("User %d with role %s denied permission to delete upvotes.", 
-                user.getId(), user.getSystemRole()));
+                access.getUserId(), access.getRoleName()));
             throw new AuthorizationException("User is not authorized to delete upvotes.");
         }
 
@@ -146,9 +340,8 @@ public class UpvoteDAOImpl
             throw new RecordDoesNotExistException("Failed to find upvote for removal.");
         }
 
-        // Check if user has permission to delete this upvote
-        // Allow deletion only if the user is the original creator of the upvote
-        if (targetUpvote.getInteger("creatorId") != user.getId()) {
+        // Only the creator of an upvote may delete it
+        if (!access.allows(Operation.REMOVE, RecordType.UPVOTE, targetUpvote.getInteger("creatorId"))) {
             logger.error(String.format("User %d denied permission to delete upvote %d because they are not the creator.", user.getId(), upvoteId));
             throw new AuthorizationException("User does not have permission to delete this upvote because they are not the creator.");
         }
@@ -164,6 +357,9 @@ public class UpvoteDAOImpl
             throw new RecordDoesNotExistException("Failed to find upvote for removal.");
         }
 
+        tombstones.insertOne(ChangeTracking.tombstone("upvote", resourceId, upvoteId, System.currentTimeMillis()));
+        invalidateCachedResource(resourceId);
         logger.info(String.format("User %d removed upvote from resource %d.", user.getId(), resourceId));
+        publishUpvoteCount(resourceId);
     }
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.buzzword;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -9,8 +12,13 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,10 +27,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.result.DeleteResult;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +45,9 @@ public class CommentDAOTest {
     @Mock
     MongoCollection<Document> testCollection;
 
+    @Mock
+    MongoCollection<Document> tombstoneCollection;
+
     @Mock
     CounterDAO mockCounterDAO;
 
@@ -42,6 +56,7 @@ public class CommentDAOTest {
     @BeforeEach
     void setUpDatabase() {
         when(testDatabase.getCollection("comments")).thenReturn(testCollection);
+        when(testDatabase.getCollection("tombstones")).thenReturn(tombstoneCollection);
         commentDAO = new CommentDAOImpl(testDatabase);
         commentDAO.setCounterDAO(mockCounterDAO);
     }
@@ -84,6 +99,7 @@ public class CommentDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("creatorId", 1)
             .append("resourceId", 1)
@@ -98,6 +114,42 @@ public class CommentDAOTest {
             .isEqualTo(expectedDoc);
     }
 
+    @Test
+    void insertPublishesCommentAdded() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.getNextCommentId(1)).thenReturn(4);
+
+        Comment mockComment = mock(Comment.class);
+        ResourceEventPublisher mockPublisher = mock(ResourceEventPublisher.class);
+        commentDAO.setEventPublisher(mockPublisher);
+
+        commentDAO.addComment(mockCredentials, mockComment, 1);
+
+        ArgumentCaptor<ResourceEvent> captor = ArgumentCaptor.forClass(ResourceEvent.class);
+        verify(mockPublisher).publish(captor.capture());
+        Assertions.assertThat(captor.getValue().getType()).isEqualTo(ResourceEvent.Type.COMMENT_ADDED);
+        Assertions.assertThat(captor.getValue().getResourceId()).isEqualTo(1);
+        Assertions.assertThat(captor.getValue().getRecordId()).isEqualTo(4);
+    }
+
+    @Test
+    void failingPublisherDoesNotFailInsert() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.getNextCommentId(1)).thenReturn(4);
+
+        ResourceEventPublisher mockPublisher = mock(ResourceEventPublisher.class);
+        doThrow(new IllegalStateException("closed")).when(mockPublisher).publish(any());
+        commentDAO.setEventPublisher(mockPublisher);
+
+        Assertions.assertThat(commentDAO.addComment(mockCredentials, mock(Comment.class), 1)).isEqualTo(4);
+    }
+
     @Test
     void managerMayInsert() {
         Credentials mockCredentials = mock(Credentials.class);
@@ -118,6 +170,7 @@ public class CommentDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("commentId", 1)
             .append("resourceId", 1)
@@ -152,6 +205,7 @@ public class CommentDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("commentId", 1)
             .append("resourceId", 1)
@@ -180,6 +234,70 @@ public class CommentDAOTest {
         verify(testCollection, never()).insertOne(any());
     }
 
+    @Test
+    void deleteRecordsTombstone() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(2);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(mockIterable.first()).thenReturn(new Document().append("commentId", 3).append("resourceId", 1).append("creatorId", 2));
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        DeleteResult mockResult = mock(DeleteResult.class);
+        when(mockResult.getDeletedCount()).thenReturn(1L);
+        when(testCollection.deleteOne(any(Bson.class))).thenReturn(mockResult);
+
+        commentDAO.removeComment(mockCredentials, 3, 1);
+
+        ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+        verify(tombstoneCollection).insertOne(captor.capture());
+        Assertions.assertThat(captor.getValue())
+            .containsEntry("recordType", "comment")
+            .containsEntry("resourceId", 1)
+            .containsEntry("recordId", 3)
+            .containsKeys("lastModified", "dateDeleted");
+    }
+
+    @Test
+    void batchRemoveChecksOwnershipOfEachComment() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(2);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(new Document().append("commentId", 3).append("resourceId", 1).append("creatorId", 2));
+            target.add(new Document().append("commentId", 4).append("resourceId", 1).append("creatorId", 5));
+            return target;
+        });
+        DeleteResult mockResult = mock(DeleteResult.class);
+        when(mockResult.getDeletedCount()).thenReturn(1L);
+        when(testCollection.deleteMany(any(Bson.class))).thenReturn(mockResult);
+
+        List<BatchItemResult> results = commentDAO.removeComments(mockCredentials, 
+            Arrays.asList(new RecordKey(1, 3), new RecordKey(1, 4), new RecordKey(2, 9), null));
+
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(true, false, false, false);
+        Assertions.assertThat(results.get(0).getRecordId()).isEqualTo(3);
+        Assertions.assertThat(results.get(1).getErrorMsg()).contains("not the creator");
+        Assertions.assertThat(results.get(2).getErrorMsg()).isEqualTo("Failed to find comment for removal.");
+        verify(testCollection).deleteMany(any(Bson.class));
+        verify(testCollection, never()).deleteOne(any(Bson.class));
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(tombstoneCollection).insertMany(captor.capture());
+        Assertions.assertThat(captor.getValue()).singleElement()
+            .satisfies(doc -> Assertions.assertThat(doc)
+                .containsEntry("recordType", "comment")
+                .containsEntry("resourceId", 1)
+                .containsEntry("recordId", 3));
+    }
+
     @Test
     void managerMayDelete() {
         Credentials mockCredentials = mock(Credentials.class);
@@ -675,4 +793,147 @@ public class CommentDAOTest {
             new CommentDAOImpl(null);
         });
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private void stubPage(List<Document> docs) {
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.sort(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.limit(anyInt())).thenReturn(mockIterable);
+        when(mockIterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(docs);
+            return target;
+        });
+    }
+
+    private static Document pageDocument(int id, int creatorId) {
+        return new Document()
+            .append("commentId", id)
+            .append("resourceId", 1)
+            .append("creatorId", creatorId)
+            .append("firstName", "Foo")
+            .append("lastName", "Bar")
+            .append("contents", "Contents")
+            .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)));
+    }
+
+    @Test
+    void listsFirstPageWithNextCursor() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        stubPage(List.of(pageDocument(1, 1), pageDocument(2, 2), pageDocument(3, 1)));
+
+        RecordPage<Comment> page = commentDAO.listComments(mockCredentials, 1, null, 2);
+
+        Assertions.assertThat(page.getItems()).extracting(Comment::getId).containsExactly(1, 2);
+        Assertions.assertThat(page.getItems()).extracting(Comment::getCurrentUserCanEdit).containsExactly(true, false);
+        Assertions.assertThat(page.getItems()).extracting(Comment::getCurrentUserCanDelete).containsExactly(true, false);
+        Assertions.assertThat(page.getNextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    void listsLastPageWithoutNextCursor() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        stubPage(List.of(pageDocument(3, 2)));
+
+        RecordPage<Comment> page = commentDAO.listComments(mockCredentials, 1, 2, 2);
+
+        Assertions.assertThat(page.getItems()).extracting(Comment::getId).containsExactly(3);
+        Assertions.assertThat(page.getItems()).extracting(Comment::getCurrentUserCanDelete).containsExactly(true);
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsOversizedPage() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        assertThrows(InvalidRequestException.class, () -> {
+            commentDAO.listComments(mockCredentials, 1, null, RecordPage.MAX_LIMIT + 1);
+        });
+
+        verify(testCollection, never()).find(any(Bson.class));
+    }
+
+    @Test
+    void batchRemoveFailsRepeatedKey() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(2);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(new Document().append("commentId", 3).append("resourceId", 1).append("creatorId", 2));
+            return target;
+        });
+        DeleteResult mockResult = mock(DeleteResult.class);
+        when(mockResult.getDeletedCount()).thenReturn(1L);
+        when(testCollection.deleteMany(any(Bson.class))).thenReturn(mockResult);
+
+        List<BatchItemResult> results = commentDAO.removeComments(mockCredentials, 
+            Arrays.asList(new RecordKey(1, 3), new RecordKey(1, 3)));
+
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(true, false);
+        Assertions.assertThat(results.get(1).getErrorMsg()).isEqualTo("Comment key is repeated in the batch.");
+    }
+
+    @Test
+    void batchInsertSkipsInvalidComment() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.reserveCommentIds(1, 2)).thenReturn(4);
+
+        List<Comment> batch = new ArrayList<>();
+        batch.add(mock(Comment.class));
+        batch.add(null);
+        batch.add(mock(Comment.class));
+
+        List<BatchItemResult> results = commentDAO.addComments(mockCredentials, batch, 1);
+
+        Assertions.assertThat(results)
+            .extracting(BatchItemResult::getRecordId)
+            .containsExactly(4, -1, 5);
+        Assertions.assertThat(results.get(1).getErrorMsg()).isEqualTo("Comment cannot be null.");
+    }
+
+    @Test
+    void batchInsertReportsRejectedComment() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.reserveCommentIds(1, 2)).thenReturn(4);
+        MongoBulkWriteException rejected = mock(MongoBulkWriteException.class);
+        when(rejected.getWriteErrors()).thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)));
+        doThrow(rejected).when(testCollection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        List<BatchItemResult> results = commentDAO.addComments(mockCredentials, List.of(mock(Comment.class), mock(Comment.class)), 1);
+
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(false, true);
+        Assertions.assertThat(results.get(0).getErrorMsg()).isEqualTo("Failed to write record.");
+        Assertions.assertThat(results.get(1).getRecordId()).isEqualTo(5);
+    }
+
+    @Test
+    void batchInsertOnMissingResourceFails() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.reserveCommentIds(9, 1)).thenThrow(new RecordDoesNotExistException("Attempted to get id counters for non-existent resource"));
+
+        assertThrows(RecordDoesNotExistException.class, () -> {
+            commentDAO.addComments(mockCredentials, List.of(mock(Comment.class)), 9);
+        });
+        verify(testCollection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+    }
+}
@@ -7,6 +7,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.assertj.core.api.Assertions;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -215,4 +217,74 @@ public class CounterDAOTest {
         assertEquals(1, id2);
         assertEquals(2, id3);
     }
-}
\ No newline at end of file
+
+    @Test
+    void reservesResourceIdBlockWithOneUpdate() {
+        when(testCollection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(new Document("_id", "resourceIdCounter").append("count", 5));
+
+        int first = counterDAO.reserveResourceIds(3);
+
+        assertEquals(5, first);
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ArgumentCaptor<List<Document>> argCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(testCollection, times(1)).findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class));
+        verify(testCollection, times(1)).insertMany(argCaptor.capture());
+
+        Assertions.assertThat(argCaptor.getValue())
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                new Document("_id", 5).append("commentCount", 0).append("upvoteCount", 0).append("flagCount", 0),
+                new Document("_id", 6).append("commentCount", 0).append("upvoteCount", 0).append("flagCount", 0),
+                new Document("_id", 7).append("commentCount", 0).append("upvoteCount", 0).append("flagCount", 0)));
+    }
+
+    @Test
+    void reservesResourceIdBlockFromZeroWhenCounterMissing() {
+        when(testCollection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(null);
+
+        int first = counterDAO.reserveResourceIds(2);
+
+        assertEquals(0, first);
+    }
+
+    @Test
+    void reservesCommentIdBlock() {
+        when(testCollection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(
+                new Document("_id", 0)
+                    .append("commentCount", 5)
+                    .append("upvoteCount", 3)
+                    .append("flagCount", 7));
+
+        assertEquals(5, counterDAO.reserveCommentIds(0, 10));
+    }
+
+    @Test
+    void reservesFlagIdBlock() {
+        when(testCollection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(
+                new Document("_id", 0)
+                    .append("commentCount", 5)
+                    .append("upvoteCount", 3)
+                    .append("flagCount", 7));
+
+        assertEquals(7, counterDAO.reserveReviewFlagIds(0, 10));
+    }
+
+    @Test
+    void reserveHandlesNullResponse() {
+        when(testCollection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+            .thenReturn(null);
+
+        assertThrows(RecordDoesNotExistException.class, () -> counterDAO.reserveCommentIds(0, 2));
+    }
+
+    @Test
+    void reserveRejectsEmptyBlock() {
+        assertThrows(IllegalArgumentException.class, () -> counterDAO.reserveResourceIds(0));
+        assertThrows(IllegalArgumentException.class, () -> counterDAO.reserveReviewFlagIds(0, 0));
+    }
+}
@@ -0,0 +1,118 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DatabaseConnectionPoolTest {
+
+    @TempDir
+    Path directory;
+
+    Path configFile;
+
+    ConfigurationSnapshot previousSnapshot;
+
+    ConfigurationManagerImpl previousManager;
+
+    DatabaseConnectionPool pool;
+
+    List<Boolean> retargeted;
+
+    ConfigurationReloader reloader;
+
+    private static String config(String databaseName, String minConnections) {
+        return String.join("\n",
+            "database.userName = admin",
+            "database.password = password",
+            "database.host = localhost",
+            "database.port = 27017",
+            "database.name = " + databaseName,
+            "database.pool.min = " + minConnections,
+            "authentication.url = http://localhost",
+            "authentication.port = 8080",
+            "authentication.subdomain = /auth",
+            "");
+    }
+
+    @BeforeEach
+    void installInitialConfiguration() throws IOException {
+        configFile = directory.resolve("brl.properties");
+        Files.writeString(configFile, config("BRL", "10"));
+        ConfigurationManagerImpl manager = ConfigurationManagerImpl.load(configFile);
+        previousManager = ConfigurationManagerImpl.replaceInstance(manager);
+        previousSnapshot = ConfigurationSnapshot.replaceCurrent(new ConfigurationSnapshot(manager));
+
+        // The pool is a singleton, so start every test from this file's settings
+        pool = DatabaseConnectionPool.getInstance();
+        pool.applyConfiguration(ConfigurationSnapshot.getCurrent().getDatabaseConfiguration());
+        retargeted = new ArrayList<Boolean>();
+        reloader = new ConfigurationReloader(configFile);
+        reloader.addListener((previous, current) -> 
+            retargeted.add(pool.applyConfiguration(current.getDatabaseConfiguration())));
+    }
+
+    @AfterEach
+    void restoreConfiguration() {
+        ConfigurationManagerImpl.replaceInstance(previousManager);
+        ConfigurationSnapshot.replaceCurrent(previousSnapshot);
+    }
+
+    @Test
+    void reloadSwitchingDatabaseNameRetargetsPool() throws IOException {
+        Files.writeString(configFile, config("BRL_Archive", "10"));
+
+        reloader.reload();
+
+        assertEquals(List.of(true), retargeted);
+        assertEquals("BRL_Archive", pool.getDatabaseConnection().getName());
+    }
+
+    @Test
+    void reloadResizingPoolRetargetsPool() throws IOException {
+        Files.writeString(configFile, config("BRL", "20"));
+
+        reloader.reload();
+
+        assertEquals(List.of(true), retargeted);
+        assertEquals("BRL", pool.getDatabaseConnection().getName());
+    }
+
+    @Test
+    void reloadWithSameDatabaseKeepsPool() throws IOException {
+        Files.writeString(configFile, config("BRL", "10") + "grpc.port = 9443\n");
+
+        reloader.reload();
+
+        assertEquals(List.of(false), retargeted);
+    }
+}
@@ -2,6 +2,9 @@ package com.buzzword;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -9,8 +12,13 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,10 +27,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.result.DeleteResult;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +45,9 @@ public class FlagDAOTest {
     @Mock
     MongoCollection<Document> testCollection;
 
+    @Mock
+    MongoCollection<Document> tombstoneCollection;
+
     @Mock
     CounterDAO mockCounterDAO;
 
@@ -42,6 +56,7 @@ public class FlagDAOTest {
     @BeforeEach
     void setUpDatabase() {
         when(testDatabase.getCollection("flags")).thenReturn(testCollection);
+        when(testDatabase.getCollection("tombstones")).thenReturn(tombstoneCollection);
         flagDAO = new FlagDAOImpl(testDatabase);
         flagDAO.setCounterDAO(mockCounterDAO);
     }
@@ -84,6 +99,7 @@ public class FlagDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("creatorId", 1)
             .append("resourceId", 1)
@@ -118,6 +134,7 @@ public class FlagDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("flagId", 1)
             .append("resourceId", 1)
@@ -152,6 +169,7 @@ public class FlagDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("flagId", 1)
             .append("resourceId", 1)
@@ -685,4 +703,191 @@ public class FlagDAOTest {
             new FlagDAOImpl(null);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void adminBatchRemoveDeletesWithOneWrite() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(new Document().append("flagId", 1).append("resourceId", 1).append("creatorId", 2));
+            target.add(new Document().append("flagId", 1).append("resourceId", 2).append("creatorId", 3));
+            return target;
+        });
+        DeleteResult mockResult = mock(DeleteResult.class);
+        when(mockResult.getDeletedCount()).thenReturn(2L);
+        when(testCollection.deleteMany(any(Bson.class))).thenReturn(mockResult);
+
+        List<BatchItemResult> results = flagDAO.removeReviewFlags(mockCredentials, 
+            Arrays.asList(new RecordKey(1, 1), new RecordKey(2, 1), new RecordKey(1, 1)));
+
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(true, true, true);
+        verify(testCollection).find(any(Bson.class));
+        verify(testCollection).deleteMany(any(Bson.class));
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(tombstoneCollection).insertMany(captor.capture());
+        Assertions.assertThat(captor.getValue()).hasSize(2);
+    }
+
+    @Test
+    void viewerMayNotBatchRemove() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Viewer");
+
+        assertThrows(AuthorizationException.class, () -> {
+            flagDAO.removeReviewFlags(mockCredentials, List.of(new RecordKey(1, 1)));
+        });
+
+        verifyNoInteractions(testCollection);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubPage(List<Document> docs) {
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.sort(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.limit(anyInt())).thenReturn(mockIterable);
+        when(mockIterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.addAll(docs);
+            return target;
+        });
+    }
+
+    private static Document pageDocument(int id, int creatorId) {
+        return new Document()
+            .append("flagId", id)
+            .append("resourceId", 1)
+            .append("creatorId", creatorId)
+            .append("firstName", "Foo")
+            .append("lastName", "Bar")
+            .append("contents", "Contents")
+            .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)));
+    }
+
+    @Test
+    void listsFirstPageWithNextCursor() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        stubPage(List.of(pageDocument(1, 1), pageDocument(2, 2), pageDocument(3, 1)));
+
+        RecordPage<ReviewFlag> page = flagDAO.listReviewFlags(mockCredentials, 1, null, 2);
+
+        Assertions.assertThat(page.getItems()).extracting(ReviewFlag::getId).containsExactly(1, 2);
+        Assertions.assertThat(page.getItems()).extracting(ReviewFlag::getCurrentUserCanEdit).containsExactly(true, false);
+        Assertions.assertThat(page.getItems()).extracting(ReviewFlag::getCurrentUserCanDelete).containsExactly(true, false);
+        Assertions.assertThat(page.getNextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    void listsLastPageWithoutNextCursor() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        stubPage(List.of(pageDocument(3, 2)));
+
+        RecordPage<ReviewFlag> page = flagDAO.listReviewFlags(mockCredentials, 1, 2, 2);
+
+        Assertions.assertThat(page.getItems()).extracting(ReviewFlag::getId).containsExactly(3);
+        Assertions.assertThat(page.getItems()).extracting(ReviewFlag::getCurrentUserCanDelete).containsExactly(true);
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsOversizedPage() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        assertThrows(InvalidRequestException.class, () -> {
+            flagDAO.listReviewFlags(mockCredentials, 1, null, RecordPage.MAX_LIMIT + 1);
+        });
+
+        verify(testCollection, never()).find(any(Bson.class));
+    }
+
+    @Test
+    void batchRemoveFailsRepeatedKey() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(2);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(mockIterable.into(any())).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(new Document().append("flagId", 3).append("resourceId", 1).append("creatorId", 2));
+            return target;
+        });
+        DeleteResult mockResult = mock(DeleteResult.class);
+        when(mockResult.getDeletedCount()).thenReturn(1L);
+        when(testCollection.deleteMany(any(Bson.class))).thenReturn(mockResult);
+
+        List<BatchItemResult> results = flagDAO.removeReviewFlags(mockCredentials, 
+            Arrays.asList(new RecordKey(1, 3), new RecordKey(1, 3)));
+
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(true, false);
+        Assertions.assertThat(results.get(1).getErrorMsg()).isEqualTo("Flag key is repeated in the batch.");
+    }
+
+    @Test
+    void batchInsertSkipsInvalidReviewFlag() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.reserveReviewFlagIds(1, 2)).thenReturn(4);
+
+        List<ReviewFlag> batch = new ArrayList<>();
+        batch.add(mock(ReviewFlag.class));
+        batch.add(null);
+        batch.add(mock(ReviewFlag.class));
+
+        List<BatchItemResult> results = flagDAO.addReviewFlags(mockCredentials, batch, 1);
+
+        Assertions.assertThat(results)
+            .extracting(BatchItemResult::getRecordId)
+            .containsExactly(4, -1, 5);
+        Assertions.assertThat(results.get(1).getErrorMsg()).isEqualTo("Flag cannot be null.");
+    }
+
+    @Test
+    void batchInsertReportsRejectedReviewFlag() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.reserveReviewFlagIds(1, 2)).thenReturn(4);
+        MongoBulkWriteException rejected = mock(MongoBulkWriteException.class);
+        when(rejected.getWriteErrors()).thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)));
+        doThrow(rejected).when(testCollection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        List<BatchItemResult> results = flagDAO.addReviewFlags(mockCredentials, List.of(mock(ReviewFlag.class), mock(ReviewFlag.class)), 1);
+
+        Assertions.assertThat(results).extracting(BatchItemResult::isSuccess).containsExactly(false, true);
+        Assertions.assertThat(results.get(0).getErrorMsg()).isEqualTo("Failed to write record.");
+        Assertions.assertThat(results.get(1).getRecordId()).isEqualTo(5);
+    }
+
+    @Test
+    void batchInsertOnMissingResourceFails() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        when(mockCounterDAO.reserveReviewFlagIds(9, 1)).thenThrow(new RecordDoesNotExistException("Attempted to get id counters for non-existent resource"));
+
+        assertThrows(RecordDoesNotExistException.class, () -> {
+            flagDAO.addReviewFlags(mockCredentials, List.of(mock(ReviewFlag.class)), 9);
+        });
+        verify(testCollection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+    }
+}
@@ -0,0 +1,174 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ResourceCacheImplTest {
+
+    AtomicLong clock;
+    ResourceCache cache;
+
+    @BeforeEach
+    void setUpCache() {
+        clock = new AtomicLong();
+        cache = new ResourceCacheImpl(2, 100, clock::get);
+    }
+
+    private ResourceSnapshot snapshot(int resourceId) {
+        Resource resource = new Resource();
+        resource.setId(resourceId);
+        return new ResourceSnapshot(resource, List.of(), List.of(), List.of());
+    }
+
+    @Test
+    void returnsCachedGraph() {
+        ResourceSnapshot resource = snapshot(1);
+        cache.put(resource, cache.stamp());
+
+        assertSame(resource, cache.get(1));
+        assertNull(cache.get(2));
+
+        ResourceCacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        cache.put(snapshot(1), cache.stamp());
+        cache.put(snapshot(2), cache.stamp());
+        cache.get(1);
+        cache.put(snapshot(3), cache.stamp());
+
+        assertNull(cache.get(2));
+        assertEquals(1, cache.get(1).getId());
+        assertEquals(3, cache.get(3).getId());
+        assertEquals(1, cache.getStats().getEvictions());
+        assertEquals(2, cache.getStats().getSize());
+    }
+
+    @Test
+    void expiresAfterTimeToLive() {
+        cache.put(snapshot(1), cache.stamp());
+        clock.set(99);
+        assertEquals(1, cache.get(1).getId());
+
+        clock.set(100);
+        assertNull(cache.get(1));
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void ignoresPutAfterInvalidation() {
+        long stamp = cache.stamp();
+        cache.invalidate(1);
+        cache.put(snapshot(1), stamp);
+
+        assertNull(cache.get(1));
+        assertEquals(1, cache.getStats().getInvalidations());
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        cache.put(snapshot(1), cache.stamp());
+        cache.put(snapshot(2), cache.stamp());
+        cache.invalidate(1);
+
+        assertNull(cache.get(1));
+        assertEquals(2, cache.get(2).getId());
+
+        cache.invalidateAll();
+        assertNull(cache.get(2));
+    }
+
+    @Test
+    void zeroSizeDisablesCaching() {
+        ResourceCache disabled = new ResourceCacheImpl(0, 100, clock::get);
+        disabled.put(snapshot(1), disabled.stamp());
+
+        assertNull(disabled.get(1));
+        assertFalse(disabled.isEnabled());
+        assertTrue(cache.isEnabled());
+    }
+
+    @Test
+    void reconfigureToZeroDisablesCache() {
+        CacheConfiguration config = mock(CacheConfiguration.class);
+        when(config.getResourceCacheMaxSize()).thenReturn(0);
+        when(config.getResourceCacheTtlSeconds()).thenReturn(30L);
+
+        cache.reconfigure(config);
+
+        assertFalse(cache.isEnabled());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new ResourceCacheImpl(-1, 100, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new ResourceCacheImpl(1, 0, clock::get));
+    }
+
+    @Test
+    void reconfigureShrinksCache() {
+        cache.put(snapshot(1), cache.stamp());
+        cache.put(snapshot(2), cache.stamp());
+        CacheConfiguration config = mock(CacheConfiguration.class);
+        when(config.getResourceCacheMaxSize()).thenReturn(1);
+        when(config.getResourceCacheTtlSeconds()).thenReturn(30L);
+
+        cache.reconfigure(config);
+
+        assertNull(cache.get(1));
+        assertEquals(1, cache.getStats().getSize());
+        assertEquals(1, cache.getStats().getEvictions());
+        cache.put(snapshot(3), cache.stamp());
+        assertNull(cache.get(2));
+    }
+
+    @Test
+    void notifiesInvalidationListeners() {
+        ResourceInvalidationListener listener = mock(ResourceInvalidationListener.class);
+        cache.addInvalidationListener(listener);
+
+        cache.invalidate(4);
+        cache.invalidateAll();
+
+        verify(listener).resourceInvalidated(4);
+        verify(listener).allResourcesInvalidated();
+    }
+}
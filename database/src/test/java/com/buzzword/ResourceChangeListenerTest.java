@@ -0,0 +1,155 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceChangeListenerTest {
+
+    @Mock
+    MongoDatabase testDatabase;
+
+    @Mock
+    MongoCollection<Document> tokenCollection;
+
+    @Mock
+    ResourceCache mockCache;
+
+    ResourceChangeListener listener;
+
+    @BeforeEach
+    void setUpDatabase() {
+        when(testDatabase.getCollection("changeStreamTokens")).thenReturn(tokenCollection);
+        listener = new ResourceChangeListener(testDatabase, mockCache, "node-1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChangeStreamDocument<Document> event(Document fullDocument, BsonDocument resumeToken) {
+        ChangeStreamDocument<Document> event = mock(ChangeStreamDocument.class);
+        when(event.getFullDocument()).thenReturn(fullDocument);
+        when(event.getResumeToken()).thenReturn(resumeToken);
+        return event;
+    }
+
+    @Test
+    void updateInvalidatesChangedResource() {
+        listener.processEvent(event(new Document("commentId", 4).append("resourceId", 7), new BsonDocument("_data", new BsonString("01"))));
+
+        verify(mockCache).invalidate(7);
+        verify(mockCache, never()).invalidateAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteWaitsForItsTombstone() {
+        ChangeStreamDocument<Document> delete = mock(ChangeStreamDocument.class);
+        when(delete.getOperationType()).thenReturn(OperationType.DELETE);
+        when(delete.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString("02")));
+        listener.processEvent(delete);
+
+        verifyNoInteractions(mockCache);
+    }
+
+    @Test
+    void tombstoneInvalidatesDeletedRecordsResource() {
+        listener.processEvent(event(ChangeTracking.tombstone("comment", 7, 4, 1000), new BsonDocument("_data", new BsonString("02"))));
+
+        verify(mockCache).invalidate(7);
+        verify(mockCache, never()).invalidateAll();
+    }
+
+    @Test
+    void updateOfRemovedDocumentInvalidatesWholeCache() {
+        listener.processEvent(event(null, new BsonDocument("_data", new BsonString("02"))));
+
+        verify(mockCache).invalidateAll();
+    }
+
+    @Test
+    void storesResumeTokenOfLastEvent() {
+        listener.processEvent(event(new Document("resourceId", 7), new BsonDocument("_data", new BsonString("03"))));
+        listener.saveResumeToken(true);
+
+        ArgumentCaptor<Document> tokenCaptor = ArgumentCaptor.forClass(Document.class);
+        verify(tokenCollection).replaceOne(any(Bson.class), tokenCaptor.capture(), any(ReplaceOptions.class));
+        assertEquals("node-1", tokenCaptor.getValue().getString("_id"));
+        assertEquals(new BsonDocument("_data", new BsonString("03")), 
+            BsonDocument.parse(tokenCaptor.getValue().getString("resumeToken")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void resumesAfterStoredToken() {
+        ChangeStreamIterable<Document> stream = mock(ChangeStreamIterable.class);
+        ChangeStreamIterable<Document> resumed = mock(ChangeStreamIterable.class);
+        when(testDatabase.watch(anyList())).thenReturn(stream);
+        when(stream.fullDocument(FullDocument.UPDATE_LOOKUP)).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any(TimeUnit.class))).thenReturn(stream);
+
+        FindIterable<Document> tokenFindIterable = mock(FindIterable.class);
+        when(tokenCollection.find(any(Bson.class))).thenReturn(tokenFindIterable);
+        when(tokenFindIterable.first()).thenReturn(new Document("_id", "node-1").append("resumeToken", "{\"_data\": \"04\"}"));
+        when(stream.resumeAfter(new BsonDocument("_data", new BsonString("04")))).thenReturn(resumed);
+
+        assertSame(resumed, listener.openStream());
+    }
+
+    @Test
+    void constructorThrowsOnNullCache() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ResourceChangeListener(testDatabase, null, "node-1");
+        });
+    }
+}
@@ -1,18 +1,30 @@
 package com.buzzword;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.StringWriter;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.assertj.core.api.Assertions;
@@ -27,11 +39,17 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import com.mongodb.ReadPreference;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
 
 @ExtendWith(MockitoExtension.class)
 public class ResourceDAOTest {
@@ -51,6 +69,9 @@ public class ResourceDAOTest {
     @Mock
     MongoCollection<Document> upvoteCollection;
 
+    @Mock
+    MongoCollection<Document> tombstoneCollection;
+
     @Mock
     CounterDAO mockCounterDAO;
 
@@ -66,6 +87,8 @@ public class ResourceDAOTest {
         when(testDatabase.getCollection("upvotes")).thenReturn(upvoteCollection);
 
         when(testDatabase.getCollection("resources")).thenReturn(resourceCollection);
+
+        when(testDatabase.getCollection("tombstones")).thenReturn(tombstoneCollection);
         resourceDAO = new ResourceDAOImpl(testDatabase);
         resourceDAO.setCounterDAO(mockCounterDAO);
     }
@@ -110,6 +133,7 @@ public class ResourceDAOTest {
         verify(resourceCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("creatorId", 1)
             .append("resourceId", 1)
@@ -147,6 +171,7 @@ public class ResourceDAOTest {
         verify(resourceCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("resourceId", 1)
             .append("firstName", "Foo")
@@ -312,7 +337,7 @@ public class ResourceDAOTest {
     void testListsAllResources() {
         Credentials mockCredentials = mock(Credentials.class);
         when(mockCredentials.getId()).thenReturn(1);
-        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
 
         Document resourceDocument1  = new Document()
             .append("resourceId", 1)
@@ -342,6 +367,7 @@ public class ResourceDAOTest {
         @SuppressWarnings("unchecked")
         FindIterable<Document> resourceFindIterable = (FindIterable<Document>) mock(FindIterable.class);
         when(resourceCollection.find(any(Bson.class))).thenReturn(resourceFindIterable);
+        when(resourceFindIterable.projection(any(Bson.class))).thenReturn(resourceFindIterable);
         when(resourceFindIterable.sort(any(Document.class))).thenReturn(resourceFindIterable);
         doAnswer(new Answer<Void>() {
             public Void answer(InvocationOnMock invocation) {
@@ -474,7 +500,7 @@ public class ResourceDAOTest {
         Document upvoteDocument3  = new Document()
             .append("upvoteId", 3)
             .append("resourceId", 2)
-            .append("creatorId", 1)
+            .append("creatorId", 2)
             .append("firstName", "Foo")
             .append("lastName", "Bar")
             .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)));
@@ -584,6 +610,7 @@ public class ResourceDAOTest {
         r1Upvotes.add(targetUpvote1);
 
         targetResource1.setComments(r1Comments);
+        targetResource1.setCommentCount(r1Comments.size());
         targetResource1.setReviewFlags(r1Flags);
         targetResource1.setUpvotes(r1Upvotes);
         targetResource1.setCurrentUserCanDelete(true);
@@ -652,23 +679,23 @@ public class ResourceDAOTest {
 
         Upvote targetUpvote3  = new Upvote();
         targetUpvote3.setId(3);
-        targetUpvote3.setCreatorId(1);
+        targetUpvote3.setCreatorId(2);
         targetUpvote3.setFirstName("Foo");
         targetUpvote3.setLastName("Bar");
         targetUpvote3.setCreationDate(Date.from(Instant.ofEpochSecond(946684800)));
-        targetUpvote3.setCurrentUserCanDelete(true);
 
         r2Upvotes.add(targetUpvote2);
         r2Upvotes.add(targetUpvote3);
 
         targetResource2.setComments(r2Comments);
+        targetResource2.setCommentCount(r2Comments.size());
         targetResource2.setReviewFlags(r2Flags);
         targetResource2.setUpvotes(r2Upvotes);
         targetResource2.setUpvotedByCurrentUser(true);
         targetResource2.setUpvoteCount(2);
         targetResource2.setCurrentUserCanDelete(true);
         targetResource2.setCurrentUserCanEdit(true);
-        targetResource2.setCurrentUserUpvoteId(3);
+        targetResource2.setCurrentUserUpvoteId(2);
 
         expected.add(targetResource1);
         expected.add(targetResource2);
@@ -998,4 +1025,472 @@ public class ResourceDAOTest {
             new ResourceDAOImpl(null);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void contributorMayInsertBatch() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getFirstName()).thenReturn("Foo");
+        when(mockCredentials.getLastName()).thenReturn("Bar");
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
+
+        when(mockCounterDAO.reserveResourceIds(2)).thenReturn(4);
+
+        Resource mockResource = mock(Resource.class);
+        when(mockResource.getCreationDate()).thenReturn(Date.from(Instant.ofEpochSecond(946684800)));
+        when(mockResource.getTitle()).thenReturn("Title");
+        when(mockResource.getDescription()).thenReturn("Description");
+        when(mockResource.getUrl()).thenReturn("http://example.com");
+
+        List<Resource> batch = new ArrayList<>();
+        batch.add(mockResource);
+        batch.add(null);
+        batch.add(mockResource);
+
+        List<BatchItemResult> results = resourceDAO.insertResources(mockCredentials, batch);
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(resourceCollection).insertMany(captor.capture(), any(InsertManyOptions.class));
+
+        Assertions.assertThat(captor.getValue())
+            .extracting(doc -> doc.getInteger("resourceId"))
+            .containsExactly(4, 5);
+        Assertions.assertThat(results)
+            .extracting(BatchItemResult::getRecordId)
+            .containsExactly(4, -1, 5);
+        Assertions.assertThat(results.get(1).getErrorMsg()).isEqualTo("Resource cannot be null.");
+    }
+
+    @Test
+    void commenterMayNotInsertBatch() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        assertThrows(AuthorizationException.class, () -> {
+            resourceDAO.insertResources(mockCredentials, List.of(mock(Resource.class)));
+        });
+
+        verify(resourceCollection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+        verifyNoInteractions(mockCounterDAO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExportCursor(MongoCollection<Document> collection, List<Document> docs) {
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        Iterator<Document> source = docs.iterator();
+        when(collection.withReadPreference(any(ReadPreference.class))).thenReturn(collection);
+        when(collection.find()).thenReturn(iterable);
+        when(iterable.projection(any(Bson.class))).thenReturn(iterable);
+        when(iterable.sort(any(Bson.class))).thenReturn(iterable);
+        when(iterable.batchSize(anyInt())).thenReturn(iterable);
+        when(iterable.allowDiskUse(anyBoolean())).thenReturn(iterable);
+        when(iterable.cursor()).thenReturn(cursor);
+        when(cursor.hasNext()).thenAnswer(invocation -> source.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> source.next());
+    }
+
+    @Test
+    void adminMayExportResources() throws Exception {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        stubExportCursor(resourceCollection, List.of(
+            new Document("resourceId", 1).append("title", "One"),
+            new Document("resourceId", 3).append("title", "Three")));
+        stubExportCursor(commentCollection, List.of(
+            new Document("resourceId", 1).append("commentId", 0),
+            new Document("resourceId", 2).append("commentId", 0),
+            new Document("resourceId", 3).append("commentId", 0),
+            new Document("resourceId", 3).append("commentId", 1)));
+        stubExportCursor(flagCollection, List.of());
+        stubExportCursor(upvoteCollection, List.of(
+            new Document("resourceId", 3).append("upvoteId", 0)));
+
+        StringWriter out = new StringWriter();
+        int exported = resourceDAO.exportResources(mockCredentials, out);
+
+        Assertions.assertThat(exported).isEqualTo(2);
+        Assertions.assertThat(out.toString().split("\n")).containsExactly(
+            "{\"resourceId\": 1, \"title\": \"One\", \"comments\": [{\"resourceId\": 1, \"commentId\": 0}], \"reviewFlags\": [], \"upvotes\": []}",
+            "{\"resourceId\": 3, \"title\": \"Three\", \"comments\": [{\"resourceId\": 3, \"commentId\": 0}, {\"resourceId\": 3, \"commentId\": 1}], \"reviewFlags\": [], \"upvotes\": [{\"resourceId\": 3, \"upvoteId\": 0}]}");
+    }
+
+    @Test
+    void contributorMayNotExportResources() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
+
+        assertThrows(AuthorizationException.class, () -> {
+            resourceDAO.exportResources(mockCredentials, new StringWriter());
+        });
+
+        verify(resourceCollection, never()).find();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubForEach(Iterable<Document> iterable, List<Document> docs) {
+        doAnswer(invocation -> {
+            docs.forEach((Consumer<Document>) invocation.getArgument(0));
+            return null;
+        }).when(iterable).forEach(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void summaryViewProjectsAndCountsChildren() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
+
+        FindIterable<Document> resourceFindIterable = mock(FindIterable.class);
+        when(resourceCollection.find(any(Bson.class))).thenReturn(resourceFindIterable);
+        when(resourceFindIterable.projection(any(Bson.class))).thenReturn(resourceFindIterable);
+        when(resourceFindIterable.sort(any(Document.class))).thenReturn(resourceFindIterable);
+        stubForEach(resourceFindIterable, List.of(
+            new Document("resourceId", 1).append("creatorId", 1).append("title", "Title").append("url", "http://example.com"),
+            new Document("resourceId", 2).append("creatorId", 2).append("title", "Other").append("url", "http://example.org")));
+
+        AggregateIterable<Document> commentCounts = mock(AggregateIterable.class);
+        when(commentCollection.aggregate(anyList())).thenReturn(commentCounts);
+        stubForEach(commentCounts, List.of(new Document("_id", 2).append("count", 4)));
+
+        AggregateIterable<Document> upvoteCounts = mock(AggregateIterable.class);
+        when(upvoteCollection.aggregate(anyList())).thenReturn(upvoteCounts);
+        stubForEach(upvoteCounts, List.of(
+            new Document("_id", 1).append("count", 3).append("currentUserUpvoteId", 7),
+            new Document("_id", 2).append("count", 1).append("currentUserUpvoteId", -1)));
+
+        List<Resource> results = resourceDAO.listAllResources(mockCredentials, ResourceView.summary());
+
+        Assertions.assertThat(results).extracting(Resource::getId).containsExactly(1, 2);
+        Assertions.assertThat(results).extracting(Resource::getCommentCount).containsExactly(0, 4);
+        Assertions.assertThat(results).extracting(Resource::getUpvoteCount).containsExactly(3, 1);
+        Assertions.assertThat(results).extracting(Resource::getUpvotedByCurrentUser).containsExactly(true, false);
+        Assertions.assertThat(results).extracting(Resource::getCurrentUserCanEdit).containsExactly(true, false);
+        Assertions.assertThat(results).extracting(Resource::getComments).containsOnlyNulls();
+        Assertions.assertThat(results.get(0).getCurrentUserUpvoteId()).isEqualTo(7);
+
+        verify(commentCollection, never()).find(any(Bson.class));
+        verify(upvoteCollection, never()).find(any(Bson.class));
+        verifyNoInteractions(flagCollection);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cachedResourceIsReadOnceUntilEdited() {
+        resourceDAO.setResourceCache(new ResourceCacheImpl(10, 1, TimeUnit.MINUTES));
+
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Admin");
+
+        FindIterable<Document> resourceFindIterable = mock(FindIterable.class);
+        when(resourceCollection.find(any(Bson.class))).thenReturn(resourceFindIterable);
+        Document resourceDoc = new Document()
+            .append("resourceId", 1)
+            .append("creatorId", 2)
+            .append("firstName", "Foo")
+            .append("lastName", "Bar")
+            .append("title", "Title")
+            .append("description", "Description")
+            .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)))
+            .append("url", "http://example.com");
+        stubForEach(resourceFindIterable, List.of(resourceDoc));
+        when(resourceFindIterable.first()).thenReturn(resourceDoc);
+
+        FindIterable<Document> commentFindIterable = mock(FindIterable.class);
+        when(commentCollection.find(any(Bson.class))).thenReturn(commentFindIterable);
+        stubForEach(commentFindIterable, List.of(new Document()
+            .append("commentId", 5)
+            .append("resourceId", 1)
+            .append("creatorId", 1)
+            .append("firstName", "Baz")
+            .append("lastName", "Qux")
+            .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)))
+            .append("contents", "Comment")));
+
+        FindIterable<Document> flagFindIterable = mock(FindIterable.class);
+        when(flagCollection.find(any(Bson.class))).thenReturn(flagFindIterable);
+        stubForEach(flagFindIterable, List.of());
+
+        FindIterable<Document> upvoteFindIterable = mock(FindIterable.class);
+        when(upvoteCollection.find(any(Bson.class))).thenReturn(upvoteFindIterable);
+        stubForEach(upvoteFindIterable, List.of());
+
+        Resource first = resourceDAO.getResourceById(mockCredentials, 1);
+        Resource second = resourceDAO.getResourceById(mockCredentials, 1);
+
+        Assertions.assertThat(second).usingRecursiveComparison().isEqualTo(first);
+        assertEquals(1, second.getCommentCount());
+        assertTrue(second.getComments().get(0).getCurrentUserCanEdit());
+        verify(resourceCollection, times(1)).find(any(Bson.class));
+        verify(commentCollection, times(1)).find(any(Bson.class));
+
+        Resource mockResource = mock(Resource.class);
+        when(mockResource.getTitle()).thenReturn("Updated Title");
+        when(mockResource.getDescription()).thenReturn("Updated Description");
+        when(mockResource.getUrl()).thenReturn("http://updated.com");
+        UpdateResult mockResult = mock(UpdateResult.class);
+        when(mockResult.getMatchedCount()).thenReturn(1L);
+        when(resourceCollection.updateOne(any(Bson.class), any(Bson.class))).thenReturn(mockResult);
+
+        resourceDAO.editResource(mockCredentials, 1, mockResource);
+        resourceDAO.getResourceById(mockCredentials, 1);
+
+        // One read for the edit's ownership check and one to reload the invalidated graph
+        verify(resourceCollection, times(3)).find(any(Bson.class));
+        verify(commentCollection, times(2)).find(any(Bson.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshotsAreSharedBetweenUsers() {
+        resourceDAO.setResourceCache(new ResourceCacheImpl(10, 1, TimeUnit.MINUTES));
+
+        Credentials firstUser = mock(Credentials.class);
+        when(firstUser.getSystemRole()).thenReturn("Admin");
+        Credentials secondUser = mock(Credentials.class);
+        when(secondUser.getSystemRole()).thenReturn("Commenter");
+
+        FindIterable<Document> resourceFindIterable = mock(FindIterable.class);
+        when(resourceCollection.find(any(Bson.class))).thenReturn(resourceFindIterable);
+        when(resourceFindIterable.projection(any(Bson.class))).thenReturn(resourceFindIterable);
+        when(resourceFindIterable.sort(any(Document.class))).thenReturn(resourceFindIterable);
+        stubForEach(resourceFindIterable, List.of(new Document()
+            .append("resourceId", 1)
+            .append("creatorId", 2)
+            .append("firstName", "Foo")
+            .append("lastName", "Bar")
+            .append("title", "Title")
+            .append("description", "Description")
+            .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)))
+            .append("url", "http://example.com")));
+
+        FindIterable<Document> emptyFindIterable = mock(FindIterable.class);
+        when(commentCollection.find(any(Bson.class))).thenReturn(emptyFindIterable);
+        when(flagCollection.find(any(Bson.class))).thenReturn(emptyFindIterable);
+        when(upvoteCollection.find(any(Bson.class))).thenReturn(emptyFindIterable);
+        stubForEach(emptyFindIterable, List.of());
+
+        List<ResourceSnapshot> first = resourceDAO.listAllResourceSnapshots(firstUser);
+        List<ResourceSnapshot> second = resourceDAO.listAllResourceSnapshots(secondUser);
+
+        assertEquals(1, first.size());
+        assertSame(first.get(0), second.get(0));
+        assertEquals("Title", second.get(0).getTitle());
+        verify(commentCollection, times(1)).find(any(Bson.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchGetReadsEachCollectionOnceInRequestOrder() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(2);
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
+
+        FindIterable<Document> resourceFindIterable = mock(FindIterable.class);
+        when(resourceCollection.find(any(Bson.class))).thenReturn(resourceFindIterable);
+        stubForEach(resourceFindIterable, List.of(
+            new Document().append("resourceId", 1).append("creatorId", 2).append("firstName", "Foo").append("lastName", "Bar")
+                .append("title", "First").append("description", "Description").append("url", "http://example.com")
+                .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800))),
+            new Document().append("resourceId", 3).append("creatorId", 4).append("firstName", "Baz").append("lastName", "Qux")
+                .append("title", "Third").append("description", "Description").append("url", "http://example.org")
+                .append("dateCreated", Date.from(Instant.ofEpochSecond(946684800)))));
+
+        FindIterable<Document> emptyFindIterable = mock(FindIterable.class);
+        when(commentCollection.find(any(Bson.class))).thenReturn(emptyFindIterable);
+        when(flagCollection.find(any(Bson.class))).thenReturn(emptyFindIterable);
+        when(upvoteCollection.find(any(Bson.class))).thenReturn(emptyFindIterable);
+        stubForEach(emptyFindIterable, List.of());
+
+        List<Resource> results = resourceDAO.getResourcesById(mockCredentials, List.of(3, 2, 1, 3));
+
+        assertEquals(4, results.size());
+        assertEquals("Third", results.get(0).getTitle());
+        Assertions.assertThat(results.get(1)).isNull();
+        assertEquals("First", results.get(2).getTitle());
+        assertTrue(results.get(2).getCurrentUserCanEdit());
+        assertEquals("Third", results.get(3).getTitle());
+        ArgumentCaptor<Bson> captor = ArgumentCaptor.forClass(Bson.class);
+        verify(resourceCollection, times(1)).find(captor.capture());
+        Assertions.assertThat(captor.getValue())
+            .usingRecursiveComparison()
+            .isEqualTo(Filters.in("resourceId", List.of(3, 2, 1)));
+        verify(commentCollection, times(1)).find(any(Bson.class));
+        verify(flagCollection, times(1)).find(any(Bson.class));
+        verify(upvoteCollection, times(1)).find(any(Bson.class));
+    }
+
+    @Test
+    void batchGetRejectsTooManyIds() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i <= ResourceDAO.MAX_BATCH_GET_SIZE; i++) {
+            ids.add(i);
+        }
+
+        assertThrows(InvalidRequestException.class, () -> {
+            resourceDAO.getResourcesById(mockCredentials, ids);
+        });
+        verifyNoInteractions(resourceCollection);
+    }
+
+    @Test
+    void batchGetRejectsNullId() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+        List<Integer> ids = new ArrayList<>();
+        ids.add(1);
+        ids.add(null);
+
+        assertThrows(InvalidRequestException.class, () -> {
+            resourceDAO.getResourcesById(mockCredentials, ids);
+        });
+        verifyNoInteractions(resourceCollection);
+    }
+
+    @Test
+    void invalidRoleMayNotListSnapshots() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Invalid");
+
+        assertThrows(AuthorizationException.class, () -> {
+            resourceDAO.listAllResourceSnapshots(mockCredentials);
+        });
+    }
+
+    @Test
+    void changesSinceNegativeWatermarkAreRejected() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            resourceDAO.writeChanges(mockCredentials, -1, new StringWriter());
+        });
+    }
+
+    @Test
+    void changesSinceExpiredWatermarkRequireFullSync() throws Exception {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+        long expired = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(ChangeTracking.TOMBSTONE_RETENTION_DAYS + 1);
+
+        StringWriter out = new StringWriter();
+        long watermark = resourceDAO.writeChanges(mockCredentials, expired, out);
+
+        assertTrue(watermark > expired);
+        assertEquals(String.format("{\"watermark\":%d,\"fullSyncRequired\":true}", watermark), out.toString());
+        verify(resourceCollection, never()).find(any(Bson.class));
+        verify(tombstoneCollection, never()).find(any(Bson.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubChangeCursor(MongoCollection<Document> collection, List<Document> docs) {
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        Iterator<Document> source = docs.iterator();
+        when(collection.find(any(Bson.class))).thenReturn(iterable);
+        when(iterable.projection(any(Bson.class))).thenReturn(iterable);
+        when(iterable.sort(any(Bson.class))).thenReturn(iterable);
+        when(iterable.batchSize(anyInt())).thenReturn(iterable);
+        when(iterable.cursor()).thenReturn(cursor);
+        when(cursor.hasNext()).thenAnswer(invocation -> source.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> source.next());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubChangedResourceIds(MongoCollection<Document> collection, List<Integer> resourceIds) {
+        DistinctIterable<Integer> iterable = mock(DistinctIterable.class);
+        when(collection.distinct(eq("resourceId"), any(Bson.class), eq(Integer.class))).thenReturn(iterable);
+        doAnswer(invocation -> {
+            resourceIds.forEach((Consumer<Integer>) invocation.getArgument(0));
+            return null;
+        }).when(iterable).forEach(any());
+    }
+
+    @Test
+    void changesSinceWatermarkReadOnlyTheWindowAndTombstones() throws Exception {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+        long since = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+
+        stubChangeCursor(resourceCollection, List.of());
+        stubChangeCursor(commentCollection, List.of(new Document("commentId", 2).append("resourceId", 1)));
+        stubChangeCursor(flagCollection, List.of());
+        stubChangeCursor(tombstoneCollection, List.of(
+            new Document("recordType", "reviewFlag").append("resourceId", 1).append("recordId", 0)));
+        stubChangedResourceIds(upvoteCollection, List.of());
+        stubChangedResourceIds(tombstoneCollection, List.of());
+
+        StringWriter out = new StringWriter();
+        long watermark = resourceDAO.writeChanges(mockCredentials, since, out);
+
+        assertEquals(String.format("{\"watermark\":%d,\"fullSyncRequired\":false,\"resources\":[],"
+            + "\"comments\":[{\"commentId\": 2, \"resourceId\": 1}],\"reviewFlags\":[],\"upvoteCounts\":[],"
+            + "\"deleted\":[{\"recordType\": \"reviewFlag\", \"resourceId\": 1, \"recordId\": 0}]}", watermark), out.toString());
+        Bson window = Filters.and(Filters.gt("lastModified", since), Filters.lte("lastModified", watermark));
+        ArgumentCaptor<Bson> captor = ArgumentCaptor.forClass(Bson.class);
+        verify(commentCollection).find(captor.capture());
+        Assertions.assertThat(captor.getValue()).usingRecursiveComparison().isEqualTo(window);
+        verify(tombstoneCollection).find(captor.capture());
+        Assertions.assertThat(captor.getValue()).usingRecursiveComparison().isEqualTo(window);
+        verify(upvoteCollection, never()).find(any(Bson.class));
+    }
+
+    @Test
+    void changesSinceZeroIncludeUnstampedRecordsWithoutTombstones() throws Exception {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        stubChangeCursor(resourceCollection, List.of(new Document("resourceId", 1).append("title", "Title")));
+        stubChangeCursor(commentCollection, List.of());
+        stubChangeCursor(flagCollection, List.of());
+        stubChangedResourceIds(upvoteCollection, List.of());
+
+        StringWriter out = new StringWriter();
+        long watermark = resourceDAO.writeChanges(mockCredentials, 0, out);
+
+        assertEquals(String.format("{\"watermark\":%d,\"fullSyncRequired\":false,"
+            + "\"resources\":[{\"resourceId\": 1, \"title\": \"Title\"}],\"comments\":[],\"reviewFlags\":[],"
+            + "\"upvoteCounts\":[]}", watermark), out.toString());
+        ArgumentCaptor<Bson> captor = ArgumentCaptor.forClass(Bson.class);
+        verify(resourceCollection).find(captor.capture());
+        Assertions.assertThat(captor.getValue())
+            .usingRecursiveComparison()
+            .isEqualTo(Filters.or(Filters.exists("lastModified", false), Filters.lte("lastModified", watermark)));
+        verify(tombstoneCollection, never()).find(any(Bson.class));
+        verify(tombstoneCollection, never()).distinct(any(String.class), any(Bson.class), eq(Integer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changesCarryUpvoteCountsRatherThanUpvotes() throws Exception {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+        long since = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+
+        stubChangeCursor(resourceCollection, List.of());
+        stubChangeCursor(commentCollection, List.of());
+        stubChangeCursor(flagCollection, List.of());
+        stubChangeCursor(tombstoneCollection, List.of());
+        stubChangedResourceIds(upvoteCollection, List.of(2));
+        stubChangedResourceIds(tombstoneCollection, List.of(5));
+        AggregateIterable<Document> upvoteCounts = mock(AggregateIterable.class);
+        when(upvoteCollection.aggregate(anyList())).thenReturn(upvoteCounts);
+        stubForEach(upvoteCounts, List.of(new Document("_id", 2).append("count", 3)));
+
+        StringWriter out = new StringWriter();
+        resourceDAO.writeChanges(mockCredentials, since, out);
+
+        Assertions.assertThat(out.toString())
+            .contains("\"upvoteCounts\":[{\"resourceId\":2,\"upvoteCount\":3},{\"resourceId\":5,\"upvoteCount\":0}]")
+            .doesNotContain("\"upvotes\"");
+        verify(upvoteCollection, never()).find(any(Bson.class));
+    }
+}
@@ -0,0 +1,66 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ResourceViewTest {
+
+    @Test
+    void defaultsToFullView() {
+        assertSame(ResourceView.full(), ResourceView.of(null, null));
+        assertSame(ResourceView.full(), ResourceView.of("full", ""));
+        assertTrue(ResourceView.full().isFull());
+    }
+
+    @Test
+    void parsesSummaryView() {
+        ResourceView view = ResourceView.of("summary", null);
+
+        assertFalse(view.isFull());
+        Assertions.assertThat(view.getDatabaseFields()).containsExactlyInAnyOrder("resourceId", "creatorId", "title", "url");
+        Assertions.assertThat(view.getJsonFields()).contains("id", "title", "url", "upvoteCount", "commentCount",
+            "upvotedByCurrentUser", "currentUserCanEdit", "currentUserCanDelete");
+    }
+
+    @Test
+    void fieldsOverrideView() {
+        ResourceView view = ResourceView.of("summary", "title, creationDate");
+
+        assertTrue(view.includes("title"));
+        assertFalse(view.includes("url"));
+        Assertions.assertThat(view.getDatabaseFields()).containsExactly("resourceId", "creatorId", "title", "dateCreated");
+        Assertions.assertThat(view.getJsonFields()).doesNotContain("upvotedByCurrentUser");
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndViews() {
+        assertThrows(InvalidRequestException.class, () -> ResourceView.of(null, "title,password"));
+        assertThrows(InvalidRequestException.class, () -> ResourceView.of("everything", null));
+    }
+}
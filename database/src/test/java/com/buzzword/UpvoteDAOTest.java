@@ -2,14 +2,20 @@ package com.buzzword;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
 import org.assertj.core.api.Assertions;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -23,6 +29,7 @@ import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.result.DeleteResult;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +41,9 @@ public class UpvoteDAOTest {
     @Mock
     MongoCollection<Document> testCollection;
 
+    @Mock
+    MongoCollection<Document> tombstoneCollection;
+
     @Mock
     CounterDAO mockCounterDAO;
 
@@ -42,6 +52,7 @@ public class UpvoteDAOTest {
     @BeforeEach
     void setUpDatabase() {
         when(testDatabase.getCollection("upvotes")).thenReturn(testCollection);
+        when(testDatabase.getCollection("tombstones")).thenReturn(tombstoneCollection);
         upvoteDAO = new UpvoteDAOImpl(testDatabase);
         upvoteDAO.setCounterDAO(mockCounterDAO);
     }
@@ -77,6 +88,51 @@ public class UpvoteDAOTest {
         verifyNoInteractions(mockCounterDAO);
     }
 
+    @Test
+    void insertSkipsCountWithoutSubscribers() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
+
+        when(mockCounterDAO.getNextUpvoteId(1)).thenReturn(1);
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(mockIterable.first()).thenReturn(null);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+
+        ResourceEventPublisher mockPublisher = mock(ResourceEventPublisher.class);
+        when(mockPublisher.hasSubscribers()).thenReturn(false);
+        upvoteDAO.setEventPublisher(mockPublisher);
+
+        upvoteDAO.addUpvote(mockCredentials, mock(Upvote.class), 1);
+
+        verify(testCollection, never()).countDocuments(any(Bson.class));
+        verify(mockPublisher, never()).publish(any());
+    }
+
+    @Test
+    void failingCountDoesNotFailInsert() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Contributor");
+
+        when(mockCounterDAO.getNextUpvoteId(1)).thenReturn(1);
+
+        @SuppressWarnings("unchecked")
+        FindIterable<Document> mockIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(mockIterable.first()).thenReturn(null);
+        when(testCollection.find(any(Bson.class))).thenReturn(mockIterable);
+        when(testCollection.countDocuments(any(Bson.class))).thenThrow(new IllegalStateException("timed out"));
+
+        ResourceEventPublisher mockPublisher = mock(ResourceEventPublisher.class);
+        when(mockPublisher.hasSubscribers()).thenReturn(true);
+        upvoteDAO.setEventPublisher(mockPublisher);
+
+        Assertions.assertThat(upvoteDAO.addUpvote(mockCredentials, mock(Upvote.class), 1)).isEqualTo(1);
+        verify(mockPublisher, never()).publish(any());
+    }
+
     @Test
     void developerMayInsert() {
         Credentials mockCredentials = mock(Credentials.class);
@@ -103,6 +159,7 @@ public class UpvoteDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("creatorId", 1)
             .append("resourceId", 1)
@@ -141,6 +198,7 @@ public class UpvoteDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("upvoteId", 1)
             .append("resourceId", 1)
@@ -179,6 +237,7 @@ public class UpvoteDAOTest {
         verify(testCollection).insertOne(captor.capture());
 
         Document capturedDoc = captor.getValue();
+        Assertions.assertThat(capturedDoc.remove("lastModified")).isInstanceOf(Long.class);
         Document expectedDoc = new Document()
             .append("upvoteId", 1)
             .append("resourceId", 1)
@@ -515,4 +574,57 @@ public class UpvoteDAOTest {
             new UpvoteDAOImpl(null);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchInsertReportsEachFailedUpvote() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        // The user has already upvoted resource 2, and resource 3 does not exist
+        FindIterable<Document> upvotedIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(upvotedIterable);
+        doAnswer(invocation -> {
+            ((Consumer<Document>) invocation.getArgument(0)).accept(new Document("resourceId", 2));
+            return null;
+        }).when(upvotedIterable).forEach(any());
+        when(mockCounterDAO.getNextUpvoteId(1)).thenReturn(6);
+        when(mockCounterDAO.getNextUpvoteId(3)).thenThrow(new RecordDoesNotExistException("Attempted to get id counters for non-existent resource"));
+
+        List<BatchItemResult> results = upvoteDAO.addUpvotes(mockCredentials, Arrays.asList(1, 2, 3, null, 1));
+
+        Assertions.assertThat(results)
+            .extracting(BatchItemResult::getErrorMsg)
+            .containsExactly(null, "Upvote already exists.", "Resource does not exist.", 
+                "Resource ID cannot be null.", "Upvote already exists.");
+        Assertions.assertThat(results.get(0).getRecordId()).isEqualTo(6);
+
+        @SuppressWarnings("rawtypes")
+        ArgumentCaptor<List<Document>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(testCollection).insertMany(captor.capture(), any(InsertManyOptions.class));
+        Assertions.assertThat(captor.getValue())
+            .extracting(doc -> doc.getInteger("resourceId"))
+            .containsExactly(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchInsertReportsRepeatedMissingResource() {
+        Credentials mockCredentials = mock(Credentials.class);
+        when(mockCredentials.getId()).thenReturn(1);
+        when(mockCredentials.getSystemRole()).thenReturn("Commenter");
+
+        FindIterable<Document> upvotedIterable = (FindIterable<Document>) mock(FindIterable.class);
+        when(testCollection.find(any(Bson.class))).thenReturn(upvotedIterable);
+        when(mockCounterDAO.getNextUpvoteId(3)).thenThrow(new RecordDoesNotExistException("Attempted to get id counters for non-existent resource"));
+
+        List<BatchItemResult> results = upvoteDAO.addUpvotes(mockCredentials, Arrays.asList(3, 3));
+
+        Assertions.assertThat(results)
+            .extracting(BatchItemResult::getErrorMsg)
+            .containsExactly("Resource does not exist.", "Resource does not exist.");
+        verify(mockCounterDAO, times(1)).getNextUpvoteId(3);
+        verify(testCollection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+    }
+}
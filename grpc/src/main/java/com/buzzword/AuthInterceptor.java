@@ -0,0 +1,88 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * Authenticates every gRPC call from the JSON Web Token in its "bearer" metadata.
+ * <p>
+ * The token is verified with the authentication server once, when the call starts, and the
+ * user's credentials are attached to the call's context for the service to read. A
+ * streaming call is therefore authenticated once for the whole stream.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class AuthInterceptor implements ServerInterceptor {
+
+    /** The metadata key carrying the user's token, matching the REST API's Bearer header. */
+    public static final Metadata.Key<String> BEARER_KEY = Metadata.Key.of("bearer", Metadata.ASCII_STRING_MARSHALLER);
+
+    /** The context key the authenticated user's credentials are stored under. */
+    private static final Context.Key<Credentials> CREDENTIALS_KEY = Context.key("credentials");
+
+    private final Authenticator authenticator;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs an interceptor that verifies tokens with an authenticator.
+     * @param authenticator the authenticator
+     */
+    public AuthInterceptor(Authenticator authenticator) {
+        this.authenticator = authenticator;
+    }
+
+    /**
+     * Gets the credentials of the user making the current call.
+     * @return the credentials, or null outside an authenticated call
+     */
+    public static Credentials currentUser() {
+        return CREDENTIALS_KEY.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        Credentials userCredentials;
+        try {
+            Token token = new Token();
+            token.setToken(headers.get(BEARER_KEY));
+            userCredentials = authenticator.authenticate(token);
+        } catch (AuthenticationException | IllegalArgumentException e) {
+            logger.error(String.format("Rejected gRPC call %s: %s", call.getMethodDescriptor().getFullMethodName(), e.getMessage()));
+            call.close(Status.UNAUTHENTICATED.withDescription("Invalid or missing bearer token."), new Metadata());
+            return new ServerCall.Listener<ReqT>() {};
+        }
+        Context context = Context.current().withValue(CREDENTIALS_KEY, userCredentials);
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+}
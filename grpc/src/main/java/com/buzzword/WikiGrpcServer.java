@@ -0,0 +1,172 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerCredentials;
+import io.grpc.ServerInterceptors;
+import io.grpc.TlsServerCredentials;
+
+/**
+ * Standalone gRPC server for the Buzzworthy Resource Locator (BRL) Wiki.
+ * <p>
+ * Serves {@link WikiServiceImpl} over HTTP/2, alongside the REST API rather than in place
+ * of it. Calls from one client are multiplexed over a single connection. The server reads
+ * the same configuration file as the REST API, but runs in its own process. Its resource
+ * cache is only enabled with cache.resource.changeStream, since without the change stream
+ * neither process's cache would see the other's writes; otherwise the server reads
+ * uncached. Writes made over gRPC are not published to the REST API's event stream.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class WikiGrpcServer {
+
+    /** How long to wait for in-flight calls when shutting down. */
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+    private final DatabaseConnectionPool databaseConnectionPool;
+    private final ResourceChangeListener changeListener;
+    private final Server server;
+
+    /**
+     * Constructs the server from the application configuration.
+     * @param grpcConfig the gRPC server configuration
+     * @param cacheConfig the resource cache configuration
+     * @param authConfig the authentication server configuration
+     * @param databaseConnectionPool the database connection pool
+     * @throws IOException if the TLS key material cannot be read
+     */
+    public WikiGrpcServer(GrpcConfiguration grpcConfig, CacheConfiguration cacheConfig, AuthServerConfiguration authConfig, DatabaseConnectionPool databaseConnectionPool) throws IOException {
+        this.databaseConnectionPool = databaseConnectionPool;
+        ResourceCache resourceCache;
+        if (cacheConfig.getResourceCacheChangeStreamEnabled()) {
+            resourceCache = new ResourceCacheImpl(cacheConfig);
+            changeListener = new ResourceChangeListener(databaseConnectionPool.getDatabaseConnection(), 
+                resourceCache, changeListenerId());
+        } else {
+            logger.warn("cache.resource.changeStream is disabled; the gRPC server reads resources uncached so that it never serves writes made through the REST API stale.");
+            resourceCache = null;
+            changeListener = null;
+        }
+        Authenticator authenticator = new AuthenticatorImpl(authConfig.getAuthServerConnectionString());
+        WikiServiceImpl service = new WikiServiceImpl(databaseConnectionPool, resourceCache);
+        server = Grpc.newServerBuilderForPort(grpcConfig.getGrpcPort(), serverCredentials(grpcConfig))
+            .addService(ServerInterceptors.intercept(service, new AuthInterceptor(authenticator)))
+            .build();
+    }
+
+    /**
+     * Chooses TLS or plaintext from the configuration.
+     * @param grpcConfig the gRPC server configuration
+     * @return the server credentials
+     * @throws IOException if the TLS key material cannot be read
+     */
+    private ServerCredentials serverCredentials(GrpcConfiguration grpcConfig) throws IOException {
+        if (grpcConfig.getGrpcCertChain() == null) {
+            logger.warn("No gRPC TLS certificate configured; serving plaintext. Only expose the gRPC port on a trusted network.");
+            return InsecureServerCredentials.create();
+        }
+        return TlsServerCredentials.create(new File(grpcConfig.getGrpcCertChain()), new File(grpcConfig.getGrpcPrivateKey()));
+    }
+
+    /**
+     * Starts serving calls.
+     * @throws IOException if the server cannot bind its port
+     */
+    public void start() throws IOException {
+        server.start();
+        if (changeListener != null) {
+            changeListener.start();
+        }
+        logger.info(String.format("gRPC server listening on port %d.", server.getPort()));
+    }
+
+    /**
+     * Stops accepting calls, waits for in-flight calls, and releases the database.
+     * @throws InterruptedException if interrupted while waiting for calls to finish
+     */
+    public void stop() throws InterruptedException {
+        server.shutdown();
+        if (!server.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("gRPC calls still running after the shutdown grace period; cancelling them.");
+            server.shutdownNow();
+        }
+        if (changeListener != null) {
+            changeListener.close();
+        }
+        databaseConnectionPool.close();
+        logger.info("gRPC server stopped.");
+    }
+
+    /**
+     * Waits until the server has shut down.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void blockUntilShutdown() throws InterruptedException {
+        server.awaitTermination();
+    }
+
+    /**
+     * Gets the key this node's change stream resume token is stored under.
+     * @return the host name, or a random ID if it cannot be determined
+     */
+    private String changeListenerId() {
+        try {
+            return "grpcResourceCache@" + InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "grpcResourceCache@" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Main method that starts the gRPC server and runs until the process is stopped.
+     * @param args command line arguments
+     * @throws IOException if the server cannot start
+     * @throws InterruptedException if interrupted while serving
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.getCurrent();
+        WikiGrpcServer grpcServer = new WikiGrpcServer(snapshot.getGrpcConfiguration(), 
+            snapshot.getCacheConfiguration(), snapshot.getAuthServerConfiguration(), 
+            DatabaseConnectionPool.getInstance());
+        grpcServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                grpcServer.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        grpcServer.blockUntilShutdown();
+    }
+}
@@ -0,0 +1,503 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.protobuf.Empty;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import com.buzzword.AccessPolicy.RecordType;
+
+/**
+ * gRPC implementation of the wiki read/write API.
+ * <p>
+ * Each call uses the same DAOs, resource cache and authorization rules as the REST
+ * endpoints, with the caller's credentials taken from {@link AuthInterceptor}. DAO
+ * exceptions are returned as gRPC status codes.
+ * 
+ * @author Ben Edens
+ * @version 1.0
+ */
+public class WikiServiceImpl extends WikiServiceGrpc.WikiServiceImplBase {
+
+    private final DatabaseConnectionPool databaseConnectionPool;
+    private final ResourceCache resourceCache;
+
+    private final Logger logger = LoggerFactory.getEventLogger();
+
+    /**
+     * Constructs the service.
+     * @param databaseConnectionPool the database connection pool
+     * @param resourceCache the resource cache shared by the DAOs, or null to read uncached
+     */
+    public WikiServiceImpl(DatabaseConnectionPool databaseConnectionPool, ResourceCache resourceCache) {
+        this.databaseConnectionPool = databaseConnectionPool;
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void getResource(ResourceIdRequest request, StreamObserver<ResourceMessage> responseObserver) {
+        try {
+            Resource resource = newResourceDAO().getResourceById(AuthInterceptor.currentUser(), request.getResourceId());
+            responseObserver.onNext(toMessage(resource));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Resources are sent as the client is ready for them, so a slow client does not make
+     * the server buffer the whole listing.
+     */
+    @Override
+    public void listResources(ListResourcesRequest request, StreamObserver<ResourceMessage> responseObserver) {
+        Credentials userCredentials = AuthInterceptor.currentUser();
+        List<ResourceSnapshot> snapshots;
+        try {
+            snapshots = listSnapshots(userCredentials, request);
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+            return;
+        }
+
+        PermissionOverlay overlay = new PermissionOverlay(userCredentials);
+        ServerCallStreamObserver<ResourceMessage> call = (ServerCallStreamObserver<ResourceMessage>) responseObserver;
+        Iterator<ResourceSnapshot> remaining = snapshots.iterator();
+        Runnable sendWhileReady = new Runnable() {
+            private boolean done = false;
+
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                while (call.isReady() && remaining.hasNext()) {
+                    call.onNext(toMessage(remaining.next(), overlay));
+                }
+                if (!remaining.hasNext()) {
+                    done = true;
+                    call.onCompleted();
+                }
+            }
+        };
+        call.setOnCancelHandler(() -> logger.info("gRPC resource listing cancelled by the client."));
+        call.setOnReadyHandler(sendWhileReady);
+        sendWhileReady.run();
+    }
+
+    /**
+     * Lists the resource snapshots selected by a listing request.
+     * @param userCredentials the user's credentials
+     * @param request the listing request
+     * @return the resource snapshots
+     * @throws IllegalArgumentException if keywords are combined with the OWN scope
+     */
+    private List<ResourceSnapshot> listSnapshots(Credentials userCredentials, ListResourcesRequest request) {
+        ResourceDAO resourceDAO = newResourceDAO();
+        boolean hasKeywords = !request.getKeywords().isBlank();
+        if (request.getScope() == ListResourcesRequest.Scope.OWN) {
+            if (hasKeywords) {
+                throw new IllegalArgumentException("Keywords cannot be combined with the OWN scope.");
+            }
+            return resourceDAO.listOwnResourceSnapshots(userCredentials);
+        }
+        if (hasKeywords) {
+            return resourceDAO.listResourceSnapshotsByKeywords(userCredentials, new KeywordList(request.getKeywords()));
+        }
+        return resourceDAO.listAllResourceSnapshots(userCredentials);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createResource(ResourceInput request, StreamObserver<CreatedReply> responseObserver) {
+        try {
+            int resourceId = newResourceDAO().insertResource(AuthInterceptor.currentUser(), toResource(request));
+            responseObserver.onNext(CreatedReply.newBuilder().setId(resourceId).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editResource(EditResourceRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            newResourceDAO().editResource(AuthInterceptor.currentUser(), request.getResourceId(), toResource(request.getResource()));
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteResource(ResourceIdRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            newResourceDAO().removeResource(AuthInterceptor.currentUser(), request.getResourceId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addComment(CommentInput request, StreamObserver<CreatedReply> responseObserver) {
+        try {
+            Comment comment = new Comment();
+            comment.setContents(request.getContents());
+            int commentId = newCommentDAO().addComment(AuthInterceptor.currentUser(), comment, request.getResourceId());
+            responseObserver.onNext(CreatedReply.newBuilder().setId(commentId).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editComment(EditCommentRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            Comment comment = new Comment();
+            comment.setContents(request.getContents());
+            newCommentDAO().editComment(AuthInterceptor.currentUser(), request.getRecordId(), comment, request.getResourceId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteComment(RecordIdRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            newCommentDAO().removeComment(AuthInterceptor.currentUser(), request.getRecordId(), request.getResourceId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addReviewFlag(CommentInput request, StreamObserver<CreatedReply> responseObserver) {
+        try {
+            ReviewFlag reviewFlag = new ReviewFlag();
+            reviewFlag.setContents(request.getContents());
+            int reviewFlagId = newFlagDAO().addReviewFlag(AuthInterceptor.currentUser(), reviewFlag, request.getResourceId());
+            responseObserver.onNext(CreatedReply.newBuilder().setId(reviewFlagId).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void editReviewFlag(EditCommentRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            ReviewFlag reviewFlag = new ReviewFlag();
+            reviewFlag.setContents(request.getContents());
+            newFlagDAO().editReviewFlag(AuthInterceptor.currentUser(), request.getRecordId(), reviewFlag, request.getResourceId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteReviewFlag(RecordIdRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            newFlagDAO().removeReviewFlag(AuthInterceptor.currentUser(), request.getRecordId(), request.getResourceId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addUpvote(ResourceIdRequest request, StreamObserver<CreatedReply> responseObserver) {
+        try {
+            int upvoteId = newUpvoteDAO().addUpvote(AuthInterceptor.currentUser(), new Upvote(), request.getResourceId());
+            responseObserver.onNext(CreatedReply.newBuilder().setId(upvoteId).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteUpvote(RecordIdRequest request, StreamObserver<Empty> responseObserver) {
+        try {
+            newUpvoteDAO().removeUpvote(AuthInterceptor.currentUser(), request.getRecordId(), request.getResourceId());
+            responseObserver.onNext(Empty.getDefaultInstance());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(statusFor(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Maps an exception thrown while handling a call to a gRPC status, matching the
+     * REST API's error responses.
+     * @param e the exception
+     * @return the status to close the call with
+     */
+    Status statusFor(RuntimeException e) {
+        if (e instanceof AuthorizationException) {
+            return Status.PERMISSION_DENIED.withDescription(e.getMessage());
+        }
+        if (e instanceof RecordDoesNotExistException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage());
+        }
+        if (e instanceof RecordAlreadyExistsException) {
+            return Status.ALREADY_EXISTS.withDescription(e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+        }
+        logger.error(String.format("Unexpected error handling gRPC call: %s", e));
+        return Status.INTERNAL.withDescription("Unable to process the request.");
+    }
+
+    /**
+     * Builds a resource from its input message.
+     * @param input the resource input
+     * @return the validated resource
+     * @throws IllegalArgumentException if a field is invalid
+     */
+    static Resource toResource(ResourceInput input) {
+        Resource resource = new Resource();
+        resource.setTitle(input.getTitle());
+        resource.setDescription(input.getDescription());
+        resource.setUrl(input.getUrl());
+        return resource;
+    }
+
+    /**
+     * Converts a resource, with the user's fields already set, to its message.
+     * @param resource the resource
+     * @return the resource message
+     */
+    static ResourceMessage toMessage(Resource resource) {
+        ResourceMessage.Builder message = ResourceMessage.newBuilder()
+            .setId(resource.getId())
+            .setCreatorId(resource.getCreatorId())
+            .setFirstName(orEmpty(resource.getFirstName()))
+            .setLastName(orEmpty(resource.getLastName()))
+            .setCreationDate(resource.getCreationDate().getTime())
+            .setIsEdited(resource.getIsEdited())
+            .setTitle(orEmpty(resource.getTitle()))
+            .setDescription(orEmpty(resource.getDescription()))
+            .setUrl(orEmpty(resource.getUrl()))
+            .setUpvoteCount(resource.getUpvoteCount())
+            .setCommentCount(resource.getCommentCount())
+            .setCurrentUserCanDelete(resource.getCurrentUserCanDelete())
+            .setCurrentUserCanEdit(resource.getCurrentUserCanEdit())
+            .setUpvotedByCurrentUser(resource.getUpvotedByCurrentUser())
+            .setCurrentUserUpvoteId(Math.max(resource.getCurrentUserUpvoteId(), 0));
+        if (resource.getComments() != null) {
+            for (Comment comment : resource.getComments()) {
+                message.addComments(toMessage(comment));
+            }
+        }
+        if (resource.getReviewFlags() != null) {
+            for (ReviewFlag reviewFlag : resource.getReviewFlags()) {
+                message.addReviewFlags(toMessage(reviewFlag));
+            }
+        }
+        return message.build();
+    }
+
+    /**
+     * Converts a comment or review flag, with the user's fields already set, to its message.
+     * @param comment the comment or review flag
+     * @return the comment message
+     */
+    private static CommentMessage toMessage(Comment comment) {
+        return CommentMessage.newBuilder()
+            .setId(comment.getId())
+            .setCreatorId(comment.getCreatorId())
+            .setFirstName(orEmpty(comment.getFirstName()))
+            .setLastName(orEmpty(comment.getLastName()))
+            .setCreationDate(comment.getCreationDate().getTime())
+            .setIsEdited(comment.getIsEdited())
+            .setContents(orEmpty(comment.getContents()))
+            .setCurrentUserCanDelete(comment.getCurrentUserCanDelete())
+            .setCurrentUserCanEdit(comment.getCurrentUserCanEdit())
+            .build();
+    }
+
+    /**
+     * Converts a shared resource snapshot to its message for a user.
+     * @param snapshot the resource snapshot
+     * @param overlay the user's permission overlay
+     * @return the resource message
+     */
+    static ResourceMessage toMessage(ResourceSnapshot snapshot, PermissionOverlay overlay) {
+        int upvoteId = overlay.upvoteId(snapshot);
+        ResourceMessage.Builder message = ResourceMessage.newBuilder()
+            .setId(snapshot.getId())
+            .setCreatorId(snapshot.getCreatorId())
+            .setFirstName(orEmpty(snapshot.getFirstName()))
+            .setLastName(orEmpty(snapshot.getLastName()))
+            .setCreationDate(snapshot.getCreationDate().getTime())
+            .setIsEdited(snapshot.getIsEdited())
+            .setTitle(orEmpty(snapshot.getTitle()))
+            .setDescription(orEmpty(snapshot.getDescription()))
+            .setUrl(orEmpty(snapshot.getUrl()))
+            .setUpvoteCount(snapshot.getUpvotes().size())
+            .setCommentCount(snapshot.getComments().size())
+            .setCurrentUserCanDelete(overlay.canDelete(snapshot))
+            .setCurrentUserCanEdit(overlay.canEdit(snapshot))
+            .setUpvotedByCurrentUser(upvoteId != -1)
+            .setCurrentUserUpvoteId(upvoteId != -1 ? upvoteId : 0);
+        for (RecordSnapshot comment : snapshot.getComments()) {
+            message.addComments(toMessage(comment, RecordType.COMMENT, overlay));
+        }
+        for (RecordSnapshot reviewFlag : snapshot.getReviewFlags()) {
+            message.addReviewFlags(toMessage(reviewFlag, RecordType.REVIEW_FLAG, overlay));
+        }
+        return message.build();
+    }
+
+    /**
+     * Converts a comment or review flag snapshot to its message for a user.
+     * @param record the comment or review flag snapshot
+     * @param recordType the type of the record
+     * @param overlay the user's permission overlay
+     * @return the comment message
+     */
+    private static CommentMessage toMessage(RecordSnapshot record, RecordType recordType, PermissionOverlay overlay) {
+        return CommentMessage.newBuilder()
+            .setId(record.getId())
+            .setCreatorId(record.getCreatorId())
+            .setFirstName(orEmpty(record.getFirstName()))
+            .setLastName(orEmpty(record.getLastName()))
+            .setCreationDate(record.getCreationDate().getTime())
+            .setIsEdited(record.getIsEdited())
+            .setContents(orEmpty(record.getContents()))
+            .setCurrentUserCanDelete(overlay.canDelete(record, recordType))
+            .setCurrentUserCanEdit(overlay.canEdit(record, recordType))
+            .build();
+    }
+
+    /**
+     * Replaces null with the empty string, which protobuf uses for unset strings.
+     * @param value the value, or null
+     * @return the value, or the empty string
+     */
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Creates a resource DAO that reads through the shared resource cache, if there is one.
+     * @return the resource DAO
+     */
+    private ResourceDAO newResourceDAO() {
+        ResourceDAO resourceDAO = new ResourceDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        if (resourceCache != null) {
+            resourceDAO.setResourceCache(resourceCache);
+        }
+        return resourceDAO;
+    }
+
+    /**
+     * Creates a comment DAO that invalidates the shared resource cache, if there is one.
+     * @return the comment DAO
+     */
+    private CommentDAO newCommentDAO() {
+        CommentDAO commentDAO = new CommentDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        if (resourceCache != null) {
+            commentDAO.setResourceCache(resourceCache);
+        }
+        return commentDAO;
+    }
+
+    /**
+     * Creates an upvote DAO that invalidates the shared resource cache, if there is one.
+     * @return the upvote DAO
+     */
+    private UpvoteDAO newUpvoteDAO() {
+        UpvoteDAO upvoteDAO = new UpvoteDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        if (resourceCache != null) {
+            upvoteDAO.setResourceCache(resourceCache);
+        }
+        return upvoteDAO;
+    }
+
+    /**
+     * Creates a review flag DAO that invalidates the shared resource cache, if there is one.
+     * @return the review flag DAO
+     */
+    private FlagDAO newFlagDAO() {
+        FlagDAO flagDAO = new FlagDAOImpl(databaseConnectionPool.getDatabaseConnection());
+        if (resourceCache != null) {
+            flagDAO.setResourceCache(resourceCache);
+        }
+        return flagDAO;
+    }
+}
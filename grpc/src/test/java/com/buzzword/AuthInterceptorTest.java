@@ -0,0 +1,142 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+
+public class AuthInterceptorTest {
+
+    Authenticator authenticator;
+    Server server;
+    ManagedChannel channel;
+
+    /** Replies with the ID of the authenticated user. */
+    static class EchoUserService extends WikiServiceGrpc.WikiServiceImplBase {
+        @Override
+        public void getResource(ResourceIdRequest request, StreamObserver<ResourceMessage> responseObserver) {
+            responseObserver.onNext(ResourceMessage.newBuilder().setCreatorId(AuthInterceptor.currentUser().getId()).build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void listResources(ListResourcesRequest request, StreamObserver<ResourceMessage> responseObserver) {
+            for (int i = 0; i < 3; i++) {
+                responseObserver.onNext(ResourceMessage.newBuilder().setCreatorId(AuthInterceptor.currentUser().getId()).build());
+            }
+            responseObserver.onCompleted();
+        }
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        authenticator = mock(Authenticator.class);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+            .addService(ServerInterceptors.intercept(new EchoUserService(), new AuthInterceptor(authenticator)))
+            .build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void stopServer() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    private WikiServiceGrpc.WikiServiceBlockingStub stub(String token) {
+        Metadata headers = new Metadata();
+        if (token != null) {
+            headers.put(AuthInterceptor.BEARER_KEY, token);
+        }
+        return WikiServiceGrpc.newBlockingStub(channel).withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    @Test
+    void authenticatedUserIsAvailableToService() {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(7);
+        when(authenticator.authenticate(any())).thenReturn(credentials);
+
+        ResourceMessage reply = stub("a".repeat(300)).getResource(ResourceIdRequest.newBuilder().setResourceId(1).build());
+
+        assertEquals(7, reply.getCreatorId());
+    }
+
+    @Test
+    void streamIsAuthenticatedOnce() {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(7);
+        when(authenticator.authenticate(any())).thenReturn(credentials);
+
+        Iterator<ResourceMessage> replies = stub("a".repeat(300)).listResources(ListResourcesRequest.getDefaultInstance());
+        int count = 0;
+        while (replies.hasNext()) {
+            assertEquals(7, replies.next().getCreatorId());
+            count++;
+        }
+
+        assertEquals(3, count);
+        verify(authenticator, times(1)).authenticate(any());
+    }
+
+    @Test
+    void missingTokenIsUnauthenticated() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+            () -> stub(null).getResource(ResourceIdRequest.getDefaultInstance()));
+
+        assertEquals(Status.Code.UNAUTHENTICATED, e.getStatus().getCode());
+    }
+
+    @Test
+    void rejectedTokenIsUnauthenticated() {
+        when(authenticator.authenticate(any())).thenThrow(new AuthenticationException("Received response code 401 from authentication server."));
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+            () -> stub("a".repeat(300)).getResource(ResourceIdRequest.getDefaultInstance()));
+
+        assertEquals(Status.Code.UNAUTHENTICATED, e.getStatus().getCode());
+    }
+}
@@ -0,0 +1,116 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.grpc.Status;
+
+public class WikiServiceImplTest {
+
+    WikiServiceImpl service = new WikiServiceImpl(null, null);
+
+    private static PermissionOverlay overlay(int userId, String role) {
+        Credentials credentials = mock(Credentials.class);
+        when(credentials.getId()).thenReturn(userId);
+        when(credentials.getSystemRole()).thenReturn(role);
+        return new PermissionOverlay(credentials);
+    }
+
+    private static ResourceSnapshot snapshot() {
+        Comment comment = new Comment();
+        comment.setId(5);
+        comment.setCreatorId(4);
+        comment.setFirstName("Grace");
+        comment.setLastName("Hopper");
+        comment.setCreationDate(new Date(2000));
+        comment.setContents("A comment");
+
+        Upvote upvote = new Upvote();
+        upvote.setId(9);
+        upvote.setCreatorId(4);
+        upvote.setFirstName("Grace");
+        upvote.setLastName("Hopper");
+        upvote.setCreationDate(new Date(3000));
+
+        Resource resource = new Resource();
+        resource.setId(1);
+        resource.setCreatorId(3);
+        resource.setFirstName("Ada");
+        resource.setLastName("Lovelace");
+        resource.setCreationDate(new Date(1000));
+        resource.setTitle("Title");
+        resource.setDescription("Description");
+        resource.setUrl("http://example.com");
+        return new ResourceSnapshot(resource, List.of(new RecordSnapshot(comment)), List.of(), List.of(new RecordSnapshot(upvote)));
+    }
+
+    @Test
+    void snapshotMessageCarriesUserFields() {
+        ResourceMessage message = WikiServiceImpl.toMessage(snapshot(), overlay(4, "Commenter"));
+
+        assertEquals(1, message.getId());
+        assertEquals("Ada", message.getFirstName());
+        assertEquals(1000, message.getCreationDate());
+        assertEquals(1, message.getUpvoteCount());
+        assertEquals(1, message.getCommentCount());
+        assertFalse(message.getCurrentUserCanEdit());
+        assertTrue(message.getUpvotedByCurrentUser());
+        assertEquals(9, message.getCurrentUserUpvoteId());
+        assertTrue(message.getComments(0).getCurrentUserCanEdit());
+        assertEquals("A comment", message.getComments(0).getContents());
+    }
+
+    @Test
+    void snapshotMessageMatchesResourceMessage() {
+        PermissionOverlay overlay = overlay(3, "Admin");
+        ResourceSnapshot snapshot = snapshot();
+
+        assertEquals(WikiServiceImpl.toMessage(overlay.toResource(snapshot)), WikiServiceImpl.toMessage(snapshot, overlay));
+    }
+
+    @Test
+    void invalidResourceInputIsRejected() {
+        ResourceInput input = ResourceInput.newBuilder().setTitle("Title").setDescription("Description").setUrl("not-a-url").build();
+
+        assertThrows(IllegalArgumentException.class, () -> WikiServiceImpl.toResource(input));
+    }
+
+    @Test
+    void exceptionsMapToStatusCodes() {
+        assertEquals(Status.Code.PERMISSION_DENIED, service.statusFor(new AuthorizationException("denied")).getCode());
+        assertEquals(Status.Code.NOT_FOUND, service.statusFor(new RecordDoesNotExistException("missing")).getCode());
+        assertEquals(Status.Code.ALREADY_EXISTS, service.statusFor(new RecordAlreadyExistsException("exists")).getCode());
+        assertEquals(Status.Code.INVALID_ARGUMENT, service.statusFor(new IllegalArgumentException("invalid")).getCode());
+        assertEquals(Status.Code.INTERNAL, service.statusFor(new NullPointerException()).getCode());
+    }
+}
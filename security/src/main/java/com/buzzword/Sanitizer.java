@@ -0,0 +1,54 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+/**
+ * This is the utility interface to sanitize strings against XSS attacks with fixed rules.
+ * <p>
+ * Code that only sanitizes, without choosing the rules, should depend on this interface,
+ * which the shared {@link SharedXssSanitizer} implements.
+ * 
+ * @author Janniebeth Melendez
+ * @version 1.0
+ */
+public interface Sanitizer {
+
+    /**
+     * Scans and sanitizes the input string.
+     * 
+     * @param input the string to be scanned and sanitized
+     * @return the clean/sanitized string
+     */
+    String sanitizeInput(String input);
+
+    /**
+     * Encodes and sanitizes the output.
+     * <p>
+     * Sanitizes the output as a way to avoid unsafe HTML, as well as remove
+     * whitespace to ensure safe and clean content is displayed.
+     * 
+     * @param input the string to be sanitized for output
+     * @return the sanitized output string
+     */
+    String sanitizeOutput(String input);
+
+}
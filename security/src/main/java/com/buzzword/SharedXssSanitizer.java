@@ -0,0 +1,127 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The shared, thread-safe sanitizer for the default rules, which remove all HTML.
+ * <p>
+ * The rules cannot be changed, since every caller relies on them, so this implements only
+ * {@link Sanitizer}. Construct an {@link XssSanitizerImpl} to sanitize with other rules.
+ * <p>
+ * Every model object sanitizes its fields on each setter call, so one instance is shared
+ * instead of constructing a sanitizer per object. Plain text is returned without parsing,
+ * and the results for short strings that did need parsing, such as repeated names and
+ * titles, are remembered in a small bounded cache.
+ * 
+ * @author Janniebeth Melendez
+ * @version 1.0
+ */
+public final class SharedXssSanitizer
+    implements Sanitizer {
+
+    /** The most results remembered before the cache is cleared. */
+    static final int MAX_CACHED = 1024;
+
+    /** The longest input whose result is remembered. */
+    static final int MAX_CACHED_LENGTH = 256;
+
+    private static final SharedXssSanitizer INSTANCE = new SharedXssSanitizer();
+
+    private final Logger logger = LoggerFactory.getSecurityLogger();
+
+    private final Sanitizer sanitizer = new XssSanitizerImpl();
+
+    private final Map<String, String> cache = new ConcurrentHashMap<String, String>();
+
+    /**
+     * Constructs the sanitizer with the default rules.
+     */
+    SharedXssSanitizer()
+    {
+    }
+
+    /**
+     * Returns the shared sanitizer.
+     * @return the sanitizer
+     */
+    public static SharedXssSanitizer getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String sanitizeInput(final String input)
+    {
+        if (input == null)
+        {
+            logger.error("Attempt to sanitize null string");
+            throw new IllegalArgumentException("Input required");
+        }
+        if (XssSanitizerImpl.isPlainText(input))
+        {
+            return input.trim();
+        }
+        if (input.length() > MAX_CACHED_LENGTH)
+        {
+            return sanitizer.sanitizeInput(input);
+        }
+
+        String cached = cache.get(input);
+        if (cached != null)
+        {
+            return cached;
+        }
+        String results = sanitizer.sanitizeInput(input);
+        if (cache.size() >= MAX_CACHED)
+        {
+            // Cheaper than tracking recency, and the common values come back quickly
+            logger.debug("Clearing the sanitizer cache");
+            cache.clear();
+        }
+        cache.put(input, results);
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String sanitizeOutput(final String input)
+    {
+        return sanitizer.sanitizeOutput(input);
+    }
+
+    /**
+     * Returns the number of remembered results.
+     * @return the cache size
+     */
+    int getCacheSize()
+    {
+        return cache.size();
+    }
+}
@@ -24,12 +24,13 @@ package com.buzzword;
 import org.jsoup.safety.Safelist;
 
 /**
- * This is the utility interface to sanitize strings against XSS attacks.
+ * This is the utility interface to sanitize strings against XSS attacks with
+ * configurable rules.
  * 
  * @author Janniebeth Melendez
  * @version 1.0
  */
-public interface XssSanitizer {
+public interface XssSanitizer extends Sanitizer {
 
     /**
      * Returns the current rules.
@@ -43,23 +44,4 @@ public interface XssSanitizer {
      */
     void setRules(Safelist rules);
 
-    /**
-     * Scans and sanitizes the input string.
-     * 
-     * @param input the string to be scanned and sanitized
-     * @return the clean/sanitized string
-     */
-    String sanitizeInput(String input);
-
-    /**
-     * Encodes and sanitizes the output.
-     * <p>
-     * Sanitizes the output as a way to avoid unsafe HTML, as well as remove
-     * whitespace to ensure safe and clean content is displayed.
-     * 
-     * @param input the string to be sanitized for output
-     * @return the sanitized output string
-     */
-    String sanitizeOutput(String input);
-
 }
@@ -27,6 +27,10 @@ import org.apache.commons.text.StringEscapeUtils;
 
 /**
  * This is the utility class to sanitize strings against XSS attacks.
+ * <p>
+ * Strings that cannot contain markup are returned trimmed without being parsed; see
+ * {@link #isPlainText(String)}. Code that only needs the default rules should use the
+ * shared {@link SharedXssSanitizer} instead of constructing its own instance.
  * 
  * @author Janniebeth Melendez
  * @version 1.0
@@ -36,7 +40,7 @@ public class XssSanitizerImpl
     
     private final Logger logger = LoggerFactory.getSecurityLogger();
 
-    private Safelist rules = null;
+    private volatile Safelist rules = null;
 
     /**
      * Constructs a new XssSanitizerImpl with default rules.
@@ -91,7 +95,12 @@ public class XssSanitizerImpl
             throw new IllegalArgumentException("Input required");
         }
 
-        logger.trace("Pre sanitized string: " + sanitizeOutput(input));
+        if (isPlainText(input))
+        {
+            return input.trim();
+        }
+
+        logger.trace(String.format("Parsing a string of %d characters", input.length()));
         String results = Jsoup.clean(input, rules);
         logger.trace("Post sanitized string: " + results);
         return results.trim();
@@ -113,5 +122,41 @@ public class XssSanitizerImpl
         String temp = input.trim();
         return StringEscapeUtils.escapeHtml4(temp);
     }
+
+    /**
+     * Checks whether a string would come out of {@link Jsoup#clean(String, Safelist)}
+     * unchanged apart from trimming, whatever the rules.
+     * <p>
+     * That holds when the string has no markup or entities ({@code <}, {@code &}), nothing
+     * Jsoup escapes ({@code >}), no control characters and no runs of spaces, which Jsoup
+     * collapses. Characters outside ASCII must be letters or digits, which rules out
+     * non-breaking spaces, soft hyphens and unpaired surrogates. Anything else is left to
+     * Jsoup, so this may reject strings that are in fact clean, but never accepts one
+     * that is not.
+     * 
+     * @param input the string to check
+     * @return true if the string can be returned without parsing
+     */
+    static boolean isPlainText(final String input)
+    {
+        char previous = 0;
+        for (int i = 0; i < input.length(); i++)
+        {
+            char c = input.charAt(i);
+            if (c < 0x80)
+            {
+                if (c < ' ' || c == 0x7F || c == '<' || c == '>' || c == '&' || (c == ' ' && previous == ' '))
+                {
+                    return false;
+                }
+            }
+            else if (!Character.isLetterOrDigit(c))
+            {
+                return false;
+            }
+            previous = c;
+        }
+        return true;
+    }
    
 }
@@ -0,0 +1,122 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SharedXssSanitizerTest {
+	private SharedXssSanitizer testXssSanitizer;
+
+	@BeforeEach
+	public void setUp()
+	{
+		testXssSanitizer = new SharedXssSanitizer();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"Some data more data",
+		"  Jane Doe  ",
+		"Jos\u00E9 M\u00FCller",
+		"Tom's \"quoted\" title",
+		"https://example.com/resources/42?sort=asc",
+		"Some data <script>alert()</script> more data",
+		"Fish & Chips",
+		"a > b",
+		"two  spaces",
+		"line\nbreak",
+		"non\u00A0breaking",
+		"soft\u00ADhyphen",
+		"",
+		"    "
+	})
+	public void testMatchesJsoup(String input)
+	{
+		String expected = Jsoup.clean(input, Safelist.none()).trim();
+		assertEquals(expected, testXssSanitizer.sanitizeInput(input));
+		assertEquals(expected, new XssSanitizerImpl().sanitizeInput(input));
+	}
+
+	@Test
+	public void testPlainTextIsNotParsed()
+	{
+		assertTrue(XssSanitizerImpl.isPlainText("Jos\u00E9 M\u00FCller 42"));
+		assertFalse(XssSanitizerImpl.isPlainText("<b>bold</b>"));
+		assertFalse(XssSanitizerImpl.isPlainText("&lt;"));
+		assertFalse(XssSanitizerImpl.isPlainText("tab\there"));
+
+		testXssSanitizer.sanitizeInput("Jane Doe");
+		assertEquals(0, testXssSanitizer.getCacheSize());
+	}
+
+	@Test
+	public void testRepeatedInputIsCached()
+	{
+		String first = testXssSanitizer.sanitizeInput("Fish & Chips");
+		String second = testXssSanitizer.sanitizeInput("Fish & Chips");
+		assertSame(first, second);
+		assertEquals(1, testXssSanitizer.getCacheSize());
+	}
+
+	@Test
+	public void testCacheIsBounded()
+	{
+		for (int i = 0; i <= SharedXssSanitizer.MAX_CACHED; i++)
+		{
+			testXssSanitizer.sanitizeInput("<b>" + i + "</b>");
+		}
+		assertTrue(testXssSanitizer.getCacheSize() <= SharedXssSanitizer.MAX_CACHED);
+	}
+
+	@Test
+	public void testLongInputIsNotCached()
+	{
+		String input = "<b>" + "x".repeat(SharedXssSanitizer.MAX_CACHED_LENGTH) + "</b>";
+		assertEquals("x".repeat(SharedXssSanitizer.MAX_CACHED_LENGTH), testXssSanitizer.sanitizeInput(input));
+		assertEquals(0, testXssSanitizer.getCacheSize());
+	}
+
+	@Test
+	public void testNullString()
+	{
+		assertThrows(IllegalArgumentException.class, () ->
+			testXssSanitizer.sanitizeInput(null));
+	}
+
+	@Test
+	public void testEncodedOutput()
+	{
+		assertEquals("Some data &lt;b&gt;more&lt;/b&gt; data",
+			testXssSanitizer.sanitizeOutput(" Some data <b>more</b> data "));
+	}
+}
@@ -0,0 +1,123 @@
+package com.buzzword;
+
+/*
+ * This is free and unencumbered software released into the public domain.
+ * Anyone is free to copy, modify, publish, use, compile, sell, or distribute this software,
+ * either in source code form or as a compiled binary, for any purpose, commercial or
+ * non-commercial, and by any means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors of this
+ * software dedicate any and all copyright interest in the software to the public domain.
+ * We make this dedication for the benefit of the public at large and to the detriment of
+ * our heirs and successors. We intend this dedication to be an overt act of relinquishment in
+ * perpetuity of all present and future rights to this software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED,
+ * INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR
+ * PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES
+ * OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to: https://unlicense.org/
+*/
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares sanitizing the fields of a typical resource listing the way the model objects
+ * used to, with a new sanitizer per object that parses every string, against the
+ * {@link SharedXssSanitizer}.
+ * <p>
+ * After installing the modules with {@code mvn install -DskipTests}, run from the project
+ * root with:
+ * <pre>
+ * mvn -pl security test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.buzzword.XssSanitizerBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XssSanitizerBenchmark {
+
+    /**
+     * Field values as they arrive from requests and the database: mostly names, titles,
+     * URLs and short comments, with the occasional ampersand or stray markup.
+     */
+    private static final String[] INPUTS = {
+        "Jane",
+        "Doe",
+        "Software Engineer",
+        "Research and Development",
+        "Colorado Springs",
+        "Effective Java, Third Edition",
+        "https://example.com/books/effective-java?edition=3",
+        "A practical guide to writing robust, maintainable Java code.",
+        "Great resource, the chapter on generics is worth it alone.",
+        "Tom's notes on \"Java Concurrency in Practice\"",
+        "R&D reading list",
+        "Use <code>var</code> sparingly",
+        "java",
+        "concurrency",
+        "José",
+        "Müller"
+    };
+
+    private final SharedXssSanitizer shared = SharedXssSanitizer.getInstance();
+
+    /**
+     * Sanitizes a string as {@link XssSanitizerImpl} did before the fast path: a new
+     * sanitizer with its own rules per object, an escaped copy built for the trace log,
+     * and a full parse.
+     */
+    private static String previous(String input) {
+        Safelist rules = Safelist.none();
+        StringEscapeUtils.escapeHtml4(input.trim());
+        return Jsoup.clean(input, rules).trim();
+    }
+
+    @Benchmark
+    public void previousBehavior(Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(previous(input));
+        }
+    }
+
+    @Benchmark
+    public void sanitizerPerObject(Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(new XssSanitizerImpl().sanitizeInput(input));
+        }
+    }
+
+    @Benchmark
+    public void sharedSanitizer(Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(shared.sanitizeInput(input));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(XssSanitizerBenchmark.class.getSimpleName()).build()).run();
+    }
+}